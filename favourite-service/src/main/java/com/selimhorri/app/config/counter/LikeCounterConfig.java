@@ -0,0 +1,48 @@
+package com.selimhorri.app.config.counter;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.counter.ProductLikeCounters;
+
+@Configuration
+public class LikeCounterConfig {
+	
+	// the last flush runs on shutdown, after the scheduler that depends on the counters has stopped
+	@Bean(initMethod = "reload", destroyMethod = "flush")
+	public ProductLikeCounters productLikeCounters(
+			final NamedParameterJdbcOperations jdbcOperations, 
+			final PlatformTransactionManager transactionManager, 
+			@Value("${app.likes.flush-batch-size:500}") final int batchSize) {
+		return new ProductLikeCounters(jdbcOperations, new TransactionTemplate(transactionManager), batchSize);
+	}
+	
+	@Bean(destroyMethod = "shutdown")
+	public ThreadPoolTaskScheduler likeCounterFlushScheduler(
+			final ProductLikeCounters productLikeCounters, 
+			@Value("${app.likes.flush-interval:1s}") final Duration flushInterval, 
+			@Value("${app.likes.reload-interval:1m}") final Duration reloadInterval) {
+		
+		final var scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setPoolSize(1);
+		scheduler.setThreadNamePrefix("like-counter-flush-");
+		scheduler.setWaitForTasksToCompleteOnShutdown(true);
+		scheduler.setAwaitTerminationSeconds(10);
+		scheduler.initialize();
+		scheduler.scheduleWithFixedDelay(productLikeCounters::flush, flushInterval);
+		// picks up the likes other instances flushed on products this one does not flush
+		scheduler.scheduleWithFixedDelay(productLikeCounters::reload, Instant.now().plus(reloadInterval), reloadInterval);
+		return scheduler;
+	}
+	
+	
+	
+}
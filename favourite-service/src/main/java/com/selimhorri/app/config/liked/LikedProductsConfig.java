@@ -0,0 +1,64 @@
+package com.selimhorri.app.config.liked;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.liked.LikedProductsIndex;
+
+@Configuration
+public class LikedProductsConfig {
+	
+	@Bean(initMethod = "rebuild")
+	public LikedProductsIndex likedProductsIndex(
+			final NamedParameterJdbcOperations jdbcOperations, 
+			final PlatformTransactionManager transactionManager) {
+		// the rebuild and the refreshes only read, so they may go to the replica
+		final var readOnlyTransactions = new TransactionTemplate(transactionManager);
+		readOnlyTransactions.setReadOnly(true);
+		return new LikedProductsIndex(jdbcOperations, readOnlyTransactions);
+	}
+	
+	// every replica keeps its own index, the refresh brings in the likes the others wrote, 
+	// the full scan of the table only runs when its interval is set as well
+	@Bean(destroyMethod = "shutdown")
+	@ConditionalOnProperty(prefix = "app.liked", name = "refresh-interval")
+	public ThreadPoolTaskScheduler likedProductsRefreshScheduler(
+			final LikedProductsIndex likedProductsIndex, 
+			@Value("${app.liked.refresh-interval}") final Duration refreshInterval, 
+			@Value("${app.liked.full-refresh-interval:#{null}}") final Duration fullRefreshInterval) {
+		
+		final var scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setPoolSize(1);
+		scheduler.setThreadNamePrefix("liked-products-refresh-");
+		scheduler.setWaitForTasksToCompleteOnShutdown(true);
+		scheduler.setAwaitTerminationSeconds(30);
+		scheduler.initialize();
+		scheduler.scheduleWithFixedDelay(likedProductsIndex::refreshChanges, Instant.now().plus(refreshInterval), refreshInterval);
+		if (fullRefreshInterval != null)
+			scheduler.scheduleWithFixedDelay(likedProductsIndex::refresh, Instant.now().plus(fullRefreshInterval), 
+					fullRefreshInterval);
+		return scheduler;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
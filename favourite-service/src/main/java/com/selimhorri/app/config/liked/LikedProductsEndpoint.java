@@ -0,0 +1,37 @@
+package com.selimhorri.app.config.liked;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.liked.LikedProductsIndex;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Exposes the heap retained by the liked products index on /actuator/likedproducts, 
+ * overall and for a single user
+ */
+@Component
+@Endpoint(id = "likedproducts")
+@RequiredArgsConstructor
+public class LikedProductsEndpoint {
+	
+	private final LikedProductsIndex likedProductsIndex;
+	
+	@ReadOperation
+	public Map<String, Object> memory() {
+		return this.likedProductsIndex.memory();
+	}
+	
+	@ReadOperation
+	public Long memoryOf(@Selector final Integer userId) {
+		return this.likedProductsIndex.memoryOf(userId);
+	}
+	
+	
+	
+}
@@ -0,0 +1,50 @@
+package com.selimhorri.app.config.related;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import com.selimhorri.app.liked.LikedProductsIndex;
+import com.selimhorri.app.related.RelatedProducts;
+
+@Configuration
+public class RelatedProductsConfig {
+	
+	// a last snapshot is written on shutdown, before the datasource closes
+	@Bean(initMethod = "load", destroyMethod = "snapshot")
+	public RelatedProducts relatedProducts(
+			final LikedProductsIndex likedProductsIndex, 
+			final NamedParameterJdbcOperations jdbcOperations, 
+			@Value("${app.related.snapshot-path:}") final String snapshotPath, 
+			@Value("${app.related.max-likes-per-user:500}") final int maxLikesPerUser) {
+		final var relatedProducts = new RelatedProducts(likedProductsIndex, jdbcOperations, 
+				snapshotPath.isBlank() ? null : Path.of(snapshotPath), maxLikesPerUser);
+		likedProductsIndex.addListener(relatedProducts);
+		return relatedProducts;
+	}
+	
+	@Bean(destroyMethod = "shutdown")
+	@ConditionalOnProperty(prefix = "app.related", name = "snapshot-path")
+	public ThreadPoolTaskScheduler relatedProductsSnapshotScheduler(
+			final RelatedProducts relatedProducts, 
+			@Value("${app.related.snapshot-interval:10m}") final Duration snapshotInterval) {
+		
+		final var scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setPoolSize(1);
+		scheduler.setThreadNamePrefix("related-products-snapshot-");
+		scheduler.setWaitForTasksToCompleteOnShutdown(true);
+		scheduler.setAwaitTerminationSeconds(30);
+		scheduler.initialize();
+		scheduler.scheduleWithFixedDelay(relatedProducts::snapshot, snapshotInterval);
+		return scheduler;
+	}
+	
+	
+	
+}
@@ -0,0 +1,62 @@
+package com.selimhorri.app.config.trending;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.trending.TrendingProducts;
+
+@Configuration
+public class TrendingConfig {
+	
+	@Bean(initMethod = "rebuild")
+	public TrendingProducts trendingProducts(
+			final NamedParameterJdbcOperations jdbcOperations, 
+			final PlatformTransactionManager transactionManager, 
+			@Value("${app.trending.top-k:100}") final int topK, 
+			@Value("${app.trending.max-products:100000}") final int maxProducts) {
+		// the replay only reads, so it may go to the replica
+		final var readOnlyTransactions = new TransactionTemplate(transactionManager);
+		readOnlyTransactions.setReadOnly(true);
+		return new TrendingProducts(jdbcOperations, readOnlyTransactions, Clock.systemDefaultZone(), topK, maxProducts);
+	}
+	
+	// every replica only records its own likes, the rebuild brings in the others' and drops deleted ones
+	@Bean(destroyMethod = "shutdown")
+	@ConditionalOnProperty(prefix = "app.trending", name = "refresh-interval")
+	public ThreadPoolTaskScheduler trendingRefreshScheduler(
+			final TrendingProducts trendingProducts, 
+			@Value("${app.trending.refresh-interval}") final Duration refreshInterval) {
+		
+		final var scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setPoolSize(1);
+		scheduler.setThreadNamePrefix("trending-refresh-");
+		scheduler.setWaitForTasksToCompleteOnShutdown(true);
+		scheduler.setAwaitTerminationSeconds(30);
+		scheduler.initialize();
+		scheduler.scheduleWithFixedDelay(trendingProducts::rebuild, Instant.now().plus(refreshInterval), refreshInterval);
+		return scheduler;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
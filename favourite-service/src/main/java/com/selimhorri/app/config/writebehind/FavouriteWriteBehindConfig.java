@@ -0,0 +1,40 @@
+package com.selimhorri.app.config.writebehind;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.counter.ProductLikeCounters;
+import com.selimhorri.app.liked.LikedProductsIndex;
+import com.selimhorri.app.trending.TrendingProducts;
+import com.selimhorri.app.writebehind.FavouriteWriteBehind;
+
+@Configuration
+public class FavouriteWriteBehindConfig {
+	
+	// depends on the counters and indexes, so it drains on shutdown before they flush or snapshot
+	@Bean(initMethod = "start", destroyMethod = "close")
+	public FavouriteWriteBehind favouriteWriteBehind(
+			final NamedParameterJdbcOperations jdbcOperations, 
+			final PlatformTransactionManager transactionManager, 
+			final ProductLikeCounters productLikeCounters, 
+			final TrendingProducts trendingProducts, 
+			final LikedProductsIndex likedProductsIndex, 
+			@Value("${app.likes.write-behind.enabled:false}") final boolean enabled, 
+			@Value("${app.likes.write-behind.capacity:10000}") final int capacity, 
+			@Value("${app.likes.write-behind.batch-size:500}") final int batchSize, 
+			@Value("${app.likes.write-behind.flush-interval:200ms}") final Duration flushInterval, 
+			@Value("${app.likes.write-behind.offer-timeout:50ms}") final Duration offerTimeout) {
+		return new FavouriteWriteBehind(jdbcOperations, new TransactionTemplate(transactionManager), 
+				productLikeCounters, trendingProducts, likedProductsIndex, 
+				enabled, capacity, batchSize, flushInterval, offerTimeout);
+	}
+	
+	
+	
+}
@@ -0,0 +1,209 @@
+package com.selimhorri.app.counter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Like count of every product, kept in memory so reads never run a COUNT(*) over favourites.
+ * 
+ * Each product has the stored count last read from product_like_counts and a LongAdder of 
+ * the likes counted here since, the read being their sum. A LongAdder spreads concurrent 
+ * increments over striped cells, so a burst of likes on one product neither spins on a 
+ * single CAS nor locks its row. flush() drains the pending deltas into batches of relative 
+ * updates and swaps in the stored counts of the flushed rows; reload() swaps in every stored 
+ * count, so likes flushed by other instances show up here even on products this one never 
+ * flushed. Only the stored count is ever replaced, never the likes still pending.
+ */
+@Slf4j
+public class ProductLikeCounters implements MeterBinder {
+	
+	private static final String UPDATE_SQL = "UPDATE product_like_counts "
+			+ "SET like_count = like_count + :delta, updated_at = LOCALTIMESTAMP WHERE product_id = :productId";
+	private static final String INSERT_SQL = "INSERT INTO product_like_counts (product_id, like_count) "
+			+ "VALUES (:productId, :delta)";
+	private static final String SELECT_SQL = "SELECT product_id, like_count FROM product_like_counts "
+			+ "WHERE product_id IN (:productIds)";
+	private static final String SELECT_ALL_SQL = "SELECT product_id, like_count FROM product_like_counts";
+	
+	private final Map<Integer, Counter> counters = new ConcurrentHashMap<>();
+	private final NamedParameterJdbcOperations jdbcOperations;
+	private final TransactionOperations transactionOperations;
+	private final int batchSize;
+	private final LongAdder flushedDeltas = new LongAdder();
+	private final LongAdder failedFlushes = new LongAdder();
+	
+	public ProductLikeCounters(final NamedParameterJdbcOperations jdbcOperations, 
+			final TransactionOperations transactionOperations, final int batchSize) {
+		this.jdbcOperations = jdbcOperations;
+		this.transactionOperations = transactionOperations;
+		this.batchSize = batchSize;
+	}
+	
+	/**
+	 * Adds delta likes to the product, once the surrounding transaction commits if there is one
+	 */
+	public void add(final Integer productId, final long delta) {
+		if (TransactionSynchronizationManager.isSynchronizationActive())
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					counter(productId).add(delta);
+				}
+			});
+		else
+			this.counter(productId).add(delta);
+	}
+	
+	public long get(final Integer productId) {
+		final Counter counter = this.counters.get(productId);
+		return (counter == null) ? 0L : counter.get();
+	}
+	
+	public Map<Integer, Long> getAll(final Collection<Integer> productIds) {
+		return productIds.stream()
+				.distinct()
+				.collect(Collectors.toUnmodifiableMap(productId -> productId, this::get));
+	}
+	
+	/**
+	 * Replaces the stored count of every product with the one in product_like_counts, at 
+	 * startup and then periodically. It holds the flush lock, so no flushed delta is in flight 
+	 * and the table already holds everything this instance has written.
+	 */
+	public synchronized void reload() {
+		this.jdbcOperations.query(SELECT_ALL_SQL, rs -> {
+			this.counter(rs.getInt("product_id")).stored.set(rs.getLong("like_count"));
+		});
+		log.debug("*** ProductLikeCounters; reloaded like counts of {} products *", this.counters.size());
+	}
+	
+	/**
+	 * Writes the pending deltas in batches of batchSize, each batch in its own transaction. 
+	 * A failed batch puts its deltas, and those of the batches after it, back for the next flush.
+	 */
+	public synchronized int flush() {
+		
+		final List<MapSqlParameterSource> deltas = new ArrayList<>();
+		this.counters.forEach((productId, counter) -> {
+			final long delta = counter.pending.sumThenReset();
+			if (delta != 0) {
+				// moved to the stored count until written, so reads keep seeing it
+				counter.stored.addAndGet(delta);
+				deltas.add(new MapSqlParameterSource()
+						.addValue("productId", productId)
+						.addValue("delta", delta));
+			}
+		});
+		
+		for (int from = 0; from < deltas.size(); from += this.batchSize) {
+			final List<MapSqlParameterSource> batch = deltas.subList(from, Math.min(from + this.batchSize, deltas.size()));
+			try {
+				this.transactionOperations.execute(status -> {
+					this.write(batch);
+					return this.storedCounts(batch);
+				}).forEach((productId, storedCount) -> this.counters.get(productId).stored.set(storedCount));
+			}
+			catch (final RuntimeException e) {
+				this.failedFlushes.increment();
+				deltas.subList(from, deltas.size()).forEach(source -> this.counters
+						.get((Integer) source.getValue("productId")).unflush((Long) source.getValue("delta")));
+				log.warn("*** ProductLikeCounters; flush failed, {} deltas kept for the next flush *", 
+						deltas.size() - from, e);
+				return from;
+			}
+			batch.forEach(source -> this.flushedDeltas.add(Math.abs((Long) source.getValue("delta"))));
+		}
+		return deltas.size();
+	}
+	
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		Gauge.builder("likes.counters.products", this.counters, Map::size)
+				.description("The number of products with an in-memory like counter")
+				.register(registry);
+		Gauge.builder("likes.counters.pending", this.counters, counters -> counters.values().stream()
+						.mapToLong(counter -> Math.abs(counter.pending.sum()))
+						.sum())
+				.description("The likes and unlikes counted in memory but not yet flushed")
+				.register(registry);
+		FunctionCounter.builder("likes.counters.flushed", this.flushedDeltas, LongAdder::sum)
+				.description("The likes and unlikes written to product_like_counts")
+				.register(registry);
+		FunctionCounter.builder("likes.counters.flush.failures", this.failedFlushes, LongAdder::sum)
+				.description("The flush batches rolled back and retried")
+				.register(registry);
+	}
+	
+	private Counter counter(final Integer productId) {
+		return this.counters.computeIfAbsent(productId, id -> new Counter());
+	}
+	
+	private void write(final List<MapSqlParameterSource> batch) {
+		final int[] updated = this.jdbcOperations.batchUpdate(UPDATE_SQL, batch.toArray(SqlParameterSource[]::new));
+		final List<MapSqlParameterSource> missing = new ArrayList<>();
+		for (int i = 0; i < updated.length; i++)
+			if (updated[i] == 0)
+				missing.add(batch.get(i));
+		if (!missing.isEmpty())
+			this.jdbcOperations.batchUpdate(INSERT_SQL, missing.toArray(SqlParameterSource[]::new));
+	}
+	
+	/**
+	 * Read in the writing transaction, the rows hold this instance's deltas plus whatever 
+	 * other instances flushed, so their counts replace the stored ones once it commits
+	 */
+	private Map<Integer, Long> storedCounts(final List<MapSqlParameterSource> batch) {
+		final Map<Integer, Long> storedCounts = new HashMap<>();
+		this.jdbcOperations.query(SELECT_SQL, 
+				new MapSqlParameterSource("productIds", batch.stream()
+						.map(source -> source.getValue("productId"))
+						.collect(Collectors.toUnmodifiableList())), 
+				rs -> {
+					storedCounts.put(rs.getInt("product_id"), rs.getLong("like_count"));
+				});
+		return storedCounts;
+	}
+	
+	private static final class Counter {
+		
+		private final AtomicLong stored = new AtomicLong();
+		private final LongAdder pending = new LongAdder();
+		
+		private long get() {
+			return this.stored.get() + this.pending.sum();
+		}
+		
+		private void add(final long delta) {
+			this.pending.add(delta);
+		}
+		
+		private void unflush(final long delta) {
+			this.pending.add(delta);
+			this.stored.addAndGet(-delta);
+		}
+		
+	}
+	
+	
+	
+}
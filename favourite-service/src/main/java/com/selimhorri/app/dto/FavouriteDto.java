@@ -52,6 +52,19 @@ public class FavouriteDto implements Serializable {
 	@JsonInclude(Include.NON_NULL)
 	private ProductDto productDto;
 	
+	/**
+	 * Read-side projection, selected by JPQL constructor expressions 
+	 * without hydrating Favourite entities
+	 */
+	public FavouriteDto(final Integer userId, final Integer productId, final LocalDateTime likeDate) {
+		this(userId, productId, likeDate, UserDto.builder()
+					.userId(userId)
+					.build(), 
+				ProductDto.builder()
+					.productId(productId)
+					.build());
+	}
+	
 }
 
 
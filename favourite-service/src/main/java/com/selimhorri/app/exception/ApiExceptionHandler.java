@@ -13,6 +13,9 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
+import com.selimhorri.app.exception.wrapper.FavouriteQueueFullException;
+import com.selimhorri.app.support.page.InvalidCursorException;
+import com.selimhorri.app.support.page.UnpagedLimitExceededException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -42,6 +45,8 @@ public class ApiExceptionHandler {
 	
 	@ExceptionHandler(value = {
 		FavouriteNotFoundException.class,
+		InvalidCursorException.class,
+		UnpagedLimitExceededException.class,
 	})
 	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleApiRequestException(final T e) {
 		
@@ -57,6 +62,23 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	@ExceptionHandler(value = {
+		FavouriteQueueFullException.class,
+	})
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleServiceUnavailableException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle service unavailable*\n");
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg("#### " + e.getMessage() + "! ####")
+					.httpStatus(serviceUnavailable)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), serviceUnavailable);
+	}
+	
 	
 	
 }
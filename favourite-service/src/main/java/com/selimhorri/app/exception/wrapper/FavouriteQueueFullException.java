@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class FavouriteQueueFullException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public FavouriteQueueFullException() {
+		super();
+	}
+	
+	public FavouriteQueueFullException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public FavouriteQueueFullException(String message) {
+		super(message);
+	}
+	
+	public FavouriteQueueFullException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,392 @@
+package com.selimhorri.app.liked;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The products each user has liked, one {@link ProductIdBitmap} per user, so that marking 
+ * the liked products of a listing page is a handful of binary searches in memory instead 
+ * of a query per product. Bitmaps are immutable and swapped per user, reads take no lock.
+ * 
+ * Each instance indexes its own writes as they commit and picks up those of the other 
+ * replicas on refreshChanges(), which only reloads the users with a favourite created, or 
+ * a like removed, since the previous call. Removing a like leaves a row in favourite_deletes 
+ * for that. Both refreshes only read, so they may run on the replica: a user this instance 
+ * indexed since the previous refresh started is left for the next one, by then the replica 
+ * has caught up with that change.
+ */
+@Slf4j
+public class LikedProductsIndex {
+	
+	// a ConcurrentHashMap node plus the boxed user id, on a 64-bit JVM with compressed oops
+	private static final long ENTRY_BYTES = 32 + 16;
+	// covers the replica lag and the transactions still open when a watermark is read
+	private static final Duration WATERMARK_OVERLAP = Duration.ofMinutes(2);
+	// a refresh further behind than this may have missed purged deletes, it scans the table instead
+	private static final Duration DELETE_RETENTION = Duration.ofDays(1);
+	private static final int USERS_PER_QUERY = 500;
+	private static final LocalDateTime NO_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+	private static final String SELECT_ALL_SQL = "SELECT user_id, product_id FROM favourites ORDER BY user_id";
+	private static final String SELECT_OF_USERS_SQL = "SELECT user_id, product_id FROM favourites "
+			+ "WHERE user_id IN (:userIds) ORDER BY user_id";
+	private static final String SELECT_CREATED_AFTER_SQL = "SELECT user_id, created_at FROM favourites "
+			+ "WHERE created_at > :after";
+	private static final String SELECT_DELETED_AFTER_SQL = "SELECT user_id, deleted_at FROM favourite_deletes "
+			+ "WHERE deleted_at > :after";
+	private static final String MAX_CREATED_AT_SQL = "SELECT MAX(created_at) FROM favourites";
+	private static final String MAX_DELETED_AT_SQL = "SELECT MAX(deleted_at) FROM favourite_deletes";
+	private static final String INSERT_DELETE_SQL = "INSERT INTO favourite_deletes (user_id, product_id) "
+			+ "VALUES (:userId, :productId)";
+	private static final String PURGE_DELETES_SQL = "DELETE FROM favourite_deletes WHERE deleted_at < :before";
+	
+	private final Map<Integer, ProductIdBitmap> bitmaps = new ConcurrentHashMap<>();
+	private final List<LikedProductsListener> listeners = new CopyOnWriteArrayList<>();
+	private final NamedParameterJdbcOperations jdbcOperations;
+	private final TransactionOperations readOnlyTransactions;
+	private volatile Set<Integer> touchedSinceRefresh = ConcurrentHashMap.newKeySet();
+	private Set<Integer> usersToRetry = new HashSet<>();
+	private LocalDateTime createdWatermark = NO_WATERMARK;
+	private LocalDateTime deletedWatermark = NO_WATERMARK;
+	private long refreshedAtNanos = System.nanoTime();
+	
+	public LikedProductsIndex(final NamedParameterJdbcOperations jdbcOperations, 
+			final TransactionOperations readOnlyTransactions) {
+		this.jdbcOperations = jdbcOperations;
+		this.readOnlyTransactions = readOnlyTransactions;
+	}
+	
+	/**
+	 * Marks the product liked by the user, once the surrounding transaction commits if there is one
+	 */
+	public void add(final Integer userId, final Integer productId) {
+		this.afterCommit(userId, () -> this.bitmaps.compute(userId, (id, bitmap) -> {
+			final ProductIdBitmap others = (bitmap == null) ? ProductIdBitmap.empty() : bitmap;
+			final ProductIdBitmap grown = others.with(productId);
+			if (grown != others)
+				this.listeners.forEach(listener -> listener.liked(userId, productId, others));
+			return grown;
+		}));
+	}
+	
+	/**
+	 * Unmarks the product, once the surrounding transaction commits if there is one. The removal 
+	 * is recorded in that transaction so the other replicas pick it up, and removals older than 
+	 * the retention are purged on the way.
+	 */
+	public void remove(final Integer userId, final Integer productId) {
+		this.jdbcOperations.update(INSERT_DELETE_SQL, new MapSqlParameterSource("userId", userId)
+				.addValue("productId", productId));
+		this.jdbcOperations.update(PURGE_DELETES_SQL, new MapSqlParameterSource("before", 
+				LocalDateTime.now().minus(DELETE_RETENTION)));
+		this.afterCommit(userId, () -> this.bitmaps.computeIfPresent(userId, (id, bitmap) -> {
+			final ProductIdBitmap shrunk = bitmap.without(productId);
+			if (shrunk != bitmap)
+				this.listeners.forEach(listener -> listener.unliked(userId, productId, shrunk));
+			return shrunk.isEmpty() ? null : shrunk;
+		}));
+	}
+	
+	/**
+	 * Registers a listener for the likes indexed from now on, run inside the index update 
+	 * of the user so it sees every change of that user in order, then told once it is over
+	 */
+	public void addListener(final LikedProductsListener listener) {
+		this.listeners.add(listener);
+	}
+	
+	public ProductIdBitmap bitmapOf(final Integer userId) {
+		return this.bitmaps.getOrDefault(userId, ProductIdBitmap.empty());
+	}
+	
+	public void forEach(final BiConsumer<Integer, ProductIdBitmap> action) {
+		this.bitmaps.forEach(action);
+	}
+	
+	/**
+	 * The given products the user has liked, in the order they were given
+	 */
+	public List<Integer> likedAmong(final Integer userId, final Collection<Integer> productIds) {
+		final ProductIdBitmap bitmap = this.bitmapOf(userId);
+		return productIds.stream()
+				.filter(bitmap::contains)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * Loads every favourite, meant to run once at startup before the first like is indexed
+	 */
+	public synchronized void rebuild() {
+		this.readOnlyTransactions.executeWithoutResult(status -> {
+			this.readWatermarks();
+			final IdsOfUser idsOfUser = new IdsOfUser();
+			this.jdbcOperations.query(SELECT_ALL_SQL, rs -> {
+				final int userId = rs.getInt("user_id");
+				if (idsOfUser.size > 0 && userId != idsOfUser.userId)
+					this.bitmaps.put(idsOfUser.userId, idsOfUser.drain());
+				idsOfUser.userId = userId;
+				idsOfUser.add(rs.getInt("product_id"));
+			});
+			if (idsOfUser.size > 0)
+				this.bitmaps.put(idsOfUser.userId, idsOfUser.drain());
+		});
+		this.refreshedAtNanos = System.nanoTime();
+		log.info("*** LikedProductsIndex; rebuilt liked products of {} users *", this.bitmaps.size());
+	}
+	
+	/**
+	 * Reloads the users with a favourite created or a like removed past the watermarks, telling 
+	 * the listeners about each like or unlike found, so the writes of other instances reach this 
+	 * one. Falls back to refresh() when the last run is older than the removals kept.
+	 */
+	public synchronized void refreshChanges() {
+		
+		if (System.nanoTime() - this.refreshedAtNanos > DELETE_RETENTION.minus(WATERMARK_OVERLAP).toNanos()) {
+			this.refresh();
+			return;
+		}
+		
+		final long startedAtNanos = System.nanoTime();
+		final Predicate<Integer> skipped = this.startRefresh();
+		final Set<Integer> changedUserIds = new HashSet<>(this.usersToRetry);
+		this.readOnlyTransactions.executeWithoutResult(status -> {
+			this.createdWatermark = this.changedUsersAfter(SELECT_CREATED_AFTER_SQL, "created_at", 
+					this.createdWatermark, changedUserIds);
+			this.deletedWatermark = this.changedUsersAfter(SELECT_DELETED_AFTER_SQL, "deleted_at", 
+					this.deletedWatermark, changedUserIds);
+			final List<Integer> userIds = new ArrayList<>(changedUserIds);
+			for (int from = 0; from < userIds.size(); from += USERS_PER_QUERY) {
+				final List<Integer> chunk = userIds.subList(from, Math.min(from + USERS_PER_QUERY, userIds.size()));
+				final Set<Integer> storedUserIds = this.replaceAll(SELECT_OF_USERS_SQL, 
+						new MapSqlParameterSource("userIds", chunk), skipped);
+				chunk.stream()
+						.filter(userId -> !storedUserIds.contains(userId))
+						.forEach(userId -> this.replace(userId, ProductIdBitmap.empty(), skipped));
+			}
+		});
+		this.usersToRetry = changedUserIds.stream()
+				.filter(skipped)
+				.collect(Collectors.toSet());
+		this.refreshedAtNanos = startedAtNanos;
+	}
+	
+	/**
+	 * Brings every user in line with the favourites table, telling the listeners about each 
+	 * like or unlike found there. Reads the whole table, so it is only scheduled when 
+	 * app.liked.full-refresh-interval is set, refreshChanges() covers the regular case.
+	 */
+	public synchronized void refresh() {
+		final long startedAtNanos = System.nanoTime();
+		final Predicate<Integer> skipped = this.startRefresh();
+		final Set<Integer> retried = new HashSet<>();
+		this.readOnlyTransactions.executeWithoutResult(status -> {
+			this.readWatermarks();
+			final Set<Integer> storedUserIds = this.replaceAll(SELECT_ALL_SQL, new MapSqlParameterSource(), skipped);
+			storedUserIds.stream()
+					.filter(skipped)
+					.forEach(retried::add);
+			this.bitmaps.keySet().stream()
+					.filter(userId -> !storedUserIds.contains(userId))
+					.collect(Collectors.toUnmodifiableList())
+					.forEach(userId -> {
+						this.replace(userId, ProductIdBitmap.empty(), skipped);
+						if (skipped.test(userId))
+							retried.add(userId);
+					});
+		});
+		this.usersToRetry = retried;
+		this.refreshedAtNanos = startedAtNanos;
+	}
+	
+	/**
+	 * Users indexed and the heap their bitmaps retain, overall and per user
+	 */
+	public Map<String, Object> memory() {
+		
+		long totalBytes = 0;
+		long maxBytes = 0;
+		long likes = 0;
+		long bitsetChunks = 0;
+		int users = 0;
+		for (final ProductIdBitmap bitmap : this.bitmaps.values()) {
+			final long bytes = ENTRY_BYTES + bitmap.sizeInBytes();
+			totalBytes += bytes;
+			maxBytes = Math.max(maxBytes, bytes);
+			likes += bitmap.cardinality();
+			bitsetChunks += bitmap.bitsetChunks();
+			users++;
+		}
+		
+		final Map<String, Object> memory = new LinkedHashMap<>();
+		memory.put("users", users);
+		memory.put("likedProducts", likes);
+		memory.put("bitsetChunks", bitsetChunks);
+		memory.put("totalBytes", totalBytes);
+		memory.put("averageBytesPerUser", (users == 0) ? 0 : totalBytes / users);
+		memory.put("maxBytesPerUser", maxBytes);
+		memory.put("bytesPerLike", (likes == 0) ? 0.0 : (double) totalBytes / likes);
+		return memory;
+	}
+	
+	/**
+	 * Heap retained by the bitmap of one user, null if the user has no like
+	 */
+	public Long memoryOf(final Integer userId) {
+		final ProductIdBitmap bitmap = this.bitmaps.get(userId);
+		return (bitmap == null) ? null : ENTRY_BYTES + bitmap.sizeInBytes();
+	}
+	
+	/**
+	 * Swaps in the stored bitmap of the user, one listener call per product that differs
+	 */
+	private void replace(final int userId, final ProductIdBitmap stored, final Predicate<Integer> skipped) {
+		this.bitmaps.compute(userId, (id, bitmap) -> {
+			if (skipped.test(userId))
+				return bitmap;
+			ProductIdBitmap current = (bitmap == null) ? ProductIdBitmap.empty() : bitmap;
+			for (final int productId : current.toArray())
+				if (!stored.contains(productId)) {
+					current = current.without(productId);
+					final ProductIdBitmap shrunk = current;
+					this.listeners.forEach(listener -> listener.unliked(userId, productId, shrunk));
+				}
+			for (final int productId : stored.toArray())
+				if (!current.contains(productId)) {
+					final ProductIdBitmap others = current;
+					current = current.with(productId);
+					this.listeners.forEach(listener -> listener.liked(userId, productId, others));
+				}
+			return (current == bitmap) ? bitmap : (stored.isEmpty() ? null : stored);
+		});
+		this.listeners.forEach(LikedProductsListener::updated);
+	}
+	
+	/**
+	 * Reads the rows of the query, ordered by user, and swaps in the stored bitmap of each user 
+	 * found, returning their ids
+	 */
+	private Set<Integer> replaceAll(final String sql, final MapSqlParameterSource parameters, 
+			final Predicate<Integer> skipped) {
+		final Set<Integer> storedUserIds = new HashSet<>();
+		final IdsOfUser idsOfUser = new IdsOfUser();
+		this.jdbcOperations.query(sql, parameters, rs -> {
+			final int userId = rs.getInt("user_id");
+			if (idsOfUser.size > 0 && userId != idsOfUser.userId) {
+				storedUserIds.add(idsOfUser.userId);
+				this.replace(idsOfUser.userId, idsOfUser.drain(), skipped);
+			}
+			idsOfUser.userId = userId;
+			idsOfUser.add(rs.getInt("product_id"));
+		});
+		if (idsOfUser.size > 0) {
+			storedUserIds.add(idsOfUser.userId);
+			this.replace(idsOfUser.userId, idsOfUser.drain(), skipped);
+		}
+		return storedUserIds;
+	}
+	
+	/**
+	 * Adds the users of the rows stamped past the watermark minus the overlap, and returns the 
+	 * new watermark, the latest stamp read
+	 */
+	private LocalDateTime changedUsersAfter(final String sql, final String stampColumn, 
+			final LocalDateTime watermark, final Set<Integer> changedUserIds) {
+		final LocalDateTime[] latest = { watermark };
+		this.jdbcOperations.query(sql, new MapSqlParameterSource("after", watermark.minus(WATERMARK_OVERLAP)), rs -> {
+			changedUserIds.add(rs.getInt("user_id"));
+			final LocalDateTime stamp = rs.getObject(stampColumn, LocalDateTime.class);
+			if (stamp.isAfter(latest[0]))
+				latest[0] = stamp;
+		});
+		return latest[0];
+	}
+	
+	private void readWatermarks() {
+		this.createdWatermark = this.watermark(MAX_CREATED_AT_SQL);
+		this.deletedWatermark = this.watermark(MAX_DELETED_AT_SQL);
+	}
+	
+	private LocalDateTime watermark(final String sql) {
+		final LocalDateTime latest = this.jdbcOperations.queryForObject(sql, Map.of(), LocalDateTime.class);
+		return (latest == null) ? NO_WATERMARK : latest;
+	}
+	
+	/**
+	 * Starts tracking the users indexed from now on, and tells which users the refresh leaves 
+	 * alone: indexed since the previous refresh started or while this one runs, the replica 
+	 * it reads may not have their change yet
+	 */
+	private Predicate<Integer> startRefresh() {
+		final Set<Integer> touchedBefore = this.touchedSinceRefresh;
+		final Set<Integer> touchedDuring = ConcurrentHashMap.newKeySet();
+		this.touchedSinceRefresh = touchedDuring;
+		return userId -> touchedBefore.contains(userId) || touchedDuring.contains(userId);
+	}
+	
+	/**
+	 * Runs the update of the user once the surrounding transaction commits if there is one, 
+	 * marking the user as changed for the refreshes that may read a stale copy of it
+	 */
+	private void afterCommit(final Integer userId, final Runnable update) {
+		final Runnable touchingUpdate = () -> {
+			this.touchedSinceRefresh.add(userId);
+			update.run();
+			this.listeners.forEach(LikedProductsListener::updated);
+		};
+		if (TransactionSynchronizationManager.isSynchronizationActive())
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					touchingUpdate.run();
+				}
+			});
+		else
+			touchingUpdate.run();
+	}
+	
+	/**
+	 * The product ids of the user being read, rows come ordered by user
+	 */
+	private static final class IdsOfUser {
+		
+		private int userId;
+		private int[] productIds = new int[16];
+		private int size;
+		
+		private void add(final int productId) {
+			if (this.size == this.productIds.length)
+				this.productIds = Arrays.copyOf(this.productIds, 2 * this.size);
+			this.productIds[this.size++] = productId;
+		}
+		
+		private ProductIdBitmap drain() {
+			final ProductIdBitmap bitmap = ProductIdBitmap.of(Arrays.copyOf(this.productIds, this.size));
+			this.size = 0;
+			return bitmap;
+		}
+	
+	}
+	
+	
+	
+}
@@ -0,0 +1,17 @@
+package com.selimhorri.app.liked;
+
+/**
+ * Told by {@link LikedProductsIndex} when a user starts or stops liking a product, 
+ * with the other products the user likes. Calls for one user never overlap; they run 
+ * inside the index update of the user, so they should only record the change and leave 
+ * anything taking a lock to updated(), called once that update is over.
+ */
+public interface LikedProductsListener {
+	
+	void liked(final int userId, final int productId, final ProductIdBitmap otherProductIds);
+	void unliked(final int userId, final int productId, final ProductIdBitmap otherProductIds);
+	
+	default void updated() {
+	}
+	
+}
@@ -0,0 +1,267 @@
+package com.selimhorri.app.liked;
+
+import java.util.Arrays;
+
+/**
+ * Immutable compressed set of product ids, laid out like a roaring bitmap.
+ * 
+ * Ids are split by their upper 16 bits into chunks of 65536. A chunk holding up to 4096 ids
+ * is a sorted char[] of their lower 16 bits, 2 bytes per id; a denser chunk is a fixed
+ * 8 KB bitset. A user with a few dozen likes therefore costs a few hundred bytes, and
+ * contains() is two binary searches over arrays that fit in a cache line or two.
+ * 
+ * with() and without() return a new bitmap that shares every chunk they did not change,
+ * so readers never need a lock.
+ */
+public final class ProductIdBitmap {
+	
+	static final int ARRAY_MAX = 4096;
+	private static final int BITSET_WORDS = 1024;
+	private static final ProductIdBitmap EMPTY = new ProductIdBitmap(new char[0], new Object[0], 0);
+	
+	// upper 16 bits of each chunk, ascending
+	private final char[] keys;
+	// char[] of sorted lower 16 bits, or long[BITSET_WORDS]
+	private final Object[] chunks;
+	private final int cardinality;
+	
+	private ProductIdBitmap(final char[] keys, final Object[] chunks, final int cardinality) {
+		this.keys = keys;
+		this.chunks = chunks;
+		this.cardinality = cardinality;
+	}
+	
+	public static ProductIdBitmap empty() {
+		return EMPTY;
+	}
+	
+	/**
+	 * Builds the bitmap of the given ids in one pass, duplicates allowed
+	 */
+	public static ProductIdBitmap of(final int... productIds) {
+		
+		final int[] sorted = Arrays.stream(productIds)
+				.map(id -> id ^ Integer.MIN_VALUE)
+				.sorted()
+				.distinct()
+				.map(id -> id ^ Integer.MIN_VALUE)
+				.toArray();
+		
+		final char[] keys = new char[sorted.length];
+		final Object[] chunks = new Object[sorted.length];
+		int size = 0;
+		for (int from = 0; from < sorted.length; ) {
+			final char key = high(sorted[from]);
+			int to = from;
+			while (to < sorted.length && high(sorted[to]) == key)
+				to++;
+			final char[] lows = new char[to - from];
+			for (int i = from; i < to; i++)
+				lows[i - from] = low(sorted[i]);
+			keys[size] = key;
+			chunks[size++] = (lows.length > ARRAY_MAX) ? toBitset(lows) : lows;
+			from = to;
+		}
+		return new ProductIdBitmap(Arrays.copyOf(keys, size), Arrays.copyOf(chunks, size), sorted.length);
+	}
+	
+	public boolean contains(final int productId) {
+		final int index = Arrays.binarySearch(this.keys, high(productId));
+		return index >= 0 && chunkContains(this.chunks[index], low(productId));
+	}
+	
+	public ProductIdBitmap with(final int productId) {
+		
+		final char key = high(productId);
+		final char low = low(productId);
+		final int index = Arrays.binarySearch(this.keys, key);
+		
+		if (index < 0) {
+			final int at = -index - 1;
+			return new ProductIdBitmap(insert(this.keys, at, key), insert(this.chunks, at, new char[] { low }),
+					this.cardinality + 1);
+		}
+		
+		final Object chunk = this.chunks[index];
+		if (chunkContains(chunk, low))
+			return this;
+		final Object[] chunks = this.chunks.clone();
+		if (chunk instanceof long[]) {
+			final long[] words = ((long[]) chunk).clone();
+			words[low >>> 6] |= 1L << low;
+			chunks[index] = words;
+		}
+		else {
+			final char[] lows = (char[]) chunk;
+			final int at = -Arrays.binarySearch(lows, low) - 1;
+			final char[] grown = insert(lows, at, low);
+			chunks[index] = (grown.length > ARRAY_MAX) ? toBitset(grown) : grown;
+		}
+		return new ProductIdBitmap(this.keys, chunks, this.cardinality + 1);
+	}
+	
+	public ProductIdBitmap without(final int productId) {
+		
+		final int index = Arrays.binarySearch(this.keys, high(productId));
+		final char low = low(productId);
+		if (index < 0 || !chunkContains(this.chunks[index], low))
+			return this;
+		if (this.cardinality == 1)
+			return EMPTY;
+		
+		final Object chunk = this.chunks[index];
+		final Object shrunk;
+		if (chunk instanceof long[]) {
+			final long[] words = ((long[]) chunk).clone();
+			words[low >>> 6] &= ~(1L << low);
+			shrunk = (this.chunkCardinality(index) - 1 <= ARRAY_MAX) ? toArray(words) : words;
+		}
+		else {
+			final char[] lows = (char[]) chunk;
+			shrunk = remove(lows, Arrays.binarySearch(lows, low));
+		}
+		
+		if (shrunk instanceof char[] && ((char[]) shrunk).length == 0)
+			return new ProductIdBitmap(remove(this.keys, index), remove(this.chunks, index), this.cardinality - 1);
+		final Object[] chunks = this.chunks.clone();
+		chunks[index] = shrunk;
+		return new ProductIdBitmap(this.keys, chunks, this.cardinality - 1);
+	}
+	
+	/**
+	 * The ids in ascending unsigned order
+	 */
+	public int[] toArray() {
+		final int[] productIds = new int[this.cardinality];
+		int i = 0;
+		for (int index = 0; index < this.keys.length; index++) {
+			final int high = this.keys[index] << 16;
+			final Object chunk = this.chunks[index];
+			if (chunk instanceof long[]) {
+				final long[] words = (long[]) chunk;
+				for (int w = 0; w < words.length; w++)
+					for (long word = words[w]; word != 0; word &= word - 1)
+						productIds[i++] = high | ((w << 6) + Long.numberOfTrailingZeros(word));
+			}
+			else
+				for (final char low : (char[]) chunk)
+					productIds[i++] = high | low;
+		}
+		return productIds;
+	}
+	
+	public int cardinality() {
+		return this.cardinality;
+	}
+	
+	public boolean isEmpty() {
+		return this.cardinality == 0;
+	}
+	
+	/**
+	 * Heap retained by this bitmap, from the actual array lengths and the usual
+	 * 64-bit compressed-oops layout: 12-byte object headers, 16-byte array headers
+	 * and 8-byte alignment
+	 */
+	public long sizeInBytes() {
+		long bytes = align(12 + 4 + 4 + 4) + align(16 + 2L * this.keys.length) + align(16 + 4L * this.chunks.length);
+		for (final Object chunk : this.chunks)
+			bytes += (chunk instanceof long[]) ? align(16 + 8L * BITSET_WORDS) : align(16 + 2L * ((char[]) chunk).length);
+		return bytes;
+	}
+	
+	int bitsetChunks() {
+		return (int) Arrays.stream(this.chunks)
+				.filter(chunk -> chunk instanceof long[])
+				.count();
+	}
+	
+	private int chunkCardinality(final int index) {
+		final Object chunk = this.chunks[index];
+		if (chunk instanceof char[])
+			return ((char[]) chunk).length;
+		int count = 0;
+		for (final long word : (long[]) chunk)
+			count += Long.bitCount(word);
+		return count;
+	}
+	
+	private static boolean chunkContains(final Object chunk, final char low) {
+		return (chunk instanceof long[]) ? (((long[]) chunk)[low >>> 6] & (1L << low)) != 0
+				: Arrays.binarySearch((char[]) chunk, low) >= 0;
+	}
+	
+	private static long[] toBitset(final char[] lows) {
+		final long[] words = new long[BITSET_WORDS];
+		for (final char low : lows)
+			words[low >>> 6] |= 1L << low;
+		return words;
+	}
+	
+	private static char[] toArray(final long[] words) {
+		int count = 0;
+		for (final long word : words)
+			count += Long.bitCount(word);
+		final char[] lows = new char[count];
+		int i = 0;
+		for (int w = 0; w < words.length; w++)
+			for (long word = words[w]; word != 0; word &= word - 1)
+				lows[i++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+		return lows;
+	}
+	
+	private static char high(final int productId) {
+		return (char) (productId >>> 16);
+	}
+	
+	private static char low(final int productId) {
+		return (char) productId;
+	}
+	
+	private static long align(final long bytes) {
+		return (bytes + 7) & ~7L;
+	}
+	
+	private static char[] insert(final char[] array, final int at, final char value) {
+		final char[] grown = new char[array.length + 1];
+		System.arraycopy(array, 0, grown, 0, at);
+		grown[at] = value;
+		System.arraycopy(array, at, grown, at + 1, array.length - at);
+		return grown;
+	}
+	
+	private static Object[] insert(final Object[] array, final int at, final Object value) {
+		final Object[] grown = new Object[array.length + 1];
+		System.arraycopy(array, 0, grown, 0, at);
+		grown[at] = value;
+		System.arraycopy(array, at, grown, at + 1, array.length - at);
+		return grown;
+	}
+	
+	private static char[] remove(final char[] array, final int at) {
+		final char[] shrunk = new char[array.length - 1];
+		System.arraycopy(array, 0, shrunk, 0, at);
+		System.arraycopy(array, at + 1, shrunk, at, array.length - at - 1);
+		return shrunk;
+	}
+	
+	private static Object[] remove(final Object[] array, final int at) {
+		final Object[] shrunk = new Object[array.length - 1];
+		System.arraycopy(array, 0, shrunk, 0, at);
+		System.arraycopy(array, at + 1, shrunk, at, array.length - at - 1);
+		return shrunk;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,146 @@
+package com.selimhorri.app.related;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Open-addressing int to int map with linear probing, 8 bytes per slot instead of the
+ * ~60 bytes a HashMap<Integer, Integer> entry costs. A count that drops to zero removes
+ * its key by shifting the following probe run back, so no tombstones accumulate.
+ * 
+ * Not thread-safe, {@link RelatedProducts} guards every instance.
+ */
+final class IntIntHashMap {
+	
+	private static final int FREE = Integer.MIN_VALUE;
+	
+	private int[] keys;
+	private int[] values;
+	private int size;
+	
+	IntIntHashMap(final int expectedSize) {
+		this.allocate(Math.max(4, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1));
+	}
+	
+	/**
+	 * Adds delta to the value of key, a value reaching zero removes the key
+	 */
+	void addTo(final int key, final int delta) {
+		final int slot = this.slotOf(key);
+		if (slot >= 0) {
+			this.values[slot] += delta;
+			if (this.values[slot] <= 0)
+				this.removeAt(slot);
+		}
+		else if (delta > 0) {
+			if (2 * (this.size + 1) > this.keys.length)
+				this.rehash(2 * this.keys.length);
+			this.put(key, delta);
+		}
+	}
+	
+	int size() {
+		return this.size;
+	}
+	
+	void forEach(final IntIntConsumer action) {
+		for (int slot = 0; slot < this.keys.length; slot++)
+			if (this.keys[slot] != FREE)
+				action.accept(this.keys[slot], this.values[slot]);
+	}
+	
+	IntIntHashMap copy() {
+		final IntIntHashMap copy = new IntIntHashMap(0);
+		copy.keys = this.keys.clone();
+		copy.values = this.values.clone();
+		copy.size = this.size;
+		return copy;
+	}
+	
+	/**
+	 * Writes the size, then every key and value
+	 */
+	void writeTo(final DataOutput out) throws IOException {
+		out.writeInt(this.size);
+		for (int slot = 0; slot < this.keys.length; slot++)
+			if (this.keys[slot] != FREE) {
+				out.writeInt(this.keys[slot]);
+				out.writeInt(this.values[slot]);
+			}
+	}
+	
+	static IntIntHashMap readFrom(final DataInput in) throws IOException {
+		final int size = in.readInt();
+		final IntIntHashMap map = new IntIntHashMap(size);
+		for (int i = 0; i < size; i++)
+			map.put(in.readInt(), in.readInt());
+		return map;
+	}
+	
+	private void allocate(final int capacity) {
+		this.keys = new int[capacity];
+		Arrays.fill(this.keys, FREE);
+		this.values = new int[capacity];
+		this.size = 0;
+	}
+	
+	private int slotOf(final int key) {
+		final int mask = this.keys.length - 1;
+		for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+			if (this.keys[slot] == key)
+				return slot;
+			if (this.keys[slot] == FREE)
+				return -1;
+		}
+	}
+	
+	private void put(final int key, final int value) {
+		final int mask = this.keys.length - 1;
+		int slot = mix(key) & mask;
+		while (this.keys[slot] != FREE)
+			slot = (slot + 1) & mask;
+		this.keys[slot] = key;
+		this.values[slot] = value;
+		this.size++;
+	}
+	
+	private void removeAt(int slot) {
+		final int mask = this.keys.length - 1;
+		this.size--;
+		for (int next = (slot + 1) & mask; this.keys[next] != FREE; next = (next + 1) & mask) {
+			final int home = mix(this.keys[next]) & mask;
+			// the entry at next may fill the hole unless its home lies cyclically in (slot, next]
+			if (((next - home) & mask) >= ((next - slot) & mask)) {
+				this.keys[slot] = this.keys[next];
+				this.values[slot] = this.values[next];
+				slot = next;
+			}
+		}
+		this.keys[slot] = FREE;
+		this.values[slot] = 0;
+	}
+	
+	private void rehash(final int capacity) {
+		final int[] oldKeys = this.keys;
+		final int[] oldValues = this.values;
+		this.allocate(capacity);
+		for (int slot = 0; slot < oldKeys.length; slot++)
+			if (oldKeys[slot] != FREE)
+				this.put(oldKeys[slot], oldValues[slot]);
+	}
+	
+	private static int mix(final int key) {
+		final int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+	
+	@FunctionalInterface
+	interface IntIntConsumer {
+		void accept(final int key, final int value);
+	}
+	
+	
+	
+}
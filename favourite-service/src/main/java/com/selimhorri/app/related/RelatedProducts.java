@@ -0,0 +1,367 @@
+package com.selimhorri.app.related;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+
+import com.selimhorri.app.dto.RelatedProductDto;
+import com.selimhorri.app.liked.LikedProductsIndex;
+import com.selimhorri.app.liked.LikedProductsListener;
+import com.selimhorri.app.liked.ProductIdBitmap;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * "Users who liked X also liked Y": for every product, how many users liked it together
+ * with each other product, kept in memory in an {@link IntIntHashMap} per product.
+ * 
+ * The counts follow {@link LikedProductsIndex}: a user's new like adds one to the pair it
+ * forms with each product the user already likes, and an unlike takes it back, so nothing
+ * is ever recomputed. Users liking more than maxLikesPerUser products are left out, their
+ * likes say little about similarity and would cost a quadratic number of pairs: the like 
+ * taking a user over that threshold takes all the user's pairs back, and the unlike 
+ * bringing the user under it counts them again.
+ * 
+ * The index tells of each change inside its update of the user, so the change is only 
+ * queued there and applied under the write lock once that update is over.
+ * 
+ * On startup the counts are loaded from the last snapshot when it still matches the
+ * favourites table, replaying the pairs liked since, and rebuilt from the index otherwise.
+ */
+@Slf4j
+public class RelatedProducts implements LikedProductsListener, MeterBinder {
+	
+	private static final int SNAPSHOT_MAGIC = 0x52454c32;
+	private static final String SELECT_SNAPSHOT_MARK_SQL = "SELECT LOCALTIMESTAMP AS taken_at, COUNT(*) AS likes "
+			+ "FROM favourites";
+	private static final String COUNT_BEFORE_SQL = "SELECT COUNT(*) FROM favourites WHERE created_at <= :takenAt";
+	// pairs whose first like came after the snapshot, in the order they were liked
+	private static final String SELECT_LIKED_AFTER_SQL = "SELECT user_id, product_id, MIN(created_at) AS liked_at "
+			+ "FROM favourites GROUP BY user_id, product_id HAVING MIN(created_at) > :takenAt ORDER BY liked_at";
+	
+	private final Map<Integer, IntIntHashMap> coLikes = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Queue<Runnable> pendingDeltas = new ConcurrentLinkedQueue<>();
+	private final LikedProductsIndex likedProductsIndex;
+	private final NamedParameterJdbcOperations jdbcOperations;
+	private final Path snapshotPath;
+	private final int maxLikesPerUser;
+	
+	public RelatedProducts(final LikedProductsIndex likedProductsIndex,
+			final NamedParameterJdbcOperations jdbcOperations, final Path snapshotPath, final int maxLikesPerUser) {
+		this.likedProductsIndex = likedProductsIndex;
+		this.jdbcOperations = jdbcOperations;
+		this.snapshotPath = snapshotPath;
+		this.maxLikesPerUser = maxLikesPerUser;
+	}
+	
+	@Override
+	public void liked(final int userId, final int productId, final ProductIdBitmap otherProductIds) {
+		this.count(productId, otherProductIds, 1);
+	}
+	
+	@Override
+	public void unliked(final int userId, final int productId, final ProductIdBitmap otherProductIds) {
+		this.count(productId, otherProductIds, -1);
+	}
+	
+	@Override
+	public void updated() {
+		this.applyPendingDeltas();
+	}
+	
+	/**
+	 * The limit products most often liked by the users who liked productId, most co-liked first, 
+	 * none for a limit below 1
+	 */
+	public List<RelatedProductDto> related(final Integer productId, final int limit) {
+		
+		if (limit <= 0)
+			return List.of();
+		this.applyPendingDeltas();
+		final int n = limit;
+		// co-like count in the high half, the complemented id breaks ties towards the lower id
+		final PriorityQueue<Long> top = new PriorityQueue<>(n + 1);
+		this.lock.readLock().lock();
+		try {
+			final IntIntHashMap row = this.coLikes.get(productId);
+			if (row != null)
+				row.forEach((relatedProductId, count) -> {
+					top.add(((long) count << 32) | (~relatedProductId & 0xFFFFFFFFL));
+					if (top.size() > n)
+						top.poll();
+				});
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+		
+		final List<RelatedProductDto> related = new ArrayList<>(top.size());
+		while (!top.isEmpty()) {
+			final long entry = top.poll();
+			related.add(0, RelatedProductDto.builder()
+					.productId(~(int) entry)
+					.coLikeCount((int) (entry >>> 32))
+					.build());
+		}
+		return related;
+	}
+	
+	/**
+	 * Loads the snapshot if it still matches the favourites table, rebuilds from the index
+	 * otherwise. Meant to run once at startup, after the index was rebuilt.
+	 */
+	public void load() {
+		if (this.snapshotPath != null && Files.isRegularFile(this.snapshotPath)) {
+			try {
+				if (this.loadSnapshot())
+					return;
+			}
+			catch (final IOException | RuntimeException e) {
+				log.warn("*** RelatedProducts; snapshot {} unreadable, rebuilding *", this.snapshotPath, e);
+			}
+		}
+		this.rebuild();
+	}
+	
+	/**
+	 * Recounts every pair from the liked products of every user
+	 */
+	public void rebuild() {
+		this.lock.writeLock().lock();
+		try {
+			// the changes still queued are already in the index
+			this.pendingDeltas.clear();
+			this.coLikes.clear();
+			this.likedProductsIndex.forEach((userId, bitmap) -> {
+				if (this.isCounted(bitmap.cardinality()))
+					this.addPairs(bitmap.toArray(), 1);
+			});
+			log.info("*** RelatedProducts; rebuilt co-likes of {} products *", this.coLikes.size());
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Writes the counts, with the time and the number of favourites they reflect, to a
+	 * temporary file moved over the snapshot, so a crash never leaves half a snapshot. 
+	 * The mark is read before the counts are copied and outside the lock, so no like 
+	 * waits on the database; a like landing in between is replayed twice on load.
+	 */
+	public void snapshot() {
+		
+		if (this.snapshotPath == null)
+			return;
+		
+		final Map<String, Object> mark = this.jdbcOperations.queryForMap(SELECT_SNAPSHOT_MARK_SQL, 
+				new MapSqlParameterSource());
+		final Map<Integer, IntIntHashMap> copy = new HashMap<>();
+		this.applyPendingDeltas();
+		this.lock.readLock().lock();
+		try {
+			this.coLikes.forEach((productId, row) -> copy.put(productId, row.copy()));
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+		
+		try {
+			Files.createDirectories(this.snapshotPath.toAbsolutePath().getParent());
+			final Path temporary = Files.createTempFile(this.snapshotPath.toAbsolutePath().getParent(),
+					this.snapshotPath.getFileName().toString(), ".tmp");
+			try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+				out.writeInt(SNAPSHOT_MAGIC);
+				out.writeUTF(toLocalDateTime(mark.get("taken_at")).toString());
+				out.writeLong(((Number) mark.get("likes")).longValue());
+				out.writeInt(this.maxLikesPerUser);
+				out.writeInt(copy.size());
+				for (final Map.Entry<Integer, IntIntHashMap> entry : copy.entrySet()) {
+					out.writeInt(entry.getKey());
+					entry.getValue().writeTo(out);
+				}
+			}
+			Files.move(temporary, this.snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			log.info("*** RelatedProducts; wrote snapshot of {} products to {} *", copy.size(), this.snapshotPath);
+		}
+		catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		Gauge.builder("related.products", this, related -> related.stats()[0])
+				.description("The number of products with co-liked products")
+				.register(registry);
+		Gauge.builder("related.pairs", this, related -> related.stats()[1])
+				.description("The number of co-liked product pairs, counted in both directions")
+				.register(registry);
+	}
+	
+	private long[] stats() {
+		this.applyPendingDeltas();
+		this.lock.readLock().lock();
+		try {
+			return new long[] { this.coLikes.size(), this.coLikes.values().stream()
+					.mapToLong(IntIntHashMap::size)
+					.sum() };
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * A user is counted while liking at most maxLikesPerUser products, in rebuild() as here
+	 */
+	private boolean isCounted(final int likes) {
+		return likes <= this.maxLikesPerUser;
+	}
+	
+	/**
+	 * Queues the pairs a like (delta 1) or an unlike (delta -1) of productId adds or takes 
+	 * back, otherProductIds being the other products the user likes
+	 */
+	private void count(final int productId, final ProductIdBitmap otherProductIds, final int delta) {
+		
+		final int others = otherProductIds.cardinality();
+		if (others == 0 || !this.isCounted(others))
+			return;
+		
+		final int[] otherIds = otherProductIds.toArray();
+		if (this.isCounted(others + 1))
+			this.pendingDeltas.add(() -> {
+				for (final int other : otherIds) {
+					this.addTo(productId, other, delta);
+					this.addTo(other, productId, delta);
+				}
+			});
+		else
+			// productId takes the user over the threshold or brought the user back under it
+			this.pendingDeltas.add(() -> this.addPairs(otherIds, -delta));
+	}
+	
+	private void applyPendingDeltas() {
+		if (this.pendingDeltas.isEmpty())
+			return;
+		this.lock.writeLock().lock();
+		try {
+			for (Runnable delta = this.pendingDeltas.poll(); delta != null; delta = this.pendingDeltas.poll())
+				delta.run();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	private void addPairs(final int[] productIds, final int delta) {
+		for (int i = 0; i < productIds.length; i++)
+			for (int j = i + 1; j < productIds.length; j++) {
+				this.addTo(productIds[i], productIds[j], delta);
+				this.addTo(productIds[j], productIds[i], delta);
+			}
+	}
+	
+	private void addTo(final int productId, final int relatedProductId, final int delta) {
+		final IntIntHashMap row = (delta > 0) ? this.row(productId) : this.coLikes.get(productId);
+		if (row == null)
+			return;
+		row.addTo(relatedProductId, delta);
+		if (row.size() == 0)
+			this.coLikes.remove(productId);
+	}
+	
+	private IntIntHashMap row(final int productId) {
+		return this.coLikes.computeIfAbsent(productId, id -> new IntIntHashMap(4));
+	}
+	
+	/**
+	 * Reads the snapshot and replays the pairs first liked after it. Returns false, leaving
+	 * the counts untouched, when favourites taken into the snapshot have since been deleted
+	 * or the snapshot was taken with another maxLikesPerUser.
+	 */
+	private boolean loadSnapshot() throws IOException {
+		
+		final Map<Integer, IntIntHashMap> loaded = new HashMap<>();
+		final LocalDateTime takenAt;
+		try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.snapshotPath)))) {
+			if (in.readInt() != SNAPSHOT_MAGIC)
+				return false;
+			takenAt = LocalDateTime.parse(in.readUTF());
+			final long likes = in.readLong();
+			final Long likesNow = this.jdbcOperations.queryForObject(COUNT_BEFORE_SQL,
+					new MapSqlParameterSource("takenAt", takenAt), Long.class);
+			if (in.readInt() != this.maxLikesPerUser || likesNow == null || likesNow != likes) {
+				log.info("*** RelatedProducts; snapshot {} is stale, rebuilding *", this.snapshotPath);
+				return false;
+			}
+			for (int rows = in.readInt(); rows > 0; rows--)
+				loaded.put(in.readInt(), IntIntHashMap.readFrom(in));
+		}
+		
+		// the index already holds the pairs liked after the snapshot: each is replayed
+		// against the products the user liked before it
+		final List<int[]> likedAfter = new ArrayList<>();
+		final Map<Integer, ProductIdBitmap> pending = new HashMap<>();
+		this.jdbcOperations.query(SELECT_LIKED_AFTER_SQL, new MapSqlParameterSource("takenAt", takenAt), rs -> {
+			final int userId = rs.getInt("user_id");
+			final int productId = rs.getInt("product_id");
+			likedAfter.add(new int[] { userId, productId });
+			pending.merge(userId, ProductIdBitmap.of(productId), (bitmap, added) -> bitmap.with(productId));
+		});
+		
+		this.lock.writeLock().lock();
+		try {
+			this.coLikes.clear();
+			this.coLikes.putAll(loaded);
+			for (final int[] like : likedAfter) {
+				final ProductIdBitmap later = pending.get(like[0]).without(like[1]);
+				pending.put(like[0], later);
+				ProductIdBitmap before = this.likedProductsIndex.bitmapOf(like[0]).without(like[1]);
+				for (final int productId : later.toArray())
+					before = before.without(productId);
+				this.count(like[1], before, 1);
+			}
+			this.applyPendingDeltas();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+		log.info("*** RelatedProducts; loaded co-likes of {} products from {}, replayed {} likes *",
+				loaded.size(), this.snapshotPath, likedAfter.size());
+		return true;
+	}
+	
+	private static LocalDateTime toLocalDateTime(final Object timestamp) {
+		return (timestamp instanceof LocalDateTime) ? (LocalDateTime) timestamp
+				: ((Timestamp) timestamp).toLocalDateTime();
+	}
+	
+	
+	
+}
@@ -1,12 +1,68 @@
 package com.selimhorri.app.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Favourite;
 import com.selimhorri.app.domain.id.FavouriteId;
+import com.selimhorri.app.dto.FavouriteDto;
 
 public interface FavouriteRepository extends JpaRepository<Favourite, FavouriteId> {
 	
+	String FAVOURITE_DTO = "new com.selimhorri.app.dto.FavouriteDto(f.userId, f.productId, f.likeDate)";
+	
+	@Query("SELECT " + FavouriteRepository.FAVOURITE_DTO + " FROM Favourite f "
+			+ "WHERE f.userId = :userId AND f.productId = :productId AND f.likeDate = :likeDate")
+	Optional<FavouriteDto> findDtoById(
+			@Param("userId") final Integer userId, 
+			@Param("productId") final Integer productId, 
+			@Param("likeDate") final LocalDateTime likeDate);
+	
+	@Query("SELECT " + FavouriteRepository.FAVOURITE_DTO + " FROM Favourite f "
+			+ "WHERE (:afterUserId IS NULL OR f.userId > :afterUserId "
+			+ "OR (f.userId = :afterUserId AND f.productId > :afterProductId) "
+			+ "OR (f.userId = :afterUserId AND f.productId = :afterProductId AND f.likeDate > :afterLikeDate)) "
+			+ "ORDER BY f.userId, f.productId, f.likeDate")
+	List<FavouriteDto> findDtoPageOrderByUserIdAndProductIdAndLikeDate(
+			@Param("afterUserId") final Integer afterUserId, 
+			@Param("afterProductId") final Integer afterProductId, 
+			@Param("afterLikeDate") final LocalDateTime afterLikeDate, 
+			final Pageable pageable);
+	
+	/**
+	 * Served by the primary key, which leads with user_id
+	 */
+	@Query("SELECT " + FavouriteRepository.FAVOURITE_DTO + " FROM Favourite f "
+			+ "WHERE f.userId = :userId "
+			+ "AND (:afterProductId IS NULL OR f.productId > :afterProductId "
+			+ "OR (f.productId = :afterProductId AND f.likeDate > :afterLikeDate)) "
+			+ "ORDER BY f.productId, f.likeDate")
+	List<FavouriteDto> findDtoPageByUserIdOrderByProductIdAndLikeDate(
+			@Param("userId") final Integer userId, 
+			@Param("afterProductId") final Integer afterProductId, 
+			@Param("afterLikeDate") final LocalDateTime afterLikeDate, 
+			final Pageable pageable);
+	
+	boolean existsByUserIdAndProductId(final Integer userId, final Integer productId);
+	
+	/**
+	 * Returns the number of rows removed, 0 when the like was already gone
+	 */
+	@Modifying
+	@Query("DELETE FROM Favourite f "
+			+ "WHERE f.userId = :userId AND f.productId = :productId AND f.likeDate = :likeDate")
+	int deleteByIdReturningCount(
+			@Param("userId") final Integer userId, 
+			@Param("productId") final Integer productId, 
+			@Param("likeDate") final LocalDateTime likeDate);
+	
 	
 	
 }
@@ -2,8 +2,11 @@ package com.selimhorri.app.resource;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.http.ResponseEntity;
@@ -14,13 +17,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.ProductLikeCountDto;
+import com.selimhorri.app.dto.RelatedProductDto;
+import com.selimhorri.app.dto.TrendingProductDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.FavouriteService;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
+import com.selimhorri.app.trending.TrendingWindow;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,6 +49,25 @@ public class FavouriteResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findAll()));
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<CursorPageResponse<FavouriteDto>> findPage(
+			@RequestParam(name = "cursor", required = false) final String cursor, 
+			@RequestParam(name = "size", defaultValue = "" + CursorHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** FavouriteDto Page, resource; fetch favourites page *");
+		return ResponseEntity.ok(this.favouriteService.findPage(cursor, size));
+	}
+	
+	@GetMapping("/user/{userId}")
+	public ResponseEntity<CursorPageResponse<FavouriteDto>> findPageByUserId(
+			@PathVariable("userId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String userId, 
+			@RequestParam(name = "cursor", required = false) final String cursor, 
+			@RequestParam(name = "size", defaultValue = "" + CursorHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** FavouriteDto Page, resource; fetch favourites page by user id *");
+		return ResponseEntity.ok(this.favouriteService.findPageByUserId(Integer.parseInt(userId), cursor, size));
+	}
+	
 	@GetMapping("/{userId}/{productId}/{likeDate}")
 	public ResponseEntity<FavouriteDto> findById(
 			@PathVariable("userId") final String userId, 
@@ -59,6 +88,45 @@ public class FavouriteResource {
 		return ResponseEntity.ok(this.favouriteService.findById(favouriteId));
 	}
 	
+	@PostMapping("/user/{userId}/liked")
+	public ResponseEntity<DtoCollectionResponse<Integer>> findLikedProductIds(
+			@PathVariable("userId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String userId, 
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") final List<Integer> productIds) {
+		log.info("*** Integer List, resource; fetch liked product ids by user id *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService
+				.findLikedProductIds(Integer.parseInt(userId), productIds)));
+	}
+	
+	@GetMapping("/related/{productId}")
+	public ResponseEntity<DtoCollectionResponse<RelatedProductDto>> findRelated(
+			@PathVariable("productId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String productId, 
+			@RequestParam(name = "limit", defaultValue = "" + CursorHelper.DEFAULT_PAGE_SIZE) final int limit) {
+		log.info("*** RelatedProductDto List, resource; fetch related products by product id *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService
+				.findRelated(Integer.parseInt(productId), limit)));
+	}
+	
+	@GetMapping("/trending")
+	public ResponseEntity<DtoCollectionResponse<TrendingProductDto>> findTrending(
+			@RequestParam(name = "window", defaultValue = "HOUR") final TrendingWindow window, 
+			@RequestParam(name = "limit", defaultValue = "" + CursorHelper.DEFAULT_PAGE_SIZE) final int limit) {
+		log.info("*** TrendingProductDto List, resource; fetch trending products *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findTrending(window, limit)));
+	}
+	
+	@PostMapping("/like-counts")
+	public ResponseEntity<DtoCollectionResponse<ProductLikeCountDto>> findLikeCounts(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") final Set<Integer> productIds) {
+		log.info("*** ProductLikeCountDto List, resource; fetch like counts by product ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findLikeCounts(productIds)));
+	}
+	
 	@PostMapping
 	public ResponseEntity<FavouriteDto> save(
 			@RequestBody 
@@ -1,14 +1,26 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.ProductLikeCountDto;
+import com.selimhorri.app.dto.RelatedProductDto;
+import com.selimhorri.app.dto.TrendingProductDto;
+import com.selimhorri.app.support.page.CursorPageResponse;
+import com.selimhorri.app.trending.TrendingWindow;
 
 public interface FavouriteService {
 	
 	List<FavouriteDto> findAll();
 	FavouriteDto findById(final FavouriteId favouriteId);
+	CursorPageResponse<FavouriteDto> findPage(final String cursor, final int size);
+	CursorPageResponse<FavouriteDto> findPageByUserId(final Integer userId, final String cursor, final int size);
+	List<ProductLikeCountDto> findLikeCounts(final Collection<Integer> productIds);
+	List<TrendingProductDto> findTrending(final TrendingWindow window, final int limit);
+	List<Integer> findLikedProductIds(final Integer userId, final Collection<Integer> productIds);
+	List<RelatedProductDto> findRelated(final Integer productId, final int limit);
 	FavouriteDto save(final FavouriteDto favouriteDto);
 	FavouriteDto update(final FavouriteDto favouriteDto);
 	void deleteById(final FavouriteId favouriteId);
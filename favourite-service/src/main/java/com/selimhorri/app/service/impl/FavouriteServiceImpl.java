@@ -1,22 +1,45 @@
 package com.selimhorri.app.service.impl;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.counter.ProductLikeCounters;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.ProductLikeCountDto;
+import com.selimhorri.app.dto.RelatedProductDto;
+import com.selimhorri.app.dto.TrendingProductDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.helper.FavouriteMappingHelper;
+import com.selimhorri.app.liked.LikedProductsIndex;
+import com.selimhorri.app.related.RelatedProducts;
 import com.selimhorri.app.repository.FavouriteRepository;
 import com.selimhorri.app.service.FavouriteService;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
+import com.selimhorri.app.trending.TrendingProducts;
+import com.selimhorri.app.trending.TrendingWindow;
+import com.selimhorri.app.writebehind.FavouriteWriteBehind;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,31 +52,30 @@ public class FavouriteServiceImpl implements FavouriteService {
 	
 	private final FavouriteRepository favouriteRepository;
 	private final RestTemplate restTemplate;
+	private final ProductLikeCounters productLikeCounters;
+	private final TrendingProducts trendingProducts;
+	private final LikedProductsIndex likedProductsIndex;
+	private final RelatedProducts relatedProducts;
+	private final FavouriteWriteBehind favouriteWriteBehind;
+	private final TransactionOperations transactionOperations;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<FavouriteDto> findAll() {
 		log.info("*** FavouriteDto List, service; fetch all favourites *");
-		return this.favouriteRepository.findAll()
+		return this.enrich(CursorHelper.unpaged(this.favouriteRepository
+						.findDtoPageOrderByUserIdAndProductIdAndLikeDate(null, null, null, CursorHelper.unpagedLimit())))
 				.stream()
-					.map(FavouriteMappingHelper::map)
-					.map(f -> {
-						f.setUserDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-						f.setProductDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-						return f;
-					})
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public FavouriteDto findById(final FavouriteId favouriteId) {
 		log.info("*** FavouriteDto, service; fetch favourite by id *");
-		return this.favouriteRepository.findById(favouriteId)
-				.map(FavouriteMappingHelper::map)
+		return this.favouriteRepository.findDtoById(favouriteId.getUserId(), favouriteId.getProductId(), 
+						favouriteId.getLikeDate())
 				.map(f -> {
 					f.setUserDto(this.restTemplate
 							.getForObject(AppConstant.DiscoveredDomainsApi
@@ -68,9 +90,104 @@ public class FavouriteServiceImpl implements FavouriteService {
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponse<FavouriteDto> findPage(final String cursor, final int size) {
+		log.info("*** FavouriteDto Page, service; fetch favourites page *");
+		final int pageSize = CursorHelper.pageSize(size);
+		final String[] keys = (cursor == null) ? null : CursorHelper.decode(cursor, 3);
+		return CursorHelper.page(this.favouriteRepository.findDtoPageOrderByUserIdAndProductIdAndLikeDate(
+						(keys == null) ? null : CursorHelper.parseKey(cursor, () -> Integer.valueOf(keys[0])), 
+						(keys == null) ? null : CursorHelper.parseKey(cursor, () -> Integer.valueOf(keys[1])), 
+						(keys == null) ? null : CursorHelper.parseKey(cursor, () -> LocalDateTime.parse(keys[2])), 
+						CursorHelper.pageRequest(pageSize)), 
+				pageSize, 
+				this::enrich, 
+				f -> CursorHelper.encode(f.getUserId(), f.getProductId(), f.getLikeDate()));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponse<FavouriteDto> findPageByUserId(final Integer userId, final String cursor, final int size) {
+		log.info("*** FavouriteDto Page, service; fetch favourites page by user id *");
+		final int pageSize = CursorHelper.pageSize(size);
+		final String[] keys = (cursor == null) ? null : CursorHelper.decode(cursor, 2);
+		return CursorHelper.page(this.favouriteRepository.findDtoPageByUserIdOrderByProductIdAndLikeDate(
+						userId, 
+						(keys == null) ? null : CursorHelper.parseKey(cursor, () -> Integer.valueOf(keys[0])), 
+						(keys == null) ? null : CursorHelper.parseKey(cursor, () -> LocalDateTime.parse(keys[1])), 
+						CursorHelper.pageRequest(pageSize)), 
+				pageSize, 
+				this::enrich, 
+				f -> CursorHelper.encode(f.getProductId(), f.getLikeDate()));
+	}
+	
+	/**
+	 * Served from the in-memory counters, without a transaction or a query
+	 */
+	@Override
+	@Transactional(propagation = Propagation.SUPPORTS)
+	public List<ProductLikeCountDto> findLikeCounts(final Collection<Integer> productIds) {
+		log.info("*** ProductLikeCountDto List, service; fetch like counts by product ids *");
+		return this.productLikeCounters.getAll(productIds).entrySet().stream()
+				.map(e -> ProductLikeCountDto.builder()
+						.productId(e.getKey())
+						.likeCount(e.getValue())
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * Served from the in-memory top K of the window, without a transaction or a query
+	 */
+	@Override
+	@Transactional(propagation = Propagation.SUPPORTS)
+	public List<TrendingProductDto> findTrending(final TrendingWindow window, final int limit) {
+		log.info("*** TrendingProductDto List, service; fetch trending products *");
+		return this.trendingProducts.top(window, limit);
+	}
+	
+	/**
+	 * Served from the in-memory bitmap of the user, without a transaction or a query
+	 */
+	@Override
+	@Transactional(propagation = Propagation.SUPPORTS)
+	public List<Integer> findLikedProductIds(final Integer userId, final Collection<Integer> productIds) {
+		log.info("*** Integer List, service; fetch liked product ids by user id *");
+		return this.likedProductsIndex.likedAmong(userId, productIds);
+	}
+	
+	/**
+	 * Served from the in-memory co-like counts of the product, without a transaction or a query
+	 */
+	@Override
+	@Transactional(propagation = Propagation.SUPPORTS)
+	public List<RelatedProductDto> findRelated(final Integer productId, final int limit) {
+		log.info("*** RelatedProductDto List, service; fetch related products by product id *");
+		return this.relatedProducts.related(productId, Math.min(limit, CursorHelper.MAX_PAGE_SIZE));
+	}
+	
+	/**
+	 * With write-behind enabled the like is only queued, so no transaction is opened here. 
+	 * Otherwise the lookup loads the row into the persistence context, so it replaces 
+	 * the select merge would run anyway and tells whether this is a new like
+	 */
+	@Override
+	@Transactional(propagation = Propagation.SUPPORTS)
 	public FavouriteDto save(final FavouriteDto favouriteDto) {
-		return FavouriteMappingHelper.map(this.favouriteRepository
-				.save(FavouriteMappingHelper.map(favouriteDto)));
+		if (this.favouriteWriteBehind.isEnabled())
+			return this.favouriteWriteBehind.enqueue(favouriteDto);
+		return this.transactionOperations.execute(status -> {
+			final boolean isNewLike = this.favouriteRepository.findById(new FavouriteId(favouriteDto.getUserId(), 
+					favouriteDto.getProductId(), favouriteDto.getLikeDate())).isEmpty();
+			final FavouriteDto savedFavouriteDto = FavouriteMappingHelper.map(this.favouriteRepository
+					.save(FavouriteMappingHelper.map(favouriteDto)));
+			if (isNewLike) {
+				this.productLikeCounters.add(favouriteDto.getProductId(), 1);
+				this.trendingProducts.record(favouriteDto.getProductId(), favouriteDto.getLikeDate());
+				this.likedProductsIndex.add(favouriteDto.getUserId(), favouriteDto.getProductId());
+			}
+			return savedFavouriteDto;
+		});
 	}
 	
 	@Override
@@ -79,9 +196,68 @@ public class FavouriteServiceImpl implements FavouriteService {
 				.save(FavouriteMappingHelper.map(favouriteDto)));
 	}
 	
+	/**
+	 * Only a removed row takes the like off the counters, so a repeated or concurrent 
+	 * delete of the same like is not counted twice
+	 */
 	@Override
 	public void deleteById(final FavouriteId favouriteId) {
-		this.favouriteRepository.deleteById(favouriteId);
+		if (this.favouriteRepository.deleteByIdReturningCount(favouriteId.getUserId(), 
+				favouriteId.getProductId(), favouriteId.getLikeDate()) == 0)
+			return;
+		this.productLikeCounters.add(favouriteId.getProductId(), -1);
+		// the user may have liked the product again at another date
+		if (!this.favouriteRepository.existsByUserIdAndProductId(favouriteId.getUserId(), favouriteId.getProductId()))
+			this.likedProductsIndex.remove(favouriteId.getUserId(), favouriteId.getProductId());
+	}
+	
+	private List<FavouriteDto> enrich(final List<FavouriteDto> favouriteDtos) {
+		final Map<Integer, UserDto> userDtos = this.fetchAllByIds(
+				AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/ids",
+				favouriteDtos.stream()
+					.map(FavouriteDto::getUserId)
+					.filter(Objects::nonNull)
+					.collect(Collectors.toUnmodifiableSet()),
+				new ParameterizedTypeReference<DtoCollectionResponse<UserDto>>() {},
+				UserDto::getUserId);
+		final Map<Integer, ProductDto> productDtos = this.fetchAllByIds(
+				AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/ids",
+				favouriteDtos.stream()
+					.map(FavouriteDto::getProductId)
+					.filter(Objects::nonNull)
+					.collect(Collectors.toUnmodifiableSet()),
+				new ParameterizedTypeReference<DtoCollectionResponse<ProductDto>>() {},
+				ProductDto::getProductId);
+		
+		return favouriteDtos.stream()
+				.map(f -> {
+					f.setUserDto(userDtos.get(f.getUserId()));
+					f.setProductDto(productDtos.get(f.getProductId()));
+					return f;
+				})
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * Resolves every distinct id with a single call to the remote multi-get endpoint, 
+	 * so enrichment cost grows with the number of distinct ids rather than with the number of rows.
+	 */
+	private <T> Map<Integer, T> fetchAllByIds(final String url, final Set<Integer> ids, 
+			final ParameterizedTypeReference<DtoCollectionResponse<T>> responseType, 
+			final Function<T, Integer> idExtractor) {
+		
+		if (ids.isEmpty())
+			return Collections.emptyMap();
+		
+		final DtoCollectionResponse<T> response = this.restTemplate
+				.exchange(url, HttpMethod.POST, new HttpEntity<>(ids), responseType)
+				.getBody();
+		final Collection<T> dtos = (response == null || response.getCollection() == null) ? 
+				Collections.emptyList() : response.getCollection();
+		
+		return dtos.stream()
+				.filter(Objects::nonNull)
+				.collect(Collectors.toMap(idExtractor, Function.identity(), (a, b) -> a));
 	}
 	
 	
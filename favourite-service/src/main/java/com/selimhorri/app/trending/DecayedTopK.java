@@ -0,0 +1,237 @@
+package com.selimhorri.app.trending;
+
+import java.util.Arrays;
+
+/**
+ * Exponentially decayed like score of every product, with the K highest kept in a min-heap.
+ * 
+ * Scores use forward decay: a like at time t adds exp((t - landmark) / meanLifetime),
+ * which ranks exactly like exp(-(now - t) / meanLifetime) since every score shares the
+ * factor exp((landmark - now) / meanLifetime). Scores therefore only ever grow, nothing
+ * has to be decayed on each like, and the heap of the K highest stays exact with a single
+ * sift per like. The landmark moves forward once the weights grow large, scaling every
+ * score down and dropping the ones that decayed to nothing.
+ * 
+ * Products live in an open-addressing int to double table so a score costs 12 bytes rather
+ * than two boxed objects and a map entry. The table never holds more than maxProducts:
+ * past that the lowest scores are evicted, which only loses products far below the top K.
+ * 
+ * Not thread-safe, {@link TrendingProducts} guards each instance.
+ */
+final class DecayedTopK {
+	
+	private static final int FREE = Integer.MIN_VALUE;
+	private static final int NOT_IN_HEAP = -1;
+	// weights reach e^16, about 9e6, between landmarks, well within double precision
+	private static final double REBASE_LIFETIMES = 16.0;
+	// a product whose decayed score fell below a hundredth of a like is forgotten
+	private static final double MIN_SCORE = 0.01;
+	
+	private final double meanLifetimeMillis;
+	private final int k;
+	private final int maxProducts;
+	private long landmarkMillis;
+	
+	private int[] keys;
+	private double[] scores;
+	private int[] heapIndexes;
+	private int size;
+	
+	// slots of the K highest scores, lowest first
+	private final int[] heap;
+	private int heapSize;
+	
+	DecayedTopK(final long meanLifetimeMillis, final int k, final int maxProducts, final long landmarkMillis) {
+		this.meanLifetimeMillis = meanLifetimeMillis;
+		this.k = k;
+		this.maxProducts = Math.max(maxProducts, 2 * k);
+		this.landmarkMillis = landmarkMillis;
+		this.heap = new int[k];
+		this.allocate(64);
+	}
+	
+	void record(final int productId, final long epochMillis) {
+		if (epochMillis - this.landmarkMillis > REBASE_LIFETIMES * this.meanLifetimeMillis)
+			this.rebase(epochMillis);
+		int slot = this.slotOf(productId);
+		if (slot < 0) {
+			if (this.size >= this.maxProducts)
+				this.evict(epochMillis);
+			else if (2 * (this.size + 1) > this.keys.length)
+				this.rehash(2 * this.keys.length, 0.0);
+			slot = this.insert(productId);
+		}
+		this.scores[slot] += Math.exp((epochMillis - this.landmarkMillis) / this.meanLifetimeMillis);
+		this.offer(slot);
+	}
+	
+	/**
+	 * Writes the n highest products and their scores decayed to nowMillis, highest first,
+	 * and returns how many were written
+	 */
+	int top(final int n, final long nowMillis, final int[] productIds, final double[] decayedScores) {
+		
+		final int[] slots = Arrays.copyOf(this.heap, this.heapSize);
+		final Integer[] order = new Integer[slots.length];
+		for (int i = 0; i < order.length; i++)
+			order[i] = slots[i];
+		Arrays.sort(order, (a, b) -> Double.compare(this.scores[b], this.scores[a]));
+		
+		final double decay = Math.exp((this.landmarkMillis - nowMillis) / this.meanLifetimeMillis);
+		final int count = Math.min(n, order.length);
+		for (int i = 0; i < count; i++) {
+			productIds[i] = this.keys[order[i]];
+			decayedScores[i] = this.scores[order[i]] * decay;
+		}
+		return count;
+	}
+	
+	int size() {
+		return this.size;
+	}
+	
+	private void allocate(final int capacity) {
+		this.keys = new int[capacity];
+		Arrays.fill(this.keys, FREE);
+		this.scores = new double[capacity];
+		this.heapIndexes = new int[capacity];
+		Arrays.fill(this.heapIndexes, NOT_IN_HEAP);
+		this.size = 0;
+	}
+	
+	private int slotOf(final int productId) {
+		final int mask = this.keys.length - 1;
+		for (int slot = mix(productId) & mask; ; slot = (slot + 1) & mask) {
+			if (this.keys[slot] == productId)
+				return slot;
+			if (this.keys[slot] == FREE)
+				return -1;
+		}
+	}
+	
+	private int insert(final int productId) {
+		final int mask = this.keys.length - 1;
+		int slot = mix(productId) & mask;
+		while (this.keys[slot] != FREE)
+			slot = (slot + 1) & mask;
+		this.keys[slot] = productId;
+		this.size++;
+		return slot;
+	}
+	
+	/**
+	 * Moves the landmark to epochMillis, scaling every score to the new landmark
+	 * and dropping those that decayed below MIN_SCORE
+	 */
+	private void rebase(final long epochMillis) {
+		final double factor = Math.exp((this.landmarkMillis - epochMillis) / this.meanLifetimeMillis);
+		for (int slot = 0; slot < this.keys.length; slot++)
+			this.scores[slot] *= factor;
+		this.landmarkMillis = epochMillis;
+		this.rehash(this.keys.length, MIN_SCORE);
+	}
+	
+	/**
+	 * Makes room once maxProducts is reached by dropping the lower half of the scores
+	 */
+	private void evict(final long epochMillis) {
+		this.rebase(Math.max(epochMillis, this.landmarkMillis));
+		if (this.size < this.maxProducts)
+			return;
+		final double[] live = new double[this.size];
+		int i = 0;
+		for (int slot = 0; slot < this.keys.length; slot++)
+			if (this.keys[slot] != FREE)
+				live[i++] = this.scores[slot];
+		Arrays.sort(live);
+		this.rehash(this.keys.length, Math.nextUp(live[live.length / 2]));
+	}
+	
+	/**
+	 * Rebuilds the table at the given capacity, keeping the top K and every score of at
+	 * least minScore, then refills the heap from what was kept
+	 */
+	private void rehash(final int capacity, final double minScore) {
+		
+		final int[] oldKeys = this.keys;
+		final double[] oldScores = this.scores;
+		final int[] oldHeapIndexes = this.heapIndexes;
+		this.allocate(capacity);
+		for (int slot = 0; slot < oldKeys.length; slot++)
+			if (oldKeys[slot] != FREE && (oldScores[slot] >= minScore || oldHeapIndexes[slot] != NOT_IN_HEAP))
+				this.scores[this.insert(oldKeys[slot])] = oldScores[slot];
+		
+		this.heapSize = 0;
+		for (int slot = 0; slot < this.keys.length; slot++)
+			if (this.keys[slot] != FREE)
+				this.offer(slot);
+	}
+	
+	/**
+	 * Places the slot in the heap after its score grew
+	 */
+	private void offer(final int slot) {
+		if (this.heapIndexes[slot] != NOT_IN_HEAP)
+			this.siftDown(this.heapIndexes[slot]);
+		else if (this.heapSize < this.k) {
+			this.place(this.heapSize, slot);
+			this.siftUp(this.heapSize++);
+		}
+		else if (this.scores[slot] > this.scores[this.heap[0]]) {
+			this.heapIndexes[this.heap[0]] = NOT_IN_HEAP;
+			this.place(0, slot);
+			this.siftDown(0);
+		}
+	}
+	
+	private void siftUp(int index) {
+		final int slot = this.heap[index];
+		while (index > 0) {
+			final int parent = (index - 1) >>> 1;
+			if (this.scores[this.heap[parent]] <= this.scores[slot])
+				break;
+			this.place(index, this.heap[parent]);
+			index = parent;
+		}
+		this.place(index, slot);
+	}
+	
+	private void siftDown(int index) {
+		final int slot = this.heap[index];
+		while (true) {
+			int child = 2 * index + 1;
+			if (child >= this.heapSize)
+				break;
+			if (child + 1 < this.heapSize && this.scores[this.heap[child + 1]] < this.scores[this.heap[child]])
+				child++;
+			if (this.scores[slot] <= this.scores[this.heap[child]])
+				break;
+			this.place(index, this.heap[child]);
+			index = child;
+		}
+		this.place(index, slot);
+	}
+	
+	private void place(final int index, final int slot) {
+		this.heap[index] = slot;
+		this.heapIndexes[slot] = index;
+	}
+	
+	private static int mix(final int key) {
+		final int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,196 @@
+package com.selimhorri.app.trending;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.selimhorri.app.dto.TrendingProductDto;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Trending products of every {@link TrendingWindow}, fed by the favourites saved on this instance.
+ * 
+ * Each like is a single sift in a {@link DecayedTopK} per window under that window's lock, 
+ * and reading the top N copies at most K entries, so neither depends on how many likes 
+ * or products there are. On startup, and then on every refresh, fresh windows replay the 
+ * likes recent enough to still carry weight and replace the live ones at once. That is how 
+ * the likes of the other replicas get in, and how deleted favourites get out: an unlike 
+ * never lowers a live score, it stops counting at the next rebuild since its row is gone.
+ */
+@Slf4j
+public class TrendingProducts implements MeterBinder {
+	
+	// a like older than 7 mean lifetimes of the longest window weighs under 0.1%
+	private static final int REBUILD_LIFETIMES = 7;
+	private static final String SELECT_BETWEEN_SQL = "SELECT product_id, like_date FROM favourites "
+			+ "WHERE like_date >= :since AND like_date <= :until";
+	
+	private final NamedParameterJdbcOperations jdbcOperations;
+	private final TransactionOperations transactionOperations;
+	private final Clock clock;
+	private final int topK;
+	private final int maxProducts;
+	private final Object swapLock = new Object();
+	private volatile Map<TrendingWindow, DecayedTopK> windows;
+	private Queue<long[]> recordedDuringRebuild;
+	private long rebuildCutoffMillis;
+	
+	public TrendingProducts(final NamedParameterJdbcOperations jdbcOperations, 
+			final TransactionOperations transactionOperations, final Clock clock, final int topK, final int maxProducts) {
+		this.jdbcOperations = jdbcOperations;
+		this.transactionOperations = transactionOperations;
+		this.clock = clock;
+		this.topK = topK;
+		this.maxProducts = maxProducts;
+		this.windows = this.emptyWindows();
+	}
+	
+	/**
+	 * Records a like, once the surrounding transaction commits if there is one
+	 */
+	public void record(final Integer productId, final LocalDateTime likeDate) {
+		if (TransactionSynchronizationManager.isSynchronizationActive())
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					record(productId, toEpochMillis(likeDate));
+				}
+			});
+		else
+			this.record(productId, this.toEpochMillis(likeDate));
+	}
+	
+	/**
+	 * The limit highest scored products of the window, highest first, limit being capped at topK 
+	 * and a limit below 1 asking for none. A score is the number of likes weighted by how recent they are.
+	 */
+	public List<TrendingProductDto> top(final TrendingWindow window, final int limit) {
+		
+		if (limit <= 0)
+			return List.of();
+		final int n = Math.min(limit, this.topK);
+		final int[] productIds = new int[n];
+		final double[] scores = new double[n];
+		final DecayedTopK scoresOfWindow = this.windows.get(window);
+		final int count;
+		synchronized (scoresOfWindow) {
+			count = scoresOfWindow.top(n, this.clock.millis(), productIds, scores);
+		}
+		return IntStream.range(0, count)
+				.mapToObj(i -> TrendingProductDto.builder()
+						.productId(productIds[i])
+						.score(scores[i])
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * Replays the favourites still weighing in the longest window into fresh windows and swaps 
+	 * them in, run at startup and then periodically. The replay stops at the time it started, 
+	 * the likes this instance records past that time are replayed on top before the swap, and 
+	 * the rows of other replicas past it wait for the next rebuild.
+	 */
+	public void rebuild() {
+		final long horizonMillis = REBUILD_LIFETIMES * Arrays.stream(TrendingWindow.values())
+				.mapToLong(window -> window.getMeanLifetime().toMillis())
+				.max()
+				.orElse(0L);
+		// on the microsecond grid of the column, so rounding a stored like date never moves it past the bound
+		final LocalDateTime until = LocalDateTime.now(this.clock).truncatedTo(ChronoUnit.MICROS);
+		final LocalDateTime since = until.minusNanos(horizonMillis * 1_000_000L);
+		final Queue<long[]> recorded = new ConcurrentLinkedQueue<>();
+		synchronized (this.swapLock) {
+			this.recordedDuringRebuild = recorded;
+			this.rebuildCutoffMillis = this.toEpochMillis(until);
+		}
+		try {
+			final Map<TrendingWindow, DecayedTopK> rebuilt = this.emptyWindows();
+			final long[] likes = new long[1];
+			final MapSqlParameterSource parameters = new MapSqlParameterSource("since", since)
+					.addValue("until", until);
+			this.transactionOperations.executeWithoutResult(status -> this.jdbcOperations
+					.query(SELECT_BETWEEN_SQL, parameters, rs -> {
+						record(rebuilt, rs.getInt("product_id"), this.toEpochMillis(rs.getObject("like_date", LocalDateTime.class)));
+						likes[0]++;
+					}));
+			synchronized (this.swapLock) {
+				recorded.forEach(like -> record(rebuilt, (int) like[0], like[1]));
+				this.windows = rebuilt;
+			}
+			log.info("*** TrendingProducts; rebuilt trending scores from {} favourites *", likes[0]);
+		}
+		finally {
+			synchronized (this.swapLock) {
+				this.recordedDuringRebuild = null;
+			}
+		}
+	}
+	
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		for (final TrendingWindow window : TrendingWindow.values())
+			Gauge.builder("trending.products", this, trendingProducts -> {
+						final DecayedTopK scoresOfWindow = trendingProducts.windows.get(window);
+						synchronized (scoresOfWindow) {
+							return scoresOfWindow.size();
+						}
+					})
+					.description("The number of products with a trending score")
+					.tag("window", window.name())
+					.register(registry);
+	}
+	
+	private void record(final int productId, final long epochMillis) {
+		synchronized (this.swapLock) {
+			if (this.recordedDuringRebuild != null && epochMillis > this.rebuildCutoffMillis)
+				this.recordedDuringRebuild.add(new long[] { productId, epochMillis });
+			record(this.windows, productId, epochMillis);
+		}
+	}
+	
+	private static void record(final Map<TrendingWindow, DecayedTopK> windows, final int productId, final long epochMillis) {
+		windows.values().forEach(scoresOfWindow -> {
+			synchronized (scoresOfWindow) {
+				scoresOfWindow.record(productId, epochMillis);
+			}
+		});
+	}
+	
+	private Map<TrendingWindow, DecayedTopK> emptyWindows() {
+		final Map<TrendingWindow, DecayedTopK> emptyWindows = new EnumMap<>(TrendingWindow.class);
+		for (final TrendingWindow window : TrendingWindow.values())
+			emptyWindows.put(window, new DecayedTopK(window.getMeanLifetime().toMillis(), this.topK, this.maxProducts, 
+					this.clock.millis()));
+		return emptyWindows;
+	}
+	
+	/**
+	 * Like dates are local times of this zone, a date ahead of the clock counts as now
+	 */
+	private long toEpochMillis(final LocalDateTime likeDate) {
+		final long nowMillis = this.clock.millis();
+		return (likeDate == null) ? nowMillis 
+				: Math.min(likeDate.atZone(this.clock.getZone()).toInstant().toEpochMilli(), nowMillis);
+	}
+	
+	
+	
+}
@@ -0,0 +1,25 @@
+package com.selimhorri.app.trending;
+
+import java.time.Duration;
+
+/**
+ * Horizon of a trending ranking, a like weighs exp(-age / meanLifetime) in it
+ */
+public enum TrendingWindow {
+	
+	HOUR(Duration.ofHours(1)), 
+	DAY(Duration.ofDays(1));
+	
+	private final Duration meanLifetime;
+	
+	private TrendingWindow(final Duration meanLifetime) {
+		this.meanLifetime = meanLifetime;
+	}
+	
+	public Duration getMeanLifetime() {
+		return this.meanLifetime;
+	}
+	
+	
+	
+}
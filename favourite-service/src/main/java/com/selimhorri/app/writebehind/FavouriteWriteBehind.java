@@ -0,0 +1,282 @@
+package com.selimhorri.app.writebehind;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.selimhorri.app.counter.ProductLikeCounters;
+import com.selimhorri.app.domain.id.FavouriteId;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.exception.wrapper.FavouriteQueueFullException;
+import com.selimhorri.app.liked.LikedProductsIndex;
+import com.selimhorri.app.trending.TrendingProducts;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional ingestion mode for likes: enqueue() acknowledges a like as soon as it is queued, and
+ * a single writer thread inserts whatever has queued up as one JDBC batch in one transaction,
+ * once batchSize likes are waiting or flushInterval after the first of them, whichever comes first.
+ *
+ * A full queue makes enqueue() wait up to offerTimeout and then reject the like, so a database
+ * falling behind slows callers down instead of growing the heap. A failed batch is retried until
+ * it is written, which fills the queue and pushes back the same way. Likes still queued when the
+ * process dies are lost, close() writes them out on a regular shutdown.
+ */
+@Slf4j
+public class FavouriteWriteBehind implements MeterBinder {
+	
+	private static final String SELECT_SQL = "SELECT user_id, product_id, like_date FROM favourites "
+			+ "WHERE (user_id, product_id, like_date) IN (:keys)";
+	private static final String INSERT_SQL = "INSERT INTO favourites (user_id, product_id, like_date) "
+			+ "VALUES (:userId, :productId, :likeDate)";
+	private static final int DRAIN_ATTEMPTS = 3;
+	private static final Duration JOIN_TIMEOUT = Duration.ofSeconds(30);
+	
+	private final NamedParameterJdbcOperations jdbcOperations;
+	private final TransactionOperations transactionOperations;
+	private final ProductLikeCounters productLikeCounters;
+	private final TrendingProducts trendingProducts;
+	private final LikedProductsIndex likedProductsIndex;
+	private final boolean enabled;
+	private final BlockingQueue<FavouriteDto> queue;
+	private final int batchSize;
+	private final Duration flushInterval;
+	private final Duration offerTimeout;
+	private final List<FavouriteDto> batch = new ArrayList<>();
+	private final LongAdder written = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder failedFlushes = new LongAdder();
+	private final LongAdder flushes = new LongAdder();
+	private final LongAdder flushNanos = new LongAdder();
+	private volatile boolean running;
+	private Thread writer;
+	
+	public FavouriteWriteBehind(final NamedParameterJdbcOperations jdbcOperations,
+			final TransactionOperations transactionOperations,
+			final ProductLikeCounters productLikeCounters,
+			final TrendingProducts trendingProducts,
+			final LikedProductsIndex likedProductsIndex,
+			final boolean enabled, final int capacity, final int batchSize,
+			final Duration flushInterval, final Duration offerTimeout) {
+		this.jdbcOperations = jdbcOperations;
+		this.transactionOperations = transactionOperations;
+		this.productLikeCounters = productLikeCounters;
+		this.trendingProducts = trendingProducts;
+		this.likedProductsIndex = likedProductsIndex;
+		this.enabled = enabled;
+		this.queue = new ArrayBlockingQueue<>(enabled ? capacity : 1);
+		this.batchSize = batchSize;
+		this.flushInterval = flushInterval;
+		this.offerTimeout = offerTimeout;
+	}
+	
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+	
+	/**
+	 * Starts the writer thread, unless write-behind is disabled
+	 */
+	public synchronized void start() {
+		if (!this.enabled || this.running)
+			return;
+		this.running = true;
+		this.writer = new Thread(this::run, "favourite-write-behind");
+		this.writer.start();
+		log.info("*** FavouriteWriteBehind; started, {} likes per batch every {} *", this.batchSize, this.flushInterval);
+	}
+	
+	/**
+	 * Queues the like, waiting up to offerTimeout for room
+	 *
+	 * @throws FavouriteQueueFullException if the queue stayed full or the writer is stopping
+	 */
+	public FavouriteDto enqueue(final FavouriteDto favouriteDto) {
+		try {
+			if (this.running && this.queue.offer(favouriteDto, this.offerTimeout.toNanos(), TimeUnit.NANOSECONDS))
+				return favouriteDto;
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		this.rejected.increment();
+		throw new FavouriteQueueFullException(String.format("Favourite with id: [%s] not queued, the like queue is full",
+				new FavouriteId(favouriteDto.getUserId(), favouriteDto.getProductId(), favouriteDto.getLikeDate())));
+	}
+	
+	/**
+	 * Stops taking likes, waits for the writer to finish its batch, then writes out
+	 * what is still queued, giving up on a batch after DRAIN_ATTEMPTS failures
+	 */
+	public synchronized void close() throws InterruptedException {
+		if (!this.running)
+			return;
+		this.running = false;
+		this.writer.join(JOIN_TIMEOUT.toMillis());
+		if (this.writer.isAlive()) {
+			log.error("*** FavouriteWriteBehind; writer still busy after {}, {} queued likes not written *",
+					JOIN_TIMEOUT, this.queue.size());
+			return;
+		}
+		int drained = 0;
+		do {
+			drained += this.batch.size();
+			this.writeAttempts(DRAIN_ATTEMPTS);
+			this.batch.clear();
+		}
+		while (this.queue.drainTo(this.batch, this.batchSize) > 0);
+		log.info("*** FavouriteWriteBehind; stopped, drained {} queued likes *", drained);
+	}
+	
+	public int queueDepth() {
+		return this.queue.size();
+	}
+	
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		Gauge.builder("likes.write-behind.queue.depth", this.queue, BlockingQueue::size)
+				.description("The likes acknowledged but not yet written to favourites")
+				.register(registry);
+		FunctionTimer.builder("likes.write-behind.flush", this,
+						writeBehind -> writeBehind.flushes.sum(),
+						writeBehind -> writeBehind.flushNanos.sum(),
+						TimeUnit.NANOSECONDS)
+				.description("The time taken to write a batch of queued likes")
+				.register(registry);
+		FunctionCounter.builder("likes.write-behind.written", this.written, LongAdder::sum)
+				.description("The queued likes inserted into favourites")
+				.register(registry);
+		FunctionCounter.builder("likes.write-behind.rejected", this.rejected, LongAdder::sum)
+				.description("The likes rejected because the queue stayed full")
+				.register(registry);
+		FunctionCounter.builder("likes.write-behind.flush.failures", this.failedFlushes, LongAdder::sum)
+				.description("The batches rolled back and retried")
+				.register(registry);
+	}
+	
+	private void run() {
+		try {
+			while (this.running) {
+				this.fill();
+				// a batch that keeps failing holds the writer here, and the queue fills up behind it
+				while (!this.writeAttempts(1) && this.running)
+					Thread.sleep(this.flushInterval.toMillis());
+			}
+		}
+		catch (final InterruptedException e) {
+			log.warn("*** FavouriteWriteBehind; writer interrupted, {} queued likes left to close *", this.queue.size());
+		}
+	}
+	
+	/**
+	 * Waits up to flushInterval for a first like, then takes more until
+	 * the batch is full or flushInterval has passed since that first like
+	 */
+	private void fill() throws InterruptedException {
+		final FavouriteDto first = this.queue.poll(this.flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+		if (first == null)
+			return;
+		this.batch.add(first);
+		final long deadline = System.nanoTime() + this.flushInterval.toNanos();
+		while (this.batch.size() < this.batchSize) {
+			if (this.queue.drainTo(this.batch, this.batchSize - this.batch.size()) > 0)
+				continue;
+			final FavouriteDto next = this.queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+			if (next == null)
+				return;
+			this.batch.add(next);
+		}
+	}
+	
+	/**
+	 * Writes the batch, clearing it once written, or leaves it in place after attempts failures
+	 */
+	private boolean writeAttempts(final int attempts) {
+		for (int attempt = 1; !this.batch.isEmpty(); attempt++) {
+			final long start = System.nanoTime();
+			try {
+				this.write();
+				this.batch.clear();
+				return true;
+			}
+			catch (final RuntimeException e) {
+				this.failedFlushes.increment();
+				if (attempt >= attempts) {
+					if (this.running)
+						log.warn("*** FavouriteWriteBehind; flush failed, {} likes kept for a retry *", this.batch.size(), e);
+					else
+						log.error("*** FavouriteWriteBehind; flush failed on shutdown, {} likes not written *",
+								this.batch.size(), e);
+					return false;
+				}
+			}
+			finally {
+				this.flushes.increment();
+				this.flushNanos.add(System.nanoTime() - start);
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Inserts the likes of the batch that are not stored yet, then applies them
+	 * to the in-memory views the way a committed save() does
+	 */
+	private void write() {
+		final List<FavouriteDto> inserted = this.transactionOperations.execute(status -> this.insertNew());
+		this.written.add(inserted.size());
+		inserted.forEach(f -> {
+			this.productLikeCounters.add(f.getProductId(), 1);
+			this.trendingProducts.record(f.getProductId(), f.getLikeDate());
+			this.likedProductsIndex.add(f.getUserId(), f.getProductId());
+		});
+	}
+	
+	/**
+	 * Skips likes queued twice and likes already stored, the batch insert would fail on their keys
+	 */
+	private List<FavouriteDto> insertNew() {
+		
+		final Map<FavouriteId, FavouriteDto> likes = new LinkedHashMap<>();
+		this.batch.forEach(f -> likes.putIfAbsent(new FavouriteId(f.getUserId(), f.getProductId(), f.getLikeDate()), f));
+		
+		this.jdbcOperations.query(SELECT_SQL,
+				new MapSqlParameterSource("keys", likes.keySet().stream()
+						.map(id -> new Object[] { id.getUserId(), id.getProductId(), id.getLikeDate() })
+						.collect(Collectors.toUnmodifiableList())),
+				rs -> {
+					likes.remove(new FavouriteId(rs.getInt("user_id"), rs.getInt("product_id"),
+							rs.getTimestamp("like_date").toLocalDateTime()));
+				});
+		if (!likes.isEmpty())
+			this.jdbcOperations.batchUpdate(INSERT_SQL, likes.values().stream()
+					.map(f -> new MapSqlParameterSource()
+							.addValue("userId", f.getUserId())
+							.addValue("productId", f.getProductId())
+							.addValue("likeDate", f.getLikeDate()))
+					.toArray(SqlParameterSource[]::new));
+		
+		return List.copyOf(likes.values());
+	}
+	
+	
+	
+}
@@ -0,0 +1,11 @@
+
+CREATE TABLE product_like_counts (
+	product_id INT(11) NOT NULL PRIMARY KEY,
+	like_count BIGINT NOT NULL,
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP
+);
+
+INSERT INTO product_like_counts (product_id, like_count)
+SELECT product_id, COUNT(*) FROM favourites GROUP BY product_id;
+
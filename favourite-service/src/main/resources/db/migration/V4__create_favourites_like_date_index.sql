@@ -0,0 +1,3 @@
+
+CREATE INDEX idx_favourites_like_date ON favourites (like_date);
+
@@ -0,0 +1,11 @@
+
+CREATE TABLE favourite_deletes (
+	user_id INT(11) NOT NULL,
+	product_id INT(11) NOT NULL,
+	deleted_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT
+);
+
+CREATE INDEX idx_favourite_deletes_deleted_at ON favourite_deletes (deleted_at);
+
+CREATE INDEX idx_favourites_created_at ON favourites (created_at);
+
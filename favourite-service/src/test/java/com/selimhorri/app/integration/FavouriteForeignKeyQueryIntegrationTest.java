@@ -0,0 +1,97 @@
+package com.selimhorri.app.integration;
+
+import static com.selimhorri.app.test.query.QueryPlan.assertUsesIndex;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.domain.Favourite;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.repository.FavouriteRepository;
+import com.selimhorri.app.service.FavouriteService;
+import com.selimhorri.app.support.page.CursorPageResponse;
+
+/**
+ * Pruebas de la consulta de favoritos por usuario
+ *
+ * La clave primaria de favourites empieza por user_id y ya sirve a esta
+ * consulta; se valida con EXPLAIN que la usa en vez de recorrer la tabla.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Integration Test: Favourite-Service foreign key queries")
+class FavouriteForeignKeyQueryIntegrationTest {
+
+    private static final int USER_ID = 903;
+    private static final LocalDateTime LIKE_DATE = LocalDateTime.of(2023, 10, 19, 10, 0, 0);
+
+    @Autowired
+    private FavouriteService favouriteService;
+
+    @Autowired
+    private FavouriteRepository favouriteRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        favouriteRepository.saveAll(IntStream.range(0, 6)
+                .mapToObj(i -> Favourite.builder()
+                        .userId(USER_ID)
+                        .productId(i / 2 + 1)
+                        .likeDate(LIKE_DATE.plusDays(i % 2))
+                        .build())
+                .collect(Collectors.toUnmodifiableList()));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok().build());
+    }
+
+    @Test
+    @DisplayName("Test 1: Favourites by user - pages should hold only the user's favourites and use the primary key")
+    void testFindPageByUserId_ShouldPageThroughUserFavourites() {
+        // When
+        List<FavouriteDto> favourites = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponse<FavouriteDto> page = favouriteService.findPageByUserId(USER_ID, cursor, 4);
+            favourites.addAll(page.getCollection());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertEquals(6, favourites.size());
+        assertTrue(favourites.stream().allMatch(f -> Integer.valueOf(USER_ID).equals(f.getUserId())));
+        assertEquals(favourites.stream()
+                        .sorted(Comparator.comparing(FavouriteDto::getProductId).thenComparing(FavouriteDto::getLikeDate))
+                        .collect(Collectors.toList()),
+                favourites);
+        assertUsesIndex(dataSource, "PRIMARY_KEY", () -> favouriteService.findPageByUserId(USER_ID, null, 4));
+    }
+}
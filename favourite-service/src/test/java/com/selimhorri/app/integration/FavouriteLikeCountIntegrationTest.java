@@ -0,0 +1,193 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.counter.ProductLikeCounters;
+import com.selimhorri.app.domain.id.FavouriteId;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.ProductLikeCountDto;
+import com.selimhorri.app.service.FavouriteService;
+
+/**
+ * Pruebas de los contadores de "me gusta" por producto
+ *
+ * Valida que los incrementos concurrentes no se pierdan, que el volcado
+ * periódico persista los deltas en product_like_counts, que la recarga
+ * periódica traiga los conteos volcados por otras instancias sin perder los
+ * pendientes y que borrar dos veces un "me gusta" solo lo descuente una vez.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Integration Test: Favourite-Service like counters")
+class FavouriteLikeCountIntegrationTest {
+
+    private static final int USER_ID = 904;
+    private static final int PRODUCT_ID = 9041;
+    private static final LocalDateTime LIKE_DATE = LocalDateTime.of(2023, 10, 20, 10, 0, 0);
+
+    @Autowired
+    private FavouriteService favouriteService;
+
+    @Autowired
+    private ProductLikeCounters productLikeCounters;
+
+    @Autowired
+    private NamedParameterJdbcOperations jdbcOperations;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok().build());
+    }
+
+    @Test
+    @DisplayName("Test 1: Concurrent likes - every increment should be counted and flushed")
+    void testConcurrentLikes_ShouldBeCountedAndFlushed() throws Exception {
+        // Given
+        int productId = 9042;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        try {
+            List<Future<?>> futures = IntStream.range(0, 8)
+                    .mapToObj(t -> executor.submit(() -> IntStream.range(0, 1_000)
+                            .forEach(i -> productLikeCounters.add(productId, 1))))
+                    .collect(Collectors.toUnmodifiableList());
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+        productLikeCounters.flush();
+
+        // Then
+        assertEquals(8_000L, productLikeCounters.get(productId));
+        assertEquals(8_000L, storedLikeCount(productId));
+    }
+
+    @Test
+    @DisplayName("Test 2: Reload - a new instance should load the flushed counts")
+    void testReload_ShouldLoadFlushedCounts() {
+        // Given
+        productLikeCounters.add(9043, 3);
+        productLikeCounters.add(9044, 5);
+        productLikeCounters.flush();
+
+        // When
+        ProductLikeCounters reloaded = new ProductLikeCounters(jdbcOperations, transactionOperations, 500);
+        reloaded.reload();
+
+        // Then
+        assertEquals(Map.of(9043, 3L, 9044, 5L), reloaded.getAll(Set.of(9043, 9044)));
+    }
+
+    @Test
+    @DisplayName("Test 3: Save and delete - should move the like count of the product")
+    void testSaveAndDelete_ShouldMoveLikeCount() {
+        // Given
+        FavouriteDto favouriteDto = FavouriteDto.builder()
+                .userId(USER_ID)
+                .productId(PRODUCT_ID)
+                .likeDate(LIKE_DATE)
+                .build();
+
+        // When
+        favouriteService.save(favouriteDto);
+        favouriteService.save(favouriteDto);
+
+        // Then
+        List<ProductLikeCountDto> likeCounts = favouriteService.findLikeCounts(Set.of(PRODUCT_ID));
+        assertEquals(List.of(new ProductLikeCountDto(PRODUCT_ID, 1L)), likeCounts);
+
+        // When
+        favouriteService.deleteById(new FavouriteId(USER_ID, PRODUCT_ID, LIKE_DATE));
+        productLikeCounters.flush();
+
+        // Then
+        assertEquals(0L, productLikeCounters.get(PRODUCT_ID));
+        assertEquals(0L, storedLikeCount(PRODUCT_ID));
+    }
+
+    @Test
+    @DisplayName("Test 4: Reload - should pick up counts flushed by another instance and keep pending likes")
+    void testReload_ShouldPickUpOtherInstancesAndKeepPending() {
+        // Given
+        int productId = 9045;
+        ProductLikeCounters otherInstance = new ProductLikeCounters(jdbcOperations, transactionOperations, 500);
+        otherInstance.add(productId, 7);
+        otherInstance.flush();
+        productLikeCounters.add(productId, 2);
+
+        // When
+        productLikeCounters.reload();
+
+        // Then
+        assertEquals(9L, productLikeCounters.get(productId));
+        productLikeCounters.flush();
+        assertEquals(9L, productLikeCounters.get(productId));
+        assertEquals(9L, storedLikeCount(productId));
+    }
+
+    @Test
+    @DisplayName("Test 5: Delete twice - should take the like off the count only once")
+    void testDeleteTwice_ShouldDecrementOnce() {
+        // Given
+        int productId = 9046;
+        favouriteService.save(FavouriteDto.builder()
+                .userId(USER_ID)
+                .productId(productId)
+                .likeDate(LIKE_DATE)
+                .build());
+        productLikeCounters.add(productId, 4);
+
+        // When
+        favouriteService.deleteById(new FavouriteId(USER_ID, productId, LIKE_DATE));
+        favouriteService.deleteById(new FavouriteId(USER_ID, productId, LIKE_DATE));
+        productLikeCounters.flush();
+
+        // Then
+        assertEquals(4L, productLikeCounters.get(productId));
+        assertEquals(4L, storedLikeCount(productId));
+    }
+
+    private long storedLikeCount(int productId) {
+        return jdbcOperations.queryForList("SELECT like_count FROM product_like_counts WHERE product_id = :productId",
+                Map.of("productId", productId), Long.class).stream()
+            .findFirst()
+            .orElse(0L);
+    }
+}
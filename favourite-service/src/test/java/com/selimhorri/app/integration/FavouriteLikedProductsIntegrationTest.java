@@ -0,0 +1,221 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.config.liked.LikedProductsEndpoint;
+import com.selimhorri.app.domain.id.FavouriteId;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.liked.LikedProductsIndex;
+import com.selimhorri.app.liked.LikedProductsListener;
+import com.selimhorri.app.liked.ProductIdBitmap;
+import com.selimhorri.app.service.FavouriteService;
+
+/**
+ * Pruebas del índice de productos con "me gusta" por usuario
+ *
+ * Valida que el índice siga a los guardados y borrados de favoritos, que
+ * se reconstruya desde la tabla, que la recarga periódica, completa o
+ * incremental, traiga los cambios escritos por otras réplicas y que el
+ * endpoint de actuator informe la memoria retenida por usuario.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Integration Test: Favourite-Service liked products index")
+class FavouriteLikedProductsIntegrationTest {
+
+    private static final int USER_ID = 906;
+    private static final LocalDateTime LIKE_DATE = LocalDateTime.of(2023, 10, 21, 10, 0, 0);
+
+    @Autowired
+    private FavouriteService favouriteService;
+
+    @Autowired
+    private LikedProductsEndpoint likedProductsEndpoint;
+
+    @Autowired
+    private NamedParameterJdbcOperations jdbcOperations;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok().build());
+    }
+
+    @Test
+    @DisplayName("Test 1: Save and delete - the liked subset should follow the user's favourites")
+    void testSaveAndDelete_ShouldUpdateLikedSubset() {
+        // Given
+        for (int productId : List.of(10, 30, 70_000))
+            favouriteService.save(FavouriteDto.builder()
+                    .userId(USER_ID)
+                    .productId(productId)
+                    .likeDate(LIKE_DATE)
+                    .build());
+        favouriteService.save(FavouriteDto.builder()
+                .userId(USER_ID)
+                .productId(30)
+                .likeDate(LIKE_DATE.plusDays(1))
+                .build());
+
+        // When
+        List<Integer> liked = favouriteService.findLikedProductIds(USER_ID, List.of(70_000, 20, 30, 10));
+
+        // Then
+        assertEquals(List.of(70_000, 30, 10), liked);
+
+        // When
+        favouriteService.deleteById(new FavouriteId(USER_ID, 10, LIKE_DATE));
+        favouriteService.deleteById(new FavouriteId(USER_ID, 30, LIKE_DATE));
+
+        // Then
+        assertEquals(List.of(70_000, 30), favouriteService.findLikedProductIds(USER_ID, List.of(70_000, 30, 10)));
+    }
+
+    @Test
+    @DisplayName("Test 2: Rebuild - a new index should hold every favourite in the table")
+    void testRebuild_ShouldMatchFavouritesTable() {
+        // Given
+        LikedProductsIndex rebuilt = new LikedProductsIndex(jdbcOperations, TransactionOperations.withoutTransaction());
+
+        // When
+        rebuilt.rebuild();
+
+        // Then
+        jdbcOperations.query("SELECT user_id, product_id FROM favourites", rs -> {
+            assertEquals(List.of(rs.getInt("product_id")),
+                    rebuilt.likedAmong(rs.getInt("user_id"), List.of(rs.getInt("product_id"))));
+        });
+        assertEquals(jdbcOperations.queryForObject("SELECT COUNT(DISTINCT user_id) FROM favourites", Map.of(), Integer.class),
+                rebuilt.memory().get("users"));
+    }
+
+    @Test
+    @DisplayName("Test 3: Memory endpoint - should report the bytes retained overall and per user")
+    void testMemoryEndpoint_ShouldReportBytesPerUser() {
+        // Given
+        favouriteService.save(FavouriteDto.builder()
+                .userId(USER_ID + 1)
+                .productId(1)
+                .likeDate(LIKE_DATE)
+                .build());
+
+        // When
+        Map<String, Object> memory = likedProductsEndpoint.memory();
+        Long memoryOfUser = likedProductsEndpoint.memoryOf(USER_ID + 1);
+
+        // Then
+        assertTrue((Integer) memory.get("users") > 0);
+        assertTrue((Long) memory.get("totalBytes") >= memoryOfUser);
+        assertTrue(memoryOfUser > 0 && memoryOfUser < 200);
+        assertNull(likedProductsEndpoint.memoryOf(-1));
+    }
+
+    @Test
+    @DisplayName("Test 4: Refresh - likes and unlikes written by another replica should reach the index and its listeners")
+    void testRefresh_ShouldPickUpOtherReplicasWrites() {
+        // Given
+        int userId = USER_ID + 2;
+        LikedProductsIndex index = new LikedProductsIndex(jdbcOperations, TransactionOperations.withoutTransaction());
+        index.rebuild();
+        List<String> events = new ArrayList<>();
+        index.addListener(new LikedProductsListener() {
+            @Override
+            public void liked(int userId, int productId, ProductIdBitmap otherProductIds) {
+                events.add("liked " + userId + "/" + productId + " with " + otherProductIds.cardinality());
+            }
+
+            @Override
+            public void unliked(int userId, int productId, ProductIdBitmap otherProductIds) {
+                events.add("unliked " + userId + "/" + productId + " with " + otherProductIds.cardinality());
+            }
+        });
+        Map<String, Object> like = Map.of("userId", userId, "productId", 80, "likeDate", LIKE_DATE);
+
+        // When
+        jdbcOperations.update("INSERT INTO favourites (user_id, product_id, like_date) "
+                + "VALUES (:userId, :productId, :likeDate)", like);
+        index.refresh();
+
+        // Then
+        assertEquals(List.of(80), index.likedAmong(userId, List.of(80, 81)));
+
+        // When
+        jdbcOperations.update("DELETE FROM favourites "
+                + "WHERE user_id = :userId AND product_id = :productId AND like_date = :likeDate", like);
+        index.refresh();
+        index.refresh();
+
+        // Then
+        assertEquals(List.of(), index.likedAmong(userId, List.of(80)));
+        assertNull(index.memoryOf(userId));
+        assertEquals(List.of("liked " + userId + "/80 with 0", "unliked " + userId + "/80 with 0"), events);
+    }
+
+    @Test
+    @DisplayName("Test 5: Incremental refresh - only the users other replicas changed should be reloaded")
+    void testRefreshChanges_ShouldReloadOnlyChangedUsers() {
+        // Given
+        int userId = USER_ID + 3;
+        LikedProductsIndex index = new LikedProductsIndex(jdbcOperations, TransactionOperations.withoutTransaction());
+        LikedProductsIndex otherReplica = new LikedProductsIndex(jdbcOperations, TransactionOperations.withoutTransaction());
+        index.rebuild();
+        List<String> events = new ArrayList<>();
+        index.addListener(new LikedProductsListener() {
+            @Override
+            public void liked(int userId, int productId, ProductIdBitmap otherProductIds) {
+                events.add("liked " + userId + "/" + productId);
+            }
+
+            @Override
+            public void unliked(int userId, int productId, ProductIdBitmap otherProductIds) {
+                events.add("unliked " + userId + "/" + productId);
+            }
+        });
+        Map<String, Object> like = Map.of("userId", userId, "productId", 90, "likeDate", LIKE_DATE);
+
+        // When - otra réplica guarda el "me gusta"
+        jdbcOperations.update("INSERT INTO favourites (user_id, product_id, like_date) "
+                + "VALUES (:userId, :productId, :likeDate)", like);
+        index.refreshChanges();
+
+        // Then
+        assertEquals(List.of(90), index.likedAmong(userId, List.of(90, 91)));
+
+        // When - otra réplica lo borra y deja constancia del borrado
+        jdbcOperations.update("DELETE FROM favourites "
+                + "WHERE user_id = :userId AND product_id = :productId AND like_date = :likeDate", like);
+        otherReplica.remove(userId, 90);
+        index.refreshChanges();
+
+        // Then
+        assertEquals(List.of(), index.likedAmong(userId, List.of(90)));
+        assertNull(index.memoryOf(userId));
+        assertEquals(List.of("liked " + userId + "/90", "unliked " + userId + "/90"), events);
+    }
+}
@@ -0,0 +1,79 @@
+package com.selimhorri.app.integration;
+
+import static com.selimhorri.app.test.query.QueryBudget.assertAtMost;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.domain.Favourite;
+import com.selimhorri.app.domain.id.FavouriteId;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.repository.FavouriteRepository;
+import com.selimhorri.app.service.FavouriteService;
+
+/**
+ * Presupuestos de consultas JDBC del servicio de favoritos
+ *
+ * Usuarios y productos se enriquecen por HTTP; en la base de datos cada
+ * lectura debe ejecutar una sola sentencia sin importar cuántos favoritos haya.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Integration Test: Favourite-Service query budgets")
+class FavouriteQueryBudgetIntegrationTest {
+
+    private static final int ROWS = 5;
+    private static final LocalDateTime LIKE_DATE = LocalDateTime.of(2023, 10, 19, 10, 0, 0);
+
+    @Autowired
+    private FavouriteService favouriteService;
+
+    @Autowired
+    private FavouriteRepository favouriteRepository;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        favouriteRepository.saveAll(IntStream.rangeClosed(1, ROWS)
+                .mapToObj(i -> Favourite.builder()
+                        .userId(i)
+                        .productId(i)
+                        .likeDate(LIKE_DATE)
+                        .build())
+                .collect(Collectors.toUnmodifiableList()));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok().build());
+    }
+
+    @Test
+    @DisplayName("Test 1: Favourites - find all and find by ID should run a single statement")
+    void testFavouriteReads_ShouldStayWithinBudget() {
+        List<FavouriteDto> favourites = assertAtMost(1, () -> favouriteService.findAll());
+        assertTrue(favourites.size() >= ROWS);
+
+        FavouriteDto favourite = favourites.get(0);
+        assertAtMost(1, () -> favouriteService.findById(
+                new FavouriteId(favourite.getUserId(), favourite.getProductId(), favourite.getLikeDate())));
+    }
+}
@@ -0,0 +1,215 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.domain.id.FavouriteId;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.RelatedProductDto;
+import com.selimhorri.app.liked.LikedProductsIndex;
+import com.selimhorri.app.related.RelatedProducts;
+import com.selimhorri.app.service.FavouriteService;
+
+/**
+ * Pruebas del índice de co-ocurrencias ("quienes dieron me gusta a X también a Y")
+ *
+ * Valida que el índice incremental coincida con una reconstrucción completa,
+ * que los borrados descuenten sus pares, que un usuario que cruza el umbral
+ * de "me gusta" retire o recupere todos sus pares igual que en una
+ * reconstrucción y que una instantánea en disco se recargue aplicando los
+ * "me gusta" posteriores a ella.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Integration Test: Favourite-Service related products")
+class FavouriteRelatedProductsIntegrationTest {
+
+    private static final LocalDateTime LIKE_DATE = LocalDateTime.of(2023, 10, 22, 10, 0, 0);
+
+    @Autowired
+    private FavouriteService favouriteService;
+
+    @Autowired
+    private RelatedProducts relatedProducts;
+
+    @Autowired
+    private LikedProductsIndex likedProductsIndex;
+
+    @Autowired
+    private NamedParameterJdbcOperations jdbcOperations;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @TempDir
+    Path snapshotDirectory;
+
+    @BeforeEach
+    void setUp() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok().build());
+    }
+
+    @Test
+    @DisplayName("Test 1: New likes - related products should be ranked by co-likes and match a full rebuild")
+    void testNewLikes_ShouldRankByCoLikes() {
+        // Given
+        like(9071, 9701, 9702, 9703);
+        like(9072, 9701, 9702);
+        like(9073, 9701, 9702, 9704);
+
+        // When
+        List<RelatedProductDto> related = favouriteService.findRelated(9701, 10);
+
+        // Then
+        assertEquals(List.of(new RelatedProductDto(9702, 3), new RelatedProductDto(9703, 1),
+                new RelatedProductDto(9704, 1)), related);
+        RelatedProducts rebuilt = new RelatedProducts(likedProductsIndex, jdbcOperations, null, 500);
+        rebuilt.rebuild();
+        for (int productId = 9701; productId <= 9704; productId++)
+            assertEquals(relatedProducts.related(productId, 10), rebuilt.related(productId, 10));
+    }
+
+    @Test
+    @DisplayName("Test 2: Unlike - deleting a favourite should take its pairs back")
+    void testUnlike_ShouldRemovePairs() {
+        // Given
+        like(9074, 9711, 9712, 9713);
+        like(9075, 9711, 9712);
+
+        // When
+        favouriteService.deleteById(new FavouriteId(9074, 9712, LIKE_DATE));
+
+        // Then
+        assertEquals(List.of(new RelatedProductDto(9712, 1), new RelatedProductDto(9713, 1)),
+                favouriteService.findRelated(9711, 10));
+        assertEquals(List.of(new RelatedProductDto(9711, 1)), favouriteService.findRelated(9712, 10));
+    }
+
+    @Test
+    @DisplayName("Test 3: Snapshot - a reload should match the live index, including likes after the snapshot")
+    void testSnapshot_ShouldReloadAndReplayLaterLikes() throws Exception {
+        // Given
+        Path snapshotPath = snapshotDirectory.resolve("related-products.snapshot");
+        like(9076, 9721, 9722);
+        RelatedProducts snapshotted = new RelatedProducts(likedProductsIndex, jdbcOperations, snapshotPath, 500);
+        snapshotted.rebuild();
+        snapshotted.snapshot();
+        Thread.sleep(10);
+        like(9077, 9721, 9722, 9723);
+        like(9076, 9723);
+
+        // When
+        RelatedProducts reloaded = new RelatedProducts(likedProductsIndex, jdbcOperations, snapshotPath, 500);
+        reloaded.load();
+
+        // Then
+        assertEquals(List.of(new RelatedProductDto(9722, 2), new RelatedProductDto(9723, 2)),
+                reloaded.related(9721, 10));
+        for (int productId = 9721; productId <= 9723; productId++)
+            assertEquals(relatedProducts.related(productId, 10), reloaded.related(productId, 10));
+    }
+
+    @Test
+    @DisplayName("Test 4: Stale snapshot - a snapshot missing deleted favourites should be rebuilt")
+    void testStaleSnapshot_ShouldRebuild() {
+        // Given
+        Path snapshotPath = snapshotDirectory.resolve("related-products.snapshot");
+        like(9078, 9731, 9732);
+        like(9079, 9731, 9732);
+        RelatedProducts snapshotted = new RelatedProducts(likedProductsIndex, jdbcOperations, snapshotPath, 500);
+        snapshotted.rebuild();
+        snapshotted.snapshot();
+        favouriteService.deleteById(new FavouriteId(9079, 9732, LIKE_DATE));
+
+        // When
+        RelatedProducts reloaded = new RelatedProducts(likedProductsIndex, jdbcOperations, snapshotPath, 500);
+        reloaded.load();
+
+        // Then
+        assertEquals(List.of(new RelatedProductDto(9732, 1)), reloaded.related(9731, 10));
+    }
+
+    @Test
+    @DisplayName("Test 5: Threshold - crossing maxLikesPerUser should retract and restore the user's pairs like a rebuild")
+    void testThreshold_ShouldRetractAndRestorePairs() {
+        // Given
+        LikedProductsIndex index = new LikedProductsIndex(jdbcOperations, TransactionOperations.withoutTransaction());
+        RelatedProducts related = new RelatedProducts(index, jdbcOperations, null, 2);
+        index.addListener(related);
+        index.add(9081, 9741);
+        index.add(9081, 9742);
+        index.add(9082, 9741);
+        index.add(9082, 9742);
+
+        // Then
+        assertEquals(List.of(new RelatedProductDto(9742, 2)), related.related(9741, 10));
+        assertMatchesRebuild(index, related, 9741, 9743);
+
+        // When - the third like takes 9081 over the threshold
+        index.add(9081, 9743);
+
+        // Then
+        assertEquals(List.of(new RelatedProductDto(9742, 1)), related.related(9741, 10));
+        assertEquals(List.of(), related.related(9743, 10));
+        assertMatchesRebuild(index, related, 9741, 9743);
+
+        // When - the unlike brings 9081 back under it
+        index.remove(9081, 9741);
+
+        // Then
+        assertEquals(List.of(new RelatedProductDto(9741, 1), new RelatedProductDto(9743, 1)),
+                related.related(9742, 10));
+        assertMatchesRebuild(index, related, 9741, 9743);
+    }
+
+    @Test
+    @DisplayName("Test 6: Limit - a limit below 1 should return no related products")
+    void testNonPositiveLimit_ShouldReturnEmpty() {
+        // Given
+        like(9083, 9751, 9752);
+
+        // When & Then
+        assertEquals(List.of(), favouriteService.findRelated(9751, 0));
+        assertEquals(List.of(), favouriteService.findRelated(9751, -1));
+        assertEquals(1, favouriteService.findRelated(9751, 1).size());
+    }
+
+    private void assertMatchesRebuild(LikedProductsIndex index, RelatedProducts related, int fromProductId, int toProductId) {
+        RelatedProducts rebuilt = new RelatedProducts(index, jdbcOperations, null, 2);
+        rebuilt.rebuild();
+        for (int productId = fromProductId; productId <= toProductId; productId++)
+            assertEquals(rebuilt.related(productId, 10), related.related(productId, 10));
+    }
+
+    private void like(int userId, int... productIds) {
+        for (int productId : productIds)
+            favouriteService.save(FavouriteDto.builder()
+                    .userId(userId)
+                    .productId(productId)
+                    .likeDate(LIKE_DATE)
+                    .build());
+    }
+}
@@ -0,0 +1,202 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.TrendingProductDto;
+import com.selimhorri.app.service.FavouriteService;
+import com.selimhorri.app.trending.TrendingProducts;
+import com.selimhorri.app.trending.TrendingWindow;
+
+/**
+ * Pruebas del motor de productos en tendencia
+ *
+ * Valida que las puntuaciones decaigan con la antigüedad de cada "me gusta",
+ * que el top K coincida con el cálculo exhaustivo, que la memoria quede
+ * acotada y que el motor se reconstruya desde la tabla de favoritos, tomando
+ * los "me gusta" de otras réplicas y soltando los borrados.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Integration Test: Favourite-Service trending products")
+class FavouriteTrendingIntegrationTest {
+
+    private static final int USER_ID = 905;
+
+    @Autowired
+    private FavouriteService favouriteService;
+
+    @Autowired
+    private NamedParameterJdbcOperations jdbcOperations;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    private final Clock clock = Clock.fixed(Clock.systemDefaultZone().instant(), Clock.systemDefaultZone().getZone());
+
+    @BeforeEach
+    void setUp() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok().build());
+    }
+
+    @Test
+    @DisplayName("Test 1: Decay - recent likes should outrank older ones within the hour, not within the day")
+    void testDecay_ShouldFavourRecentLikesInShorterWindow() {
+        // Given
+        TrendingProducts trendingProducts = new TrendingProducts(jdbcOperations, TransactionOperations.withoutTransaction(), clock, 10, 1_000);
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (int i = 0; i < 10; i++)
+            trendingProducts.record(1, now.minusHours(5));
+        for (int i = 0; i < 3; i++)
+            trendingProducts.record(2, now.minusMinutes(1));
+
+        // When
+        List<TrendingProductDto> hour = trendingProducts.top(TrendingWindow.HOUR, 2);
+        List<TrendingProductDto> day = trendingProducts.top(TrendingWindow.DAY, 2);
+
+        // Then
+        assertEquals(List.of(2, 1), hour.stream().map(TrendingProductDto::getProductId).collect(Collectors.toList()));
+        assertEquals(List.of(1, 2), day.stream().map(TrendingProductDto::getProductId).collect(Collectors.toList()));
+        assertEquals(3.0, hour.get(0).getScore(), 0.1);
+        assertEquals(10 * Math.exp(-5.0 / 24), day.get(0).getScore(), 0.01);
+    }
+
+    @Test
+    @DisplayName("Test 2: Top K - should match the exhaustive ranking over many likes")
+    void testTopK_ShouldMatchExhaustiveRanking() {
+        // Given
+        TrendingProducts trendingProducts = new TrendingProducts(jdbcOperations, TransactionOperations.withoutTransaction(), clock, 20, 100_000);
+        LocalDateTime now = LocalDateTime.now(clock);
+        Random random = new Random(42);
+        Map<Integer, Double> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            int productId = (int) Math.abs(random.nextGaussian() * 300);
+            long ageMillis = (long) (random.nextDouble() * Duration.ofHours(6).toMillis());
+            trendingProducts.record(productId, now.minusNanos(ageMillis * 1_000_000L));
+            expected.merge(productId, Math.exp(-ageMillis / (double) Duration.ofHours(1).toMillis()), Double::sum);
+        }
+
+        // When
+        List<TrendingProductDto> top = trendingProducts.top(TrendingWindow.HOUR, 20);
+
+        // Then
+        assertEquals(expected.entrySet().stream()
+                        .sorted(Map.Entry.<Integer, Double>comparingByValue(Comparator.reverseOrder()))
+                        .limit(20)
+                        .map(Map.Entry::getKey)
+                        .collect(Collectors.toList()),
+                top.stream().map(TrendingProductDto::getProductId).collect(Collectors.toList()));
+        assertEquals(expected.get(top.get(0).getProductId()), top.get(0).getScore(), 1e-6 * top.get(0).getScore());
+    }
+
+    @Test
+    @DisplayName("Test 3: Bounded memory - a long tail of products should not evict the leaders")
+    void testBoundedMemory_ShouldKeepLeaders() {
+        // Given
+        TrendingProducts trendingProducts = new TrendingProducts(jdbcOperations, TransactionOperations.withoutTransaction(), clock, 5, 1_000);
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (int productId = 1; productId <= 5; productId++)
+            for (int i = 0; i < 10; i++)
+                trendingProducts.record(productId, now);
+
+        // When
+        for (int productId = 100; productId < 50_100; productId++)
+            trendingProducts.record(productId, now);
+
+        // Then
+        assertEquals(List.of(1, 2, 3, 4, 5), trendingProducts.top(TrendingWindow.HOUR, 5).stream()
+                .map(TrendingProductDto::getProductId)
+                .sorted()
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Test 3b: Limit - a limit below 1 should return no products")
+    void testNonPositiveLimit_ShouldReturnEmpty() {
+        // Given
+        TrendingProducts trendingProducts = new TrendingProducts(jdbcOperations, TransactionOperations.withoutTransaction(), clock, 5, 1_000);
+        trendingProducts.record(1, LocalDateTime.now(clock));
+
+        // When & Then
+        assertEquals(List.of(), trendingProducts.top(TrendingWindow.HOUR, 0));
+        assertEquals(List.of(), trendingProducts.top(TrendingWindow.HOUR, -1));
+        assertEquals(1, trendingProducts.top(TrendingWindow.HOUR, 1).size());
+    }
+
+    @Test
+    @DisplayName("Test 4: Save and rebuild - saved favourites should trend and survive a restart")
+    void testSaveAndRebuild_ShouldTrendSavedFavourites() {
+        // Given
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (int i = 0; i < 50; i++)
+            favouriteService.save(FavouriteDto.builder()
+                    .userId(USER_ID)
+                    .productId(9051)
+                    .likeDate(now.minusSeconds(i + 1))
+                    .build());
+
+        // When
+        TrendingProducts rebuilt = new TrendingProducts(jdbcOperations, TransactionOperations.withoutTransaction(), clock, 10, 1_000);
+        rebuilt.rebuild();
+
+        // Then
+        assertEquals(9051, favouriteService.findTrending(TrendingWindow.HOUR, 1).get(0).getProductId());
+        assertEquals(9051, rebuilt.top(TrendingWindow.HOUR, 1).get(0).getProductId());
+        assertEquals(50.0, rebuilt.top(TrendingWindow.HOUR, 1).get(0).getScore(), 1.0);
+    }
+
+    @Test
+    @DisplayName("Test 5: Refresh - a rebuild should add other replicas' likes and drop deleted ones")
+    void testRebuild_ShouldAddOtherReplicasLikesAndDropDeletedOnes() {
+        // Given - un "me gusta" ya borrado de la tabla y otro escrito por otra réplica
+        TrendingProducts trendingProducts = new TrendingProducts(jdbcOperations, TransactionOperations.withoutTransaction(), clock, 10, 1_000);
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (int i = 0; i < 100; i++)
+            trendingProducts.record(9061, now);
+        jdbcOperations.update("INSERT INTO favourites (user_id, product_id, like_date) VALUES (:userId, :productId, :likeDate)",
+                new MapSqlParameterSource("userId", USER_ID + 1)
+                        .addValue("productId", 9062)
+                        .addValue("likeDate", now.minusSeconds(1)));
+        assertEquals(9061, trendingProducts.top(TrendingWindow.HOUR, 1).get(0).getProductId());
+
+        // When
+        trendingProducts.rebuild();
+
+        // Then
+        List<Integer> trending = trendingProducts.top(TrendingWindow.HOUR, 10).stream()
+                .map(TrendingProductDto::getProductId)
+                .collect(Collectors.toList());
+        assertTrue(trending.contains(9062));
+        assertFalse(trending.contains(9061));
+    }
+}
@@ -13,6 +13,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
@@ -22,6 +26,7 @@ import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.repository.FavouriteRepository;
 import com.selimhorri.app.service.FavouriteService;
 
@@ -142,6 +147,7 @@ class FavouriteUserIntegrationTest {
 
     @Test
     @DisplayName("Test 3: Should retrieve all favourites with user information")
+    @SuppressWarnings("unchecked")
     void testGetAllFavourites_ShouldIncludeUserDataForAll() {
         // Given - Guardar múltiples favoritos
         Favourite favourite1 = new Favourite();
@@ -157,16 +163,20 @@ class FavouriteUserIntegrationTest {
         favouriteRepository.save(favourite1);
         favouriteRepository.save(favourite2);
 
-        // Mock de llamadas REST
-        when(restTemplate.getForObject(
+        // Mock de llamadas REST (una llamada masiva por servicio)
+        when(restTemplate.exchange(
             contains("/user-service/"),
-            eq(UserDto.class)))
-            .thenReturn(userDto);
+            eq(HttpMethod.POST),
+            any(HttpEntity.class),
+            any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(userDto))));
 
-        when(restTemplate.getForObject(
+        when(restTemplate.exchange(
             contains("/product-service/"),
-            eq(ProductDto.class)))
-            .thenReturn(productDto);
+            eq(HttpMethod.POST),
+            any(HttpEntity.class),
+            any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(productDto))));
 
         // When - Obtener todos los favoritos
         List<FavouriteDto> results = favouriteService.findAll();
@@ -180,8 +190,13 @@ class FavouriteUserIntegrationTest {
             assertEquals(userDto.getUserId(), fav.getUserDto().getUserId());
         }
 
-        // Verificar que se hicieron múltiples llamadas
-        verify(restTemplate, atLeast(2)).getForObject(
+        // Verificar que se hizo una sola llamada a user-service para todos los favoritos
+        verify(restTemplate, times(1)).exchange(
+            contains("/user-service/"),
+            eq(HttpMethod.POST),
+            any(HttpEntity.class),
+            any(ParameterizedTypeReference.class));
+        verify(restTemplate, never()).getForObject(
             anyString(),
             eq(UserDto.class));
     }
@@ -0,0 +1,183 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.counter.ProductLikeCounters;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.exception.wrapper.FavouriteQueueFullException;
+import com.selimhorri.app.liked.LikedProductsIndex;
+import com.selimhorri.app.service.FavouriteService;
+import com.selimhorri.app.trending.TrendingProducts;
+import com.selimhorri.app.writebehind.FavouriteWriteBehind;
+
+/**
+ * Pruebas del modo de escritura diferida de "me gusta"
+ *
+ * Valida que los "me gusta" encolados se inserten por lotes sin duplicados,
+ * que actualicen contadores e índices, que una cola llena rechace nuevos
+ * "me gusta" y que el cierre escriba lo que quedaba en la cola.
+ */
+@SpringBootTest(properties = {
+    "app.likes.write-behind.enabled=true",
+    "app.likes.write-behind.flush-interval=50ms",
+})
+@ActiveProfiles("test")
+@DisplayName("Integration Test: Favourite-Service write-behind likes")
+class FavouriteWriteBehindIntegrationTest {
+
+    private static final LocalDateTime LIKE_DATE = LocalDateTime.of(2023, 10, 23, 10, 0, 0);
+
+    @Autowired
+    private FavouriteService favouriteService;
+
+    @Autowired
+    private ProductLikeCounters productLikeCounters;
+
+    @Autowired
+    private TrendingProducts trendingProducts;
+
+    @Autowired
+    private LikedProductsIndex likedProductsIndex;
+
+    @Autowired
+    private NamedParameterJdbcOperations jdbcOperations;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok().build());
+    }
+
+    @Test
+    @DisplayName("Test 1: Queued likes - should be inserted by the writer and counted once")
+    void testQueuedLikes_ShouldBeInsertedAndCounted() throws Exception {
+        // Given
+        FavouriteDto favouriteDto = like(9081, 9801);
+
+        // When
+        FavouriteDto acknowledged = favouriteService.save(favouriteDto);
+        favouriteService.save(like(9081, 9801));
+        favouriteService.save(like(9082, 9801));
+        awaitStored(9801, 2);
+
+        // Then
+        assertSame(favouriteDto, acknowledged);
+        assertEquals(2L, productLikeCounters.get(9801));
+        assertEquals(List.of(9801), likedProductsIndex.likedAmong(9081, List.of(9801)));
+        assertEquals(List.of(9801), likedProductsIndex.likedAmong(9082, List.of(9801)));
+    }
+
+    @Test
+    @DisplayName("Test 2: Already stored like - queueing it again should not insert or count it twice")
+    void testStoredLike_ShouldBeSkipped() throws Exception {
+        // Given
+        favouriteService.save(like(9083, 9802));
+        awaitStored(9802, 1);
+
+        // When
+        favouriteService.save(like(9083, 9802));
+        favouriteService.save(like(9084, 9802));
+        awaitStored(9802, 2);
+
+        // Then
+        assertEquals(2L, productLikeCounters.get(9802));
+    }
+
+    @Test
+    @DisplayName("Test 3: Full queue - should reject likes while the writer cannot flush")
+    void testFullQueue_ShouldApplyBackPressure() throws Exception {
+        // Given
+        TransactionOperations failing = new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                throw new IllegalStateException("database unavailable");
+            }
+        };
+        FavouriteWriteBehind writeBehind = new FavouriteWriteBehind(jdbcOperations, failing, productLikeCounters,
+                trendingProducts, likedProductsIndex, true, 2, 1, Duration.ofMillis(20), Duration.ofMillis(10));
+        writeBehind.start();
+
+        // When
+        writeBehind.enqueue(like(9085, 9803));
+        Thread.sleep(100);
+        writeBehind.enqueue(like(9085, 9804));
+        writeBehind.enqueue(like(9085, 9805));
+
+        // Then
+        assertThrows(FavouriteQueueFullException.class, () -> writeBehind.enqueue(like(9085, 9806)));
+        assertEquals(2, writeBehind.queueDepth());
+        writeBehind.close();
+        assertEquals(0, storedLikes(9803));
+    }
+
+    @Test
+    @DisplayName("Test 4: Close - should write out the likes still queued and reject new ones")
+    void testClose_ShouldDrainQueue() throws Exception {
+        // Given
+        FavouriteWriteBehind writeBehind = new FavouriteWriteBehind(jdbcOperations, transactionOperations,
+                productLikeCounters, trendingProducts, likedProductsIndex, true, 100, 500,
+                Duration.ofSeconds(1), Duration.ofMillis(10));
+        writeBehind.start();
+        for (int userId = 9086; userId < 9096; userId++)
+            writeBehind.enqueue(like(userId, 9807));
+
+        // When
+        writeBehind.close();
+
+        // Then
+        assertEquals(10, storedLikes(9807));
+        assertEquals(0, writeBehind.queueDepth());
+        assertThrows(FavouriteQueueFullException.class, () -> writeBehind.enqueue(like(9096, 9807)));
+    }
+
+    private static FavouriteDto like(int userId, int productId) {
+        return FavouriteDto.builder()
+                .userId(userId)
+                .productId(productId)
+                .likeDate(LIKE_DATE)
+                .build();
+    }
+
+    private int storedLikes(int productId) {
+        return jdbcOperations.queryForObject("SELECT COUNT(*) FROM favourites WHERE product_id = :productId",
+                Map.of("productId", productId), Integer.class);
+    }
+
+    private void awaitStored(int productId, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (storedLikes(productId) < expected && System.nanoTime() < deadline)
+            Thread.sleep(20);
+        Thread.sleep(100);
+        assertEquals(expected, storedLikes(productId));
+    }
+}
@@ -0,0 +1,83 @@
+package com.selimhorri.app.liked;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias para ProductIdBitmap
+ *
+ * Valida el mapa de bits comprimido contra un HashSet, en fragmentos
+ * dispersos (arreglos ordenados) y densos (bitsets), y su tamaño en memoria.
+ */
+@DisplayName("Product Id Bitmap Unit Tests")
+class ProductIdBitmapTest {
+
+    @Test
+    @DisplayName("Test 1: Random adds and removes - should match a HashSet")
+    void testRandomUpdates_ShouldMatchHashSet() {
+        // Given
+        Random random = new Random(7);
+        Set<Integer> expected = new HashSet<>();
+        ProductIdBitmap bitmap = ProductIdBitmap.empty();
+
+        // When
+        for (int i = 0; i < 50_000; i++) {
+            int productId = random.nextBoolean() ? random.nextInt(6_000) : random.nextInt();
+            if (random.nextInt(3) == 0) {
+                expected.remove(productId);
+                bitmap = bitmap.without(productId);
+            } else {
+                expected.add(productId);
+                bitmap = bitmap.with(productId);
+            }
+        }
+
+        // Then
+        assertEquals(expected.size(), bitmap.cardinality());
+        for (int productId = 0; productId < 6_000; productId++)
+            assertEquals(expected.contains(productId), bitmap.contains(productId));
+        for (Integer productId : expected)
+            assertTrue(bitmap.contains(productId));
+        assertEquals(bitmap.cardinality(), ProductIdBitmap.of(expected.stream().mapToInt(Integer::intValue).toArray())
+                .cardinality());
+    }
+
+    @Test
+    @DisplayName("Test 2: Dense chunk - should switch to a bitset past 4096 ids and back when shrinking")
+    void testDenseChunk_ShouldSwitchContainers() {
+        // Given
+        ProductIdBitmap bitmap = ProductIdBitmap.of(IntStream.range(0, ProductIdBitmap.ARRAY_MAX).toArray());
+        assertEquals(0, bitmap.bitsetChunks());
+
+        // When
+        ProductIdBitmap dense = bitmap.with(ProductIdBitmap.ARRAY_MAX);
+        ProductIdBitmap sparse = dense.without(0);
+
+        // Then
+        assertEquals(1, dense.bitsetChunks());
+        assertTrue(dense.contains(ProductIdBitmap.ARRAY_MAX));
+        assertEquals(0, sparse.bitsetChunks());
+        assertFalse(sparse.contains(0));
+        assertEquals(ProductIdBitmap.ARRAY_MAX, sparse.cardinality());
+        assertFalse(bitmap.contains(ProductIdBitmap.ARRAY_MAX));
+    }
+
+    @Test
+    @DisplayName("Test 3: Size - a sparse user should cost about 2 bytes per like")
+    void testSizeInBytes_ShouldStaySmallForSparseUsers() {
+        // Given
+        ProductIdBitmap bitmap = ProductIdBitmap.of(IntStream.range(0, 50).map(i -> i * 37).toArray());
+
+        // Then
+        assertEquals(50, bitmap.cardinality());
+        assertTrue(bitmap.sizeInBytes() < 200);
+        assertEquals(0, ProductIdBitmap.empty().without(1).cardinality());
+    }
+}
@@ -2,13 +2,17 @@ package com.selimhorri.app.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -18,16 +22,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.counter.ProductLikeCounters;
 import com.selimhorri.app.domain.Favourite;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
+import com.selimhorri.app.liked.LikedProductsIndex;
 import com.selimhorri.app.repository.FavouriteRepository;
 import com.selimhorri.app.service.impl.FavouriteServiceImpl;
+import com.selimhorri.app.support.page.CursorPageResponse;
+import com.selimhorri.app.trending.TrendingProducts;
+import com.selimhorri.app.writebehind.FavouriteWriteBehind;
 
 /**
  * Pruebas unitarias para FavouriteServiceImpl
@@ -45,6 +61,21 @@ class FavouriteServiceImplTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private ProductLikeCounters productLikeCounters;
+
+    @Mock
+    private TrendingProducts trendingProducts;
+
+    @Mock
+    private LikedProductsIndex likedProductsIndex;
+
+    @Mock
+    private FavouriteWriteBehind favouriteWriteBehind;
+
+    @Mock
+    private TransactionOperations transactionOperations;
+
     @InjectMocks
     private FavouriteServiceImpl favouriteService;
 
@@ -84,13 +115,10 @@ class FavouriteServiceImplTest {
     @DisplayName("Test 1: Find all favourites - should return list with user and product info")
     void testFindAll_ShouldReturnFavouriteListWithDetails() {
         // Given
-        Favourite favourite2 = new Favourite();
-        favourite2.setLikeDate(LocalDateTime.now().minusDays(1));
-        
-        List<Favourite> favourites = Arrays.asList(favourite, favourite2);
-        when(favouriteRepository.findAll()).thenReturn(favourites);
-        when(restTemplate.getForObject(anyString(), eq(UserDto.class))).thenReturn(userDto);
-        when(restTemplate.getForObject(anyString(), eq(ProductDto.class))).thenReturn(productDto);
+        List<FavouriteDto> favourites = Arrays.asList(
+                new FavouriteDto(null, null, LocalDateTime.now()),
+                new FavouriteDto(null, null, LocalDateTime.now().minusDays(1)));
+        when(favouriteRepository.findDtoPageOrderByUserIdAndProductIdAndLikeDate(isNull(), isNull(), isNull(), any())).thenReturn(favourites);
 
         // When
         List<FavouriteDto> result = favouriteService.findAll();
@@ -98,14 +126,52 @@ class FavouriteServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(favouriteRepository, times(1)).findAll();
+        verify(favouriteRepository, times(1)).findDtoPageOrderByUserIdAndProductIdAndLikeDate(isNull(), isNull(), isNull(), any());
+    }
+
+    @Test
+    @DisplayName("Test 1b: Find all favourites - should enrich with one call per remote service")
+    @SuppressWarnings("unchecked")
+    void testFindAll_ShouldEnrichWithOneBulkCallPerService() {
+        // Given - 4 filas que comparten 2 usuarios y 2 productos
+        UserDto userDto2 = UserDto.builder().userId(2).firstName("Jane").build();
+        ProductDto productDto2 = ProductDto.builder().productId(2).productTitle("Mouse").build();
+        List<FavouriteDto> favourites = Arrays.asList(
+                new FavouriteDto(1, 1, LocalDateTime.now()),
+                new FavouriteDto(1, 2, LocalDateTime.now()),
+                new FavouriteDto(2, 1, LocalDateTime.now()),
+                new FavouriteDto(2, 2, LocalDateTime.now()));
+        when(favouriteRepository.findDtoPageOrderByUserIdAndProductIdAndLikeDate(isNull(), isNull(), isNull(), any())).thenReturn(favourites);
+        when(restTemplate.exchange(contains("/user-service/"), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(userDto, userDto2))));
+        when(restTemplate.exchange(contains("/product-service/"), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(productDto, productDto2))));
+
+        // When
+        List<FavouriteDto> result = favouriteService.findAll();
+
+        // Then
+        assertEquals(4, result.size());
+        result.forEach(f -> {
+            assertEquals(f.getUserId(), f.getUserDto().getUserId());
+            assertEquals(f.getProductId(), f.getProductDto().getProductId());
+        });
+        verify(restTemplate, times(1)).exchange(contains("/user-service/"), eq(HttpMethod.POST),
+                argThat((HttpEntity<Set<Integer>> e) -> Set.of(1, 2).equals(e.getBody())),
+                any(ParameterizedTypeReference.class));
+        verify(restTemplate, times(1)).exchange(contains("/product-service/"), eq(HttpMethod.POST),
+                argThat((HttpEntity<Set<Integer>> e) -> Set.of(1, 2).equals(e.getBody())),
+                any(ParameterizedTypeReference.class));
+        verify(restTemplate, never()).getForObject(anyString(), any());
     }
 
     @Test
     @DisplayName("Test 2: Find favourite by ID - should return favourite when found")
     void testFindById_WhenFavouriteExists_ShouldReturnFavourite() {
         // Given
-        when(favouriteRepository.findById(any(FavouriteId.class))).thenReturn(Optional.of(favourite));
+        when(favouriteRepository.findDtoById(anyInt(), anyInt(), any())).thenReturn(Optional.of(favouriteDto));
         when(restTemplate.getForObject(anyString(), eq(UserDto.class))).thenReturn(userDto);
         when(restTemplate.getForObject(anyString(), eq(ProductDto.class))).thenReturn(productDto);
 
@@ -116,20 +182,20 @@ class FavouriteServiceImplTest {
         assertNotNull(result);
         assertNotNull(result.getUserDto());
         assertNotNull(result.getProductDto());
-        verify(favouriteRepository, times(1)).findById(favouriteId);
+        verify(favouriteRepository, times(1)).findDtoById(1, 1, favouriteId.getLikeDate());
     }
 
     @Test
     @DisplayName("Test 3: Find favourite by ID - should throw exception when not found")
     void testFindById_WhenFavouriteDoesNotExist_ShouldThrowException() {
         // Given
-        when(favouriteRepository.findById(any(FavouriteId.class))).thenReturn(Optional.empty());
+        when(favouriteRepository.findDtoById(anyInt(), anyInt(), any())).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(FavouriteNotFoundException.class, () -> {
             favouriteService.findById(favouriteId);
         });
-        verify(favouriteRepository, times(1)).findById(favouriteId);
+        verify(favouriteRepository, times(1)).findDtoById(1, 1, favouriteId.getLikeDate());
     }
 
     @Test
@@ -137,6 +203,8 @@ class FavouriteServiceImplTest {
     void testSave_ShouldPersistAndReturnFavourite() {
         // Given
         when(favouriteRepository.save(any(Favourite.class))).thenReturn(favourite);
+        when(transactionOperations.execute(any()))
+            .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
 
         // When
         FavouriteDto result = favouriteService.save(favouriteDto);
@@ -144,19 +212,41 @@ class FavouriteServiceImplTest {
         // Then
         assertNotNull(result);
         verify(favouriteRepository, times(1)).save(any(Favourite.class));
+        verify(productLikeCounters, times(1)).add(1, 1);
+        verify(trendingProducts, times(1)).record(1, favouriteDto.getLikeDate());
+        verify(likedProductsIndex, times(1)).add(1, 1);
     }
 
     @Test
     @DisplayName("Test 5: Delete favourite by ID - should invoke repository delete")
     void testDeleteById_ShouldInvokeRepositoryDelete() {
         // Given
-        doNothing().when(favouriteRepository).deleteById(any(FavouriteId.class));
+        when(favouriteRepository.deleteByIdReturningCount(favouriteId.getUserId(), favouriteId.getProductId(),
+                favouriteId.getLikeDate())).thenReturn(1);
 
         // When
         favouriteService.deleteById(favouriteId);
 
         // Then
-        verify(favouriteRepository, times(1)).deleteById(favouriteId);
+        verify(favouriteRepository, times(1)).deleteByIdReturningCount(favouriteId.getUserId(),
+                favouriteId.getProductId(), favouriteId.getLikeDate());
+        verify(productLikeCounters, times(1)).add(favouriteId.getProductId(), -1);
+        verify(likedProductsIndex, times(1)).remove(favouriteId.getUserId(), favouriteId.getProductId());
+    }
+
+    @Test
+    @DisplayName("Test 5b: Delete favourite by ID - should leave the counters alone when no row was removed")
+    void testDeleteById_WhenAlreadyDeleted_ShouldNotDecrement() {
+        // Given
+        when(favouriteRepository.deleteByIdReturningCount(favouriteId.getUserId(), favouriteId.getProductId(),
+                favouriteId.getLikeDate())).thenReturn(0);
+
+        // When
+        favouriteService.deleteById(favouriteId);
+
+        // Then
+        verify(productLikeCounters, never()).add(any(), anyLong());
+        verify(likedProductsIndex, never()).remove(any(), any());
     }
 
     @Test
@@ -174,5 +264,33 @@ class FavouriteServiceImplTest {
         assertFalse(likeDate.isAfter(LocalDateTime.now()), 
                     "Like date should not be in the future");
     }
+
+    @Test
+    @DisplayName("Test 7: Find page - should resume after the composite key of the last favourite")
+    @SuppressWarnings("unchecked")
+    void testFindPage_ShouldResumeAfterCompositeKeyOfLastFavourite() {
+        // Given
+        LocalDateTime likeDate = LocalDateTime.of(2024, 5, 17, 10, 30, 15, 123456000);
+        List<FavouriteDto> favourites = List.of(
+                new FavouriteDto(1, 1, likeDate),
+                new FavouriteDto(1, 2, likeDate));
+        when(favouriteRepository.findDtoPageOrderByUserIdAndProductIdAndLikeDate(isNull(), isNull(), isNull(), any()))
+            .thenReturn(favourites);
+        when(favouriteRepository.findDtoPageOrderByUserIdAndProductIdAndLikeDate(eq(1), eq(1), eq(likeDate), any()))
+            .thenReturn(favourites.subList(1, 2));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of())));
+
+        // When
+        CursorPageResponse<FavouriteDto> first = favouriteService.findPage(null, 1);
+        CursorPageResponse<FavouriteDto> second = favouriteService.findPage(first.getNextCursor(), 1);
+
+        // Then
+        assertEquals(1, first.getCollection().iterator().next().getProductId());
+        assertNotNull(first.getNextCursor());
+        assertEquals(2, second.getCollection().iterator().next().getProductId());
+        assertNull(second.getNextCursor());
+    }
 }
 
@@ -0,0 +1,56 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.UserDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Configuration
+public class UserCacheConfig {
+	
+	public static final String USER_DTO_CACHE = "userDtoCache";
+	
+	@Bean
+	public LoadingCache<Integer, UserDto> userDtoCacheBean(
+			final RestTemplate restTemplate, 
+			final MeterRegistry meterRegistry, 
+			@Value("${app.cache.user.maximum-size:10000}") final long maximumSize, 
+			@Value("${app.cache.user.expire-after-write:5m}") final Duration expireAfterWrite, 
+			@Value("${app.cache.user.refresh-after-write:1m}") final Duration refreshAfterWrite) {
+		
+		// Caffeine collapses concurrent misses on the same key into a single load, 
+		// and refreshAfterWrite reloads hot entries in the background before they expire
+		final LoadingCache<Integer, UserDto> cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(expireAfterWrite)
+				.refreshAfterWrite(refreshAfterWrite)
+				.recordStats()
+				.build(userId -> restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+						.USER_SERVICE_API_URL + "/" + userId, UserDto.class));
+		
+		return CaffeineCacheMetrics.monitor(meterRegistry, cache, USER_DTO_CACHE);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
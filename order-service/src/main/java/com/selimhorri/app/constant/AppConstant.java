@@ -11,6 +11,11 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	public static final int EXPORT_FETCH_SIZE = 500;
+	
+	public static final String ID_GENERATOR_TABLE = "id_generators";
+	public static final int ID_ALLOCATION_SIZE = 50;
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
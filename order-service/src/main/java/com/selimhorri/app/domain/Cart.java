@@ -12,8 +12,10 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.selimhorri.app.constant.AppConstant;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -28,12 +30,14 @@ import lombok.NoArgsConstructor;
 @EqualsAndHashCode(callSuper = true, exclude = {"orders"})
 @Data
 @Builder
-public final class Cart extends AbstractMappedEntity implements Serializable {
+public class Cart extends AbstractMappedEntity implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "carts")
+	@TableGenerator(name = "carts", table = AppConstant.ID_GENERATOR_TABLE, 
+			pkColumnValue = "carts", allocationSize = AppConstant.ID_ALLOCATION_SIZE)
 	@Column(name = "cart_id", unique = true, nullable = false, updatable = false)
 	private Integer cartId;
 	
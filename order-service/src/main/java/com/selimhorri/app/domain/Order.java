@@ -11,7 +11,10 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 
 import org.springframework.format.annotation.DateTimeFormat;
 
@@ -31,6 +34,7 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "orders")
+@NamedEntityGraph(name = "Order.cart", attributeNodes = @NamedAttributeNode("cart"))
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true, exclude = {"cart"})
@@ -41,7 +45,9 @@ public final class Order extends AbstractMappedEntity implements Serializable {
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "orders")
+	@TableGenerator(name = "orders", table = AppConstant.ID_GENERATOR_TABLE, 
+			pkColumnValue = "orders", allocationSize = AppConstant.ID_ALLOCATION_SIZE)
 	@Column(name = "order_id", unique = true, nullable = false, updatable = false)
 	private Integer orderId;
 	
@@ -58,7 +64,7 @@ public final class Order extends AbstractMappedEntity implements Serializable {
 	@Column(name = "order_fee", columnDefinition = "decimal")
 	private Double orderFee;
 	
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "cart_id")
 	private Cart cart;
 	
@@ -30,6 +30,16 @@ public class CartDto implements Serializable {
 	@JsonInclude(Include.NON_NULL)
 	private UserDto userDto;
 	
+	/**
+	 * Read-side projection, selected by JPQL constructor expressions 
+	 * without hydrating Cart entities
+	 */
+	public CartDto(final Integer cartId, final Integer userId) {
+		this(cartId, userId, null, UserDto.builder()
+				.userId(userId)
+				.build());
+	}
+	
 }
 
 
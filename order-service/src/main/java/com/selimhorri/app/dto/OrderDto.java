@@ -43,6 +43,17 @@ public class OrderDto implements Serializable {
 	@JsonInclude(Include.NON_NULL)
 	private CartDto cartDto;
 	
+	/**
+	 * Read-side projection, selected by JPQL constructor expressions 
+	 * without hydrating Order or Cart entities
+	 */
+	public OrderDto(final Integer orderId, final LocalDateTime orderDate, final String orderDesc, 
+			final Double orderFee, final Integer cartId) {
+		this(orderId, orderDate, orderDesc, orderFee, CartDto.builder()
+				.cartId(cartId)
+				.build());
+	}
+	
 }
 
 
@@ -14,6 +14,8 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
+import com.selimhorri.app.support.page.InvalidCursorException;
+import com.selimhorri.app.support.page.UnpagedLimitExceededException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -44,6 +46,8 @@ public class ApiExceptionHandler {
 	@ExceptionHandler(value = {
 		CartNotFoundException.class,
 		OrderNotFoundException.class,
+		InvalidCursorException.class,
+		UnpagedLimitExceededException.class,
 		IllegalStateException.class,
 	})
 	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleApiRequestException(final T e) {
@@ -1,11 +1,39 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.dto.CartDto;
 
 public interface CartRepository extends JpaRepository<Cart, Integer> {
 	
+	String CART_DTO = "new com.selimhorri.app.dto.CartDto(c.cartId, c.userId)";
+	
+	@Query("SELECT " + CartRepository.CART_DTO + " FROM Cart c "
+			+ "WHERE (:afterCartId IS NULL OR c.cartId > :afterCartId) "
+			+ "ORDER BY c.cartId")
+	List<CartDto> findDtoPageOrderByCartId(
+			@Param("afterCartId") final Integer afterCartId, 
+			final Pageable pageable);
+	
+	@Query("SELECT " + CartRepository.CART_DTO + " FROM Cart c "
+			+ "WHERE c.userId = :userId "
+			+ "AND (:afterCartId IS NULL OR c.cartId > :afterCartId) "
+			+ "ORDER BY c.cartId")
+	List<CartDto> findDtoPageByUserIdOrderByCartId(
+			@Param("userId") final Integer userId, 
+			@Param("afterCartId") final Integer afterCartId, 
+			final Pageable pageable);
+	
+	@Query("SELECT " + CartRepository.CART_DTO + " FROM Cart c WHERE c.cartId = :cartId")
+	Optional<CartDto> findDtoById(@Param("cartId") final Integer cartId);
+	
 	
 	
 }
@@ -1,11 +1,64 @@
 package com.selimhorri.app.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.dto.OrderDto;
 
 public interface OrderRepository extends JpaRepository<Order, Integer> {
 	
+	String ORDER_DTO = "new com.selimhorri.app.dto.OrderDto(o.orderId, o.orderDate, o.orderDesc, o.orderFee, o.cart.cartId)";
+	
+	@Override
+	@EntityGraph("Order.cart")
+	Optional<Order> findById(final Integer orderId);
+	
+	@Override
+	@EntityGraph("Order.cart")
+	List<Order> findAllById(final Iterable<Integer> orderIds);
+	
+	@Query("SELECT " + OrderRepository.ORDER_DTO + " FROM Order o "
+			+ "WHERE (:afterOrderId IS NULL OR o.orderId > :afterOrderId) "
+			+ "ORDER BY o.orderId")
+	List<OrderDto> findDtoPageOrderByOrderId(
+			@Param("afterOrderId") final Integer afterOrderId, 
+			final Pageable pageable);
+	
+	@Query("SELECT " + OrderRepository.ORDER_DTO + " FROM Order o "
+			+ "WHERE o.cart.cartId = :cartId "
+			+ "AND (:afterOrderId IS NULL OR o.orderId > :afterOrderId) "
+			+ "ORDER BY o.orderId")
+	List<OrderDto> findDtoPageByCartIdOrderByOrderId(
+			@Param("cartId") final Integer cartId, 
+			@Param("afterOrderId") final Integer afterOrderId, 
+			final Pageable pageable);
+	
+	@Query("SELECT " + OrderRepository.ORDER_DTO + " FROM Order o WHERE o.orderId = :orderId")
+	Optional<OrderDto> findDtoById(@Param("orderId") final Integer orderId);
+	
+	@Query("SELECT " + OrderRepository.ORDER_DTO + " FROM Order o WHERE o.orderId IN :orderIds")
+	List<OrderDto> findAllDtoById(@Param("orderIds") final Collection<Integer> orderIds);
+	
+	@QueryHints({
+		@QueryHint(name = org.hibernate.annotations.QueryHints.FETCH_SIZE, value = "" + AppConstant.EXPORT_FETCH_SIZE),
+		@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true")
+	})
+	@Query("SELECT o FROM Order o LEFT JOIN FETCH o.cart ORDER BY o.orderId")
+	Stream<Order> streamAllOrderByOrderId();
+	
 	
 	
 }
@@ -1,5 +1,7 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,11 +14,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.CartService;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +40,25 @@ public class CartResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartService.findAll()));
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<CursorPageResponse<CartDto>> findPage(
+			@RequestParam(name = "cursor", required = false) final String cursor, 
+			@RequestParam(name = "size", defaultValue = "" + CursorHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** CartDto Page, resource; fetch carts page *");
+		return ResponseEntity.ok(this.cartService.findPage(cursor, size));
+	}
+	
+	@GetMapping("/user/{userId}")
+	public ResponseEntity<CursorPageResponse<CartDto>> findPageByUserId(
+			@PathVariable("userId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String userId, 
+			@RequestParam(name = "cursor", required = false) final String cursor, 
+			@RequestParam(name = "size", defaultValue = "" + CursorHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** CartDto Page, resource; fetch carts page by user id *");
+		return ResponseEntity.ok(this.cartService.findPageByUserId(Integer.parseInt(userId), cursor, size));
+	}
+	
 	@GetMapping("/{cartId}")
 	public ResponseEntity<CartDto> findById(
 			@PathVariable("cartId") 
@@ -53,6 +77,15 @@ public class CartResource {
 		return ResponseEntity.ok(this.cartService.save(cartDto));
 	}
 	
+	@PostMapping("/bulk")
+	public ResponseEntity<DtoCollectionResponse<CartDto>> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final List<CartDto> cartDtos) {
+		log.info("*** CartDto List, resource; save all carts *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartService.saveAll(cartDtos)));
+	}
+	
 	@PutMapping
 	public ResponseEntity<CartDto> update(
 			@RequestBody 
@@ -1,9 +1,13 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+import java.util.Set;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,11 +16,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.OrderService;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +43,33 @@ public class OrderResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAll()));
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<CursorPageResponse<OrderDto>> findPage(
+			@RequestParam(name = "cursor", required = false) final String cursor, 
+			@RequestParam(name = "size", defaultValue = "" + CursorHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** OrderDto Page, resource; fetch orders page *");
+		return ResponseEntity.ok(this.orderService.findPage(cursor, size));
+	}
+	
+	@GetMapping("/cart/{cartId}")
+	public ResponseEntity<CursorPageResponse<OrderDto>> findPageByCartId(
+			@PathVariable("cartId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String cartId, 
+			@RequestParam(name = "cursor", required = false) final String cursor, 
+			@RequestParam(name = "size", defaultValue = "" + CursorHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** OrderDto Page, resource; fetch orders page by cart id *");
+		return ResponseEntity.ok(this.orderService.findPageByCartId(Integer.parseInt(cartId), cursor, size));
+	}
+	
+	@GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> exportAll() {
+		log.info("*** OrderDto Stream, resource; export all orders *");
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(outputStream -> this.orderService.exportAll(outputStream));
+	}
+	
 	@GetMapping("/{orderId}")
 	public ResponseEntity<OrderDto> findById(
 			@PathVariable("orderId") 
@@ -44,6 +79,14 @@ public class OrderResource {
 		return ResponseEntity.ok(this.orderService.findById(Integer.parseInt(orderId)));
 	}
 	
+	@PostMapping("/ids")
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") final Set<Integer> orderIds) {
+		log.info("*** OrderDto List, resource; fetch orders by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAllByIds(orderIds)));
+	}
+	
 	@PostMapping
 	public ResponseEntity<OrderDto> save(
 			@RequestBody 
@@ -53,6 +96,15 @@ public class OrderResource {
 		return ResponseEntity.ok(this.orderService.save(orderDto));
 	}
 	
+	@PostMapping("/bulk")
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final List<OrderDto> orderDtos) {
+		log.info("*** OrderDto List, resource; save all orders *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.saveAll(orderDtos)));
+	}
+	
 	@PutMapping
 	public ResponseEntity<OrderDto> update(
 			@RequestBody 
@@ -1,14 +1,19 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 public interface CartService {
 	
 	List<CartDto> findAll();
 	CartDto findById(final Integer cartId);
+	CursorPageResponse<CartDto> findPage(final String cursor, final int size);
+	CursorPageResponse<CartDto> findPageByUserId(final Integer userId, final String cursor, final int size);
 	CartDto save(final CartDto cartDto);
+	List<CartDto> saveAll(final Collection<CartDto> cartDtos);
 	CartDto update(final CartDto cartDto);
 	CartDto update(final Integer cartId, final CartDto cartDto);
 	void deleteById(final Integer cartId);
@@ -1,14 +1,23 @@
 package com.selimhorri.app.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 public interface OrderService {
 	
 	List<OrderDto> findAll();
 	OrderDto findById(final Integer orderId);
+	CursorPageResponse<OrderDto> findPage(final String cursor, final int size);
+	CursorPageResponse<OrderDto> findPageByCartId(final Integer cartId, final String cursor, final int size);
+	long exportAll(final OutputStream outputStream) throws IOException;
+	List<OrderDto> findAllByIds(final Collection<Integer> orderIds);
 	OrderDto save(final OrderDto orderDto);
+	List<OrderDto> saveAll(final Collection<OrderDto> orderDtos);
 	OrderDto update(final OrderDto orderDto);
 	OrderDto update(final Integer orderId, final OrderDto orderDto);
 	void deleteById(final Integer orderId);
@@ -1,20 +1,21 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.selimhorri.app.constant.AppConstant;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
 import com.selimhorri.app.helper.CartMappingHelper;
 import com.selimhorri.app.repository.CartRepository;
 import com.selimhorri.app.service.CartService;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,17 +27,16 @@ import lombok.extern.slf4j.Slf4j;
 public class CartServiceImpl implements CartService {
 	
 	private final CartRepository cartRepository;
-	private final RestTemplate restTemplate;
+	private final LoadingCache<Integer, UserDto> userDtoCache;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<CartDto> findAll() {
 		log.info("*** CartDto List, service; fetch all carts *");
-		return this.cartRepository.findAll()
+		return CursorHelper.unpaged(this.cartRepository.findDtoPageOrderByCartId(null, CursorHelper.unpagedLimit()))
 				.stream()
-					.map(CartMappingHelper::map)
 					.map(c -> {
-						c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
+						c.setUserDto(this.userDtoCache.get(c.getUserDto().getUserId()));
 						return c;
 					})
 					.distinct()
@@ -44,19 +44,52 @@ public class CartServiceImpl implements CartService {
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public CartDto findById(final Integer cartId) {
 		log.info("*** CartDto, service; fetch cart by id *");
-		return this.cartRepository.findById(cartId)
-				.map(CartMappingHelper::map)
+		return this.cartRepository.findDtoById(cartId)
 				.map(c -> {
-					c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
+					c.setUserDto(this.userDtoCache.get(c.getUserDto().getUserId()));
 					return c;
 				})
 				.orElseThrow(() -> new CartNotFoundException(String
 						.format("Cart with id: %d not found", cartId)));
 	}
 	
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponse<CartDto> findPage(final String cursor, final int size) {
+		log.info("*** CartDto Page, service; fetch carts page *");
+		final int pageSize = CursorHelper.pageSize(size);
+		return CursorHelper.page(this.cartRepository
+						.findDtoPageOrderByCartId(CursorHelper.decodeId(cursor), CursorHelper.pageRequest(pageSize)), 
+				pageSize, 
+				carts -> carts.stream()
+						.map(c -> {
+							c.setUserDto(this.userDtoCache.get(c.getUserDto().getUserId()));
+							return c;
+						})
+						.collect(Collectors.toUnmodifiableList()), 
+				c -> CursorHelper.encode(c.getCartId()));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponse<CartDto> findPageByUserId(final Integer userId, final String cursor, final int size) {
+		log.info("*** CartDto Page, service; fetch carts page by user id *");
+		final int pageSize = CursorHelper.pageSize(size);
+		return CursorHelper.page(this.cartRepository
+						.findDtoPageByUserIdOrderByCartId(userId, CursorHelper.decodeId(cursor), CursorHelper.pageRequest(pageSize)), 
+				pageSize, 
+				carts -> carts.stream()
+						.map(c -> {
+							c.setUserDto(this.userDtoCache.get(c.getUserDto().getUserId()));
+							return c;
+						})
+						.collect(Collectors.toUnmodifiableList()), 
+				c -> CursorHelper.encode(c.getCartId()));
+	}
+	
 	@Override
 	public CartDto save(final CartDto cartDto) {
 		log.info("*** CartDto, service; save cart *");
@@ -64,6 +97,17 @@ public class CartServiceImpl implements CartService {
 				.save(CartMappingHelper.map(cartDto)));
 	}
 	
+	@Override
+	public List<CartDto> saveAll(final Collection<CartDto> cartDtos) {
+		log.info("*** CartDto List, service; save all carts *");
+		return this.cartRepository.saveAll(cartDtos.stream()
+						.map(CartMappingHelper::map)
+						.collect(Collectors.toUnmodifiableList()))
+				.stream()
+					.map(CartMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public CartDto update(final CartDto cartDto) {
 		log.info("*** CartDto, service; update cart *");
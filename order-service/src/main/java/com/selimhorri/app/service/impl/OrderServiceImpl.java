@@ -1,17 +1,28 @@
 package com.selimhorri.app.service.impl;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import javax.transaction.Transactional;
+import javax.persistence.EntityManager;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Order;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
 import com.selimhorri.app.helper.OrderMappingHelper;
 import com.selimhorri.app.repository.OrderRepository;
 import com.selimhorri.app.service.OrderService;
+import com.selimhorri.app.support.export.NdjsonHelper;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,26 +34,79 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderServiceImpl implements OrderService {
 	
 	private final OrderRepository orderRepository;
+	private final EntityManager entityManager;
+	private final ObjectMapper objectMapper;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<OrderDto> findAll() {
 		log.info("*** OrderDto List, service; fetch all orders *");
-		return this.orderRepository.findAll()
+		return CursorHelper.unpaged(this.orderRepository.findDtoPageOrderByOrderId(null, CursorHelper.unpagedLimit()))
 				.stream()
-					.map(OrderMappingHelper::map)
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public OrderDto findById(final Integer orderId) {
 		log.info("*** OrderDto, service; fetch order by id *");
-		return this.orderRepository.findById(orderId)
-				.map(OrderMappingHelper::map)
+		return this.orderRepository.findDtoById(orderId)
 				.orElseThrow(() -> new OrderNotFoundException(String
 						.format("Order with id: %d not found", orderId)));
 	}
 	
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponse<OrderDto> findPage(final String cursor, final int size) {
+		log.info("*** OrderDto Page, service; fetch orders page *");
+		final int pageSize = CursorHelper.pageSize(size);
+		return CursorHelper.page(this.orderRepository
+						.findDtoPageOrderByOrderId(CursorHelper.decodeId(cursor), CursorHelper.pageRequest(pageSize)), 
+				pageSize, 
+				List::copyOf, 
+				o -> CursorHelper.encode(o.getOrderId()));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponse<OrderDto> findPageByCartId(final Integer cartId, final String cursor, final int size) {
+		log.info("*** OrderDto Page, service; fetch orders page by cart id *");
+		final int pageSize = CursorHelper.pageSize(size);
+		return CursorHelper.page(this.orderRepository
+						.findDtoPageByCartIdOrderByOrderId(cartId, CursorHelper.decodeId(cursor), CursorHelper.pageRequest(pageSize)), 
+				pageSize, 
+				List::copyOf, 
+				o -> CursorHelper.encode(o.getOrderId()));
+	}
+	
+	/**
+	 * Scrolls the table forward-only and writes each mapped row before reading the next one, 
+	 * without remote enrichment, so memory use does not grow with the table size
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public long exportAll(final OutputStream outputStream) throws IOException {
+		log.info("*** OrderDto Stream, service; export all orders *");
+		try (final Stream<Order> orders = this.orderRepository.streamAllOrderByOrderId()) {
+			return NdjsonHelper.write(orders.map(OrderMappingHelper::map), 
+					this.objectMapper.writerFor(OrderDto.class), 
+					outputStream, 
+					AppConstant.EXPORT_FETCH_SIZE, 
+					this.entityManager::clear);
+		}
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<OrderDto> findAllByIds(final Collection<Integer> orderIds) {
+		log.info("*** OrderDto List, service; fetch orders by ids *");
+		return this.orderRepository.findAllDtoById(orderIds)
+				.stream()
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public OrderDto save(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; save order *");
@@ -50,6 +114,17 @@ public class OrderServiceImpl implements OrderService {
 				.save(OrderMappingHelper.map(orderDto)));
 	}
 	
+	@Override
+	public List<OrderDto> saveAll(final Collection<OrderDto> orderDtos) {
+		log.info("*** OrderDto List, service; save all orders *");
+		return this.orderRepository.saveAll(orderDtos.stream()
+						.map(OrderMappingHelper::map)
+						.collect(Collectors.toUnmodifiableList()))
+				.stream()
+					.map(OrderMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public OrderDto update(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; update order *");
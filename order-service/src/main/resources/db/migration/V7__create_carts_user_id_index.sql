@@ -0,0 +1 @@
+CREATE INDEX idx_carts_user_id_cart_id ON carts (user_id, cart_id);
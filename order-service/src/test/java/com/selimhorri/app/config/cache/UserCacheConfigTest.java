@@ -0,0 +1,97 @@
+package com.selimhorri.app.config.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.RestTemplate;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.selimhorri.app.dto.UserDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Pruebas unitarias para la near-cache de UserDto usada por CartServiceImpl
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("User Cache Unit Tests")
+class UserCacheConfigTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private MeterRegistry meterRegistry;
+    private LoadingCache<Integer, UserDto> userDtoCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userDtoCache = new UserCacheConfig().userDtoCacheBean(
+                restTemplate, meterRegistry, 100, Duration.ofMinutes(5), Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Test 1: Repeated lookups of the same user should hit user-service once")
+    void testGet_WhenSameUserRequestedTwice_ShouldCallRemoteOnce() {
+        // Given
+        when(restTemplate.getForObject(anyString(), eq(UserDto.class)))
+            .thenReturn(UserDto.builder().userId(1).firstName("John").build());
+
+        // When
+        userDtoCache.get(1);
+        userDtoCache.get(1);
+        userDtoCache.get(1);
+
+        // Then
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(UserDto.class));
+        assertEquals(2.0, meterRegistry.get("cache.gets")
+                .tag("cache", UserCacheConfig.USER_DTO_CACHE).tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", UserCacheConfig.USER_DTO_CACHE).tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Test 2: Concurrent misses on the same user should collapse into one remote call")
+    void testGet_WhenConcurrentMisses_ShouldCollapseIntoSingleLoad() throws Exception {
+        // Given
+        final CountDownLatch release = new CountDownLatch(1);
+        when(restTemplate.getForObject(anyString(), eq(UserDto.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return UserDto.builder().userId(1).build();
+        });
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        final List<Future<UserDto>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++)
+            futures.add(executor.submit(() -> userDtoCache.get(1)));
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then
+        for (Future<UserDto> future : futures)
+            assertEquals(1, future.get(5, TimeUnit.SECONDS).getUserId());
+        executor.shutdown();
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(UserDto.class));
+    }
+}
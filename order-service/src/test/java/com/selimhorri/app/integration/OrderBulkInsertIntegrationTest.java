@@ -0,0 +1,87 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.service.OrderService;
+
+/**
+ * Prueba de integración de la inserción masiva de órdenes
+ *
+ * Valida que los ids salgan del generador de tabla en bloques de
+ * ID_ALLOCATION_SIZE (pooled-lo) y que Hibernate agrupe los INSERT en
+ * lotes JDBC en lugar de ejecutar una sentencia por fila.
+ */
+@SpringBootTest(properties = {
+    "spring.cloud.config.import-check.enabled=false",
+    "spring.cloud.config.enabled=false",
+    "spring.datasource.url=jdbc:h2:mem:order_bulk_insert;DB_CLOSE_DELAY=-1",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DisplayName("Integration Test: Order bulk insert")
+class OrderBulkInsertIntegrationTest {
+
+    private static final int ROWS = 120;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Test 1: Save all orders - should take pooled ids and batch the inserts")
+    void testSaveAll_ShouldTakePooledIdsAndBatchInserts() {
+        // Given
+        long lastIdBefore = lastId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<OrderDto> orderDtos = IntStream.range(0, ROWS)
+                .mapToObj(i -> OrderDto.builder()
+                        .orderDesc("bulk order " + i)
+                        .orderFee(10.0)
+                        .cartDto(CartDto.builder().cartId(i % 4 + 1).build())
+                        .build())
+                .collect(Collectors.toUnmodifiableList());
+
+        // When
+        List<OrderDto> saved = orderService.saveAll(orderDtos);
+
+        // Then
+        List<Integer> expectedIds = IntStream.range(0, ROWS)
+                .mapToObj(i -> (int) lastIdBefore + 1 + i)
+                .collect(Collectors.toUnmodifiableList());
+        assertEquals(expectedIds, saved.stream().map(OrderDto::getOrderId).collect(Collectors.toUnmodifiableList()));
+        int blocks = (ROWS + AppConstant.ID_ALLOCATION_SIZE - 1) / AppConstant.ID_ALLOCATION_SIZE;
+        assertEquals(lastIdBefore + (long) blocks * AppConstant.ID_ALLOCATION_SIZE, lastId());
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < ROWS / 10,
+                "Prepared " + statistics.getPrepareStatementCount() + " statements for " + ROWS + " inserts");
+        assertEquals(ROWS, (int) jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE order_desc LIKE 'bulk order %'", Integer.class));
+    }
+
+    private long lastId() {
+        return jdbcTemplate.queryForObject("SELECT next_val FROM " + AppConstant.ID_GENERATOR_TABLE
+                + " WHERE sequence_name = 'orders'", Long.class);
+    }
+}
@@ -0,0 +1,138 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.service.OrderService;
+
+/**
+ * Prueba de integración de la exportación NDJSON de órdenes
+ *
+ * Carga millones de filas en una base H2 en disco y valida que la exportación
+ * escriba una línea por fila sin que el heap ni el contexto de persistencia
+ * crezcan con el tamaño de la tabla.
+ */
+@SpringBootTest(properties = {
+    "spring.cloud.config.import-check.enabled=false",
+    "spring.cloud.config.enabled=false",
+    "spring.datasource.url=jdbc:h2:file:./target/h2/order-export/db;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=INFO"
+})
+@DisplayName("Integration Test: Order NDJSON export")
+class OrderExportIntegrationTest {
+
+    private static final Path DATABASE_DIRECTORY = Paths.get("target", "h2", "order-export");
+
+    /** Filas a exportar, configurable con -Dorder.export.rows */
+    private static final int ROWS = Integer.getInteger("order.export.rows", 2_000_000);
+
+    /** Crecimiento máximo del heap usado tras GC durante toda la exportación */
+    private static final long MAX_HEAP_GROWTH_BYTES = 64L * 1024 * 1024;
+
+    private static final long SAMPLE_EVERY_LINES = 250_000;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeAll
+    static void deleteDatabase() throws IOException {
+        if (Files.exists(DATABASE_DIRECTORY))
+            try (Stream<Path> paths = Files.walk(DATABASE_DIRECTORY)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+    }
+
+    @Test
+    @DisplayName("Test 1: Export millions of orders - should write every row with bounded memory")
+    void testExportAll_MillionsOfOrders_ShouldWriteEveryRowWithBoundedMemory() throws IOException {
+        // Given
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("INSERT INTO orders (cart_id, order_desc, order_fee) "
+                + "SELECT MOD(x, 4) + 1, CONCAT('export order ', x), MOD(x, 99999) / 100.0 "
+                + "FROM SYSTEM_RANGE(1, ?)", ROWS);
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long baseline = usedHeapAfterGc(memory);
+        LineCountingOutputStream outputStream = new LineCountingOutputStream(memory);
+
+        // When
+        long exported = orderService.exportAll(outputStream);
+
+        // Then
+        assertEquals(ROWS, exported);
+        assertEquals(ROWS, outputStream.lines);
+        assertTrue(outputStream.maxManagedEntities <= AppConstant.EXPORT_FETCH_SIZE + 4,
+                "Persistence context kept " + outputStream.maxManagedEntities + " entities");
+        long growth = outputStream.maxUsedHeap - baseline;
+        assertTrue(growth < MAX_HEAP_GROWTH_BYTES,
+                "Heap grew by " + growth / (1024 * 1024) + " MB while exporting " + ROWS + " orders");
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Descarta los bytes y, cada cierto número de líneas, mide el heap tras GC
+     * y las entidades administradas por la sesión de la exportación.
+     */
+    private class LineCountingOutputStream extends OutputStream {
+
+        private final MemoryMXBean memory;
+        private long lines;
+        private long maxUsedHeap;
+        private int maxManagedEntities;
+
+        LineCountingOutputStream(MemoryMXBean memory) {
+            this.memory = memory;
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n')
+                this.newLine();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++)
+                if (b[i] == '\n')
+                    this.newLine();
+        }
+
+        private void newLine() {
+            if (++this.lines % SAMPLE_EVERY_LINES != 0)
+                return;
+            this.maxUsedHeap = Math.max(this.maxUsedHeap, usedHeapAfterGc(this.memory));
+            this.maxManagedEntities = Math.max(this.maxManagedEntities,
+                    entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.dto.OrderDto;
+
+/**
+ * Prueba de integración del endpoint /export de órdenes
+ *
+ * Recorre el endpoint por MockMvc con despacho asíncrono, como lo sirve
+ * Tomcat, y valida línea por línea el NDJSON escrito por el
+ * StreamingResponseBody y el tiempo límite asíncrono configurado.
+ */
+@SpringBootTest(properties = {
+    "spring.cloud.config.import-check.enabled=false",
+    "spring.cloud.config.enabled=false"
+})
+@AutoConfigureMockMvc
+@DisplayName("Integration Test: Order NDJSON export endpoint")
+class OrderExportResourceIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Test 1: Export endpoint - should stream one order per line in id order under the export timeout")
+    void testExportEndpoint_ShouldStreamOneOrderPerLine() throws Exception {
+        // Given
+        jdbcTemplate.update("INSERT INTO orders (cart_id, order_desc, order_fee) "
+                + "SELECT MOD(x, 4) + 1, CONCAT('ndjson export ', x), x FROM SYSTEM_RANGE(1, 5)");
+        List<Integer> orderIds = jdbcTemplate.queryForList("SELECT order_id FROM orders ORDER BY order_id", Integer.class);
+
+        // When
+        MvcResult started = mockMvc.perform(get("/api/orders/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        // Then
+        assertEquals(Duration.ofMinutes(30).toMillis(), started.getRequest().getAsyncContext().getTimeout());
+        String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"), "Every line should be terminated");
+        String[] lines = body.split("\n");
+        assertEquals(orderIds.size(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            OrderDto orderDto = objectMapper.readValue(lines[i], OrderDto.class);
+            assertEquals(orderIds.get(i), orderDto.getOrderId());
+            assertNotNull(orderDto.getCartDto().getCartId());
+        }
+        assertTrue(body.contains("\"orderDesc\":\"ndjson export 5\""));
+    }
+}
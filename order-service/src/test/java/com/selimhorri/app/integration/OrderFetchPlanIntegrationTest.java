@@ -0,0 +1,124 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.service.CartService;
+import com.selimhorri.app.service.OrderService;
+
+/**
+ * Pruebas del plan de carga Order -> Cart
+ *
+ * Cuentan las sentencias JDBC con las estadísticas de Hibernate y validan
+ * que las lecturas de órdenes traen el carrito en la misma consulta, sin
+ * importar cuántas órdenes ni cuántos carritos distintos haya.
+ */
+@SpringBootTest(properties = {
+    "spring.cloud.config.import-check.enabled=false",
+    "spring.cloud.config.enabled=false",
+    "spring.datasource.url=jdbc:h2:mem:order_fetch_plan;DB_CLOSE_DELAY=-1",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DisplayName("Integration Test: Order fetch plan")
+class OrderFetchPlanIntegrationTest {
+
+    private static final int NEW_ROWS = 20;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Test 1: Find all orders - should run one statement however many carts they span")
+    void testFindAll_ShouldRunOneStatementRegardlessOfRows() {
+        // Given
+        long statementsBefore = statementsFor(() -> orderService.findAll());
+
+        // When
+        addOrdersOnNewCarts();
+        long statementsAfter = statementsFor(() -> orderService.findAll());
+
+        // Then
+        assertEquals(1, statementsBefore);
+        assertEquals(statementsBefore, statementsAfter);
+    }
+
+    @Test
+    @DisplayName("Test 2: Find page and find by IDs - should run one statement each")
+    void testFindPageAndFindAllByIds_ShouldRunOneStatementEach() {
+        // Given
+        List<Integer> orderIds = addOrdersOnNewCarts().stream()
+                .map(OrderDto::getOrderId)
+                .collect(Collectors.toUnmodifiableList());
+
+        // When
+        long pageStatements = statementsFor(() -> orderService.findPage(null, NEW_ROWS));
+        long byIdsStatements = statementsFor(() -> orderService.findAllByIds(orderIds));
+
+        // Then
+        assertEquals(1, pageStatements);
+        assertEquals(1, byIdsStatements);
+    }
+
+    @Test
+    @DisplayName("Test 3: Find by ID - should load the order and its cart in one statement")
+    void testFindById_ShouldLoadCartInOneStatement() {
+        // Given
+        Integer orderId = addOrdersOnNewCarts().get(0).getOrderId();
+
+        // When
+        long statements = statementsFor(() -> orderService.findById(orderId));
+
+        // Then
+        assertEquals(1, statements);
+    }
+
+    /**
+     * Agrega una orden por cada carrito nuevo
+     */
+    private List<OrderDto> addOrdersOnNewCarts() {
+        List<CartDto> carts = cartService.saveAll(IntStream.range(0, NEW_ROWS)
+                .mapToObj(i -> CartDto.builder().userId(i + 1).build())
+                .collect(Collectors.toUnmodifiableList()));
+        return orderService.saveAll(carts.stream()
+                .map(cart -> OrderDto.builder()
+                        .orderDesc("fetch plan order " + cart.getCartId())
+                        .orderFee(10.0)
+                        .cartDto(CartDto.builder().cartId(cart.getCartId()).build())
+                        .build())
+                .collect(Collectors.toUnmodifiableList()));
+    }
+
+    private long statementsFor(Runnable call) {
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
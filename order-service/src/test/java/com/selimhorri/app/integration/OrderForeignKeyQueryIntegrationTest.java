@@ -0,0 +1,101 @@
+package com.selimhorri.app.integration;
+
+import static com.selimhorri.app.test.query.QueryPlan.assertUsesIndex;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.service.CartService;
+import com.selimhorri.app.service.OrderService;
+import com.selimhorri.app.support.page.CursorPageResponse;
+
+/**
+ * Pruebas de las consultas por clave foránea de órdenes y carritos
+ *
+ * Recorren las páginas de órdenes de un carrito y de carritos de un usuario,
+ * y validan con EXPLAIN que cada consulta usa un índice sobre la clave
+ * foránea en vez de recorrer la tabla completa. orders.cart_id se apoya en
+ * el índice que crea su restricción de clave foránea.
+ */
+@SpringBootTest(properties = {
+    "spring.cloud.config.import-check.enabled=false",
+    "spring.cloud.config.enabled=false",
+    "spring.datasource.url=jdbc:h2:mem:order_foreign_key_query;DB_CLOSE_DELAY=-1"
+})
+@DisplayName("Integration Test: Order-Service foreign key queries")
+class OrderForeignKeyQueryIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @Test
+    @DisplayName("Test 1: Orders by cart - pages should hold only the cart's orders and use the cart_id foreign key index")
+    void testFindPageByCartId_ShouldPageThroughCartOrders() {
+        // Given
+        orderService.saveAll(IntStream.range(0, 5)
+                .mapToObj(i -> OrderDto.builder()
+                        .orderDesc("cart 2 order " + i)
+                        .orderFee(10.0)
+                        .cartDto(CartDto.builder().cartId(2).build())
+                        .build())
+                .collect(Collectors.toUnmodifiableList()));
+
+        // When
+        List<OrderDto> orders = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponse<OrderDto> page = orderService.findPageByCartId(2, cursor, 2);
+            orders.addAll(page.getCollection());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertEquals(6, orders.size());
+        assertTrue(orders.stream().allMatch(o -> Integer.valueOf(2).equals(o.getCartDto().getCartId())));
+        assertEquals(orders.stream().map(OrderDto::getOrderId).sorted().collect(Collectors.toList()),
+                orders.stream().map(OrderDto::getOrderId).collect(Collectors.toList()));
+        assertUsesIndex(dataSource, "FK5_ASSIGN_INDEX", () -> orderService.findPageByCartId(2, null, 2));
+    }
+
+    @Test
+    @DisplayName("Test 2: Carts by user - pages should hold only the user's carts and use the user_id index")
+    void testFindPageByUserId_ShouldPageThroughUserCarts() {
+        // Given
+        IntStream.range(0, 3).forEach(i -> cartService.save(CartDto.builder()
+                .userId(3)
+                .build()));
+
+        // When
+        CursorPageResponse<CartDto> firstPage = cartService.findPageByUserId(3, null, 3);
+        CursorPageResponse<CartDto> lastPage = cartService.findPageByUserId(3, firstPage.getNextCursor(), 3);
+
+        // Then
+        assertEquals(3, firstPage.getCollection().size());
+        assertEquals(1, lastPage.getCollection().size());
+        assertNull(lastPage.getNextCursor());
+        assertUsesIndex(dataSource, "IDX_CARTS_USER_ID_CART_ID", () -> cartService.findPageByUserId(3, null, 3));
+    }
+}
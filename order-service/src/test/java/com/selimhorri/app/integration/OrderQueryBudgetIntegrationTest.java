@@ -0,0 +1,60 @@
+package com.selimhorri.app.integration;
+
+import static com.selimhorri.app.test.query.QueryBudget.assertAtMost;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.service.CartService;
+import com.selimhorri.app.service.OrderService;
+
+/**
+ * Presupuestos de consultas JDBC de los servicios de órdenes y carritos
+ *
+ * Un mapeo que recorra una asociación perezosa por fila (N+1) excede el
+ * presupuesto y falla en la construcción.
+ */
+@SpringBootTest(properties = {
+    "spring.cloud.config.import-check.enabled=false",
+    "spring.cloud.config.enabled=false",
+    "spring.datasource.url=jdbc:h2:mem:order_query_budget;DB_CLOSE_DELAY=-1"
+})
+@DisplayName("Integration Test: Order-Service query budgets")
+class OrderQueryBudgetIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartService cartService;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @Test
+    @DisplayName("Test 1: Orders - find all and find by ID should load carts in the same statement")
+    void testOrderReads_ShouldStayWithinBudget() {
+        List<OrderDto> orders = assertAtMost(1, () -> orderService.findAll());
+        assertTrue(orders.size() > 1);
+
+        assertAtMost(1, () -> orderService.findById(orders.get(0).getOrderId()));
+    }
+
+    @Test
+    @DisplayName("Test 2: Carts - find all and find by ID should run a single statement")
+    void testCartReads_ShouldStayWithinBudget() {
+        List<CartDto> carts = assertAtMost(1, () -> cartService.findAll());
+        assertTrue(carts.size() > 1);
+
+        assertAtMost(1, () -> cartService.findById(carts.get(0).getCartId()));
+    }
+}
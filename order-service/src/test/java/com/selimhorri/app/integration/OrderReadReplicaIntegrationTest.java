@@ -0,0 +1,191 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
+import com.selimhorri.app.service.OrderService;
+
+/**
+ * Pruebas del enrutamiento primaria/réplica
+ *
+ * Levantan dos bases H2 con el mismo esquema y sin replicación entre ellas,
+ * de modo que cada lectura delata a qué base fue: las transacciones de solo
+ * lectura van a la réplica, salvo en la petición que acaba de escribir y
+ * mientras su escritura sea más reciente que el retraso máximo tolerado.
+ */
+@SpringBootTest(properties = {
+    "spring.cloud.config.import-check.enabled=false",
+    "spring.cloud.config.enabled=false",
+    "spring.datasource.url=" + OrderReadReplicaIntegrationTest.PRIMARY_URL,
+    "app.datasource.replica.url=" + OrderReadReplicaIntegrationTest.REPLICA_URL,
+    "app.datasource.replica.max-lag=" + OrderReadReplicaIntegrationTest.MAX_LAG_MILLIS + "ms"
+})
+@DisplayName("Integration Test: Order read replica routing")
+class OrderReadReplicaIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:order_routing_primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:order_routing_replica;DB_CLOSE_DELAY=-1";
+    static final long MAX_LAG_MILLIS = 1000;
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    static void migrateReplica() {
+        final DriverManagerDataSource replicaDataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(replicaDataSource).load().migrate();
+        replica = new JdbcTemplate(replicaDataSource);
+    }
+
+    @AfterEach
+    void endRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static ServletRequestAttributes startRequest() {
+        ServletRequestAttributes request = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(request);
+        return request;
+    }
+
+    private OrderDto newOrder() {
+        return orderService.save(OrderDto.builder()
+                .orderDesc("read your writes")
+                .orderFee(10.0)
+                .cartDto(CartDto.builder().cartId(1).build())
+                .build());
+    }
+
+    @Test
+    @DisplayName("Test 1: Read-only find by ID should be served by the replica")
+    void testReadOnlyRead_ShouldUseReplica() {
+        // Given
+        replica.update("UPDATE orders SET order_desc = 'replica copy' WHERE order_id = 1");
+
+        // When
+        OrderDto order = orderService.findById(1);
+
+        // Then
+        assertEquals("replica copy", order.getOrderDesc());
+    }
+
+    @Test
+    @DisplayName("Test 2: Reads after a write should stay on the primary in the same request until the replica lag has passed")
+    void testReadAfterWrite_ShouldUsePrimaryWithinReplicaLag() throws InterruptedException {
+        // Given
+        ServletRequestAttributes writingRequest = startRequest();
+        Integer replicaOrders = replica.queryForObject("SELECT COUNT(*) FROM orders", Integer.class);
+
+        // When
+        OrderDto saved = newOrder();
+
+        // Then
+        assertEquals(replicaOrders, replica.queryForObject("SELECT COUNT(*) FROM orders", Integer.class));
+        assertEquals("read your writes", orderService.findById(saved.getOrderId()).getOrderDesc());
+        assertTrue(orderService.findAll().stream().anyMatch(o -> saved.getOrderId().equals(o.getOrderId())));
+
+        // When - another request reads the same order
+        startRequest();
+
+        // Then
+        assertThrows(OrderNotFoundException.class, () -> orderService.findById(saved.getOrderId()));
+
+        // When - the write is older than the tolerated replica lag
+        RequestContextHolder.setRequestAttributes(writingRequest);
+        Thread.sleep(MAX_LAG_MILLIS + 100);
+
+        // Then
+        assertThrows(OrderNotFoundException.class, () -> orderService.findById(saved.getOrderId()));
+    }
+
+    @Test
+    @DisplayName("Test 3: A read in another request should use the replica while a write is in flight")
+    void testReadInOtherRequest_WhileWriteInFlight_ShouldUseReplica() throws Exception {
+        // Given
+        replica.update("UPDATE orders SET order_desc = 'replica during write' WHERE order_id = 1");
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch read = new CountDownLatch(1);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        Future<OrderDto> write = writer.submit(() -> {
+            startRequest();
+            try {
+                return new TransactionTemplate(transactionManager).execute(status -> {
+                    OrderDto saved = newOrder();
+                    written.countDown();
+                    try {
+                        read.await();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return saved;
+                });
+            }
+            finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+
+        try {
+            // When
+            written.await();
+            startRequest();
+            OrderDto duringWrite = orderService.findById(1);
+            read.countDown();
+            OrderDto saved = write.get();
+
+            // Then
+            assertEquals("replica during write", duringWrite.getOrderDesc());
+            assertEquals("replica during write", orderService.findById(1).getOrderDesc());
+            assertThrows(OrderNotFoundException.class, () -> orderService.findById(saved.getOrderId()));
+        }
+        finally {
+            read.countDown();
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Test 4: A read-write transaction without DML should not pin the request to the primary")
+    void testReadWriteTransactionWithoutDml_ShouldNotPinRequestToPrimary() {
+        // Given
+        startRequest();
+        replica.update("UPDATE orders SET order_desc = 'replica after no-op' WHERE order_id = 1");
+
+        // When
+        String readInWriteTransaction = new TransactionTemplate(transactionManager)
+                .execute(status -> orderService.findById(1).getOrderDesc());
+        OrderDto afterCommit = orderService.findById(1);
+
+        // Then
+        assertNotEquals("replica after no-op", readInWriteTransaction);
+        assertEquals("replica after no-op", afterCommit.getOrderDesc());
+    }
+}
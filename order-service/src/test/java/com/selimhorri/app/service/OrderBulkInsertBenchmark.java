@@ -0,0 +1,131 @@
+package com.selimhorri.app.service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.selimhorri.app.OrderServiceApplication;
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.OrderDto;
+
+/**
+ * JMH benchmark of a 100k-row order insert through OrderService.saveAll, reported in rows per second.
+ *
+ * IDENTITY maps Order back to GenerationType.IDENTITY (benchmark/identity-orders-orm.xml), which
+ * makes Hibernate execute every INSERT on its own to read the generated key; POOLED_LO is the
+ * mapping in use, where ids come from the table generator 50 at a time and the inserts go out in
+ * JDBC batches of hibernate.jdbc.batch_size. H2 runs behind its TCP server so every statement pays
+ * a network round trip, as it does against MySQL.
+ *
+ * Run main() (or org.openjdk.jmh.Main OrderBulkInsertBenchmark) on the order-service test classpath
+ * after mvn -pl order-service test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(OrderBulkInsertBenchmark.ROWS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderBulkInsertBenchmark {
+	
+	static final int ROWS = 100_000;
+	private static final int ROWS_PER_TRANSACTION = 1_000;
+	
+	@Param({"IDENTITY", "POOLED_LO"})
+	private String idGeneration;
+	
+	private Server server;
+	private ConfigurableApplicationContext context;
+	private OrderService orderService;
+	private JdbcTemplate jdbcTemplate;
+	
+	@Setup
+	public void setUp() throws SQLException {
+		this.server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+		final List<String> args = new ArrayList<>(List.of(
+				"--spring.cloud.config.import-check.enabled=false",
+				"--eureka.client.enabled=false",
+				"--spring.datasource.url=jdbc:h2:tcp://localhost:" + this.server.getPort()
+						+ "/mem:order_bulk_insert;DB_CLOSE_DELAY=-1",
+				"--spring.jpa.show-sql=false",
+				"--logging.level.root=WARN",
+				"--logging.level.org.hibernate.SQL=WARN",
+				"--logging.level.org.springframework=WARN",
+				"--logging.level.com.selimhorri.app=WARN"));
+		if ("IDENTITY".equals(this.idGeneration))
+			args.add("--spring.jpa.mapping-resources=benchmark/identity-orders-orm.xml");
+		this.context = new SpringApplicationBuilder(OrderServiceApplication.class)
+				.web(WebApplicationType.NONE)
+				.run(args.toArray(String[]::new));
+		this.orderService = this.context.getBean(OrderService.class);
+		this.jdbcTemplate = this.context.getBean(JdbcTemplate.class);
+	}
+	
+	@Setup(Level.Invocation)
+	public void deleteOrders() {
+		this.jdbcTemplate.update("DELETE FROM orders");
+	}
+	
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+		this.server.stop();
+	}
+	
+	@Benchmark
+	public int saveAll() {
+		int saved = 0;
+		for (int first = 0; first < ROWS; first += ROWS_PER_TRANSACTION)
+			saved += this.orderService.saveAll(orders(first, ROWS_PER_TRANSACTION)).size();
+		return saved;
+	}
+	
+	private static List<OrderDto> orders(final int first, final int count) {
+		return IntStream.range(first, first + count)
+				.mapToObj(row -> OrderDto.builder()
+						.orderDesc("bulk order " + row)
+						.orderFee((double) (row % 1000))
+						.cartDto(CartDto.builder()
+								.cartId(row % 4 + 1)
+								.build())
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(OrderBulkInsertBenchmark.class.getSimpleName())
+				.build())
+			.run();
+	}
+	
+	
+	
+}
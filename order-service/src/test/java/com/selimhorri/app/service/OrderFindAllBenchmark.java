@@ -0,0 +1,122 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.OrderServiceApplication;
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.helper.OrderMappingHelper;
+import com.selimhorri.app.support.page.CursorHelper;
+
+/**
+ * JMH benchmark of OrderService.findAll over 1000 orders, run with the GC profiler so
+ * gc.alloc.rate.norm reports the bytes allocated per request.
+ *
+ * ENTITIES is the read path findAll used before the DTO projections: a fetch-joined entity
+ * query in a read-write transaction, mapped through OrderMappingHelper. PROJECTION is
+ * OrderService.findAll as it is now, a constructor-expression query in a read-only transaction.
+ *
+ * Run main() (or org.openjdk.jmh.Main OrderFindAllBenchmark -prof gc) on the order-service
+ * test classpath after mvn -pl order-service test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderFindAllBenchmark {
+	
+	private static final int ROWS = 1_000;
+	
+	@Param({"ENTITIES", "PROJECTION"})
+	private String readPath;
+	
+	private ConfigurableApplicationContext context;
+	private OrderService orderService;
+	private EntityManager entityManager;
+	private TransactionTemplate transactionTemplate;
+	
+	@Setup
+	public void setUp() {
+		this.context = new SpringApplicationBuilder(OrderServiceApplication.class)
+				.web(WebApplicationType.NONE)
+				.run("--spring.cloud.config.import-check.enabled=false",
+						"--eureka.client.enabled=false",
+						"--spring.datasource.url=jdbc:h2:mem:order_find_all;DB_CLOSE_DELAY=-1",
+						"--spring.jpa.show-sql=false",
+						"--logging.level.root=WARN",
+						"--logging.level.org.hibernate.SQL=WARN",
+						"--logging.level.org.springframework=WARN",
+						"--logging.level.com.selimhorri.app=WARN");
+		this.orderService = this.context.getBean(OrderService.class);
+		this.entityManager = this.context.getBean(EntityManager.class);
+		this.transactionTemplate = new TransactionTemplate(this.context.getBean(PlatformTransactionManager.class));
+		this.orderService.saveAll(IntStream.range(0, ROWS)
+				.mapToObj(row -> OrderDto.builder()
+						.orderDesc("read order " + row)
+						.orderFee((double) (row % 1000))
+						.cartDto(CartDto.builder()
+								.cartId(row % 4 + 1)
+								.build())
+						.build())
+				.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+	
+	@Benchmark
+	public List<OrderDto> findAll() {
+		if ("ENTITIES".equals(this.readPath))
+			return this.transactionTemplate.execute(status -> this.entityManager
+					.createQuery("SELECT o FROM Order o LEFT JOIN FETCH o.cart ORDER BY o.orderId", Order.class)
+					.setMaxResults(CursorHelper.unpagedLimit().getPageSize())
+					.getResultStream()
+						.map(OrderMappingHelper::map)
+						.distinct()
+						.collect(Collectors.toUnmodifiableList()));
+		return this.orderService.findAll();
+	}
+	
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(OrderFindAllBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build())
+			.run();
+	}
+	
+	
+	
+}
@@ -3,10 +3,12 @@ package com.selimhorri.app.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,14 +19,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
-import com.selimhorri.app.domain.Order;
 import com.selimhorri.app.domain.Cart;
-import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.domain.Order;
 import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
 import com.selimhorri.app.repository.OrderRepository;
 import com.selimhorri.app.service.impl.OrderServiceImpl;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
+import com.selimhorri.app.support.page.InvalidCursorException;
+import com.selimhorri.app.support.page.UnpagedLimitExceededException;
 
 /**
  * Pruebas unitarias para OrderServiceImpl
@@ -76,18 +83,10 @@ class OrderServiceImplTest {
     @DisplayName("Test 1: Find all orders - should return list of orders")
     void testFindAll_ShouldReturnOrderList() {
         // Given
-        Cart cart2 = new Cart();
-        cart2.setCartId(2);
-        cart2.setUserId(102);
-        
-        Order order2 = new Order();
-        order2.setOrderId(2);
-        order2.setOrderDesc("Second test order");
-        order2.setOrderFee(999.99);
-        order2.setCart(cart2);
+        OrderDto orderDto2 = new OrderDto(2, null, "Second test order", 999.99, 2);
         
-        List<Order> orders = Arrays.asList(order, order2);
-        when(orderRepository.findAll()).thenReturn(orders);
+        List<OrderDto> orders = Arrays.asList(orderDto, orderDto2);
+        when(orderRepository.findDtoPageOrderByOrderId(isNull(), any())).thenReturn(orders);
 
         // When
         List<OrderDto> result = orderService.findAll();
@@ -95,14 +94,26 @@ class OrderServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(orderRepository, times(1)).findAll();
+        assertEquals(2, result.get(1).getCartDto().getCartId());
+        verify(orderRepository, times(1)).findDtoPageOrderByOrderId(isNull(), any());
+    }
+
+    @Test
+    @DisplayName("Test 1b: Find all orders - should refuse a listing past the unpaged cap instead of truncating it")
+    void testFindAll_WhenPastUnpagedCap_ShouldThrowException() {
+        // Given
+        when(orderRepository.findDtoPageOrderByOrderId(isNull(), eq(PageRequest.of(0, CursorHelper.MAX_UNPAGED_SIZE + 1))))
+            .thenReturn(Collections.nCopies(CursorHelper.MAX_UNPAGED_SIZE + 1, orderDto));
+
+        // When & Then
+        assertThrows(UnpagedLimitExceededException.class, () -> orderService.findAll());
     }
 
     @Test
     @DisplayName("Test 2: Find order by ID - should return order when found")
     void testFindById_WhenOrderExists_ShouldReturnOrder() {
         // Given
-        when(orderRepository.findById(anyInt())).thenReturn(Optional.of(order));
+        when(orderRepository.findDtoById(anyInt())).thenReturn(Optional.of(orderDto));
 
         // When
         OrderDto result = orderService.findById(1);
@@ -112,20 +123,20 @@ class OrderServiceImplTest {
         assertEquals(order.getOrderId(), result.getOrderId());
         assertEquals(order.getOrderDesc(), result.getOrderDesc());
         assertEquals(order.getOrderFee(), result.getOrderFee());
-        verify(orderRepository, times(1)).findById(1);
+        verify(orderRepository, times(1)).findDtoById(1);
     }
 
     @Test
     @DisplayName("Test 3: Find order by ID - should throw exception when not found")
     void testFindById_WhenOrderDoesNotExist_ShouldThrowException() {
         // Given
-        when(orderRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(orderRepository.findDtoById(anyInt())).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(OrderNotFoundException.class, () -> {
             orderService.findById(999);
         });
-        verify(orderRepository, times(1)).findById(999);
+        verify(orderRepository, times(1)).findDtoById(999);
     }
 
     @Test
@@ -148,14 +159,14 @@ class OrderServiceImplTest {
     @DisplayName("Test 5: Delete order by ID - should invoke repository delete")
     void testDeleteById_ShouldInvokeRepositoryDelete() {
         // Given
-        when(orderRepository.findById(anyInt())).thenReturn(Optional.of(order));
+        when(orderRepository.findDtoById(anyInt())).thenReturn(Optional.of(orderDto));
         doNothing().when(orderRepository).delete(any(Order.class));
 
         // When
         orderService.deleteById(1);
 
         // Then
-        verify(orderRepository, times(1)).findById(1);
+        verify(orderRepository, times(1)).findDtoById(1);
         verify(orderRepository, times(1)).delete(any(Order.class));
     }
 
@@ -202,5 +213,66 @@ class OrderServiceImplTest {
         // In a real scenario, this would be validated in the service layer
         assertTrue(orderFee != 0, "Order fee should not be zero");
     }
-}
 
+    @Test
+    @DisplayName("Test 8: Find page - should cap the page size and return a cursor after the last order")
+    void testFindPage_WhenMoreRowsExist_ShouldReturnNextCursor() {
+        // Given
+        OrderDto orderDto2 = new OrderDto(2, null, null, null, 1);
+        when(orderRepository.findDtoPageOrderByOrderId(isNull(), eq(PageRequest.of(0, CursorHelper.MAX_PAGE_SIZE + 1))))
+            .thenReturn(List.of(orderDto, orderDto2));
+
+        // When
+        CursorPageResponse<OrderDto> result = orderService.findPage(null, 1_000_000);
+
+        // Then
+        assertEquals(2, result.getCollection().size());
+        assertNull(result.getNextCursor());
+
+        // Given
+        when(orderRepository.findDtoPageOrderByOrderId(isNull(), eq(PageRequest.of(0, 2))))
+            .thenReturn(List.of(orderDto, orderDto2));
+
+        // When
+        result = orderService.findPage(null, 1);
+
+        // Then
+        assertEquals(1, result.getCollection().size());
+        assertEquals(1, CursorHelper.decodeId(result.getNextCursor()));
+    }
+
+    @Test
+    @DisplayName("Test 9: Find page - should seek after the decoded cursor and reject a malformed one")
+    void testFindPage_ShouldSeekAfterCursor() {
+        // Given
+        when(orderRepository.findDtoPageOrderByOrderId(eq(1), any())).thenReturn(List.of());
+
+        // When
+        CursorPageResponse<OrderDto> result = orderService.findPage(CursorHelper.encode(1), 20);
+
+        // Then
+        assertTrue(result.getCollection().isEmpty());
+        assertNull(result.getNextCursor());
+        assertThrows(InvalidCursorException.class, () -> orderService.findPage(CursorHelper.encode("abc"), 20));
+    }
+
+    @Test
+    @DisplayName("Test 10: Save all orders - should persist them through a single saveAll call")
+    void testSaveAll_ShouldPersistThroughSingleSaveAll() {
+        // Given
+        Order savedOrder = new Order();
+        savedOrder.setOrderId(2);
+        savedOrder.setOrderDesc("Second order");
+        savedOrder.setCart(order.getCart());
+        when(orderRepository.saveAll(anyList())).thenReturn(List.of(order, savedOrder));
+
+        // When
+        List<OrderDto> result = orderService.saveAll(List.of(orderDto, orderDto));
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(2, result.get(1).getOrderId());
+        verify(orderRepository, times(1)).saveAll(anyList());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+}
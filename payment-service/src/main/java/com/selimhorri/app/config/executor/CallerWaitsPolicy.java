@@ -0,0 +1,38 @@
+package com.selimhorri.app.config.executor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Makes the submitting thread wait for room in the queue instead of dropping the task, so a 
+ * saturated pool throttles its callers. Only a shut down pool or an interrupted caller rejects.
+ */
+public class CallerWaitsPolicy implements RejectedExecutionHandler {
+	
+	@Override
+	public void rejectedExecution(final Runnable task, final ThreadPoolExecutor executor) {
+		if (executor.isShutdown())
+			throw new RejectedExecutionException("Executor " + executor + " is shut down");
+		try {
+			executor.getQueue().put(task);
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RejectedExecutionException("Interrupted while waiting for room in " + executor, e);
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
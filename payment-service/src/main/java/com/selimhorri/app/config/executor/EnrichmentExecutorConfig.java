@@ -0,0 +1,42 @@
+package com.selimhorri.app.config.executor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class EnrichmentExecutorConfig {
+	
+	@Bean
+	public ThreadPoolTaskExecutor orderEnrichmentExecutor(
+			@Value("${app.enrichment.order.max-in-flight:16}") final int maxInFlight, 
+			@Value("${app.enrichment.order.queue-capacity:64}") final int queueCapacity) {
+		
+		// the pool size is the cap on concurrent calls to ORDER-SERVICE, once the queue is full 
+		// the request thread waits for room instead of returning payments without their order
+		final var executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(maxInFlight);
+		executor.setMaxPoolSize(maxInFlight);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setAllowCoreThreadTimeOut(true);
+		executor.setThreadNamePrefix("order-enrichment-");
+		executor.setRejectedExecutionHandler(new CallerWaitsPolicy());
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(10);
+		return executor;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -10,6 +10,9 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+
+import com.selimhorri.app.constant.AppConstant;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -29,7 +32,9 @@ public final class Payment extends AbstractMappedEntity implements Serializable
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "payments")
+	@TableGenerator(name = "payments", table = AppConstant.ID_GENERATOR_TABLE, 
+			pkColumnValue = "payments", allocationSize = AppConstant.ID_ALLOCATION_SIZE)
 	@Column(name = "payment_id", unique = true, nullable = false, updatable = false)
 	private Integer paymentId;
 	
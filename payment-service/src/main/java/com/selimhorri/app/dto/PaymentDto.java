@@ -28,6 +28,17 @@ public class PaymentDto implements Serializable {
 	@JsonInclude(Include.NON_NULL)
 	private OrderDto orderDto;
 	
+	/**
+	 * Read-side projection, selected by JPQL constructor expressions 
+	 * without hydrating Payment entities
+	 */
+	public PaymentDto(final Integer paymentId, final Boolean isPayed, final PaymentStatus paymentStatus, 
+			final Integer orderId) {
+		this(paymentId, isPayed, paymentStatus, OrderDto.builder()
+				.orderId(orderId)
+				.build());
+	}
+	
 }
 
 
@@ -13,6 +13,8 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
+import com.selimhorri.app.support.page.InvalidCursorException;
+import com.selimhorri.app.support.page.UnpagedLimitExceededException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -43,6 +45,8 @@ public class ApiExceptionHandler {
 	@ExceptionHandler(value = {
 		IllegalStateException.class,
 		PaymentNotFoundException.class,
+		InvalidCursorException.class,
+		UnpagedLimitExceededException.class,
 	})
 	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleApiRequestException(final T e) {
 		
@@ -1,11 +1,51 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.dto.PaymentDto;
 
 public interface PaymentRepository extends JpaRepository<Payment, Integer> {
 	
+	String PAYMENT_DTO = "new com.selimhorri.app.dto.PaymentDto(p.paymentId, p.isPayed, p.paymentStatus, p.orderId)";
+	
+	@Query("SELECT " + PaymentRepository.PAYMENT_DTO + " FROM Payment p WHERE p.paymentId = :paymentId")
+	Optional<PaymentDto> findDtoById(@Param("paymentId") final Integer paymentId);
+	
+	@Query("SELECT " + PaymentRepository.PAYMENT_DTO + " FROM Payment p "
+			+ "WHERE (:afterPaymentId IS NULL OR p.paymentId > :afterPaymentId) "
+			+ "ORDER BY p.paymentId")
+	List<PaymentDto> findDtoPageOrderByPaymentId(
+			@Param("afterPaymentId") final Integer afterPaymentId, 
+			final Pageable pageable);
+	
+	@Query("SELECT " + PaymentRepository.PAYMENT_DTO + " FROM Payment p "
+			+ "WHERE p.orderId = :orderId "
+			+ "AND (:afterPaymentId IS NULL OR p.paymentId > :afterPaymentId) "
+			+ "ORDER BY p.paymentId")
+	List<PaymentDto> findDtoPageByOrderIdOrderByPaymentId(
+			@Param("orderId") final Integer orderId, 
+			@Param("afterPaymentId") final Integer afterPaymentId, 
+			final Pageable pageable);
+	
+	@QueryHints({
+		@QueryHint(name = org.hibernate.annotations.QueryHints.FETCH_SIZE, value = "" + AppConstant.EXPORT_FETCH_SIZE),
+		@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true")
+	})
+	@Query("SELECT p FROM Payment p ORDER BY p.paymentId")
+	Stream<Payment> streamAllOrderByPaymentId();
+	
 	
 	
 }
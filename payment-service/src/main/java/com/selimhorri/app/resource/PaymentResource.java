@@ -1,9 +1,12 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,11 +15,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.selimhorri.app.dto.PaymentDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.PaymentService;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +42,33 @@ public class PaymentResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAll()));
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<CursorPageResponse<PaymentDto>> findPage(
+			@RequestParam(name = "cursor", required = false) final String cursor, 
+			@RequestParam(name = "size", defaultValue = "" + CursorHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** PaymentDto Page, resource; fetch payments page *");
+		return ResponseEntity.ok(this.paymentService.findPage(cursor, size));
+	}
+	
+	@GetMapping("/order/{orderId}")
+	public ResponseEntity<CursorPageResponse<PaymentDto>> findPageByOrderId(
+			@PathVariable("orderId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String orderId, 
+			@RequestParam(name = "cursor", required = false) final String cursor, 
+			@RequestParam(name = "size", defaultValue = "" + CursorHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** PaymentDto Page, resource; fetch payments page by order id *");
+		return ResponseEntity.ok(this.paymentService.findPageByOrderId(Integer.parseInt(orderId), cursor, size));
+	}
+	
+	@GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> exportAll() {
+		log.info("*** PaymentDto Stream, resource; export all payments *");
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(outputStream -> this.paymentService.exportAll(outputStream));
+	}
+	
 	@GetMapping("/{paymentId}")
 	public ResponseEntity<PaymentDto> findById(
 			@PathVariable("paymentId") 
@@ -53,6 +87,15 @@ public class PaymentResource {
 		return ResponseEntity.ok(this.paymentService.save(paymentDto));
 	}
 	
+	@PostMapping("/bulk")
+	public ResponseEntity<DtoCollectionResponse<PaymentDto>> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final List<PaymentDto> paymentDtos) {
+		log.info("*** PaymentDto List, resource; save all payments *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.saveAll(paymentDtos)));
+	}
+	
 	@PutMapping
 	public ResponseEntity<PaymentDto> update(
 			@RequestBody 
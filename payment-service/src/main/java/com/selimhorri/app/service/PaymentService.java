@@ -1,14 +1,22 @@
 package com.selimhorri.app.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 public interface PaymentService {
 	
 	List<PaymentDto> findAll();
 	PaymentDto findById(final Integer paymentId);
+	CursorPageResponse<PaymentDto> findPage(final String cursor, final int size);
+	CursorPageResponse<PaymentDto> findPageByOrderId(final Integer orderId, final String cursor, final int size);
+	long exportAll(final OutputStream outputStream) throws IOException;
 	PaymentDto save(final PaymentDto paymentDto);
+	List<PaymentDto> saveAll(final Collection<PaymentDto> paymentDtos);
 	PaymentDto update(final PaymentDto paymentDto);
 	void deleteById(final Integer paymentId);
 	
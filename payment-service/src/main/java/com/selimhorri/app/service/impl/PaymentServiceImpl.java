@@ -1,20 +1,35 @@
 package com.selimhorri.app.service.impl;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import javax.transaction.Transactional;
+import javax.persistence.EntityManager;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Payment;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
 import com.selimhorri.app.helper.PaymentMappingHelper;
 import com.selimhorri.app.repository.PaymentRepository;
 import com.selimhorri.app.service.PaymentService;
+import com.selimhorri.app.support.export.NdjsonHelper;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,27 +42,26 @@ public class PaymentServiceImpl implements PaymentService {
 	
 	private final PaymentRepository paymentRepository;
 	private final RestTemplate restTemplate;
+	private final Executor orderEnrichmentExecutor;
+	private final EntityManager entityManager;
+	private final ObjectMapper objectMapper;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<PaymentDto> findAll() {
 		log.info("*** PaymentDto List, service; fetch all payments *");
-		return this.paymentRepository.findAll()
+		return this.enrich(CursorHelper.unpaged(this.paymentRepository
+						.findDtoPageOrderByPaymentId(null, CursorHelper.unpagedLimit())))
 				.stream()
-					.map(PaymentMappingHelper::map)
-					.map(p -> {
-						p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
-						return p;
-					})
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public PaymentDto findById(final Integer paymentId) {
 		log.info("*** PaymentDto, service; fetch payment by id *");
-		return this.paymentRepository.findById(paymentId)
-				.map(PaymentMappingHelper::map)
+		return this.paymentRepository.findDtoById(paymentId)
 				.map(p -> {
 					p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
 							.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
@@ -56,6 +70,43 @@ public class PaymentServiceImpl implements PaymentService {
 				.orElseThrow(() -> new PaymentNotFoundException(String.format("Payment with id: %d not found", paymentId)));
 	}
 	
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponse<PaymentDto> findPage(final String cursor, final int size) {
+		log.info("*** PaymentDto Page, service; fetch payments page *");
+		final int pageSize = CursorHelper.pageSize(size);
+		return CursorHelper.page(this.paymentRepository
+						.findDtoPageOrderByPaymentId(CursorHelper.decodeId(cursor), CursorHelper.pageRequest(pageSize)), 
+				pageSize, 
+				this::enrich, 
+				p -> CursorHelper.encode(p.getPaymentId()));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponse<PaymentDto> findPageByOrderId(final Integer orderId, final String cursor, final int size) {
+		log.info("*** PaymentDto Page, service; fetch payments page by order id *");
+		final int pageSize = CursorHelper.pageSize(size);
+		return CursorHelper.page(this.paymentRepository
+						.findDtoPageByOrderIdOrderByPaymentId(orderId, CursorHelper.decodeId(cursor), CursorHelper.pageRequest(pageSize)), 
+				pageSize, 
+				this::enrich, 
+				p -> CursorHelper.encode(p.getPaymentId()));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public long exportAll(final OutputStream outputStream) throws IOException {
+		log.info("*** PaymentDto Stream, service; export all payments *");
+		try (final Stream<Payment> payments = this.paymentRepository.streamAllOrderByPaymentId()) {
+			return NdjsonHelper.write(payments.map(PaymentMappingHelper::map), 
+					this.objectMapper.writerFor(PaymentDto.class), 
+					outputStream, 
+					AppConstant.EXPORT_FETCH_SIZE, 
+					this.entityManager::clear);
+		}
+	}
+	
 	@Override
 	public PaymentDto save(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; save payment *");
@@ -63,6 +114,17 @@ public class PaymentServiceImpl implements PaymentService {
 				.save(PaymentMappingHelper.map(paymentDto)));
 	}
 	
+	@Override
+	public List<PaymentDto> saveAll(final Collection<PaymentDto> paymentDtos) {
+		log.info("*** PaymentDto List, service; save all payments *");
+		return this.paymentRepository.saveAll(paymentDtos.stream()
+						.map(PaymentMappingHelper::map)
+						.collect(Collectors.toUnmodifiableList()))
+				.stream()
+					.map(PaymentMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public PaymentDto update(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; update payment *");
@@ -76,6 +138,43 @@ public class PaymentServiceImpl implements PaymentService {
 		this.paymentRepository.deleteById(paymentId);
 	}
 	
+	private List<PaymentDto> enrich(final List<PaymentDto> paymentDtos) {
+		// one lookup per distinct order, payments sharing an order share its future
+		final Map<Integer, CompletableFuture<OrderDto>> orders = new HashMap<>();
+		paymentDtos.forEach(p -> orders.computeIfAbsent(p.getOrderDto().getOrderId(), this::fetchOrderAsync));
+		return paymentDtos.stream()
+				.map(p -> {
+					final OrderDto orderDto = orders.get(p.getOrderDto().getOrderId()).join();
+					if (orderDto != null)
+						p.setOrderDto(orderDto);
+					return p;
+				})
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * Looks the order up on the enrichment executor, the client connect and read timeouts bound the call 
+	 * itself and a saturated executor makes the caller wait for room. A failed lookup, or a rejection from 
+	 * a shut down executor, completes with null so the payments keep the bare order id
+	 */
+	private CompletableFuture<OrderDto> fetchOrderAsync(final Integer orderId) {
+		try {
+			return CompletableFuture
+					.supplyAsync(() -> this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+							.ORDER_SERVICE_API_URL + "/" + orderId, OrderDto.class), this.orderEnrichmentExecutor)
+					.exceptionally(e -> {
+						log.warn("*** PaymentDto, service; could not fetch order with id: {} *", orderId, e);
+						return null;
+					});
+		}
+		catch (final RejectedExecutionException e) {
+			log.warn("*** PaymentDto, service; order enrichment rejected, payments returned without order: {} *", 
+					orderId);
+			return CompletableFuture.completedFuture(null);
+		}
+	}
+	
+	
 	
 	
 }
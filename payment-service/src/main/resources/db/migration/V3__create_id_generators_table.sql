@@ -0,0 +1,9 @@
+-- next_val holds the last id handed out (hibernate.id.generator.stored_last_used)
+CREATE TABLE IF NOT EXISTS id_generators (
+	sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+	next_val BIGINT NOT NULL
+);
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'payments', COALESCE(MAX(payment_id), 0) FROM payments;
+
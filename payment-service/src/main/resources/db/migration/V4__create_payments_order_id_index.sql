@@ -0,0 +1 @@
+CREATE INDEX idx_payments_order_id_payment_id ON payments (order_id, payment_id);
@@ -0,0 +1,81 @@
+package com.selimhorri.app.integration;
+
+import static com.selimhorri.app.test.query.QueryPlan.assertUsesIndex;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.PaymentService;
+import com.selimhorri.app.support.page.CursorPageResponse;
+
+/**
+ * Pruebas de la consulta de pagos por orden
+ *
+ * Recorren las páginas de pagos de una orden y validan con EXPLAIN que la
+ * consulta usa el índice sobre payments.order_id en vez de recorrer la
+ * tabla completa.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Integration Test: Payment-Service foreign key queries")
+class PaymentForeignKeyQueryIntegrationTest {
+
+    private static final int ORDER_ID = 901;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @Test
+    @DisplayName("Test 1: Payments by order - pages should hold only the order's payments and use the order_id index")
+    void testFindPageByOrderId_ShouldPageThroughOrderPayments() {
+        // Given
+        paymentRepository.saveAll(IntStream.range(0, 5)
+                .mapToObj(i -> Payment.builder()
+                        .orderId(ORDER_ID)
+                        .isPayed(false)
+                        .paymentStatus(PaymentStatus.NOT_STARTED)
+                        .build())
+                .collect(Collectors.toUnmodifiableList()));
+
+        // When
+        List<PaymentDto> payments = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponse<PaymentDto> page = paymentService.findPageByOrderId(ORDER_ID, cursor, 2);
+            payments.addAll(page.getCollection());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertEquals(5, payments.size());
+        assertEquals(payments.stream().map(PaymentDto::getPaymentId).sorted().collect(Collectors.toList()),
+                payments.stream().map(PaymentDto::getPaymentId).collect(Collectors.toList()));
+        assertUsesIndex(dataSource, "IDX_PAYMENTS_ORDER_ID_PAYMENT_ID", () -> paymentService.findPageByOrderId(ORDER_ID, null, 2));
+    }
+}
@@ -0,0 +1,66 @@
+package com.selimhorri.app.integration;
+
+import static com.selimhorri.app.test.query.QueryBudget.assertAtMost;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.PaymentService;
+
+/**
+ * Presupuestos de consultas JDBC del servicio de pagos
+ *
+ * Las órdenes se enriquecen por HTTP; en la base de datos cada lectura
+ * debe ejecutar una sola sentencia sin importar cuántos pagos haya.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Integration Test: Payment-Service query budgets")
+class PaymentQueryBudgetIntegrationTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        paymentRepository.saveAll(IntStream.rangeClosed(1, ROWS)
+                .mapToObj(i -> Payment.builder()
+                        .orderId(i)
+                        .isPayed(false)
+                        .paymentStatus(PaymentStatus.NOT_STARTED)
+                        .build())
+                .collect(Collectors.toUnmodifiableList()));
+    }
+
+    @Test
+    @DisplayName("Test 1: Payments - find all and find by ID should run a single statement")
+    void testPaymentReads_ShouldStayWithinBudget() {
+        List<PaymentDto> payments = assertAtMost(1, () -> paymentService.findAll());
+        assertTrue(payments.size() >= ROWS);
+
+        assertAtMost(1, () -> paymentService.findById(payments.get(0).getPaymentId()));
+    }
+}
@@ -4,21 +4,35 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selimhorri.app.config.executor.CallerWaitsPolicy;
 import com.selimhorri.app.domain.Payment;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
@@ -42,7 +56,11 @@ class PaymentServiceImplTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
+    @Mock
+    private EntityManager entityManager;
+
+    private ThreadPoolTaskExecutor orderEnrichmentExecutor;
+
     private PaymentServiceImpl paymentService;
 
     private Payment payment;
@@ -51,6 +69,10 @@ class PaymentServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        orderEnrichmentExecutor = enrichmentExecutor(4, 4);
+        paymentService = new PaymentServiceImpl(paymentRepository, restTemplate, orderEnrichmentExecutor,
+                entityManager, new ObjectMapper().findAndRegisterModules().enable(SerializationFeature.INDENT_OUTPUT));
+        
         // Configurar datos de prueba
         orderDto = new OrderDto();
         orderDto.setOrderId(1);
@@ -67,16 +89,29 @@ class PaymentServiceImplTest {
         paymentDto.setOrderDto(orderDto);
     }
 
+    @AfterEach
+    void tearDown() {
+        orderEnrichmentExecutor.shutdown();
+    }
+
+    private static ThreadPoolTaskExecutor enrichmentExecutor(int maxInFlight, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxInFlight);
+        executor.setMaxPoolSize(maxInFlight);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new CallerWaitsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
     @Test
     @DisplayName("Test 1: Find all payments - should return list of payments with order info")
     void testFindAll_ShouldReturnPaymentListWithOrderInfo() {
         // Given
-        Payment payment2 = new Payment();
-        payment2.setPaymentId(2);
-        payment2.setIsPayed(false);
+        PaymentDto paymentDto2 = new PaymentDto(2, false, null, 2);
         
-        List<Payment> payments = Arrays.asList(payment, payment2);
-        when(paymentRepository.findAll()).thenReturn(payments);
+        List<PaymentDto> payments = Arrays.asList(paymentDto, paymentDto2);
+        when(paymentRepository.findDtoPageOrderByPaymentId(isNull(), any())).thenReturn(payments);
         when(restTemplate.getForObject(anyString(), eq(OrderDto.class))).thenReturn(orderDto);
 
         // When
@@ -85,14 +120,123 @@ class PaymentServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(paymentRepository, times(1)).findAll();
+        verify(paymentRepository, times(1)).findDtoPageOrderByPaymentId(isNull(), any());
+    }
+
+    @Test
+    @DisplayName("Test 1b: Find all payments - should keep order and return partial result on failed lookup")
+    void testFindAll_WhenOneOrderLookupFails_ShouldReturnPartialResultInOrder() {
+        // Given
+        List<PaymentDto> payments = Arrays.asList(
+                new PaymentDto(1, null, null, 10),
+                new PaymentDto(2, null, null, 20),
+                new PaymentDto(3, null, null, 30));
+        when(paymentRepository.findDtoPageOrderByPaymentId(isNull(), any())).thenReturn(payments);
+        when(restTemplate.getForObject(endsWith("/10"), eq(OrderDto.class)))
+            .thenReturn(OrderDto.builder().orderId(10).orderDesc("first").build());
+        when(restTemplate.getForObject(endsWith("/20"), eq(OrderDto.class)))
+            .thenThrow(new RestClientException("Connection refused"));
+        when(restTemplate.getForObject(endsWith("/30"), eq(OrderDto.class)))
+            .thenReturn(OrderDto.builder().orderId(30).orderDesc("third").build());
+
+        // When
+        List<PaymentDto> result = paymentService.findAll();
+
+        // Then
+        assertEquals(3, result.size());
+        assertEquals(1, result.get(0).getPaymentId());
+        assertEquals("first", result.get(0).getOrderDto().getOrderDesc());
+        assertEquals(2, result.get(1).getPaymentId());
+        assertEquals(20, result.get(1).getOrderDto().getOrderId());
+        assertNull(result.get(1).getOrderDto().getOrderDesc());
+        assertEquals(3, result.get(2).getPaymentId());
+        assertEquals("third", result.get(2).getOrderDto().getOrderDesc());
+    }
+
+    @Test
+    @DisplayName("Test 1c: Find all payments - should fetch orders concurrently")
+    void testFindAll_ShouldFetchOrdersConcurrently() {
+        // Given - 4 llamadas de 300ms sobre un pool de 4 hilos
+        List<PaymentDto> payments = Arrays.asList(
+                new PaymentDto(1, null, null, 1),
+                new PaymentDto(2, null, null, 2),
+                new PaymentDto(3, null, null, 3),
+                new PaymentDto(4, null, null, 4));
+        when(paymentRepository.findDtoPageOrderByPaymentId(isNull(), any())).thenReturn(payments);
+        when(restTemplate.getForObject(anyString(), eq(OrderDto.class))).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return orderDto;
+        });
+
+        // When
+        final long start = System.nanoTime();
+        List<PaymentDto> result = paymentService.findAll();
+        final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertEquals(4, result.size());
+        assertTrue(elapsedMillis < 1000, "Lookups should overlap, took " + elapsedMillis + " ms");
+        verify(restTemplate, times(4)).getForObject(anyString(), eq(OrderDto.class));
+    }
+
+    @Test
+    @DisplayName("Test 1d: Find all payments - should enrich every payment when they outnumber pool and queue")
+    void testFindAll_WhenPaymentsExceedPoolAndQueue_ShouldEnrichEveryPayment() {
+        // Given - 100 órdenes distintas sobre 4 hilos y una cola de 4
+        List<PaymentDto> payments = IntStream.rangeClosed(1, 100)
+                .mapToObj(i -> new PaymentDto(i, null, null, i))
+                .collect(Collectors.toList());
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(paymentRepository.findDtoPageOrderByPaymentId(isNull(), any())).thenReturn(payments);
+        when(restTemplate.getForObject(anyString(), eq(OrderDto.class))).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            inFlight.decrementAndGet();
+            String url = invocation.getArgument(0);
+            int orderId = Integer.parseInt(url.substring(url.lastIndexOf('/') + 1));
+            return OrderDto.builder().orderId(orderId).orderDesc("order " + orderId).build();
+        });
+
+        // When
+        List<PaymentDto> result = paymentService.findAll();
+
+        // Then
+        assertEquals(100, result.size());
+        result.forEach(p -> assertEquals("order " + p.getPaymentId(), p.getOrderDto().getOrderDesc()));
+        assertTrue(maxInFlight.get() <= 4, "At most 4 lookups in flight, saw " + maxInFlight.get());
+        verify(restTemplate, times(100)).getForObject(anyString(), eq(OrderDto.class));
+    }
+
+    @Test
+    @DisplayName("Test 1e: Find all payments - should look each distinct order up once")
+    void testFindAll_WhenPaymentsShareOrders_ShouldFetchEachOrderOnce() {
+        // Given - 6 pagos sobre 2 órdenes
+        List<PaymentDto> payments = IntStream.rangeClosed(1, 6)
+                .mapToObj(i -> new PaymentDto(i, null, null, (i % 2 == 0) ? 20 : 10))
+                .collect(Collectors.toList());
+        when(paymentRepository.findDtoPageOrderByPaymentId(isNull(), any())).thenReturn(payments);
+        when(restTemplate.getForObject(endsWith("/10"), eq(OrderDto.class)))
+            .thenReturn(OrderDto.builder().orderId(10).orderDesc("ten").build());
+        when(restTemplate.getForObject(endsWith("/20"), eq(OrderDto.class)))
+            .thenReturn(OrderDto.builder().orderId(20).orderDesc("twenty").build());
+
+        // When
+        List<PaymentDto> result = paymentService.findAll();
+
+        // Then
+        assertEquals(6, result.size());
+        assertEquals("ten", result.get(0).getOrderDto().getOrderDesc());
+        assertEquals("twenty", result.get(1).getOrderDto().getOrderDesc());
+        verify(restTemplate, times(1)).getForObject(endsWith("/10"), eq(OrderDto.class));
+        verify(restTemplate, times(1)).getForObject(endsWith("/20"), eq(OrderDto.class));
     }
 
     @Test
     @DisplayName("Test 2: Find payment by ID - should return payment when found")
     void testFindById_WhenPaymentExists_ShouldReturnPayment() {
         // Given
-        when(paymentRepository.findById(anyInt())).thenReturn(Optional.of(payment));
+        when(paymentRepository.findDtoById(anyInt())).thenReturn(Optional.of(paymentDto));
         when(restTemplate.getForObject(anyString(), eq(OrderDto.class))).thenReturn(orderDto);
 
         // When
@@ -103,20 +247,20 @@ class PaymentServiceImplTest {
         assertEquals(payment.getPaymentId(), result.getPaymentId());
         assertTrue(result.getIsPayed());
         assertNotNull(result.getOrderDto());
-        verify(paymentRepository, times(1)).findById(1);
+        verify(paymentRepository, times(1)).findDtoById(1);
     }
 
     @Test
     @DisplayName("Test 3: Find payment by ID - should throw exception when not found")
     void testFindById_WhenPaymentDoesNotExist_ShouldThrowException() {
         // Given
-        when(paymentRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(paymentRepository.findDtoById(anyInt())).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(PaymentNotFoundException.class, () -> {
             paymentService.findById(999);
         });
-        verify(paymentRepository, times(1)).findById(999);
+        verify(paymentRepository, times(1)).findDtoById(999);
     }
 
     @Test
@@ -168,5 +312,46 @@ class PaymentServiceImplTest {
         assertFalse(result.getIsPayed());
         verify(paymentRepository, times(1)).save(any(Payment.class));
     }
-}
 
+    @Test
+    @DisplayName("Test 7: Export all payments - should write one NDJSON line per row without remote calls")
+    void testExportAll_ShouldWriteOneLinePerRowWithoutRemoteCalls() throws Exception {
+        // Given
+        Stream<Payment> payments = IntStream.rangeClosed(1, 1200).mapToObj(i -> {
+            Payment p = new Payment();
+            p.setPaymentId(i);
+            p.setOrderId(i);
+            p.setIsPayed(true);
+            return p;
+        });
+        when(paymentRepository.streamAllOrderByPaymentId()).thenReturn(payments);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        long exported = paymentService.exportAll(outputStream);
+
+        // Then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1200, exported);
+        assertEquals(1200, lines.length);
+        assertTrue(lines[0].contains("\"paymentId\":1,"));
+        verify(entityManager, times(2)).clear();
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("Test 8: Save all payments - should persist them through a single saveAll call")
+    void testSaveAll_ShouldPersistThroughSingleSaveAll() {
+        // Given
+        when(paymentRepository.saveAll(anyList())).thenReturn(List.of(payment));
+
+        // When
+        List<PaymentDto> result = paymentService.saveAll(List.of(paymentDto));
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(payment.getPaymentId(), result.get(0).getPaymentId());
+        verify(paymentRepository, times(1)).saveAll(anyList());
+        verifyNoInteractions(restTemplate);
+    }
+}
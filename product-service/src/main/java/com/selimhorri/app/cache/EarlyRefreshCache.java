@@ -0,0 +1,138 @@
+package com.selimhorri.app.cache;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded read-through cache whose entries are recomputed shortly before they expire
+ * with a probability that grows as expiry approaches (XFetch), so a hot key is refreshed
+ * by a single caller instead of stampeding the database when its entry runs out.
+ */
+public class EarlyRefreshCache<K, V> implements MeterBinder {
+	
+	private final String name;
+	private final Cache<K, Entry<V>> cache;
+	private final Ticker ticker;
+	private final long timeToLiveNanos;
+	private final double beta;
+	private final LongAdder earlyRefreshes = new LongAdder();
+	
+	public EarlyRefreshCache(final String name, final long maximumSize,
+			final Duration timeToLive, final double beta, final Ticker ticker) {
+		this.name = name;
+		this.ticker = ticker;
+		this.timeToLiveNanos = timeToLive.toNanos();
+		this.beta = beta;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(timeToLive)
+				.ticker(ticker)
+				.recordStats()
+				.build();
+	}
+	
+	public V get(final K key, final Function<? super K, ? extends V> loader) {
+		
+		final boolean[] loaded = new boolean[1];
+		final Entry<V> cached = this.cache.get(key, k -> {
+			loaded[0] = true;
+			return this.load(k, loader);
+		});
+		if (loaded[0] || !cached.shouldRefreshEarly(this.ticker.read(), this.beta))
+			return cached.value;
+		
+		this.earlyRefreshes.increment();
+		final Entry<V> refreshed = this.load(key, loader);
+		// skip the write-back when the entry got evicted while reloading
+		this.cache.asMap().replace(key, cached, refreshed);
+		return refreshed.value;
+	}
+	
+	public void evict(final K key) {
+		this.evictNowAndAfterCompletion(() -> this.cache.invalidate(key));
+	}
+	
+	public void evictIf(final Predicate<? super V> predicate) {
+		this.evictNowAndAfterCompletion(() -> this.cache.asMap().values()
+				.removeIf(entry -> predicate.test(entry.value)));
+	}
+	
+	public void evictAll() {
+		this.evictNowAndAfterCompletion(this.cache::invalidateAll);
+	}
+	
+	public long estimatedSize() {
+		return this.cache.estimatedSize();
+	}
+	
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, this.cache, this.name);
+		FunctionCounter.builder("cache.early.refreshes", this.earlyRefreshes, LongAdder::sum)
+				.tag("cache", this.name)
+				.description("The number of entries recomputed before their expiry")
+				.register(registry);
+	}
+	
+	private Entry<V> load(final K key, final Function<? super K, ? extends V> loader) {
+		final long start = this.ticker.read();
+		final V value = loader.apply(key);
+		final long end = this.ticker.read();
+		return new Entry<>(value, end - start, end + this.timeToLiveNanos);
+	}
+	
+	/**
+	 * A read running concurrently with a write may put the old row back right after
+	 * the first eviction, so evict again once the surrounding transaction completes.
+	 */
+	private void evictNowAndAfterCompletion(final Runnable eviction) {
+		eviction.run();
+		if (TransactionSynchronizationManager.isSynchronizationActive())
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(final int status) {
+					eviction.run();
+				}
+			});
+	}
+	
+	private static final class Entry<V> {
+		
+		private final V value;
+		private final long computeNanos;
+		private final long expiresAtNanos;
+		
+		private Entry(final V value, final long computeNanos, final long expiresAtNanos) {
+			this.value = value;
+			this.computeNanos = computeNanos;
+			this.expiresAtNanos = expiresAtNanos;
+		}
+		
+		private boolean shouldRefreshEarly(final long nowNanos, final double beta) {
+			final double random = ThreadLocalRandom.current().nextDouble();
+			return nowNanos - this.computeNanos * beta * Math.log(random) >= this.expiresAtNanos;
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
@@ -0,0 +1,58 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.selimhorri.app.cache.EarlyRefreshCache;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+@Configuration
+public class CatalogCacheConfig {
+	
+	public static final String FIND_ALL_KEY = "all";
+	
+	@Value("${app.cache.catalog.maximum-size:10000}")
+	private long maximumSize;
+	
+	@Value("${app.cache.catalog.time-to-live:10m}")
+	private Duration timeToLive;
+	
+	@Value("${app.cache.catalog.beta:1.0}")
+	private double beta;
+	
+	@Bean
+	public EarlyRefreshCache<Integer, ProductDto> productDtoCache() {
+		return this.newCache("productDtoCache", this.maximumSize);
+	}
+	
+	@Bean
+	public EarlyRefreshCache<String, List<ProductDto>> productDtoListCache() {
+		return this.newCache("productDtoListCache", 1);
+	}
+	
+	@Bean
+	public EarlyRefreshCache<Integer, CategoryDto> categoryDtoCache() {
+		return this.newCache("categoryDtoCache", this.maximumSize);
+	}
+	
+	@Bean
+	public EarlyRefreshCache<String, List<CategoryDto>> categoryDtoListCache() {
+		return this.newCache("categoryDtoListCache", 1);
+	}
+	
+	private <K, V> EarlyRefreshCache<K, V> newCache(final String name, final long size) {
+		return new EarlyRefreshCache<>(name, size, this.timeToLive, this.beta, Ticker.systemTicker());
+	}
+	
+	
+	
+}
+
+
+
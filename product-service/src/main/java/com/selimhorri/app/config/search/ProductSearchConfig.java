@@ -0,0 +1,42 @@
+package com.selimhorri.app.config.search;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import com.selimhorri.app.search.ProductSearchIndex;
+
+@Configuration
+public class ProductSearchConfig {
+	
+	@Bean(initMethod = "rebuild")
+	public ProductSearchIndex productSearchIndex(final NamedParameterJdbcOperations jdbcOperations) {
+		return new ProductSearchIndex(jdbcOperations);
+	}
+	
+	// every replica only applies its own writes, the rebuild brings in the others'
+	@Bean(destroyMethod = "shutdown")
+	@ConditionalOnProperty(prefix = "app.search", name = "refresh-interval")
+	public ThreadPoolTaskScheduler productSearchRefreshScheduler(
+			final ProductSearchIndex productSearchIndex, 
+			@Value("${app.search.refresh-interval}") final Duration refreshInterval) {
+		
+		final var scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setPoolSize(1);
+		scheduler.setThreadNamePrefix("search-refresh-");
+		scheduler.setWaitForTasksToCompleteOnShutdown(true);
+		scheduler.setAwaitTerminationSeconds(30);
+		scheduler.initialize();
+		scheduler.scheduleWithFixedDelay(productSearchIndex::rebuild, Instant.now().plus(refreshInterval), refreshInterval);
+		return scheduler;
+	}
+	
+	
+	
+}
@@ -4,6 +4,7 @@ import java.io.Serializable;
 import java.util.Set;
 
 import javax.persistence.CascadeType;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
@@ -12,10 +13,18 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.selimhorri.app.config.cache.HibernateCacheConfig;
+import com.selimhorri.app.constant.AppConstant;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -24,18 +33,23 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.CATEGORY_REGION)
 @Table(name = "categories")
+@NamedEntityGraph(name = "Category.parentCategory", attributeNodes = @NamedAttributeNode("parentCategory"))
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true, exclude = {"subCategories", "parentCategory", "products"})
 @Data
 @Builder
-public final class Category extends AbstractMappedEntity implements Serializable {
+public class Category extends AbstractMappedEntity implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "categories")
+	@TableGenerator(name = "categories", table = AppConstant.ID_GENERATOR_TABLE, 
+			pkColumnValue = "categories", allocationSize = AppConstant.ID_ALLOCATION_SIZE)
 	@Column(name = "category_id", unique = true, nullable = false, updatable = false)
 	private Integer categoryId;
 	
@@ -46,14 +60,16 @@ public final class Category extends AbstractMappedEntity implements Serializable
 	private String imageUrl;
 	
 	@JsonIgnore
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.CATEGORY_SUB_CATEGORIES_REGION)
 	@OneToMany(mappedBy = "parentCategory", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
 	private Set<Category> subCategories;
 	
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "parent_category_id")
 	private Category parentCategory;
 	
 	@JsonIgnore
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.CATEGORY_PRODUCTS_REGION)
 	@OneToMany(mappedBy = "category", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
 	private Set<Product> products;
 	
@@ -2,6 +2,7 @@ package com.selimhorri.app.domain;
 
 import java.io.Serializable;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
@@ -10,7 +11,16 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.selimhorri.app.config.cache.HibernateCacheConfig;
+import com.selimhorri.app.constant.AppConstant;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,7 +29,10 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.PRODUCT_REGION)
 @Table(name = "products")
+@NamedEntityGraph(name = "Product.category", attributeNodes = @NamedAttributeNode("category"))
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true, exclude = {"category"})
@@ -30,7 +43,9 @@ public final class Product extends AbstractMappedEntity implements Serializable
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "products")
+	@TableGenerator(name = "products", table = AppConstant.ID_GENERATOR_TABLE, 
+			pkColumnValue = "products", allocationSize = AppConstant.ID_ALLOCATION_SIZE)
 	@Column(name = "product_id", unique = true, nullable = false, updatable = false)
 	private Integer productId;
 	
@@ -49,7 +64,7 @@ public final class Product extends AbstractMappedEntity implements Serializable
 	@Column(name = "quantity")
 	private Integer quantity;
 	
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "category_id")
 	private Category category;
 	
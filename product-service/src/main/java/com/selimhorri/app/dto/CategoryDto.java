@@ -34,6 +34,20 @@ public class CategoryDto implements Serializable {
 	@JsonInclude(Include.NON_NULL)
 	private Set<ProductDto> productDtos;
 	
+	/**
+	 * Read-side projection, selected by JPQL constructor expressions 
+	 * without hydrating Category entities; a root category gets an empty parent, 
+	 * as CategoryMappingHelper gives it
+	 */
+	public CategoryDto(final Integer categoryId, final String categoryTitle, final String imageUrl, 
+			final Integer parentCategoryId, final String parentCategoryTitle, final String parentImageUrl) {
+		this(categoryId, categoryTitle, imageUrl, null, CategoryDto.builder()
+				.categoryId(parentCategoryId)
+				.categoryTitle(parentCategoryTitle)
+				.imageUrl(parentImageUrl)
+				.build(), null);
+	}
+	
 }
 
 
@@ -0,0 +1,29 @@
+package com.selimhorri.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ProductFilterDto {
+	
+	private Integer categoryId;
+	private Double minPrice;
+	private Double maxPrice;
+	private Boolean inStock;
+	
+}
+
+
+
+
+
+
+
+
+
+
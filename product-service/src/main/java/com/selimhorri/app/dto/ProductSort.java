@@ -0,0 +1,23 @@
+package com.selimhorri.app.dto;
+
+/**
+ * Stable orders of the keyset product listing, both end on the product id 
+ * so ties never reorder between pages. Products without a price are left out 
+ * of the price order
+ */
+public enum ProductSort {
+	
+	PRODUCT_ID,
+	PRICE_UNIT;
+	
+}
+
+
+
+
+
+
+
+
+
+
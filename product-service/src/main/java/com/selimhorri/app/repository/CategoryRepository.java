@@ -1,11 +1,46 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.dto.CategoryDto;
 
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
 	
+	String CATEGORY_DTO = "new com.selimhorri.app.dto.CategoryDto(c.categoryId, c.categoryTitle, c.imageUrl, "
+			+ "pc.categoryId, pc.categoryTitle, pc.imageUrl)";
+	
+	@Override
+	@EntityGraph("Category.parentCategory")
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
+	List<Category> findAll();
+	
+	@Override
+	@EntityGraph("Category.parentCategory")
+	Optional<Category> findById(final Integer categoryId);
+	
+	@Query("SELECT " + CategoryRepository.CATEGORY_DTO + " FROM Category c LEFT JOIN c.parentCategory pc "
+			+ "WHERE c.categoryId = :categoryId")
+	Optional<CategoryDto> findDtoById(@Param("categoryId") final Integer categoryId);
+	
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
+	@Query("SELECT " + CategoryRepository.CATEGORY_DTO + " FROM Category c LEFT JOIN c.parentCategory pc "
+			+ "WHERE (:afterCategoryId IS NULL OR c.categoryId > :afterCategoryId) "
+			+ "ORDER BY c.categoryId")
+	List<CategoryDto> findDtoPageOrderByCategoryId(
+			@Param("afterCategoryId") final Integer afterCategoryId, 
+			final Pageable pageable);
+	
 	
 	
 }
@@ -1,11 +1,82 @@
 package com.selimhorri.app.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 	
+	String PRODUCT_DTO = "new com.selimhorri.app.dto.ProductDto(p.productId, p.productTitle, p.imageUrl, "
+			+ "p.sku, p.priceUnit, p.quantity, c.categoryId, c.categoryTitle, c.imageUrl)";
+	
+	@Override
+	@EntityGraph("Product.category")
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
+	List<Product> findAll();
+	
+	@Override
+	@EntityGraph("Product.category")
+	Optional<Product> findById(final Integer productId);
+	
+	@Override
+	@EntityGraph("Product.category")
+	List<Product> findAllById(final Iterable<Integer> productIds);
+	
+	@Query("SELECT " + ProductRepository.PRODUCT_DTO + " FROM Product p LEFT JOIN p.category c "
+			+ "WHERE p.productId = :productId")
+	Optional<ProductDto> findDtoById(@Param("productId") final Integer productId);
+	
+	@Query("SELECT " + ProductRepository.PRODUCT_DTO + " FROM Product p LEFT JOIN p.category c "
+			+ "WHERE p.productId IN :productIds")
+	List<ProductDto> findAllDtoById(@Param("productIds") final Collection<Integer> productIds);
+	
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
+	@Query("SELECT " + ProductRepository.PRODUCT_DTO + " FROM Product p LEFT JOIN p.category c "
+			+ "WHERE (:categoryId IS NULL OR c.categoryId = :categoryId) "
+			+ "AND (:minPrice IS NULL OR p.priceUnit >= :minPrice) "
+			+ "AND (:maxPrice IS NULL OR p.priceUnit <= :maxPrice) "
+			+ "AND (:inStock = FALSE OR p.quantity > 0) "
+			+ "AND (:afterProductId IS NULL OR p.productId > :afterProductId) "
+			+ "ORDER BY p.productId")
+	List<ProductDto> findDtoPageOrderByProductId(
+			@Param("categoryId") final Integer categoryId, 
+			@Param("minPrice") final Double minPrice, 
+			@Param("maxPrice") final Double maxPrice, 
+			@Param("inStock") final boolean inStock, 
+			@Param("afterProductId") final Integer afterProductId, 
+			final Pageable pageable);
+	
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
+	@Query("SELECT " + ProductRepository.PRODUCT_DTO + " FROM Product p LEFT JOIN p.category c "
+			+ "WHERE p.priceUnit IS NOT NULL "
+			+ "AND (:categoryId IS NULL OR c.categoryId = :categoryId) "
+			+ "AND (:minPrice IS NULL OR p.priceUnit >= :minPrice) "
+			+ "AND (:maxPrice IS NULL OR p.priceUnit <= :maxPrice) "
+			+ "AND (:inStock = FALSE OR p.quantity > 0) "
+			+ "AND (:afterPriceUnit IS NULL OR p.priceUnit > :afterPriceUnit "
+			+ "OR (p.priceUnit = :afterPriceUnit AND p.productId > :afterProductId)) "
+			+ "ORDER BY p.priceUnit, p.productId")
+	List<ProductDto> findDtoPageOrderByPriceUnit(
+			@Param("categoryId") final Integer categoryId, 
+			@Param("minPrice") final Double minPrice, 
+			@Param("maxPrice") final Double maxPrice, 
+			@Param("inStock") final boolean inStock, 
+			@Param("afterPriceUnit") final Double afterPriceUnit, 
+			@Param("afterProductId") final Integer afterProductId, 
+			final Pageable pageable);
+	
 	
 	
 }
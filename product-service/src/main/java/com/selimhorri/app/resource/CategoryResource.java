@@ -1,5 +1,7 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,11 +14,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.CategoryDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.CategoryService;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +40,14 @@ public class CategoryResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryService.findAll()));
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<CursorPageResponse<CategoryDto>> findPage(
+			@RequestParam(name = "cursor", required = false) final String cursor, 
+			@RequestParam(name = "size", defaultValue = "" + CursorHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** CategoryDto Page, resource; fetch categories page *");
+		return ResponseEntity.ok(this.categoryService.findPage(cursor, size));
+	}
+	
 	@GetMapping("/{categoryId}")
 	public ResponseEntity<CategoryDto> findById(
 			@PathVariable("categoryId") 
@@ -53,6 +66,15 @@ public class CategoryResource {
 		return ResponseEntity.ok(this.categoryService.save(categoryDto));
 	}
 	
+	@PostMapping("/bulk")
+	public ResponseEntity<DtoCollectionResponse<CategoryDto>> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final List<CategoryDto> categoryDtos) {
+		log.info("*** CategoryDto List, resource; save all categories *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryService.saveAll(categoryDtos)));
+	}
+	
 	@PutMapping
 	public ResponseEntity<CategoryDto> update(
 			@RequestBody 
@@ -1,5 +1,8 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+import java.util.Set;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,11 +15,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.ProductFilterDto;
+import com.selimhorri.app.dto.ProductSort;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +43,24 @@ public class ProductResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAll()));
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<CursorPageResponse<ProductDto>> findPage(
+			final ProductFilterDto productFilterDto, 
+			@RequestParam(name = "sort", defaultValue = "PRODUCT_ID") final ProductSort productSort, 
+			@RequestParam(name = "cursor", required = false) final String cursor, 
+			@RequestParam(name = "size", defaultValue = "" + CursorHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** ProductDto Page, resource; fetch products page *");
+		return ResponseEntity.ok(this.productService.findPage(productFilterDto, productSort, cursor, size));
+	}
+	
+	@GetMapping(params = "search")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> search(
+			@RequestParam(name = "search") final String query, 
+			@RequestParam(name = "limit", defaultValue = "" + CursorHelper.DEFAULT_PAGE_SIZE) final int limit) {
+		log.info("*** ProductDto List, resource; search products *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.search(query, limit)));
+	}
+	
 	@GetMapping("/{productId}")
 	public ResponseEntity<ProductDto> findById(
 			@PathVariable("productId") 
@@ -44,6 +70,14 @@ public class ProductResource {
 		return ResponseEntity.ok(this.productService.findById(Integer.parseInt(productId)));
 	}
 	
+	@PostMapping("/ids")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") final Set<Integer> productIds) {
+		log.info("*** ProductDto List, resource; fetch products by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAllByIds(productIds)));
+	}
+	
 	@PostMapping
 	public ResponseEntity<ProductDto> save(
 			@RequestBody 
@@ -53,6 +87,15 @@ public class ProductResource {
 		return ResponseEntity.ok(this.productService.save(productDto));
 	}
 	
+	@PostMapping("/bulk")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final List<ProductDto> productDtos) {
+		log.info("*** ProductDto List, resource; save all products *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.saveAll(productDtos)));
+	}
+	
 	@PutMapping
 	public ResponseEntity<ProductDto> update(
 			@RequestBody 
@@ -0,0 +1,125 @@
+package com.selimhorri.app.search;
+
+import java.util.Arrays;
+
+/**
+ * Products containing one term, as an open-addressing map from product id to the bit mask
+ * of the fields holding the term, 5 bytes per slot. Removing a product shifts the following
+ * probe run back, so no tombstones accumulate.
+ *
+ * Not thread-safe, {@link ProductSearchIndex} guards every instance.
+ */
+final class Postings {
+	
+	private static final int FREE = Integer.MIN_VALUE;
+	
+	final String term;
+	private int[] productIds;
+	private byte[] fields;
+	private int size;
+	
+	Postings(final String term) {
+		this.term = term;
+		this.allocate(2);
+	}
+	
+	/**
+	 * Returns the fields of the product holding the term, 0 if none
+	 */
+	int fieldsOf(final int productId) {
+		final int slot = this.slotOf(productId);
+		return (slot < 0) ? 0 : this.fields[slot];
+	}
+	
+	void put(final int productId, final int fields) {
+		final int slot = this.slotOf(productId);
+		if (slot >= 0) {
+			this.fields[slot] = (byte) fields;
+			return;
+		}
+		if (2 * (this.size + 1) > this.productIds.length)
+			this.rehash(2 * this.productIds.length);
+		this.insert(productId, fields);
+	}
+	
+	void remove(final int productId) {
+		final int slot = this.slotOf(productId);
+		if (slot >= 0)
+			this.removeAt(slot);
+	}
+	
+	int size() {
+		return this.size;
+	}
+	
+	void forEach(final PostingConsumer action) {
+		for (int slot = 0; slot < this.productIds.length; slot++)
+			if (this.productIds[slot] != FREE)
+				action.accept(this.productIds[slot], this.fields[slot]);
+	}
+	
+	private void allocate(final int capacity) {
+		this.productIds = new int[capacity];
+		Arrays.fill(this.productIds, FREE);
+		this.fields = new byte[capacity];
+		this.size = 0;
+	}
+	
+	private int slotOf(final int productId) {
+		final int mask = this.productIds.length - 1;
+		for (int slot = mix(productId) & mask; ; slot = (slot + 1) & mask) {
+			if (this.productIds[slot] == productId)
+				return slot;
+			if (this.productIds[slot] == FREE)
+				return -1;
+		}
+	}
+	
+	private void insert(final int productId, final int fields) {
+		final int mask = this.productIds.length - 1;
+		int slot = mix(productId) & mask;
+		while (this.productIds[slot] != FREE)
+			slot = (slot + 1) & mask;
+		this.productIds[slot] = productId;
+		this.fields[slot] = (byte) fields;
+		this.size++;
+	}
+	
+	private void removeAt(int slot) {
+		final int mask = this.productIds.length - 1;
+		this.size--;
+		for (int next = (slot + 1) & mask; this.productIds[next] != FREE; next = (next + 1) & mask) {
+			final int home = mix(this.productIds[next]) & mask;
+			// the entry at next may fill the hole unless its home lies cyclically in (slot, next]
+			if (((next - home) & mask) >= ((next - slot) & mask)) {
+				this.productIds[slot] = this.productIds[next];
+				this.fields[slot] = this.fields[next];
+				slot = next;
+			}
+		}
+		this.productIds[slot] = FREE;
+		this.fields[slot] = 0;
+	}
+	
+	private void rehash(final int capacity) {
+		final int[] oldProductIds = this.productIds;
+		final byte[] oldFields = this.fields;
+		this.allocate(capacity);
+		for (int slot = 0; slot < oldProductIds.length; slot++)
+			if (oldProductIds[slot] != FREE)
+				this.insert(oldProductIds[slot], oldFields[slot]);
+	}
+	
+	private static int mix(final int productId) {
+		final int h = productId * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+	
+	@FunctionalInterface
+	interface PostingConsumer {
+		void accept(final int productId, final int fields);
+	}
+	
+	
+	
+}
@@ -0,0 +1,548 @@
+package com.selimhorri.app.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process inverted index over the title, sku and category title of every product.
+ *
+ * Text is lower-cased, stripped of accents and split on anything but letters and digits,
+ * and between letters and digits, so "SKU-00042" is searched as "sku" and "00042".
+ * Every query term has to match, the last one also as a prefix (search as you type) and
+ * a term missing from the index also within one or two typos of a term sharing its first letter.
+ * A product scores, for each query term, the best of its matches weighted by the rarity of
+ * the matched term, by the fields holding it and by exact, prefix or fuzzy match.
+ *
+ * Rebuilt from the tables at startup, then kept up to date by the product and category
+ * writes of this instance once they commit. Those of the other replicas only come in with
+ * the next rebuild, run every app.search.refresh-interval; the updates applied while it
+ * reads the tables are replayed on the rebuilt index before it is swapped in.
+ */
+@Slf4j
+public class ProductSearchIndex implements MeterBinder {
+	
+	static final int TITLE = 1;
+	static final int SKU = 2;
+	static final int CATEGORY = 4;
+	
+	private static final String SELECT_SQL = "SELECT p.product_id, p.product_title, p.sku, c.category_title "
+			+ "FROM products p LEFT JOIN categories c ON c.category_id = p.category_id";
+	private static final String SELECT_BY_CATEGORY_SQL = SELECT_SQL + " WHERE p.category_id = :categoryId";
+	private static final String SELECT_CATEGORY_TITLE_SQL = "SELECT category_title FROM categories "
+			+ "WHERE category_id = :categoryId";
+	private static final String SELECT_SUBCATEGORY_IDS_SQL = "SELECT category_id FROM categories "
+			+ "WHERE parent_category_id IN (:categoryIds)";
+	private static final String SELECT_PRODUCT_IDS_BY_CATEGORIES_SQL = "SELECT product_id FROM products "
+			+ "WHERE category_id IN (:categoryIds)";
+	private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+	private static final double[] FIELD_WEIGHTS = fieldWeights(3.0, 2.0, 1.0);
+	private static final double PREFIX_BOOST = 0.6;
+	private static final double FUZZY_BOOST = 0.4;
+	private static final int MIN_PREFIX_LENGTH = 2;
+	private static final int MIN_FUZZY_LENGTH = 4;
+	private static final int MAX_TERM_LENGTH = 32;
+	private static final int MAX_EXPANSIONS = 64;
+	
+	private final NamedParameterJdbcOperations jdbcOperations;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private NavigableMap<String, Postings> postings = new TreeMap<>();
+	private Map<Integer, Postings[]> postingsOfProduct = new HashMap<>();
+	private final Map<Integer, String> categoryTitles = new ConcurrentHashMap<>();
+	private List<IndexUpdate> updatesDuringRebuild;
+	
+	public ProductSearchIndex(final NamedParameterJdbcOperations jdbcOperations) {
+		this.jdbcOperations = jdbcOperations;
+	}
+	
+	/**
+	 * Returns the ids of the best matching products, best first
+	 */
+	public List<Integer> search(final String query, final int limit) {
+		
+		final List<String> tokens = tokenize(query).stream()
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+		if (tokens.isEmpty() || limit <= 0)
+			return List.of();
+		
+		this.lock.readLock().lock();
+		try {
+			final List<Clause> clauses = new ArrayList<>(tokens.size());
+			for (int i = 0; i < tokens.size(); i++) {
+				final Clause clause = this.clauseOf(tokens.get(i), i == tokens.size() - 1);
+				if (clause.matches.isEmpty())
+					return List.of();
+				clauses.add(clause);
+			}
+			// only products matching the rarest clause can match them all
+			clauses.sort(Comparator.comparingLong(Clause::frequency));
+			return top(clauses, limit);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Indexes the product, replacing what was indexed for it, once the surrounding transaction commits. 
+	 * The category title is looked up by id, a product just persisted only carries the id it was given.
+	 */
+	public void put(final ProductDto productDto) {
+		afterCommit(() -> {
+			final String categoryTitle = this.categoryTitleOf(productDto.getCategoryDto());
+			this.update((postings, postingsOfProduct) -> this.index(postings, postingsOfProduct, productDto.getProductId(), 
+					productDto.getProductTitle(), productDto.getSku(), categoryTitle));
+		});
+	}
+	
+	/**
+	 * Drops the product, once the surrounding transaction commits
+	 */
+	public void remove(final Integer productId) {
+		afterCommit(() -> this.update((postings, postingsOfProduct) -> this.unindex(postings, postingsOfProduct, productId)));
+	}
+	
+	/**
+	 * Re-indexes the products of the category, whose title they are searched by,
+	 * once the surrounding transaction commits
+	 */
+	public void reindexCategory(final Integer categoryId) {
+		afterCommit(() -> {
+			this.categoryTitles.remove(categoryId);
+			this.jdbcOperations.query(SELECT_BY_CATEGORY_SQL, new MapSqlParameterSource("categoryId", categoryId), rs -> {
+				final int productId = rs.getInt("product_id");
+				final String title = rs.getString("product_title");
+				final String sku = rs.getString("sku");
+				final String categoryTitle = rs.getString("category_title");
+				this.update((postings, postingsOfProduct) -> this.index(postings, postingsOfProduct, productId, 
+						title, sku, categoryTitle));
+			});
+		});
+	}
+	
+	/**
+	 * Drops the products of the category and of its subcategories, which deleting the category 
+	 * cascades to, once the surrounding transaction commits. Runs before the delete, while 
+	 * the rows to drop can still be read.
+	 */
+	public void removeCategory(final Integer categoryId) {
+		final Set<Integer> categoryIds = new LinkedHashSet<>(List.of(categoryId));
+		List<Integer> children = List.of(categoryId);
+		while (!children.isEmpty()) {
+			children = this.jdbcOperations.queryForList(SELECT_SUBCATEGORY_IDS_SQL, 
+							new MapSqlParameterSource("categoryIds", children), Integer.class)
+					.stream()
+						.filter(categoryIds::add)
+						.collect(Collectors.toUnmodifiableList());
+		}
+		final List<Integer> productIds = this.jdbcOperations.queryForList(SELECT_PRODUCT_IDS_BY_CATEGORIES_SQL, 
+				new MapSqlParameterSource("categoryIds", categoryIds), Integer.class);
+		afterCommit(() -> {
+			categoryIds.forEach(this.categoryTitles::remove);
+			this.update((postings, postingsOfProduct) -> productIds
+					.forEach(productId -> this.unindex(postings, postingsOfProduct, productId)));
+		});
+	}
+	
+	/**
+	 * Builds the index from the tables aside, then swaps it in, at startup and on every refresh. 
+	 * It reads the primary, a lagging replica could miss writes committed just before the updates 
+	 * replayed on top.
+	 */
+	public synchronized void rebuild() {
+		final NavigableMap<String, Postings> rebuiltPostings = new TreeMap<>();
+		final Map<Integer, Postings[]> rebuiltPostingsOfProduct = new HashMap<>();
+		final List<IndexUpdate> updates = new ArrayList<>();
+		this.lock.writeLock().lock();
+		try {
+			this.updatesDuringRebuild = updates;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+		try {
+			this.categoryTitles.clear();
+			this.jdbcOperations.query(SELECT_SQL, rs -> {
+				this.index(rebuiltPostings, rebuiltPostingsOfProduct, rs.getInt("product_id"),
+						rs.getString("product_title"), rs.getString("sku"), rs.getString("category_title"));
+			});
+			this.lock.writeLock().lock();
+			try {
+				updates.forEach(update -> update.apply(rebuiltPostings, rebuiltPostingsOfProduct));
+				this.postings = rebuiltPostings;
+				this.postingsOfProduct = rebuiltPostingsOfProduct;
+			}
+			finally {
+				this.lock.writeLock().unlock();
+			}
+		}
+		finally {
+			this.lock.writeLock().lock();
+			try {
+				this.updatesDuringRebuild = null;
+			}
+			finally {
+				this.lock.writeLock().unlock();
+			}
+		}
+		log.info("*** ProductSearchIndex; indexed {} products under {} terms *",
+				rebuiltPostingsOfProduct.size(), rebuiltPostings.size());
+	}
+	
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.postingsOfProduct.size();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	public int terms() {
+		this.lock.readLock().lock();
+		try {
+			return this.postings.size();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		Gauge.builder("products.search.documents", this, ProductSearchIndex::size)
+				.description("The products in the search index")
+				.register(registry);
+		Gauge.builder("products.search.terms", this, ProductSearchIndex::terms)
+				.description("The distinct terms in the search index")
+				.register(registry);
+	}
+	
+	/**
+	 * Lower-cased, accent-free runs of letters or of digits, at most MAX_TERM_LENGTH long
+	 */
+	static List<String> tokenize(final String text) {
+		
+		if (text == null || text.isBlank())
+			return List.of();
+		
+		final String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+				.replaceAll("")
+				.toLowerCase(Locale.ROOT);
+		final List<String> tokens = new ArrayList<>();
+		int start = -1;
+		for (int i = 0; i <= normalized.length(); i++) {
+			final char c = (i < normalized.length()) ? normalized.charAt(i) : ' ';
+			final boolean letterOrDigit = Character.isLetterOrDigit(c);
+			if (start >= 0 && (!letterOrDigit || Character.isDigit(c) != Character.isDigit(normalized.charAt(start)))) {
+				tokens.add(normalized.substring(start, Math.min(i, start + MAX_TERM_LENGTH)));
+				start = -1;
+			}
+			if (start < 0 && letterOrDigit)
+				start = i;
+		}
+		return tokens;
+	}
+	
+	/**
+	 * Optimal string alignment distance, a transposition counting as one edit,
+	 * or maxEdits + 1 as soon as it exceeds maxEdits
+	 */
+	static int distance(final String a, final String b, final int maxEdits) {
+		if (Math.abs(a.length() - b.length()) > maxEdits)
+			return maxEdits + 1;
+		int[] previous2 = new int[b.length() + 1];
+		int[] previous = new int[b.length() + 1];
+		int[] current = new int[b.length() + 1];
+		for (int j = 0; j <= b.length(); j++)
+			previous[j] = j;
+		for (int i = 1; i <= a.length(); i++) {
+			current[0] = i;
+			int rowMin = i;
+			for (int j = 1; j <= b.length(); j++) {
+				final int cost = (a.charAt(i - 1) == b.charAt(j - 1)) ? 0 : 1;
+				current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+				if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1))
+					current[j] = Math.min(current[j], previous2[j - 2] + 1);
+				rowMin = Math.min(rowMin, current[j]);
+			}
+			if (rowMin > maxEdits)
+				return maxEdits + 1;
+			final int[] recycled = previous2;
+			previous2 = previous;
+			previous = current;
+			current = recycled;
+		}
+		return Math.min(previous[b.length()], maxEdits + 1);
+	}
+	
+	/**
+	 * The index terms a query term matches: itself, the terms it prefixes if it is the last
+	 * query term, and if it is not indexed the terms it is a typo of
+	 */
+	private Clause clauseOf(final String token, final boolean last) {
+		
+		final Clause clause = new Clause();
+		final Postings exact = this.postings.get(token);
+		if (exact != null)
+			clause.add(exact, 1.0, this.postingsOfProduct.size());
+		
+		if (last && token.length() >= MIN_PREFIX_LENGTH)
+			for (final Postings prefixed : this.postings.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+				if (clause.matches.size() >= MAX_EXPANSIONS)
+					break;
+				clause.add(prefixed, PREFIX_BOOST, this.postingsOfProduct.size());
+			}
+		
+		if (clause.matches.isEmpty() && token.length() >= MIN_FUZZY_LENGTH && token.chars().noneMatch(Character::isDigit)) {
+			final int maxEdits = (token.length() >= 8) ? 2 : 1;
+			final char first = token.charAt(0);
+			for (final Postings candidate : this.postings.subMap(String.valueOf(first), true,
+					String.valueOf((char) (first + 1)), false).values()) {
+				if (clause.matches.size() >= MAX_EXPANSIONS)
+					break;
+				final int edits = distance(token, candidate.term, maxEdits);
+				if (edits <= maxEdits)
+					clause.add(candidate, FUZZY_BOOST / edits, this.postingsOfProduct.size());
+			}
+		}
+		return clause;
+	}
+	
+	/**
+	 * Scores every product matching the rarest clause against all clauses, keeping the limit best
+	 * in a min-heap. A product under several matches of the rarest clause is scored at the first.
+	 */
+	private static List<Integer> top(final List<Clause> clauses, final int limit) {
+		
+		final PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, Hit.WORST_FIRST);
+		final List<Match> driver = clauses.get(0).matches;
+		for (int m = 0; m < driver.size(); m++) {
+			final int current = m;
+			driver.get(m).postings.forEach((productId, fields) -> {
+				for (int previous = 0; previous < current; previous++)
+					if (driver.get(previous).postings.fieldsOf(productId) != 0)
+						return;
+				double score = 0;
+				for (final Clause clause : clauses) {
+					final double clauseScore = clause.score(productId);
+					if (clauseScore == 0)
+						return;
+					score += clauseScore;
+				}
+				if (top.size() < limit)
+					top.add(new Hit(productId, score));
+				else if (Hit.WORST_FIRST.compare(top.peek(), productId, score) < 0) {
+					top.poll();
+					top.add(new Hit(productId, score));
+				}
+			});
+		}
+		
+		final List<Hit> hits = new ArrayList<>(top);
+		hits.sort(Hit.WORST_FIRST.reversed());
+		final List<Integer> productIds = new ArrayList<>(hits.size());
+		hits.forEach(hit -> productIds.add(hit.productId));
+		return List.copyOf(productIds);
+	}
+	
+	private String categoryTitleOf(final CategoryDto categoryDto) {
+		if (categoryDto == null)
+			return null;
+		if (categoryDto.getCategoryId() == null)
+			return categoryDto.getCategoryTitle();
+		final String categoryTitle = this.categoryTitles.computeIfAbsent(categoryDto.getCategoryId(), 
+				categoryId -> this.jdbcOperations.queryForList(SELECT_CATEGORY_TITLE_SQL, 
+								new MapSqlParameterSource("categoryId", categoryId), String.class)
+						.stream()
+							.filter(Objects::nonNull)
+							.findFirst()
+							.orElse(null));
+		return (categoryTitle == null) ? categoryDto.getCategoryTitle() : categoryTitle;
+	}
+	
+	private void index(final NavigableMap<String, Postings> postings, final Map<Integer, Postings[]> postingsOfProduct,
+			final int productId, final String title, final String sku, final String categoryTitle) {
+		
+		this.unindex(postings, postingsOfProduct, productId);
+		
+		final Map<String, Integer> fieldsOfTerm = new LinkedHashMap<>();
+		tokenize(title).forEach(term -> fieldsOfTerm.merge(term, TITLE, (a, b) -> a | b));
+		tokenize(sku).forEach(term -> fieldsOfTerm.merge(term, SKU, (a, b) -> a | b));
+		tokenize(categoryTitle).forEach(term -> fieldsOfTerm.merge(term, CATEGORY, (a, b) -> a | b));
+		
+		final Postings[] postingsOfTerms = new Postings[fieldsOfTerm.size()];
+		int i = 0;
+		for (final Map.Entry<String, Integer> e : fieldsOfTerm.entrySet()) {
+			final Postings termPostings = postings.computeIfAbsent(e.getKey(), Postings::new);
+			termPostings.put(productId, e.getValue());
+			postingsOfTerms[i++] = termPostings;
+		}
+		postingsOfProduct.put(productId, postingsOfTerms);
+	}
+	
+	private void unindex(final NavigableMap<String, Postings> postings, final Map<Integer, Postings[]> postingsOfProduct,
+			final Integer productId) {
+		final Postings[] postingsOfTerms = postingsOfProduct.remove(productId);
+		if (postingsOfTerms == null)
+			return;
+		for (final Postings termPostings : postingsOfTerms) {
+			termPostings.remove(productId);
+			if (termPostings.size() == 0)
+				postings.remove(termPostings.term);
+		}
+	}
+	
+	/**
+	 * Applies the update to the live index, and keeps it for the rebuilt one if a rebuild is reading the tables
+	 */
+	private void update(final IndexUpdate update) {
+		this.lock.writeLock().lock();
+		try {
+			update.apply(this.postings, this.postingsOfProduct);
+			if (this.updatesDuringRebuild != null)
+				this.updatesDuringRebuild.add(update);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	private static void afterCommit(final Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive())
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		else
+			action.run();
+	}
+	
+	private static double[] fieldWeights(final double title, final double sku, final double category) {
+		final double[] weights = new double[8];
+		for (int fields = 0; fields < weights.length; fields++)
+			weights[fields] = (((fields & TITLE) != 0) ? title : 0)
+					+ (((fields & SKU) != 0) ? sku : 0)
+					+ (((fields & CATEGORY) != 0) ? category : 0);
+		return weights;
+	}
+	
+	/**
+	 * BM25 inverse document frequency, rare terms weigh more
+	 */
+	private static double idf(final int frequency, final int documents) {
+		return Math.log(1 + (documents - frequency + 0.5) / (frequency + 0.5));
+	}
+	
+	@FunctionalInterface
+	private interface IndexUpdate {
+		
+		void apply(final NavigableMap<String, Postings> postings, final Map<Integer, Postings[]> postingsOfProduct);
+	
+	}
+	
+	private static final class Match {
+		
+		private final Postings postings;
+		private final double weight;
+		
+		private Match(final Postings postings, final double weight) {
+			this.postings = postings;
+			this.weight = weight;
+		}
+	
+	}
+	
+	private static final class Clause {
+		
+		private final List<Match> matches = new ArrayList<>();
+		private long frequency;
+		
+		private void add(final Postings postings, final double boost, final int documents) {
+			this.matches.add(new Match(postings, boost * idf(postings.size(), documents)));
+			this.frequency += postings.size();
+		}
+		
+		private long frequency() {
+			return this.frequency;
+		}
+		
+		private double score(final int productId) {
+			double best = 0;
+			for (final Match match : this.matches) {
+				final int fields = match.postings.fieldsOf(productId);
+				if (fields != 0)
+					best = Math.max(best, match.weight * FIELD_WEIGHTS[fields]);
+			}
+			return best;
+		}
+	
+	}
+	
+	private static final class Hit {
+		
+		private static final HitOrder WORST_FIRST = new HitOrder();
+		
+		private final int productId;
+		private final double score;
+		
+		private Hit(final int productId, final double score) {
+			this.productId = productId;
+			this.score = score;
+		}
+	
+	}
+	
+	/**
+	 * Lower score first, then higher product id, so the best hit is the highest score with the lowest id
+	 */
+	private static final class HitOrder implements Comparator<Hit> {
+		
+		@Override
+		public int compare(final Hit a, final Hit b) {
+			return this.compare(a, b.productId, b.score);
+		}
+		
+		private int compare(final Hit a, final int productId, final double score) {
+			final int byScore = Double.compare(a.score, score);
+			return (byScore != 0) ? byScore : Integer.compare(productId, a.productId);
+		}
+	
+	}
+	
+	
+	
+}
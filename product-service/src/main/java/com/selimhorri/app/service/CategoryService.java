@@ -1,14 +1,18 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 public interface CategoryService {
 	
 	List<CategoryDto> findAll();
 	CategoryDto findById(final Integer categoryId);
+	CursorPageResponse<CategoryDto> findPage(final String cursor, final int size);
 	CategoryDto save(final CategoryDto categoryDto);
+	List<CategoryDto> saveAll(final Collection<CategoryDto> categoryDtos);
 	CategoryDto update(final CategoryDto categoryDto);
 	CategoryDto update(final Integer categoryId, final CategoryDto categoryDto);
 	void deleteById(final Integer categoryId);
@@ -1,14 +1,23 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.ProductFilterDto;
+import com.selimhorri.app.dto.ProductSort;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 public interface ProductService {
 	
 	List<ProductDto> findAll();
 	ProductDto findById(final Integer productId);
+	List<ProductDto> findAllByIds(final Collection<Integer> productIds);
+	CursorPageResponse<ProductDto> findPage(final ProductFilterDto productFilterDto, 
+			final ProductSort productSort, final String cursor, final int size);
+	List<ProductDto> search(final String query, final int limit);
 	ProductDto save(final ProductDto productDto);
+	List<ProductDto> saveAll(final Collection<ProductDto> productDtos);
 	ProductDto update(final ProductDto productDto);
 	ProductDto update(final Integer productId, final ProductDto productDto);
 	void deleteById(final Integer productId);
@@ -1,17 +1,24 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.cache.EarlyRefreshCache;
+import com.selimhorri.app.config.cache.CatalogCacheConfig;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
 import com.selimhorri.app.helper.CategoryMappingHelper;
 import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.search.ProductSearchIndex;
 import com.selimhorri.app.service.CategoryService;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,50 +30,108 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryServiceImpl implements CategoryService {
 	
 	private final CategoryRepository categoryRepository;
+	private final EarlyRefreshCache<Integer, CategoryDto> categoryDtoCache;
+	private final EarlyRefreshCache<String, List<CategoryDto>> categoryDtoListCache;
+	private final EarlyRefreshCache<Integer, ProductDto> productDtoCache;
+	private final EarlyRefreshCache<String, List<ProductDto>> productDtoListCache;
+	private final ProductSearchIndex productSearchIndex;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<CategoryDto> findAll() {
 		log.info("*** CategoryDto List, service; fetch all categorys *");
-		return this.categoryRepository.findAll()
+		return this.categoryDtoListCache.get(CatalogCacheConfig.FIND_ALL_KEY, key -> CursorHelper.unpaged(this.categoryRepository
+				.findDtoPageOrderByCategoryId(null, CursorHelper.unpagedLimit()))
 				.stream()
-					.map(CategoryMappingHelper::map)
 					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList()));
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public CategoryDto findById(final Integer categoryId) {
 		log.info("*** CategoryDto, service; fetch category by id *");
-		return this.categoryRepository.findById(categoryId)
-				.map(CategoryMappingHelper::map)
-				.orElseThrow(() -> new CategoryNotFoundException(String.format("Category with id: %d not found", categoryId)));
+		return this.categoryDtoCache.get(categoryId, id -> this.categoryRepository.findDtoById(id)
+				.orElseThrow(() -> new CategoryNotFoundException(String.format("Category with id: %d not found", id))));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponse<CategoryDto> findPage(final String cursor, final int size) {
+		log.info("*** CategoryDto Page, service; fetch categories page *");
+		final int pageSize = CursorHelper.pageSize(size);
+		return CursorHelper.page(this.categoryRepository
+						.findDtoPageOrderByCategoryId(CursorHelper.decodeId(cursor), CursorHelper.pageRequest(pageSize)), 
+				pageSize, 
+				List::copyOf, 
+				c -> CursorHelper.encode(c.getCategoryId()));
 	}
 	
 	@Override
 	public CategoryDto save(final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; save category *");
-		return CategoryMappingHelper.map(this.categoryRepository
+		final CategoryDto savedCategoryDto = CategoryMappingHelper.map(this.categoryRepository
 				.save(CategoryMappingHelper.map(categoryDto)));
+		this.evict(savedCategoryDto.getCategoryId());
+		return savedCategoryDto;
+	}
+	
+	@Override
+	public List<CategoryDto> saveAll(final Collection<CategoryDto> categoryDtos) {
+		log.info("*** CategoryDto List, service; save all categories *");
+		final List<CategoryDto> savedCategoryDtos = this.categoryRepository.saveAll(categoryDtos.stream()
+						.map(CategoryMappingHelper::map)
+						.collect(Collectors.toUnmodifiableList()))
+				.stream()
+					.map(CategoryMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+		savedCategoryDtos.forEach(categoryDto -> this.evict(categoryDto.getCategoryId()));
+		return savedCategoryDtos;
 	}
 	
 	@Override
 	public CategoryDto update(final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; update category *");
-		return CategoryMappingHelper.map(this.categoryRepository
+		final CategoryDto updatedCategoryDto = CategoryMappingHelper.map(this.categoryRepository
 				.save(CategoryMappingHelper.map(categoryDto)));
+		this.evict(updatedCategoryDto.getCategoryId());
+		this.productSearchIndex.reindexCategory(updatedCategoryDto.getCategoryId());
+		return updatedCategoryDto;
 	}
 	
 	@Override
 	public CategoryDto update(final Integer categoryId, final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; update category with categoryId *");
-		return CategoryMappingHelper.map(this.categoryRepository
+		final CategoryDto updatedCategoryDto = CategoryMappingHelper.map(this.categoryRepository
 				.save(CategoryMappingHelper.map(this.findById(categoryId))));
+		this.evict(categoryId);
+		this.productSearchIndex.reindexCategory(categoryId);
+		return updatedCategoryDto;
 	}
 	
 	@Override
 	public void deleteById(final Integer categoryId) {
 		log.info("*** Void, service; delete category by id *");
+		// the delete cascades to the products of the category and its subcategories
+		this.productSearchIndex.removeCategory(categoryId);
 		this.categoryRepository.deleteById(categoryId);
+		this.evict(categoryId);
+	}
+	
+	/**
+	 * Category and product dtos embed the titles of their (parent) category, 
+	 * so also drop every cached dto that points at the changed category
+	 */
+	private void evict(final Integer categoryId) {
+		if (categoryId != null) {
+			this.categoryDtoCache.evict(categoryId);
+			this.categoryDtoCache.evictIf(categoryDto -> categoryDto.getParentCategoryDto() != null 
+					&& Objects.equals(categoryId, categoryDto.getParentCategoryDto().getCategoryId()));
+			this.productDtoCache.evictIf(productDto -> productDto.getCategoryDto() != null 
+					&& Objects.equals(categoryId, productDto.getCategoryDto().getCategoryId()));
+		}
+		this.categoryDtoListCache.evictAll();
+		this.productDtoListCache.evictAll();
 	}
 	
 	
@@ -1,17 +1,28 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.cache.EarlyRefreshCache;
+import com.selimhorri.app.config.cache.CatalogCacheConfig;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.ProductFilterDto;
+import com.selimhorri.app.dto.ProductSort;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
 import com.selimhorri.app.helper.ProductMappingHelper;
 import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.search.ProductSearchIndex;
 import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
+import com.selimhorri.app.support.page.InvalidCursorException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,44 +34,139 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductServiceImpl implements ProductService {
 	
 	private final ProductRepository productRepository;
+	private final EarlyRefreshCache<Integer, ProductDto> productDtoCache;
+	private final EarlyRefreshCache<String, List<ProductDto>> productDtoListCache;
+	private final ProductSearchIndex productSearchIndex;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<ProductDto> findAll() {
 		log.info("*** ProductDto List, service; fetch all products *");
-		return this.productRepository.findAll()
+		return this.productDtoListCache.get(CatalogCacheConfig.FIND_ALL_KEY, key -> CursorHelper.unpaged(this.productRepository
+				.findDtoPageOrderByProductId(null, null, null, false, null, CursorHelper.unpagedLimit()))
 				.stream()
-					.map(ProductMappingHelper::map)
 					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList()));
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public ProductDto findById(final Integer productId) {
 		log.info("*** ProductDto, service; fetch product by id *");
-		return this.productRepository.findById(productId)
-				.map(ProductMappingHelper::map)
-				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
+		return this.productDtoCache.get(productId, id -> this.productRepository.findDtoById(id)
+				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", id))));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<ProductDto> findAllByIds(final Collection<Integer> productIds) {
+		log.info("*** ProductDto List, service; fetch products by ids *");
+		return this.productRepository.findAllDtoById(productIds)
+				.stream()
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponse<ProductDto> findPage(final ProductFilterDto productFilterDto, 
+			final ProductSort productSort, final String cursor, final int size) {
+		log.info("*** ProductDto Page, service; fetch products page *");
+		
+		final int pageSize = CursorHelper.pageSize(size);
+		final boolean inStock = Boolean.TRUE.equals(productFilterDto.getInStock());
+		
+		if (productSort == ProductSort.PRICE_UNIT) {
+			final String[] keys = (cursor == null) ? null : this.decodeCursor(cursor, productSort, 3);
+			return CursorHelper.page(this.productRepository.findDtoPageOrderByPriceUnit(
+							productFilterDto.getCategoryId(), 
+							productFilterDto.getMinPrice(), 
+							productFilterDto.getMaxPrice(), 
+							inStock, 
+							(keys == null) ? null : CursorHelper.parseKey(cursor, () -> Double.valueOf(keys[1])), 
+							(keys == null) ? null : CursorHelper.parseKey(cursor, () -> Integer.valueOf(keys[2])), 
+							CursorHelper.pageRequest(pageSize)), 
+					pageSize, 
+					List::copyOf, 
+					p -> CursorHelper.encode(productSort.name(), p.getPriceUnit(), p.getProductId()));
+		}
+		
+		final String[] keys = (cursor == null) ? null : this.decodeCursor(cursor, productSort, 2);
+		return CursorHelper.page(this.productRepository.findDtoPageOrderByProductId(
+						productFilterDto.getCategoryId(), 
+						productFilterDto.getMinPrice(), 
+						productFilterDto.getMaxPrice(), 
+						inStock, 
+						(keys == null) ? null : CursorHelper.parseKey(cursor, () -> Integer.valueOf(keys[1])), 
+						CursorHelper.pageRequest(pageSize)), 
+				pageSize, 
+				List::copyOf, 
+				p -> CursorHelper.encode(productSort.name(), p.getProductId()));
+	}
+	
+	/**
+	 * Ranks the matching ids in memory, then reads only those products
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<ProductDto> search(final String query, final int limit) {
+		log.info("*** ProductDto List, service; search products *");
+		final List<Integer> productIds = this.productSearchIndex.search(query, CursorHelper.pageSize(limit));
+		if (productIds.isEmpty())
+			return List.of();
+		final Map<Integer, ProductDto> productDtos = this.productRepository.findAllDtoById(productIds)
+				.stream()
+					.collect(Collectors.toMap(ProductDto::getProductId, Function.identity(), (a, b) -> a));
+		return productIds.stream()
+				.map(productDtos::get)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
 	public ProductDto save(final ProductDto productDto) {
 		log.info("*** ProductDto, service; save product *");
-		return ProductMappingHelper.map(this.productRepository
+		final ProductDto savedProductDto = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(productDto)));
+		this.evict(savedProductDto.getProductId());
+		this.productSearchIndex.put(savedProductDto);
+		return savedProductDto;
+	}
+	
+	@Override
+	public List<ProductDto> saveAll(final Collection<ProductDto> productDtos) {
+		log.info("*** ProductDto List, service; save all products *");
+		final List<ProductDto> savedProductDtos = this.productRepository.saveAll(productDtos.stream()
+						.map(ProductMappingHelper::map)
+						.collect(Collectors.toUnmodifiableList()))
+				.stream()
+					.map(ProductMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+		savedProductDtos.forEach(productDto -> {
+			this.evict(productDto.getProductId());
+			this.productSearchIndex.put(productDto);
+		});
+		return savedProductDtos;
 	}
 	
 	@Override
 	public ProductDto update(final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product *");
-		return ProductMappingHelper.map(this.productRepository
+		final ProductDto updatedProductDto = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(productDto)));
+		this.evict(updatedProductDto.getProductId());
+		this.productSearchIndex.put(updatedProductDto);
+		return updatedProductDto;
 	}
 	
 	@Override
 	public ProductDto update(final Integer productId, final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product with productId *");
-		return ProductMappingHelper.map(this.productRepository
+		final ProductDto updatedProductDto = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(this.findById(productId))));
+		this.evict(productId);
+		this.productSearchIndex.put(updatedProductDto);
+		return updatedProductDto;
 	}
 	
 	@Override
@@ -68,6 +174,21 @@ public class ProductServiceImpl implements ProductService {
 		log.info("*** Void, service; delete product by id *");
 		this.productRepository.delete(ProductMappingHelper
 				.map(this.findById(productId)));
+		this.evict(productId);
+		this.productSearchIndex.remove(productId);
+	}
+	
+	private String[] decodeCursor(final String cursor, final ProductSort productSort, final int expectedKeys) {
+		final String[] keys = CursorHelper.decode(cursor, expectedKeys);
+		if (!productSort.name().equals(keys[0]))
+			throw new InvalidCursorException(String.format("Cursor: %s was not issued for sort: %s", cursor, productSort));
+		return keys;
+	}
+	
+	private void evict(final Integer productId) {
+		if (productId != null)
+			this.productDtoCache.evict(productId);
+		this.productDtoListCache.evictAll();
 	}
 	
 	
@@ -0,0 +1,4 @@
+
+CREATE INDEX idx_products_category_id_product_id ON products (category_id, product_id);
+CREATE INDEX idx_products_price_unit_product_id ON products (price_unit, product_id);
+CREATE INDEX idx_products_category_id_price_unit_product_id ON products (category_id, price_unit, product_id);
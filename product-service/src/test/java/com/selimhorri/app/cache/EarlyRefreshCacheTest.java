@@ -0,0 +1,130 @@
+package com.selimhorri.app.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Pruebas unitarias para EarlyRefreshCache
+ * 
+ * Validan la lectura a través de la caché, la expiración, el refresco
+ * anticipado probabilístico, la evicción y la publicación de métricas.
+ */
+@DisplayName("Early Refresh Cache Unit Tests")
+class EarlyRefreshCacheTest {
+
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    private AtomicLong nanos;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        nanos = new AtomicLong();
+        loads = new AtomicInteger();
+    }
+
+    private EarlyRefreshCache<Integer, String> newCache(double beta) {
+        return new EarlyRefreshCache<>("testCache", 100, TIME_TO_LIVE, beta, nanos::get);
+    }
+
+    private String slowLoad(Integer key) {
+        // Simular una carga de un segundo avanzando el reloj
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        return "value-" + key + "-" + loads.incrementAndGet();
+    }
+
+    @Test
+    @DisplayName("Test 1: Repeated reads - should load the value only once")
+    void testGet_WhenCalledTwice_ShouldLoadOnce() {
+        // Given
+        EarlyRefreshCache<Integer, String> cache = newCache(1.0);
+
+        // When
+        String first = cache.get(1, this::slowLoad);
+        String second = cache.get(1, this::slowLoad);
+
+        // Then
+        assertEquals("value-1-1", first);
+        assertEquals(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Test 2: Expired entry - should be loaded again")
+    void testGet_WhenEntryExpired_ShouldReload() {
+        // Given
+        EarlyRefreshCache<Integer, String> cache = newCache(1.0);
+        cache.get(1, this::slowLoad);
+
+        // When
+        nanos.addAndGet(TIME_TO_LIVE.toNanos());
+        String result = cache.get(1, this::slowLoad);
+
+        // Then
+        assertEquals("value-1-2", result);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Test 3: Entry close to expiry - should be refreshed early")
+    void testGet_WhenCloseToExpiry_ShouldRefreshEarly() {
+        // Given
+        EarlyRefreshCache<Integer, String> cache = newCache(1_000_000.0);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        cache.get(1, this::slowLoad);
+
+        // When
+        nanos.addAndGet(TIME_TO_LIVE.minusSeconds(1).toNanos());
+        String result = cache.get(1, this::slowLoad);
+
+        // Then
+        assertEquals("value-1-2", result);
+        assertEquals(1.0, registry.get("cache.early.refreshes").tag("cache", "testCache").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Test 4: Evict - should drop only the targeted entries")
+    void testEvict_ShouldDropOnlyTargetedEntries() {
+        // Given
+        EarlyRefreshCache<Integer, String> cache = newCache(1.0);
+        cache.get(1, this::slowLoad);
+        cache.get(2, this::slowLoad);
+        cache.get(3, this::slowLoad);
+
+        // When
+        cache.evict(1);
+        cache.evictIf(value -> value.startsWith("value-2-"));
+
+        // Then
+        assertEquals(1, cache.estimatedSize());
+        assertEquals("value-3-3", cache.get(3, this::slowLoad));
+        assertEquals("value-1-4", cache.get(1, this::slowLoad));
+    }
+
+    @Test
+    @DisplayName("Test 5: Bind to registry - should publish cache statistics")
+    void testBindTo_ShouldPublishCacheStatistics() {
+        // Given
+        EarlyRefreshCache<Integer, String> cache = newCache(1.0);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        // When
+        cache.get(1, this::slowLoad);
+        cache.get(1, this::slowLoad);
+
+        // Then
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "testCache", "result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "testCache", "result", "miss").functionCounter().count());
+    }
+}
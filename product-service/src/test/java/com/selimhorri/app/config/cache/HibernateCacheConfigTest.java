@@ -0,0 +1,99 @@
+package com.selimhorri.app.config.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+
+/**
+ * Pruebas de la caché de segundo nivel de Hibernate
+ * 
+ * Verifican que las lecturas repetidas de productos y categorías no
+ * ejecutan sentencias JDBC y que la evicción por región funciona.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Hibernate Second-Level Cache Tests")
+class HibernateCacheConfigTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private HibernateCacheEndpoint hibernateCacheEndpoint;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        hibernateCacheEndpoint.evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Test 1: Repeated find by ID - should be served without JDBC")
+    void testFindById_WhenRepeated_ShouldSkipJdbc() {
+        // Given
+        productRepository.findById(1).orElseThrow();
+        long statementsAfterFirstRead = statistics.getPrepareStatementCount();
+
+        // When
+        productRepository.findById(1).orElseThrow();
+
+        // Then
+        assertTrue(statementsAfterFirstRead > 0);
+        assertEquals(statementsAfterFirstRead, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getCacheRegionStatistics(HibernateCacheConfig.PRODUCT_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    @DisplayName("Test 2: Repeated find all - should be served from the query cache")
+    void testFindAll_WhenRepeated_ShouldSkipJdbc() {
+        // Given
+        int categories = categoryRepository.findAll().size();
+        long statementsAfterFirstRead = statistics.getPrepareStatementCount();
+
+        // When
+        int cachedCategories = categoryRepository.findAll().size();
+
+        // Then
+        assertEquals(categories, cachedCategories);
+        assertEquals(statementsAfterFirstRead, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getQueryCacheHitCount() > 0);
+    }
+
+    @Test
+    @DisplayName("Test 3: Evict region - should read the entity from the database again")
+    void testEvictRegion_ShouldReloadFromDatabase() {
+        // Given
+        productRepository.findById(1).orElseThrow();
+        long statementsAfterFirstRead = statistics.getPrepareStatementCount();
+
+        // When
+        hibernateCacheEndpoint.evict(HibernateCacheConfig.PRODUCT_REGION);
+        productRepository.findById(1).orElseThrow();
+
+        // Then
+        assertTrue(statistics.getPrepareStatementCount() > statementsAfterFirstRead);
+        assertTrue(hibernateCacheEndpoint.regions().containsKey(HibernateCacheConfig.PRODUCT_REGION));
+        assertNotNull(hibernateCacheEndpoint.region(HibernateCacheConfig.CATEGORY_REGION).get("hitCount"));
+    }
+}
@@ -0,0 +1,141 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.selimhorri.app.cache.EarlyRefreshCache;
+import com.selimhorri.app.config.cache.HibernateCacheEndpoint;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.service.CategoryService;
+import com.selimhorri.app.service.ProductService;
+
+/**
+ * Pruebas de los planes de carga de productos y categorías
+ *
+ * Cuentan las sentencias JDBC con las estadísticas de Hibernate y validan
+ * que los listados ejecutan una sola consulta sin importar cuántas filas
+ * ni qué tan profundo sea el árbol de categorías.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Integration Test: Product and category fetch plans")
+class ProductFetchPlanIntegrationTest {
+
+    private static final int NEW_ROWS = 10;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private HibernateCacheEndpoint hibernateCacheEndpoint;
+
+    @Autowired
+    private List<EarlyRefreshCache<?, ?>> earlyRefreshCaches;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Test 1: Find all categories - should run one statement however deep the tree grows")
+    void testFindAllCategories_ShouldRunOneStatementRegardlessOfDepth() {
+        // Given
+        long statementsBefore = statementsFor(() -> categoryService.findAll());
+
+        // When
+        addCategoryChain();
+        long statementsAfter = statementsFor(() -> categoryService.findAll());
+
+        // Then
+        assertEquals(1, statementsBefore);
+        assertEquals(statementsBefore, statementsAfter);
+    }
+
+    @Test
+    @DisplayName("Test 2: Find all products - should run one statement however many categories they span")
+    void testFindAllProducts_ShouldRunOneStatementRegardlessOfRows() {
+        // Given
+        long statementsBefore = statementsFor(() -> productService.findAll());
+
+        // When
+        List<CategoryDto> categories = addCategoryChain();
+        productService.saveAll(categories.stream()
+                .map(category -> ProductDto.builder()
+                        .productTitle("fetch plan " + category.getCategoryId())
+                        .sku("fetch-plan-" + category.getCategoryId())
+                        .priceUnit(10.0)
+                        .quantity(1)
+                        .categoryDto(CategoryDto.builder().categoryId(category.getCategoryId()).build())
+                        .build())
+                .collect(Collectors.toUnmodifiableList()));
+        long statementsAfter = statementsFor(() -> productService.findAll());
+
+        // Then
+        assertEquals(1, statementsBefore);
+        assertEquals(statementsBefore, statementsAfter);
+    }
+
+    @Test
+    @DisplayName("Test 3: Find by ID - should load the entity and its parent in one statement")
+    void testFindById_ShouldLoadAssociationInOneStatement() {
+        // Given
+        List<CategoryDto> categories = addCategoryChain();
+        Integer deepestCategoryId = categories.get(categories.size() - 1).getCategoryId();
+
+        // When
+        long categoryStatements = statementsFor(() -> categoryService.findById(deepestCategoryId));
+        long productStatements = statementsFor(() -> productService.findById(1));
+
+        // Then
+        assertEquals(1, categoryStatements);
+        assertEquals(1, productStatements);
+    }
+
+    /**
+     * Agrega una cadena de categorías donde cada una es hija de la anterior
+     */
+    private List<CategoryDto> addCategoryChain() {
+        CategoryDto parent = CategoryDto.builder().categoryId(1).build();
+        CategoryDto[] chain = new CategoryDto[NEW_ROWS];
+        for (int i = 0; i < NEW_ROWS; i++) {
+            chain[i] = categoryService.save(CategoryDto.builder()
+                    .categoryTitle("fetch plan level " + i)
+                    .parentCategoryDto(parent)
+                    .build());
+            parent = CategoryDto.builder().categoryId(chain[i].getCategoryId()).build();
+        }
+        return IntStream.range(0, NEW_ROWS).mapToObj(i -> chain[i]).collect(Collectors.toUnmodifiableList());
+    }
+
+    private long statementsFor(Runnable call) {
+        hibernateCacheEndpoint.evictAll();
+        earlyRefreshCaches.forEach(EarlyRefreshCache::evictAll);
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
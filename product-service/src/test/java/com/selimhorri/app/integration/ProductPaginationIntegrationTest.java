@@ -0,0 +1,113 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.ProductFilterDto;
+import com.selimhorri.app.dto.ProductSort;
+import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
+
+/**
+ * Pruebas de integración del listado paginado por keyset
+ * 
+ * Recorre las páginas siguiendo el cursor y valida que el orden sea estable,
+ * sin duplicados ni saltos, y que los filtros se apliquen en la base de datos.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Integration Test: Product keyset pagination")
+class ProductPaginationIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    @DisplayName("Test 1: Walking pages of one product - should match a single full page")
+    void testFindPage_WalkingPagesOfOne_ShouldMatchSingleFullPage() {
+        for (ProductSort sort : ProductSort.values()) {
+            // Given
+            List<Integer> expected = ids(productService.findPage(new ProductFilterDto(), sort, null, CursorHelper.MAX_PAGE_SIZE).getCollection());
+
+            // When
+            List<Integer> walked = walk(new ProductFilterDto(), sort);
+
+            // Then
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, walked, "Walked pages differ for sort " + sort);
+        }
+    }
+
+    @Test
+    @DisplayName("Test 2: Walking pages by price - should return non-decreasing prices")
+    void testFindPage_WalkingByPrice_ShouldReturnNonDecreasingPrices() {
+        // When
+        List<ProductDto> products = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponse<ProductDto> page = productService.findPage(new ProductFilterDto(), ProductSort.PRICE_UNIT, cursor, 1);
+            products.addAll(page.getCollection());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        for (int i = 1; i < products.size(); i++)
+            assertTrue(products.get(i - 1).getPriceUnit() <= products.get(i).getPriceUnit());
+    }
+
+    @Test
+    @DisplayName("Test 3: Filtering by category and price - should only return matching products")
+    void testFindPage_WithFilters_ShouldOnlyReturnMatchingProducts() {
+        // Given
+        ProductFilterDto filter = ProductFilterDto.builder()
+            .categoryId(1)
+            .minPrice(100.0)
+            .maxPrice(5000.0)
+            .inStock(true)
+            .build();
+
+        // When
+        List<ProductDto> products = productService.findPage(filter, ProductSort.PRODUCT_ID, null, CursorHelper.MAX_PAGE_SIZE)
+            .getCollection()
+            .stream()
+            .collect(Collectors.toList());
+
+        // Then
+        assertFalse(products.isEmpty());
+        products.forEach(product -> {
+            assertEquals(1, product.getCategoryDto().getCategoryId());
+            assertTrue(product.getPriceUnit() >= 100.0 && product.getPriceUnit() <= 5000.0);
+            assertTrue(product.getQuantity() > 0);
+        });
+    }
+
+    private List<Integer> walk(ProductFilterDto filter, ProductSort sort) {
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponse<ProductDto> page = productService.findPage(filter, sort, cursor, 1);
+            assertTrue(page.getCollection().size() <= 1);
+            ids.addAll(ids(page.getCollection()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private static List<Integer> ids(Collection<ProductDto> products) {
+        return products.stream()
+            .map(ProductDto::getProductId)
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,74 @@
+package com.selimhorri.app.integration;
+
+import static com.selimhorri.app.test.query.QueryBudget.assertAtMost;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.selimhorri.app.cache.EarlyRefreshCache;
+import com.selimhorri.app.config.cache.HibernateCacheEndpoint;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.service.CategoryService;
+import com.selimhorri.app.service.ProductService;
+
+/**
+ * Presupuestos de consultas JDBC de los servicios de catálogo
+ *
+ * Cada lectura se mide con las cachés vacías, de modo que un mapeo que
+ * recorra una asociación perezosa por fila (N+1) exceda el presupuesto.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Integration Test: Product-Service query budgets")
+class ProductQueryBudgetIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private HibernateCacheEndpoint hibernateCacheEndpoint;
+
+    @Autowired
+    private List<EarlyRefreshCache<?, ?>> earlyRefreshCaches;
+
+    @BeforeEach
+    void setUp() {
+        evictCaches();
+    }
+
+    @Test
+    @DisplayName("Test 1: Products - find all and find by ID should load categories in the same statement")
+    void testProductReads_ShouldStayWithinBudget() {
+        List<ProductDto> products = assertAtMost(1, () -> productService.findAll());
+        assertTrue(products.size() > 1);
+
+        evictCaches();
+        assertAtMost(1, () -> productService.findById(products.get(0).getProductId()));
+    }
+
+    @Test
+    @DisplayName("Test 2: Categories - find all and find by ID should load parents in the same statement")
+    void testCategoryReads_ShouldStayWithinBudget() {
+        List<CategoryDto> categories = assertAtMost(1, () -> categoryService.findAll());
+        assertTrue(categories.size() > 1);
+
+        evictCaches();
+        assertAtMost(1, () -> categoryService.findById(categories.get(0).getCategoryId()));
+    }
+
+    private void evictCaches() {
+        hibernateCacheEndpoint.evictAll();
+        earlyRefreshCaches.forEach(EarlyRefreshCache::evictAll);
+    }
+}
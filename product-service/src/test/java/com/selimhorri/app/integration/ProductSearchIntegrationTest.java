@@ -0,0 +1,195 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.search.ProductSearchIndex;
+import com.selimhorri.app.service.CategoryService;
+import com.selimhorri.app.service.ProductService;
+
+/**
+ * Pruebas de integración de la búsqueda de productos
+ *
+ * Valida que el índice en memoria siga a las altas, cambios y bajas de
+ * productos, a los cambios de título y a las bajas de categoría, y que una
+ * reconstrucción desde las tablas coincida con el índice mantenido
+ * incrementalmente, recoja los cambios de otras réplicas y conserve las
+ * actualizaciones aplicadas mientras lee las tablas.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Integration Test: Product search")
+class ProductSearchIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private NamedParameterJdbcOperations jdbcOperations;
+
+    @Test
+    @DisplayName("Test 1: Save, update and delete - search results should follow the product")
+    void testSaveUpdateDelete_ShouldUpdateSearchResults() {
+        // Given
+        ProductDto saved = productService.save(product("Zorblax keyboard", "ZRB-KB-1", 1));
+
+        // Then
+        assertEquals(List.of(saved.getProductId()), ids(productService.search("zorblax computer", 10)));
+
+        // When
+        saved.setProductTitle("Zorblax mouse");
+        productService.update(saved);
+
+        // Then
+        assertEquals(List.of(saved.getProductId()), ids(productService.search("zorblx mou", 10)));
+        assertEquals(List.of(), productService.search("zorblax keyboard", 10));
+
+        // When
+        productService.deleteById(saved.getProductId());
+
+        // Then
+        assertEquals(List.of(), productService.search("zorblax", 10));
+    }
+
+    @Test
+    @DisplayName("Test 2: Category rename - products should be found by the new category title only")
+    void testCategoryRename_ShouldReindexItsProducts() {
+        // Given
+        CategoryDto category = categoryService.save(CategoryDto.builder()
+                .categoryTitle("Quillon alpha")
+                .parentCategoryDto(CategoryDto.builder().categoryId(1).build())
+                .build());
+        ProductDto saved = productService.save(product("Quillon lamp", "QLN-1", category.getCategoryId()));
+
+        // When
+        category.setCategoryTitle("Quillon omega");
+        categoryService.update(category);
+
+        // Then
+        assertEquals(List.of(saved.getProductId()), ids(productService.search("quillon omega", 10)));
+        assertEquals(List.of(), productService.search("quillon alpha", 10));
+    }
+
+    @Test
+    @DisplayName("Test 3: Rebuild - a new index built from the tables should answer like the live one")
+    void testRebuild_ShouldMatchLiveIndex() {
+        // Given
+        productService.save(product("Vantor desk lamp", "VNT-LMP-2", 1));
+        ProductSearchIndex rebuilt = new ProductSearchIndex(jdbcOperations);
+
+        // When
+        rebuilt.rebuild();
+
+        // Then
+        assertEquals(productSearchIndex.size(), rebuilt.size());
+        assertEquals(productSearchIndex.terms(), rebuilt.terms());
+        for (String query : List.of("vantor", "lamp", "asus", "computer", "vntr", "d"))
+            assertEquals(productSearchIndex.search(query, 50), rebuilt.search(query, 50), query);
+    }
+
+    @Test
+    @DisplayName("Test 4: Category delete - the products of the category and its subcategories should be dropped")
+    void testCategoryDelete_ShouldDropItsProducts() {
+        // Given
+        CategoryDto category = categoryService.save(CategoryDto.builder()
+                .categoryTitle("Brontal")
+                .parentCategoryDto(CategoryDto.builder().categoryId(1).build())
+                .build());
+        CategoryDto subcategory = categoryService.save(CategoryDto.builder()
+                .categoryTitle("Brontal mini")
+                .parentCategoryDto(CategoryDto.builder().categoryId(category.getCategoryId()).build())
+                .build());
+        productService.save(product("Brontal chair", "BRN-1", category.getCategoryId()));
+        productService.save(product("Brontal stool", "BRN-2", subcategory.getCategoryId()));
+        assertEquals(2, productService.search("brontal", 10).size());
+
+        // When
+        categoryService.deleteById(category.getCategoryId());
+
+        // Then
+        assertEquals(List.of(), productService.search("brontal", 10));
+    }
+
+    @Test
+    @DisplayName("Test 5: Refresh - a rebuild should pick up writes that skipped this instance")
+    void testRebuild_ShouldPickUpOtherWrites() {
+        // Given
+        ProductDto renamed = productService.save(product("Kelvane kettle", "KLV-1", 1));
+        ProductDto deleted = productService.save(product("Kelvane toaster", "KLV-2", 1));
+        jdbcOperations.update("UPDATE products SET product_title = 'Morvex kettle' WHERE product_id = :productId",
+                new MapSqlParameterSource("productId", renamed.getProductId()));
+        jdbcOperations.update("DELETE FROM products WHERE product_id = :productId",
+                new MapSqlParameterSource("productId", deleted.getProductId()));
+
+        // When
+        productSearchIndex.rebuild();
+
+        // Then
+        assertEquals(List.of(renamed.getProductId()), ids(productService.search("morvex", 10)));
+        assertEquals(List.of(), productService.search("kelvane", 10));
+    }
+
+    @Test
+    @DisplayName("Test 6: Refresh - updates applied while the rebuild reads the tables should be kept")
+    void testRebuild_ShouldReplayConcurrentUpdates() {
+        // Given
+        ProductDto removed = productService.save(product("Dravin clock", "DRV-1", 1));
+        NamedParameterJdbcOperations readingJdbcOperations = spy(jdbcOperations);
+        ProductSearchIndex index = new ProductSearchIndex(readingJdbcOperations);
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            index.put(ProductDto.builder()
+                    .productId(Integer.MAX_VALUE)
+                    .productTitle("Dravin radio")
+                    .sku("DRV-2")
+                    .categoryDto(CategoryDto.builder().categoryTitle("Computer").build())
+                    .build());
+            index.remove(removed.getProductId());
+            return null;
+        }).when(readingJdbcOperations).query(anyString(), any(RowCallbackHandler.class));
+
+        // When
+        index.rebuild();
+
+        // Then
+        assertEquals(List.of(Integer.MAX_VALUE), index.search("dravin", 10));
+    }
+
+    private static ProductDto product(String title, String sku, int categoryId) {
+        return ProductDto.builder()
+                .productTitle(title)
+                .imageUrl("http://placehold.it/200x200")
+                .sku(sku)
+                .priceUnit(10.0)
+                .quantity(1)
+                .categoryDto(CategoryDto.builder().categoryId(categoryId).build())
+                .build();
+    }
+
+    private static List<Integer> ids(List<ProductDto> productDtos) {
+        return productDtos.stream()
+                .map(ProductDto::getProductId)
+                .collect(Collectors.toUnmodifiableList());
+    }
+}
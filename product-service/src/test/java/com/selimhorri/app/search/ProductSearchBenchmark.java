@@ -0,0 +1,112 @@
+package com.selimhorri.app.search;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+/**
+ * JMH benchmark of ProductSearchIndex.search over one million synthetic products, titled
+ * "brand adjective noun model" with skus like "DEL-0500000" across 20 categories, so a noun
+ * matches about 1% of the catalog and a brand about 3%.
+ *
+ * The queries cover a common single term, two terms, a prefix, a typo, an exact sku and a
+ * two-letter prefix expanding to many terms. The index is filled through put(), the path the
+ * product writes take, and the setup prints the time the million puts took.
+ *
+ * Run main() (or org.openjdk.jmh.Main ProductSearchBenchmark) on the product-service
+ * test classpath after mvn -pl product-service test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ProductSearchBenchmark {
+	
+	private static final int PRODUCTS = 1_000_000;
+	private static final List<String> BRANDS = List.of("Dell", "Asus", "Lenovo", "Acer", "Apple", "Samsung",
+			"Sony", "Logitech", "Razer", "Corsair", "Philips", "Bosch", "Nike", "Adidas", "Puma", "Canon",
+			"Nikon", "Garmin", "Xiaomi", "Huawei", "Braun", "Dyson", "Lego", "Hasbro", "Mattel", "Ikea",
+			"Makita", "Fossil", "Casio", "Seiko");
+	private static final List<String> ADJECTIVES = List.of("black", "white", "silver", "compact", "wireless",
+			"portable", "smart", "classic", "premium", "ultra", "mini", "pro", "slim", "rugged", "vintage",
+			"ergonomic", "foldable", "digital", "analog", "outdoor", "indoor", "heavy", "light", "quiet",
+			"gaming", "travel", "kids", "family", "studio", "office");
+	private static final List<String> NOUNS = List.of("laptop", "monitor", "keyboard", "mouse", "headset",
+			"speaker", "camera", "lens", "watch", "phone", "tablet", "charger", "cable", "router", "printer",
+			"scanner", "desk", "chair", "lamp", "sofa", "shelf", "mattress", "pillow", "blanket", "jacket",
+			"sneaker", "boot", "sandal", "backpack", "wallet", "bottle", "kettle", "toaster", "blender",
+			"vacuum", "drill", "hammer", "saw", "wrench", "ladder", "tent", "kayak", "bicycle", "helmet",
+			"skateboard", "puzzle", "doll", "robot", "drone", "console", "controller", "microphone",
+			"projector", "television", "fridge", "oven", "heater", "fan", "purifier", "humidifier", "shaver",
+			"toothbrush", "dryer", "straightener", "perfume", "lotion", "sunscreen", "razor", "trimmer",
+			"scale", "thermometer", "glasses", "umbrella", "suitcase", "stroller", "crib", "bracelet",
+			"necklace", "ring", "earring", "belt", "scarf", "glove", "hat", "sock", "shirt", "trouser",
+			"dress", "skirt", "sweater", "hoodie", "coat", "vest", "pajama", "towel", "curtain", "rug",
+			"mirror", "clock", "vase");
+	private static final List<String> CATEGORIES = List.of("Computer", "Mode", "Game", "Audio", "Photo",
+			"Phone", "Network", "Office", "Furniture", "Bedroom", "Clothing", "Shoes", "Kitchen", "Tools",
+			"Outdoor", "Sports", "Toys", "Beauty", "Health", "Jewelry");
+	
+	@Param({"laptop", "dell laptop", "dell lap", "dell lpatop", "DEL-0500000", "la"})
+	private String query;
+	
+	private ProductSearchIndex index;
+	
+	@Setup
+	public void setUp() {
+		final Random random = new Random(42);
+		this.index = new ProductSearchIndex(null);
+		final long start = System.nanoTime();
+		for (int productId = 1; productId <= PRODUCTS; productId++) {
+			final String brand = BRANDS.get(random.nextInt(BRANDS.size()));
+			this.index.put(ProductDto.builder()
+					.productId(productId)
+					.productTitle(String.format("%s %s %s %c%d", brand,
+							ADJECTIVES.get(random.nextInt(ADJECTIVES.size())),
+							NOUNS.get(random.nextInt(NOUNS.size())),
+							(char) ('A' + random.nextInt(26)), random.nextInt(1000)))
+					.sku(String.format("%s-%07d", brand.substring(0, 3).toUpperCase(), productId))
+					.categoryDto(CategoryDto.builder()
+							.categoryTitle(CATEGORIES.get(random.nextInt(CATEGORIES.size())))
+							.build())
+					.build());
+		}
+		System.out.printf("%nindexed %d products under %d terms in %d ms%n", this.index.size(), this.index.terms(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+	
+	@Benchmark
+	public List<Integer> search() {
+		return this.index.search(this.query, 20);
+	}
+	
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(ProductSearchBenchmark.class.getSimpleName())
+				.build())
+			.run();
+	}
+	
+	
+	
+}
@@ -0,0 +1,106 @@
+package com.selimhorri.app.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+/**
+ * Pruebas unitarias para ProductSearchIndex
+ *
+ * Valida la tokenización, la coincidencia exacta, por prefijo y con errores
+ * de tipeo, el orden por relevancia y la actualización incremental del índice.
+ */
+@DisplayName("Product Search Index Unit Tests")
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(null);
+        index.put(product(1, "Laptop Dell XPS 15", "DELL-XPS-15", "Computer"));
+        index.put(product(2, "Asus gaming laptop", "ASUS-ROG-17", "Game"));
+        index.put(product(3, "Laptop sleeve", "SLV-15", "Mode"));
+        index.put(product(4, "Dell monitor", "DELL-MON-27", "Computer"));
+    }
+
+    @Test
+    @DisplayName("Test 1: Tokenize - should lower-case, strip accents and split letters from digits")
+    void testTokenize_ShouldNormalizeAndSplit() {
+        // When
+        List<String> tokens = ProductSearchIndex.tokenize("Café Crème SKU-00042x");
+
+        // Then
+        assertEquals(List.of("cafe", "creme", "sku", "00042", "x"), tokens);
+        assertEquals(List.of(), ProductSearchIndex.tokenize(" - "));
+    }
+
+    @Test
+    @DisplayName("Test 2: Search - every term should match, the last one also as a prefix")
+    void testSearch_ShouldMatchAllTermsAndLastAsPrefix() {
+        // Then
+        assertEquals(List.of(1, 4), index.search("dell", 10));
+        assertEquals(List.of(1), index.search("dell lap", 10));
+        assertEquals(List.of(1, 2, 3), index.search("LAPT", 10));
+        assertEquals(List.of(4), index.search("dell-mon-27", 10));
+        assertEquals(List.of(), index.search("dell sleeve", 10));
+        assertEquals(List.of(1), index.search("laptop", 1));
+    }
+
+    @Test
+    @DisplayName("Test 3: Fuzzy - a term with a typo should match its closest terms")
+    void testSearch_ShouldTolerateTypos() {
+        // Then
+        assertEquals(List.of(4), index.search("monitr", 10));
+        assertEquals(List.of(2), index.search("asus gmaing", 10));
+        assertEquals(List.of(), index.search("xyzzy", 10));
+    }
+
+    @Test
+    @DisplayName("Test 4: Ranking - a title match should outrank sku and category matches")
+    void testSearch_ShouldRankByField() {
+        // Given
+        index.put(product(5, "Game controller", "CTL-1", "Accessories"));
+
+        // Then
+        assertEquals(List.of(5, 2), index.search("game", 10));
+        assertEquals(List.of(1, 3), index.search("15", 10));
+        assertEquals(List.of(2), index.search("asus laptop", 10));
+    }
+
+    @Test
+    @DisplayName("Test 5: Update and remove - should replace the indexed terms and drop unused ones")
+    void testPutAndRemove_ShouldKeepIndexCurrent() {
+        // Given
+        int terms = index.terms();
+
+        // When
+        index.put(product(3, "Tablet sleeve", "SLV-15", "Mode"));
+        index.remove(4);
+
+        // Then
+        assertEquals(List.of(1, 2), index.search("laptop", 10));
+        assertEquals(List.of(3), index.search("tablet", 10));
+        assertEquals(List.of(), index.search("monitor", 10));
+        assertEquals(3, index.size());
+        assertEquals(terms + 1 - 3, index.terms());
+    }
+
+    private static ProductDto product(int productId, String title, String sku, String categoryTitle) {
+        return ProductDto.builder()
+                .productId(productId)
+                .productTitle(title)
+                .sku(sku)
+                .categoryDto(CategoryDto.builder()
+                        .categoryTitle(categoryTitle)
+                        .build())
+                .build();
+    }
+}
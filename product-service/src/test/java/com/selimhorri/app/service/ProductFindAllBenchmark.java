@@ -0,0 +1,136 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.ProductServiceApplication;
+import com.selimhorri.app.cache.EarlyRefreshCache;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.support.page.CursorHelper;
+
+/**
+ * JMH benchmark of ProductService.findAll over 1000 products, run with the GC profiler so
+ * gc.alloc.rate.norm reports the bytes allocated per request.
+ *
+ * ENTITIES is the read path findAll used before the DTO projections: a fetch-joined entity
+ * query in a read-write transaction, mapped through ProductMappingHelper. PROJECTION is
+ * ProductService.findAll as it is now, a constructor-expression query in a read-only transaction.
+ * The query cache is off and the list cache is emptied on every call, so both paths reach
+ * the database.
+ *
+ * Run main() (or org.openjdk.jmh.Main ProductFindAllBenchmark -prof gc) on the product-service
+ * test classpath after mvn -pl product-service test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductFindAllBenchmark {
+	
+	private static final int ROWS = 1_000;
+	
+	@Param({"ENTITIES", "PROJECTION"})
+	private String readPath;
+	
+	private ConfigurableApplicationContext context;
+	private ProductService productService;
+	private EarlyRefreshCache<?, ?> productDtoListCache;
+	private EntityManager entityManager;
+	private TransactionTemplate transactionTemplate;
+	
+	@Setup
+	public void setUp() {
+		this.context = new SpringApplicationBuilder(ProductServiceApplication.class)
+				.web(WebApplicationType.NONE)
+				.run("--spring.cloud.config.import-check.enabled=false",
+						"--eureka.client.enabled=false",
+						"--spring.datasource.url=jdbc:h2:mem:product_find_all;DB_CLOSE_DELAY=-1",
+						"--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+						"--spring.jpa.show-sql=false",
+						"--logging.level.root=WARN",
+						"--logging.level.org.hibernate.SQL=WARN",
+						"--logging.level.org.springframework=WARN",
+						"--logging.level.com.selimhorri.app=WARN");
+		this.productService = this.context.getBean(ProductService.class);
+		this.productDtoListCache = (EarlyRefreshCache<?, ?>) this.context.getBeanProvider(ResolvableType
+				.forClassWithGenerics(EarlyRefreshCache.class, ResolvableType.forClass(String.class),
+						ResolvableType.forClassWithGenerics(List.class, ProductDto.class)))
+				.getObject();
+		this.entityManager = this.context.getBean(EntityManager.class);
+		this.transactionTemplate = new TransactionTemplate(this.context.getBean(PlatformTransactionManager.class));
+		this.productService.saveAll(IntStream.range(0, ROWS)
+				.mapToObj(row -> ProductDto.builder()
+						.productTitle("read product " + row)
+						.imageUrl("http://placehold.it/200x200")
+						.sku("READ-" + row)
+						.priceUnit((double) (row % 1000))
+						.quantity(row % 50)
+						.categoryDto(CategoryDto.builder()
+								.categoryId(row % 3 + 1)
+								.build())
+						.build())
+				.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+	
+	@Benchmark
+	public List<ProductDto> findAll() {
+		this.productDtoListCache.evictAll();
+		if ("ENTITIES".equals(this.readPath))
+			return this.transactionTemplate.execute(status -> this.entityManager
+					.createQuery("SELECT p FROM Product p LEFT JOIN FETCH p.category c ORDER BY p.productId", Product.class)
+					.setMaxResults(CursorHelper.unpagedLimit().getPageSize())
+					.getResultStream()
+						.map(ProductMappingHelper::map)
+						.distinct()
+						.collect(Collectors.toUnmodifiableList()));
+		return this.productService.findAll();
+	}
+	
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(ProductFindAllBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build())
+			.run();
+	}
+	
+	
+	
+}
@@ -3,8 +3,11 @@ package com.selimhorri.app.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -13,17 +16,26 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
 
-import com.selimhorri.app.domain.Product;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.selimhorri.app.cache.EarlyRefreshCache;
 import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.dto.CategoryDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.ProductFilterDto;
+import com.selimhorri.app.dto.ProductSort;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
 import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.search.ProductSearchIndex;
 import com.selimhorri.app.service.impl.ProductServiceImpl;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
+import com.selimhorri.app.support.page.InvalidCursorException;
 
 /**
  * Pruebas unitarias para ProductServiceImpl
@@ -38,14 +50,23 @@ class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
-    @InjectMocks
     private ProductServiceImpl productService;
 
+    private ProductSearchIndex productSearchIndex;
+
     private Product product;
     private ProductDto productDto;
 
     @BeforeEach
     void setUp() {
+        // Cachés reales con un TTL amplio para que no se refresquen durante la prueba
+        // Sin categorías en la base de datos el índice usa el título de categoría del dto
+        productSearchIndex = new ProductSearchIndex(mock(NamedParameterJdbcOperations.class));
+        productService = new ProductServiceImpl(productRepository,
+                new EarlyRefreshCache<>("productDtoCache", 100, Duration.ofHours(1), 1.0, Ticker.systemTicker()),
+                new EarlyRefreshCache<>("productDtoListCache", 1, Duration.ofHours(1), 1.0, Ticker.systemTicker()),
+                productSearchIndex);
+        
         // Configurar categoría para las pruebas
         Category category = new Category();
         category.setCategoryId(1);
@@ -79,18 +100,10 @@ class ProductServiceImplTest {
     @DisplayName("Test 1: Find all products - should return list of products")
     void testFindAll_ShouldReturnProductList() {
         // Given
-        Category category2 = new Category();
-        category2.setCategoryId(2);
-        category2.setCategoryTitle("Computers");
+        ProductDto productDto2 = new ProductDto(2, "MacBook Pro", null, null, 1999.99, null, 2, "Computers", null);
         
-        Product product2 = new Product();
-        product2.setProductId(2);
-        product2.setProductTitle("MacBook Pro");
-        product2.setPriceUnit(1999.99);
-        product2.setCategory(category2);
-        
-        List<Product> products = Arrays.asList(product, product2);
-        when(productRepository.findAll()).thenReturn(products);
+        List<ProductDto> products = Arrays.asList(productDto, productDto2);
+        when(productRepository.findDtoPageOrderByProductId(isNull(), isNull(), isNull(), eq(false), isNull(), any())).thenReturn(products);
 
         // When
         List<ProductDto> result = productService.findAll();
@@ -98,14 +111,15 @@ class ProductServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(productRepository, times(1)).findAll();
+        assertEquals("Computers", result.get(1).getCategoryDto().getCategoryTitle());
+        verify(productRepository, times(1)).findDtoPageOrderByProductId(isNull(), isNull(), isNull(), eq(false), isNull(), any());
     }
 
     @Test
     @DisplayName("Test 2: Find product by ID - should return product when found")
     void testFindById_WhenProductExists_ShouldReturnProduct() {
         // Given
-        when(productRepository.findById(anyInt())).thenReturn(Optional.of(product));
+        when(productRepository.findDtoById(anyInt())).thenReturn(Optional.of(productDto));
 
         // When
         ProductDto result = productService.findById(1);
@@ -115,20 +129,20 @@ class ProductServiceImplTest {
         assertEquals(product.getProductId(), result.getProductId());
         assertEquals(product.getProductTitle(), result.getProductTitle());
         assertEquals(product.getPriceUnit(), result.getPriceUnit());
-        verify(productRepository, times(1)).findById(1);
+        verify(productRepository, times(1)).findDtoById(1);
     }
 
     @Test
     @DisplayName("Test 3: Find product by ID - should throw exception when not found")
     void testFindById_WhenProductDoesNotExist_ShouldThrowException() {
         // Given
-        when(productRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(productRepository.findDtoById(anyInt())).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ProductNotFoundException.class, () -> {
             productService.findById(999);
         });
-        verify(productRepository, times(1)).findById(999);
+        verify(productRepository, times(1)).findDtoById(999);
     }
 
     @Test
@@ -145,21 +159,25 @@ class ProductServiceImplTest {
         assertEquals(product.getProductId(), result.getProductId());
         assertEquals(product.getProductTitle(), result.getProductTitle());
         verify(productRepository, times(1)).save(any(Product.class));
+        assertEquals(List.of(1), productSearchIndex.search("dell xps", 10));
     }
 
     @Test
     @DisplayName("Test 5: Delete product by ID - should invoke repository delete")
     void testDeleteById_ShouldInvokeRepositoryDelete() {
         // Given
-        when(productRepository.findById(anyInt())).thenReturn(Optional.of(product));
+        when(productRepository.findDtoById(anyInt())).thenReturn(Optional.of(productDto));
         doNothing().when(productRepository).delete(any(Product.class));
 
+        productSearchIndex.put(productDto);
+
         // When
         productService.deleteById(1);
 
         // Then
-        verify(productRepository, times(1)).findById(1);
+        verify(productRepository, times(1)).findDtoById(1);
         verify(productRepository, times(1)).delete(any(Product.class));
+        assertEquals(List.of(), productSearchIndex.search("dell", 10));
     }
 
     @Test
@@ -190,5 +208,111 @@ class ProductServiceImplTest {
         assertEquals(1399.99, result.getPriceUnit());
         verify(productRepository, times(1)).save(any(Product.class));
     }
-}
 
+    @Test
+    @DisplayName("Test 7: Find product by ID twice - should hit the repository only once")
+    void testFindById_WhenCalledTwice_ShouldServeSecondCallFromCache() {
+        // Given
+        when(productRepository.findDtoById(1)).thenReturn(Optional.of(productDto));
+
+        // When
+        ProductDto first = productService.findById(1);
+        ProductDto second = productService.findById(1);
+
+        // Then
+        assertEquals(first, second);
+        verify(productRepository, times(1)).findDtoById(1);
+    }
+
+    @Test
+    @DisplayName("Test 8: Update product - should evict the cached product and list")
+    void testUpdate_ShouldEvictCachedProductAndList() {
+        // Given
+        when(productRepository.findDtoById(1)).thenReturn(Optional.of(productDto));
+        when(productRepository.findDtoPageOrderByProductId(isNull(), isNull(), isNull(), eq(false), isNull(), any())).thenReturn(List.of(productDto));
+        when(productRepository.save(any(Product.class))).thenReturn(product);
+        productService.findById(1);
+        productService.findAll();
+
+        // When
+        productService.update(productDto);
+        productService.findById(1);
+        productService.findAll();
+
+        // Then
+        verify(productRepository, times(2)).findDtoById(1);
+        verify(productRepository, times(2)).findDtoPageOrderByProductId(isNull(), isNull(), isNull(), eq(false), isNull(), any());
+    }
+
+    @Test
+    @DisplayName("Test 9: Find page - should return a next cursor built from the last row when more rows exist")
+    void testFindPage_WhenMoreRowsExist_ShouldReturnNextCursor() {
+        // Given
+        ProductDto productDto2 = new ProductDto(2, null, null, null, 1999.99, null, null, null, null);
+        when(productRepository.findDtoPageOrderByPriceUnit(isNull(), isNull(), isNull(), eq(false),
+                isNull(), isNull(), eq(PageRequest.of(0, 2))))
+            .thenReturn(List.of(productDto, productDto2));
+
+        // When
+        CursorPageResponse<ProductDto> result = productService.findPage(new ProductFilterDto(), ProductSort.PRICE_UNIT, null, 1);
+
+        // Then
+        assertEquals(1, result.getCollection().size());
+        assertEquals(CursorHelper.encode(ProductSort.PRICE_UNIT.name(), 1299.99, 1), result.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Test 10: Find page - should seek after the cursor keys and end without a next cursor")
+    void testFindPage_WhenLastPage_ShouldSeekAfterCursorAndOmitNextCursor() {
+        // Given
+        ProductFilterDto filter = ProductFilterDto.builder().categoryId(1).inStock(true).build();
+        String cursor = CursorHelper.encode(ProductSort.PRODUCT_ID.name(), 0);
+        when(productRepository.findDtoPageOrderByProductId(eq(1), isNull(), isNull(), eq(true),
+                eq(0), eq(PageRequest.of(0, 21))))
+            .thenReturn(List.of(productDto));
+
+        // When
+        CursorPageResponse<ProductDto> result = productService.findPage(filter, ProductSort.PRODUCT_ID, cursor, 20);
+
+        // Then
+        assertEquals(1, result.getCollection().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Test 11: Find page - should reject a cursor issued for another sort")
+    void testFindPage_WhenCursorSortMismatch_ShouldThrowException() {
+        // Given
+        String cursor = CursorHelper.encode(ProductSort.PRODUCT_ID.name(), 1);
+
+        // When & Then
+        assertThrows(InvalidCursorException.class, () ->
+            productService.findPage(new ProductFilterDto(), ProductSort.PRICE_UNIT, cursor, 20));
+        assertThrows(InvalidCursorException.class, () ->
+            productService.findPage(new ProductFilterDto(), ProductSort.PRODUCT_ID, "not-a-cursor!", 20));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Test 12: Search - should return the indexed matches in ranked order")
+    void testSearch_ShouldReturnMatchesInRankedOrder() {
+        // Given
+        ProductDto otherProductDto = ProductDto.builder()
+                .productId(2)
+                .productTitle("Dell monitor")
+                .sku("MON-27")
+                .categoryDto(productDto.getCategoryDto())
+                .build();
+        productSearchIndex.put(productDto);
+        productSearchIndex.put(otherProductDto);
+        when(productRepository.findAllDtoById(List.of(1, 2))).thenReturn(List.of(otherProductDto, productDto));
+
+        // When
+        List<ProductDto> results = productService.search("Dell", 10);
+
+        // Then
+        assertEquals(List.of(productDto, otherProductDto), results);
+        assertEquals(List.of(), productService.search("  ", 10));
+        verify(productRepository, times(1)).findAllDtoById(any());
+    }
+}
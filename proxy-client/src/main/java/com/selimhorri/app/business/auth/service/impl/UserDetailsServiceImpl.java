@@ -1,5 +1,6 @@
 package com.selimhorri.app.business.auth.service.impl;
 
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -20,11 +21,19 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 	
 	private static final String API_URL = AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/credentials";
 	private final RestTemplate restTemplate;
+	private final UserCache userCache;
 	
 	@Override
 	public UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
 		log.info("**UserDetails, load user by username*\n");
-		return new UserDetailsImpl(this.restTemplate.getForObject(API_URL + "/username/" + username, CredentialDto.class));
+		final UserDetails cachedUserDetails = this.userCache.getUserFromCache(username);
+		if (cachedUserDetails != null)
+			return cachedUserDetails;
+		
+		final UserDetails userDetails = new UserDetailsImpl(this.restTemplate
+				.getForObject(API_URL + "/username/{username}", CredentialDto.class, username));
+		this.userCache.putUserInCache(userDetails);
+		return userDetails;
 	}
 	
 	
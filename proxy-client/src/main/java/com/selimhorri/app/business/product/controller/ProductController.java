@@ -8,10 +8,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.product.model.ProductDto;
 import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCursorPageDtoResponse;
 import com.selimhorri.app.business.product.service.ProductClientService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,6 +30,19 @@ public class ProductController {
 		return ResponseEntity.ok(this.productClientService.findAll().getBody());
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<ProductProductServiceCursorPageDtoResponse> findPage(
+			@RequestParam(name = "categoryId", required = false) final Integer categoryId, 
+			@RequestParam(name = "minPrice", required = false) final Double minPrice, 
+			@RequestParam(name = "maxPrice", required = false) final Double maxPrice, 
+			@RequestParam(name = "inStock", required = false) final Boolean inStock, 
+			@RequestParam(name = "sort", required = false) final String sort, 
+			@RequestParam(name = "cursor", required = false) final String cursor, 
+			@RequestParam(name = "size", required = false) final Integer size) {
+		return ResponseEntity.ok(this.productClientService
+				.findPage(categoryId, minPrice, maxPrice, inStock, sort, cursor, size).getBody());
+	}
+	
 	@GetMapping("/{productId}")
 	public ResponseEntity<ProductDto> findById(@PathVariable("productId") final String productId) {
 		return ResponseEntity.ok(this.productClientService.findById(productId).getBody());
@@ -0,0 +1,26 @@
+package com.selimhorri.app.business.product.model.response;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.selimhorri.app.business.product.model.ProductDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ProductProductServiceCursorPageDtoResponse implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	private Collection<ProductDto> collection;
+	
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private String nextCursor;
+	
+}
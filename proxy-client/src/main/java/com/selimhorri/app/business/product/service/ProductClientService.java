@@ -12,9 +12,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.product.model.ProductDto;
 import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCursorPageDtoResponse;
 
 @FeignClient(name = "PRODUCT-SERVICE", contextId = "productClientService", path = "/product-service/api/products")
 public interface ProductClientService {
@@ -22,6 +24,16 @@ public interface ProductClientService {
 	@GetMapping
 	ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll();
 	
+	@GetMapping("/page")
+	ResponseEntity<ProductProductServiceCursorPageDtoResponse> findPage(
+			@RequestParam(name = "categoryId", required = false) final Integer categoryId, 
+			@RequestParam(name = "minPrice", required = false) final Double minPrice, 
+			@RequestParam(name = "maxPrice", required = false) final Double maxPrice, 
+			@RequestParam(name = "inStock", required = false) final Boolean inStock, 
+			@RequestParam(name = "sort", required = false) final String sort, 
+			@RequestParam(name = "cursor", required = false) final String cursor, 
+			@RequestParam(name = "size", required = false) final Integer size);
+	
 	@GetMapping("/{productId}")
 	ResponseEntity<ProductDto> findById(
 			@PathVariable("productId") 
@@ -1,6 +1,7 @@
 package com.selimhorri.app.business.user.controller;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -22,6 +23,7 @@ import lombok.RequiredArgsConstructor;
 public class CredentialController {
 	
 	private final CredentialClientService credentialClientService;
+	private final UserCache userCache;
 	
 	@GetMapping
 	public ResponseEntity<CredentialUserServiceCollectionDtoResponse> findAll() {
@@ -45,17 +47,30 @@ public class CredentialController {
 	
 	@PutMapping
 	public ResponseEntity<CredentialDto> update(@RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.update(credentialDto).getBody());
+		final CredentialDto updatedCredentialDto = this.credentialClientService.update(credentialDto).getBody();
+		this.evictFromUserCache(credentialDto, updatedCredentialDto);
+		return ResponseEntity.ok(updatedCredentialDto);
 	}
 	
 	@PutMapping("/{credentialId}")
 	public ResponseEntity<CredentialDto> update(@PathVariable("credentialId") final String credentialId, @RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.update(credentialDto).getBody());
+		final CredentialDto updatedCredentialDto = this.credentialClientService.update(credentialDto).getBody();
+		this.evictFromUserCache(credentialDto, updatedCredentialDto);
+		return ResponseEntity.ok(updatedCredentialDto);
 	}
 	
 	@DeleteMapping("/{credentialId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("credentialId") final String credentialId) {
-		return ResponseEntity.ok(this.credentialClientService.deleteById(credentialId).getBody());
+		final CredentialDto credentialDto = this.credentialClientService.findById(credentialId).getBody();
+		final Boolean deleted = this.credentialClientService.deleteById(credentialId).getBody();
+		this.evictFromUserCache(credentialDto);
+		return ResponseEntity.ok(deleted);
+	}
+	
+	private void evictFromUserCache(final CredentialDto... credentialDtos) {
+		for (final CredentialDto credentialDto : credentialDtos)
+			if (credentialDto != null && credentialDto.getUsername() != null)
+				this.userCache.removeUserFromCache(credentialDto.getUsername());
 	}
 	
 	
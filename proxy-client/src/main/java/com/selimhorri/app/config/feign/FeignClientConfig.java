@@ -0,0 +1,34 @@
+package com.selimhorri.app.config.feign;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import feign.Capability;
+import feign.micrometer.MicrometerCapability;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Feign clients run on the pooled HttpClient declared in service-support's HttpClientAutoConfiguration, 
+ * timeouts and compression are set per client under feign.client.config
+ */
+@Configuration
+public class FeignClientConfig {
+	
+	@Bean
+	public Capability micrometerCapability(final MeterRegistry meterRegistry) {
+		return new MicrometerCapability(meterRegistry);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
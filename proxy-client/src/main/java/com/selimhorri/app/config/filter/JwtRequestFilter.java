@@ -1,14 +1,17 @@
 package com.selimhorri.app.config.filter;
 
 import java.io.IOException;
+import java.util.List;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -17,6 +20,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.selimhorri.app.jwt.service.JwtService;
 
+import io.jsonwebtoken.Claims;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,6 +33,9 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 	private final UserDetailsService userDetailsService;
 	private final JwtService jwtService;
 	
+	@Value("${app.security.jwt-authorities.enabled:false}")
+	private boolean authoritiesFromToken;
+	
 	@Override
 	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain) 
 			throws ServletException, IOException {
@@ -37,18 +45,18 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		final var authorizationHeader = request.getHeader("Authorization");
 		
 		String username = null;
-		String jwt = null;
+		Claims claims = null;
 		
 		if ( authorizationHeader != null && authorizationHeader.startsWith("Bearer ") ) {
-			jwt = authorizationHeader.substring(7);
-			username = jwtService.extractUsername(jwt);
+			claims = this.jwtService.extractVerifiedClaims(authorizationHeader.substring(7));
+			username = claims.getSubject();
 		}
 		
 		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 			
-			final UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+			final UserDetails userDetails = this.loadUserDetails(username, claims);
 			
-			if (this.jwtService.validateToken(jwt, userDetails)) {
+			if (this.jwtService.validateToken(claims, userDetails)) {
 				final UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
 						new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 				usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -61,6 +69,18 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		log.info("**Jwt request filtered!*\n");
 	}
 	
+	private UserDetails loadUserDetails(final String username, final Claims claims) {
+		if (this.authoritiesFromToken) {
+			final List<String> authorities = this.jwtService.extractAuthorities(claims);
+			if (authorities != null)
+				return User.withUsername(username)
+						.password("")
+						.authorities(authorities.toArray(String[]::new))
+						.build();
+		}
+		return this.userDetailsService.loadUserByUsername(username);
+	}
+	
 	
 	
 }
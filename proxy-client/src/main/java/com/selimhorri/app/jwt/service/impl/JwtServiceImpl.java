@@ -1,6 +1,7 @@
 package com.selimhorri.app.jwt.service.impl;
 
 import java.util.Date;
+import java.util.List;
 import java.util.function.Function;
 
 import org.springframework.security.core.userdetails.UserDetails;
@@ -38,6 +39,18 @@ public class JwtServiceImpl implements JwtService {
 		return this.jwtUtil.extractClaims(token, claimsResolver);
 	}
 	
+	@Override
+	public Claims extractVerifiedClaims(final String token) {
+		log.info("**Claims, jwt service extract verified claims from given token!*");
+		return this.jwtUtil.extractVerifiedClaims(token);
+	}
+	
+	@Override
+	public List<String> extractAuthorities(final Claims claims) {
+		log.info("**List, jwt service extract authorities from given verified claims!*");
+		return this.jwtUtil.extractAuthorities(claims);
+	}
+	
 	@Override
 	public String generateToken(final UserDetails userDetails) {
 		log.info("**String, jwt service generate token from given userDetails!*");
@@ -50,6 +63,12 @@ public class JwtServiceImpl implements JwtService {
 		return this.jwtUtil.validateToken(token, userDetails);
 	}
 	
+	@Override
+	public Boolean validateToken(final Claims claims, final UserDetails userDetails) {
+		log.info("**Boolean, jwt service validate verified claims against given userDetails!*");
+		return this.jwtUtil.validateToken(claims, userDetails);
+	}
+	
 	
 	
 }
@@ -1,6 +1,7 @@
 package com.selimhorri.app.jwt.util;
 
 import java.util.Date;
+import java.util.List;
 import java.util.function.Function;
 
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,7 +13,10 @@ public interface JwtUtil {
 	String extractUsername(final String token);
 	Date extractExpiration(final String token);
 	<T> T extractClaims(final String token, final Function<Claims, T> claimsResolver);
+	Claims extractVerifiedClaims(final String token);
+	List<String> extractAuthorities(final Claims claims);
 	String generateToken(final UserDetails userDetails);
 	Boolean validateToken(final String token, final UserDetails userDetails);
+	Boolean validateToken(final Claims claims, final UserDetails userDetails);
 	
 }
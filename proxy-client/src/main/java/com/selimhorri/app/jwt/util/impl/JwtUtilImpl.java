@@ -1,13 +1,25 @@
 package com.selimhorri.app.jwt.util.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.selimhorri.app.jwt.util.JwtUtil;
 
 import io.jsonwebtoken.Claims;
@@ -18,6 +30,35 @@ import io.jsonwebtoken.SignatureAlgorithm;
 public class JwtUtilImpl implements JwtUtil {
 	
 	private static final String SECRET_KEY = "secret";
+	private static final String AUTHORITIES_CLAIM = "authorities";
+	
+	private final Cache<String, Claims> verifiedClaimsCache;
+	
+	public JwtUtilImpl(@Value("${app.jwt.claims-cache.maximum-size:10000}") final long maximumSize) {
+		// verified claims are kept until the token's own exp, keyed by a digest so raw tokens are never retained
+		this.verifiedClaimsCache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfter(new Expiry<String, Claims>() {
+					@Override
+					public long expireAfterCreate(final String key, final Claims claims, final long currentTime) {
+						if (claims.getExpiration() == null)
+							return 0L;
+						return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, 
+								claims.getExpiration().getTime() - System.currentTimeMillis()));
+					}
+					@Override
+					public long expireAfterUpdate(final String key, final Claims claims, 
+							final long currentTime, final long currentDuration) {
+						return currentDuration;
+					}
+					@Override
+					public long expireAfterRead(final String key, final Claims claims, 
+							final long currentTime, final long currentDuration) {
+						return currentDuration;
+					}
+				})
+				.build();
+	}
 	
 	@Override
 	public String extractUsername(final String token) {
@@ -31,21 +72,45 @@ public class JwtUtilImpl implements JwtUtil {
 	
 	@Override
 	public <T> T extractClaims(final String token, Function<Claims, T> claimsResolver) {
-		final Claims claims = this.extractAllClaims(token);
+		final Claims claims = this.extractVerifiedClaims(token);
 		return claimsResolver.apply(claims);
 	}
 	
+	@Override
+	public Claims extractVerifiedClaims(final String token) {
+		return this.verifiedClaimsCache.get(digest(token), k -> this.extractAllClaims(token));
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<String> extractAuthorities(final Claims claims) {
+		return claims.get(AUTHORITIES_CLAIM, List.class);
+	}
+	
 	private Claims extractAllClaims(final String token) {
 		return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
 	}
 	
-	private Boolean isTokenExpired(final String token) {
-		return this.extractExpiration(token).before(new Date());
+	private Boolean isTokenExpired(final Claims claims) {
+		return claims.getExpiration().before(new Date());
+	}
+	
+	private static String digest(final String token) {
+		try {
+			return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256")
+					.digest(token.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
 	}
 	
 	@Override
 	public String generateToken(final UserDetails userDetails) {
 		final Map<String, Object> claims = new HashMap<>();
+		claims.put(AUTHORITIES_CLAIM, userDetails.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.collect(Collectors.toUnmodifiableList()));
 		return this.createToken(claims, userDetails.getUsername());
 	}
 	
@@ -61,9 +126,14 @@ public class JwtUtilImpl implements JwtUtil {
 	
 	@Override
 	public Boolean validateToken(final String token, final UserDetails userDetails) {
-		final String username = this.extractUsername(token);
+		return this.validateToken(this.extractVerifiedClaims(token), userDetails);
+	}
+	
+	@Override
+	public Boolean validateToken(final Claims claims, final UserDetails userDetails) {
+		final String username = claims.getSubject();
 		return (
-			username.equals(userDetails.getUsername()) && !isTokenExpired(token)
+			username.equals(userDetails.getUsername()) && !isTokenExpired(claims)
 		);
 	}
 	
@@ -0,0 +1,54 @@
+package com.selimhorri.app.security;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Component
+public class CaffeineUserCache implements UserCache {
+	
+	private final Cache<String, UserDetails> cache;
+	
+	public CaffeineUserCache(
+			@Value("${app.security.user-details-cache.maximum-size:10000}") final long maximumSize, 
+			@Value("${app.security.user-details-cache.ttl:60s}") final Duration ttl) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(ttl)
+				.build();
+	}
+	
+	@Override
+	public UserDetails getUserFromCache(final String username) {
+		return this.cache.getIfPresent(username);
+	}
+	
+	@Override
+	public void putUserInCache(final UserDetails user) {
+		this.cache.put(user.getUsername(), user);
+	}
+	
+	@Override
+	public void removeUserFromCache(final String username) {
+		this.cache.invalidate(username);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
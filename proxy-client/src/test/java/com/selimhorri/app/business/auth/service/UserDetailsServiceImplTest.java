@@ -0,0 +1,108 @@
+package com.selimhorri.app.business.auth.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.business.auth.service.impl.UserDetailsServiceImpl;
+import com.selimhorri.app.business.user.controller.CredentialController;
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.business.user.service.CredentialClientService;
+import com.selimhorri.app.security.CaffeineUserCache;
+
+/**
+ * Pruebas unitarias para la caché de UserDetails del proxy-client
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserDetails Cache Unit Tests")
+class UserDetailsServiceImplTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private CredentialClientService credentialClientService;
+
+    private CaffeineUserCache userCache;
+    private UserDetailsServiceImpl userDetailsService;
+    private CredentialController credentialController;
+    private CredentialDto credentialDto;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new CaffeineUserCache(100, Duration.ofMinutes(1));
+        userDetailsService = new UserDetailsServiceImpl(restTemplate, userCache);
+        credentialController = new CredentialController(credentialClientService, userCache);
+
+        credentialDto = CredentialDto.builder()
+                .credentialId(1)
+                .username("selimhorri")
+                .password("$2a$04$hashed")
+                .roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+                .isEnabled(true)
+                .isAccountNonExpired(true)
+                .isAccountNonLocked(true)
+                .isCredentialsNonExpired(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Test 1: Repeated loads of the same user should call user-service once")
+    void testLoadUserByUsername_ShouldServeRepeatedLoadsFromCache() {
+        // Given
+        when(restTemplate.getForObject(anyString(), eq(CredentialDto.class), eq("selimhorri"))).thenReturn(credentialDto);
+
+        // When
+        userDetailsService.loadUserByUsername("selimhorri");
+        userDetailsService.loadUserByUsername("selimhorri");
+
+        // Then
+        assertEquals("selimhorri", userDetailsService.loadUserByUsername("selimhorri").getUsername());
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(CredentialDto.class), eq("selimhorri"));
+    }
+
+    @Test
+    @DisplayName("Test 2: Updating a credential should evict the cached user")
+    void testCredentialUpdate_ShouldEvictCachedUser() {
+        // Given
+        when(restTemplate.getForObject(anyString(), eq(CredentialDto.class), eq("selimhorri"))).thenReturn(credentialDto);
+        when(credentialClientService.update(credentialDto)).thenReturn(ResponseEntity.ok(credentialDto));
+        userDetailsService.loadUserByUsername("selimhorri");
+
+        // When
+        credentialController.update(credentialDto);
+        userDetailsService.loadUserByUsername("selimhorri");
+
+        // Then
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(CredentialDto.class), eq("selimhorri"));
+    }
+
+    @Test
+    @DisplayName("Test 3: Deleting a credential should evict the cached user")
+    void testCredentialDelete_ShouldEvictCachedUser() {
+        // Given
+        when(restTemplate.getForObject(anyString(), eq(CredentialDto.class), eq("selimhorri"))).thenReturn(credentialDto);
+        when(credentialClientService.findById("1")).thenReturn(ResponseEntity.ok(credentialDto));
+        when(credentialClientService.deleteById("1")).thenReturn(ResponseEntity.ok(true));
+        userDetailsService.loadUserByUsername("selimhorri");
+
+        // When
+        credentialController.deleteById("1");
+
+        // Then
+        assertNull(userCache.getUserFromCache("selimhorri"));
+    }
+}
@@ -0,0 +1,136 @@
+package com.selimhorri.app.config.feign;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.support.client.HttpClientAutoConfiguration;
+import com.sun.net.httpserver.HttpServer;
+
+import feign.Feign;
+import feign.httpclient.ApacheHttpClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Pruebas del transporte de los clientes Feign
+ * 
+ * Validan que las llamadas reutilizan conexiones del pool, aceptan
+ * respuestas comprimidas con gzip y registran un timer por método.
+ */
+@DisplayName("Feign Client Config Tests")
+class FeignClientConfigTest {
+
+    private HttpServer server;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private SimpleMeterRegistry meterRegistry;
+    private ProductClientService productClientService;
+
+    private final AtomicReference<String> acceptEncoding = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Servidor HTTP local que responde siempre con un producto comprimido
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/product-service/api/products", exchange -> {
+            acceptEncoding.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            byte[] body = gzip("{\"productId\":1,\"productTitle\":\"Laptop Dell XPS 15\"}");
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        HttpClientAutoConfiguration clientConfig = new HttpClientAutoConfiguration();
+        connectionManager = clientConfig.httpClientConnectionManager(10, 5, Duration.ofMinutes(5), Duration.ofSeconds(2));
+        httpClient = clientConfig.pooledHttpClient(connectionManager,
+                Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofSeconds(2), Duration.ofSeconds(30));
+        meterRegistry = new SimpleMeterRegistry();
+
+        productClientService = Feign.builder()
+                .client(new ApacheHttpClient(httpClient))
+                .contract(new SpringMvcContract())
+                .decoder(new ResponseEntityDecoder(new SpringDecoder(
+                        () -> new HttpMessageConverters(new MappingJackson2HttpMessageConverter()))))
+                .addCapability(new FeignClientConfig().micrometerCapability(meterRegistry))
+                .target(ProductClientService.class,
+                        "http://localhost:" + server.getAddress().getPort() + "/product-service/api/products");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    private static byte[] gzip(String json) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    @DisplayName("Test 1: Gzip response - should be requested and inflated transparently")
+    void testFindById_WhenResponseIsGzipped_ShouldDecodeIt() {
+        // When
+        ResponseEntity<ProductDto> response = productClientService.findById("1");
+
+        // Then
+        assertEquals("Laptop Dell XPS 15", response.getBody().getProductTitle());
+        assertTrue(acceptEncoding.get().contains("gzip"));
+    }
+
+    @Test
+    @DisplayName("Test 2: Repeated calls - should reuse a pooled keep-alive connection")
+    void testFindById_WhenRepeated_ShouldReusePooledConnection() {
+        // When
+        productClientService.findById("1");
+        productClientService.findById("1");
+        productClientService.findById("1");
+
+        // Then
+        assertEquals(1, connectionManager.getTotalStats().getAvailable());
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+    }
+
+    @Test
+    @DisplayName("Test 3: Calls - should be timed per client method")
+    void testFindById_ShouldRecordTimerPerMethod() {
+        // When
+        productClientService.findById("1");
+        productClientService.findById("1");
+
+        // Then
+        assertEquals(2, meterRegistry.get("feign.Feign")
+                .tag("client", ProductClientService.class.getName())
+                .tag("method", "findById")
+                .timer().count());
+    }
+}
@@ -0,0 +1,91 @@
+package com.selimhorri.app.jwt;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.selimhorri.app.jwt.util.impl.JwtUtilImpl;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * JMH benchmark of the token handling done by JwtRequestFilter for an authenticated request.
+ * 
+ * baselineTripleParse replays the previous path (extractUsername, then validateToken calling 
+ * extractUsername and extractExpiration again, each one a full parse and HMAC verification); 
+ * singleParse is the new path on the first request carrying a token; cachedClaims is the new 
+ * path on every following request with the same token.
+ * 
+ * Run main() (or org.openjdk.jmh.Main JwtAuthPathBenchmark) on the proxy-client test classpath 
+ * after mvn -pl proxy-client test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthPathBenchmark {
+	
+	private static final String SECRET_KEY = "secret";
+	
+	private JwtUtilImpl jwtUtil;
+	private UserDetails userDetails;
+	private String token;
+	
+	@Setup
+	public void setUp() {
+		this.jwtUtil = new JwtUtilImpl(10_000);
+		this.userDetails = User.withUsername("selimhorri").password("").roles("USER").build();
+		this.token = this.jwtUtil.generateToken(this.userDetails);
+	}
+	
+	@Benchmark
+	public boolean baselineTripleParse() {
+		final String username = parse(this.token).getSubject();
+		return username.equals(this.userDetails.getUsername()) 
+				&& parse(this.token).getSubject().equals(this.userDetails.getUsername()) 
+				&& !parse(this.token).getExpiration().before(new java.util.Date());
+	}
+	
+	@Benchmark
+	public boolean singleParse() {
+		final Claims claims = parse(this.token);
+		return this.jwtUtil.validateToken(claims, this.userDetails);
+	}
+	
+	@Benchmark
+	public boolean cachedClaims() {
+		final Claims claims = this.jwtUtil.extractVerifiedClaims(this.token);
+		return this.jwtUtil.validateToken(claims, this.userDetails);
+	}
+	
+	private static Claims parse(final String token) {
+		return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
+	}
+	
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(JwtAuthPathBenchmark.class.getSimpleName())
+				.build())
+			.run();
+	}
+	
+	
+	
+}
@@ -0,0 +1,85 @@
+package com.selimhorri.app.jwt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.selimhorri.app.jwt.util.impl.JwtUtilImpl;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.SignatureException;
+
+/**
+ * Pruebas unitarias para JwtUtilImpl y su caché de claims verificados
+ */
+@DisplayName("JWT Util Unit Tests")
+class JwtUtilImplTest {
+
+    private JwtUtilImpl jwtUtil;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtilImpl(100);
+        userDetails = User.withUsername("selimhorri").password("").roles("USER").build();
+    }
+
+    @Test
+    @DisplayName("Test 1: Verified claims should be parsed once and reused for the same token")
+    void testExtractVerifiedClaims_ShouldReuseVerifiedClaims() {
+        // Given
+        String token = jwtUtil.generateToken(userDetails);
+
+        // When
+        Claims first = jwtUtil.extractVerifiedClaims(token);
+        Claims second = jwtUtil.extractVerifiedClaims(token);
+
+        // Then
+        assertSame(first, second);
+        assertEquals("selimhorri", jwtUtil.extractUsername(token));
+        assertTrue(jwtUtil.validateToken(first, userDetails));
+        assertTrue(jwtUtil.validateToken(token, userDetails));
+    }
+
+    @Test
+    @DisplayName("Test 2: Claims of another user should not validate")
+    void testValidateToken_WhenUsernameDiffers_ShouldReturnFalse() {
+        // Given
+        String token = jwtUtil.generateToken(userDetails);
+        UserDetails other = User.withUsername("other").password("").roles("USER").build();
+
+        // When & Then
+        assertFalse(jwtUtil.validateToken(jwtUtil.extractVerifiedClaims(token), other));
+    }
+
+    @Test
+    @DisplayName("Test 3: Tampered token should fail verification every time")
+    void testExtractVerifiedClaims_WhenSignatureInvalid_ShouldThrow() {
+        // Given
+        String token = jwtUtil.generateToken(userDetails);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // When & Then
+        assertThrows(SignatureException.class, () -> jwtUtil.extractVerifiedClaims(tampered));
+        assertThrows(SignatureException.class, () -> jwtUtil.extractVerifiedClaims(tampered));
+    }
+
+    @Test
+    @DisplayName("Test 4: Generated token should carry the user's authorities as a signed claim")
+    void testGenerateToken_ShouldIncludeAuthoritiesClaim() {
+        // Given
+        String token = jwtUtil.generateToken(userDetails);
+
+        // When
+        List<String> authorities = jwtUtil.extractAuthorities(jwtUtil.extractVerifiedClaims(token));
+
+        // Then
+        assertEquals(List.of("ROLE_USER"), authorities);
+    }
+}
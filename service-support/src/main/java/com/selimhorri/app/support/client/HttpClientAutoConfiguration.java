@@ -0,0 +1,118 @@
+package com.selimhorri.app.support.client;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.metrics.web.client.HttpClientMetricsAutoConfiguration;
+import org.springframework.boot.actuate.metrics.web.client.RestTemplateExchangeTags;
+import org.springframework.boot.actuate.metrics.web.client.RestTemplateExchangeTagsProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * The pooled, instrumented HttpClient behind the load-balanced RestTemplate of every service, 
+ * and behind the Feign clients of proxy-client, sized and timed out under app.http-client
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass({ CloseableHttpClient.class, RestTemplate.class })
+@AutoConfigureAfter(RestTemplateAutoConfiguration.class)
+@AutoConfigureBefore(value = HttpClientMetricsAutoConfiguration.class, 
+		name = "org.springframework.cloud.openfeign.FeignAutoConfiguration")
+public class HttpClientAutoConfiguration {
+	
+	private static final Pattern ID_PATH_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+	
+	@Bean
+	@ConditionalOnMissingBean
+	public PoolingHttpClientConnectionManager httpClientConnectionManager(
+			@Value("${app.http-client.max-total:200}") final int maxTotal, 
+			@Value("${app.http-client.max-per-route:50}") final int maxPerRoute, 
+			@Value("${app.http-client.time-to-live:5m}") final Duration timeToLive, 
+			@Value("${app.http-client.validate-after-inactivity:2s}") final Duration validateAfterInactivity) {
+		
+		final var connectionManager = new PoolingHttpClientConnectionManager(timeToLive.toMillis(), TimeUnit.MILLISECONDS);
+		connectionManager.setMaxTotal(maxTotal);
+		connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+		connectionManager.setValidateAfterInactivity((int) validateAfterInactivity.toMillis());
+		return connectionManager;
+	}
+	
+	@Bean(destroyMethod = "close")
+	@ConditionalOnMissingBean
+	public CloseableHttpClient pooledHttpClient(
+			final PoolingHttpClientConnectionManager httpClientConnectionManager, 
+			@Value("${app.http-client.connect-timeout:2s}") final Duration connectTimeout, 
+			@Value("${app.http-client.read-timeout:10s}") final Duration readTimeout, 
+			@Value("${app.http-client.connection-request-timeout:2s}") final Duration connectionRequestTimeout, 
+			@Value("${app.http-client.max-idle-time:30s}") final Duration maxIdleTime) {
+		
+		// content compression stays enabled: requests advertise gzip and responses are inflated transparently
+		return HttpClients.custom()
+				.setConnectionManager(httpClientConnectionManager)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectTimeout((int) connectTimeout.toMillis())
+						.setSocketTimeout((int) readTimeout.toMillis())
+						.setConnectionRequestTimeout((int) connectionRequestTimeout.toMillis())
+						.build())
+				.evictExpiredConnections()
+				.evictIdleConnections(maxIdleTime.toMillis(), TimeUnit.MILLISECONDS)
+				.build();
+	}
+	
+	@LoadBalanced
+	@Bean
+	@ConditionalOnMissingBean
+	public RestTemplate restTemplateBean(final RestTemplateBuilder restTemplateBuilder, 
+			final CloseableHttpClient pooledHttpClient) {
+		return restTemplateBuilder
+				.requestFactory(() -> new HttpComponentsClientHttpRequestFactory(pooledHttpClient))
+				.build();
+	}
+	
+	@Bean
+	public MeterBinder httpClientConnectionPoolMetrics(final PoolingHttpClientConnectionManager httpClientConnectionManager) {
+		return new PoolingHttpClientConnectionManagerMetricsBinder(httpClientConnectionManager, "restTemplate");
+	}
+	
+	/**
+	 * Callers mostly concatenate ids into the url, so collapse numeric path segments
+	 * to keep one timer per target service and uri template instead of one per id
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public RestTemplateExchangeTagsProvider restTemplateExchangeTagsProvider() {
+		return (urlTemplate, request, response) -> Tags.of(
+				RestTemplateExchangeTags.method(request), 
+				Tag.of("uri", ID_PATH_SEGMENT.matcher(RestTemplateExchangeTags.uri(urlTemplate).getValue()).replaceAll("/{id}")), 
+				RestTemplateExchangeTags.status(response), 
+				RestTemplateExchangeTags.clientName(request), 
+				RestTemplateExchangeTags.outcome(response));
+	}
+	
+	
+	
+}
+
+
+
+
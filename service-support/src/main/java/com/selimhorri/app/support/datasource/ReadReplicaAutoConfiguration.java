@@ -0,0 +1,70 @@
+package com.selimhorri.app.support.datasource;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Active once app.datasource.replica.url is set: spring.datasource becomes the primary pool
+ * and the replica gets a pool of its own. Without it the service keeps Boot's single pool.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass({ HikariDataSource.class, AbstractRoutingDataSource.class })
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+@AutoConfigureBefore(DataSourceAutoConfiguration.class)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReadReplicaAutoConfiguration {
+	
+	@Bean
+	public DataSource dataSource(
+			final DataSourceProperties dataSourceProperties, 
+			final Environment environment, 
+			@Value("${app.datasource.replica.url}") final String replicaUrl, 
+			@Value("${app.datasource.replica.username:${spring.datasource.username:}}") final String replicaUsername, 
+			@Value("${app.datasource.replica.password:${spring.datasource.password:}}") final String replicaPassword, 
+			@Value("${app.datasource.replica.max-lag:2s}") final Duration maxReplicaLag) {
+		
+		final Binder binder = Binder.get(environment);
+		
+		final HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+				.type(HikariDataSource.class)
+				.build();
+		binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+		primary.setPoolName("primary");
+		
+		final HikariDataSource replica = DataSourceBuilder.create()
+				.type(HikariDataSource.class)
+				.url(replicaUrl)
+				.username(replicaUsername)
+				.password(replicaPassword)
+				.build();
+		binder.bind("app.datasource.replica.hikari", Bindable.ofInstance(replica));
+		replica.setPoolName("replica");
+		replica.setReadOnly(true);
+		
+		return new ReadWriteRoutingDataSource(primary, replica, maxReplicaLag);
+	}
+	
+	
+	
+}
+
+
+
@@ -0,0 +1,158 @@
+package com.selimhorri.app.support.datasource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Sends read-only transactions to the replica and every other connection to the primary.
+ *
+ * The physical connection is only fetched on the first statement, once the transaction
+ * manager has published the read-only flag. A committed transaction that ran DML stamps the
+ * current request, and that request's later read-only transactions stay on the primary until
+ * the stamp is maxReplicaLag old, so it reads back its own write. Other requests, and threads
+ * without a request such as schedulers, keep reading from the replica.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+	
+	private static final String LAST_WRITE_ATTRIBUTE = ReadWriteRoutingDataSource.class.getName() + ".lastWrite";
+	
+	private static final Set<String> UPDATE_METHODS = Set.of("executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+	
+	private enum Route {
+		PRIMARY, REPLICA
+	}
+	
+	private final DataSource primary;
+	private final DataSource replica;
+	private final long maxReplicaLagNanos;
+	
+	public ReadWriteRoutingDataSource(final DataSource primary, final DataSource replica, final Duration maxReplicaLag) {
+		this.primary = primary;
+		this.replica = replica;
+		this.maxReplicaLagNanos = maxReplicaLag.toNanos();
+	
+		final AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+			@Override
+			protected Object determineCurrentLookupKey() {
+				return route();
+			}
+			@Override
+			public Connection getConnection() throws SQLException {
+				return stampOnWrite(super.getConnection());
+			}
+		};
+		router.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+		router.setDefaultTargetDataSource(primary);
+		router.setLenientFallback(false);
+		router.afterPropertiesSet();
+	
+		this.setTargetDataSource(router);
+		this.afterPropertiesSet();
+	}
+	
+	private Route route() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+			return Route.PRIMARY;
+		return (this.wroteWithinReplicaLag()) ? Route.PRIMARY : Route.REPLICA;
+	}
+	
+	/**
+	 * Watches the statements of a read-write transaction bound to a request, and stamps the
+	 * request after commit only if one of them changed rows.
+	 */
+	private Connection stampOnWrite(final Connection connection) {
+	
+		final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		if (requestAttributes == null
+				|| TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+				|| !TransactionSynchronizationManager.isActualTransactionActive())
+			return connection;
+	
+		final boolean[] wrote = { false };
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				if (wrote[0])
+					requestAttributes.setAttribute(LAST_WRITE_ATTRIBUTE, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+			}
+		});
+	
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+				(proxy, method, args) -> {
+					final Object result = invoke(proxy, connection, method, args);
+					return (result instanceof Statement)
+							? trackUpdates((Statement) result, method.getReturnType(), () -> wrote[0] = true)
+							: result;
+				});
+	}
+	
+	/**
+	 * executeUpdate and executeBatch always change rows, a plain execute did when its first
+	 * result is an update count rather than a result set.
+	 */
+	private static Object trackUpdates(final Statement statement, final Class<?> statementType, final Runnable onUpdate) {
+		final InvocationHandler handler = (proxy, method, args) -> {
+			final Object result = invoke(proxy, statement, method, args);
+			if (UPDATE_METHODS.contains(method.getName())
+					|| ("execute".equals(method.getName()) && Boolean.FALSE.equals(result)))
+				onUpdate.run();
+			return result;
+		};
+		return Proxy.newProxyInstance(statementType.getClassLoader(), new Class<?>[] { statementType }, handler);
+	}
+	
+	private static Object invoke(final Object proxy, final Object target, final Method method, final Object[] args) throws Throwable {
+		// the proxies are keys in Hibernate's statement registry, keep their identity
+		if ("equals".equals(method.getName()) && method.getParameterCount() == 1)
+			return proxy == args[0];
+		if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0)
+			return System.identityHashCode(proxy);
+		try {
+			return method.invoke(target, args);
+		}
+		catch (final InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+	
+	private boolean wroteWithinReplicaLag() {
+		final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		if (requestAttributes == null)
+			return false;
+		final Object lastWrite = requestAttributes.getAttribute(LAST_WRITE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		return lastWrite != null && System.nanoTime() - (Long) lastWrite < this.maxReplicaLagNanos;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		for (final DataSource dataSource : List.of(this.primary, this.replica))
+			if (dataSource instanceof Closeable)
+				((Closeable) dataSource).close();
+	}
+	
+	
+	
+}
+
+
+
@@ -0,0 +1,49 @@
+package com.selimhorri.app.support.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+public interface NdjsonHelper {
+	
+	/**
+	 * Writes one JSON document per line while pulling the elements one at a time, 
+	 * so nothing but the current element and the generator buffer is held in memory. 
+	 * The callback runs after every batch, e.g. to clear the persistence context
+	 */
+	public static <T> long write(final Stream<T> elements, final ObjectWriter objectWriter, 
+			final OutputStream outputStream, final int batchSize, final Runnable afterBatch) throws IOException {
+		
+		final ObjectWriter writer = objectWriter.without(SerializationFeature.INDENT_OUTPUT, SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		long count = 0;
+		try (final JsonGenerator generator = writer.getFactory().createGenerator(outputStream)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			final Iterator<T> iterator = elements.iterator();
+			while (iterator.hasNext()) {
+				writer.writeValue(generator, iterator.next());
+				generator.writeRaw('\n');
+				if (++count % batchSize == 0)
+					afterBatch.run();
+			}
+		}
+		return count;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,120 @@
+package com.selimhorri.app.support.page;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * The pagination contract of every service: keyset pages of at most MAX_PAGE_SIZE rows 
+ * behind an opaque cursor, and unpaged listings refused past MAX_UNPAGED_SIZE rows
+ */
+public interface CursorHelper {
+	
+	String KEY_SEPARATOR = ":";
+	int DEFAULT_PAGE_SIZE = 20;
+	int MAX_PAGE_SIZE = 100;
+	int MAX_UNPAGED_SIZE = 1000;
+	
+	public static int pageSize(final int size) {
+		return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+	}
+	
+	/**
+	 * Asks for one row past the page, its presence tells 
+	 * whether a next page exists without a count query
+	 */
+	public static Pageable pageRequest(final int pageSize) {
+		return PageRequest.of(0, pageSize + 1);
+	}
+	
+	/**
+	 * Asks for one row past the cap of the unpaged listings, its presence tells {@link #unpaged(List)} 
+	 * the listing is too large for a single call
+	 */
+	public static Pageable unpagedLimit() {
+		return PageRequest.of(0, MAX_UNPAGED_SIZE + 1);
+	}
+	
+	/**
+	 * Returns the rows of an unpaged listing, refusing it rather than truncating it silently
+	 * 
+	 * @throws UnpagedLimitExceededException if the rows go past MAX_UNPAGED_SIZE
+	 */
+	public static <E> List<E> unpaged(final List<E> rows) {
+		if (rows.size() > MAX_UNPAGED_SIZE)
+			throw new UnpagedLimitExceededException(String.format("Listing exceeds %d rows, "
+					+ "page through it with the cursor endpoint", MAX_UNPAGED_SIZE));
+		return rows;
+	}
+	
+	public static <E, D> CursorPageResponse<D> page(final List<E> rows, final int pageSize, 
+			final Function<? super List<E>, ? extends Collection<D>> mapper, 
+			final Function<? super E, String> cursor) {
+		final boolean hasNext = rows.size() > pageSize;
+		final List<E> page = hasNext ? rows.subList(0, pageSize) : rows;
+		return CursorPageResponse.<D>builder()
+				.collection(mapper.apply(page))
+				.nextCursor(hasNext ? cursor.apply(page.get(pageSize - 1)) : null)
+				.build();
+	}
+	
+	public static String encode(final Object... keys) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.stream(keys)
+				.map(String::valueOf)
+				.collect(Collectors.joining(KEY_SEPARATOR))
+				.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	/**
+	 * Only the last key may contain the separator, e.g. a timestamp
+	 */
+	public static String[] decode(final String cursor, final int expectedKeys) {
+		try {
+			final String[] keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+					.split(KEY_SEPARATOR, expectedKeys);
+			if (keys.length != expectedKeys)
+				throw new InvalidCursorException(String.format("Cursor: %s is not valid", cursor));
+			return keys;
+		}
+		catch (IllegalArgumentException e) {
+			throw new InvalidCursorException(String.format("Cursor: %s is not valid", cursor), e);
+		}
+	}
+	
+	public static Integer decodeId(final String cursor) {
+		if (cursor == null)
+			return null;
+		final String[] keys = decode(cursor, 1);
+		return parseKey(cursor, () -> Integer.valueOf(keys[0]));
+	}
+	
+	public static <T> T parseKey(final String cursor, final Supplier<T> parser) {
+		try {
+			return parser.get();
+		}
+		catch (RuntimeException e) {
+			throw new InvalidCursorException(String.format("Cursor: %s is not valid", cursor), e);
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,34 @@
+package com.selimhorri.app.support.page;
+
+import java.util.Collection;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CursorPageResponse<T> {
+	
+	private Collection<T> collection;
+	
+	@JsonInclude(Include.NON_NULL)
+	private String nextCursor;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,35 @@
+package com.selimhorri.app.support.page;
+
+public class UnpagedLimitExceededException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public UnpagedLimitExceededException() {
+		super();
+	}
+	
+	public UnpagedLimitExceededException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public UnpagedLimitExceededException(String message) {
+		super(message);
+	}
+	
+	public UnpagedLimitExceededException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
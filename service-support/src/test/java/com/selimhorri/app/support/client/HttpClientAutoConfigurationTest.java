@@ -0,0 +1,110 @@
+package com.selimhorri.app.support.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.time.Duration;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.metrics.web.client.RestTemplateExchangeTagsProvider;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.Tag;
+
+/**
+ * Pruebas unitarias para HttpClientAutoConfiguration
+ * 
+ * Validan el dimensionamiento del pool de conexiones y las etiquetas
+ * de los timers de Micrometer por servicio destino y plantilla de URI, y que
+ * la autoconfiguración registre el cliente compartido en cada servicio.
+ */
+@DisplayName("Http Client Auto Configuration Unit Tests")
+class HttpClientAutoConfigurationTest {
+
+    private final HttpClientAutoConfiguration clientConfig = new HttpClientAutoConfiguration();
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(RestTemplateAutoConfiguration.class, HttpClientAutoConfiguration.class));
+
+    private String tag(Iterable<Tag> tags, String key) {
+        for (Tag tag : tags)
+            if (tag.getKey().equals(key))
+                return tag.getValue();
+        return null;
+    }
+
+    @Test
+    @DisplayName("Test 1: Connection pool - should be sized per route from configuration")
+    void testHttpClientConnectionManager_ShouldApplyPoolSizes() {
+        // When
+        PoolingHttpClientConnectionManager connectionManager = clientConfig.httpClientConnectionManager(
+                100, 20, Duration.ofMinutes(5), Duration.ofSeconds(2));
+
+        // Then
+        assertEquals(100, connectionManager.getMaxTotal());
+        assertEquals(20, connectionManager.getDefaultMaxPerRoute());
+        assertEquals(2000, connectionManager.getValidateAfterInactivity());
+        connectionManager.close();
+    }
+
+    @Test
+    @DisplayName("Test 2: Concatenated ids - should be collapsed into the uri template")
+    void testTagsProvider_WhenUrlContainsIds_ShouldCollapseThem() {
+        // Given
+        RestTemplateExchangeTagsProvider tagsProvider = clientConfig.restTemplateExchangeTagsProvider();
+        String url = "http://USER-SERVICE/user-service/api/users/42";
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create(url));
+
+        // When
+        Iterable<Tag> tags = tagsProvider.getTags(url, request, new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+
+        // Then
+        assertEquals("/user-service/api/users/{id}", tag(tags, "uri"));
+        assertEquals("USER-SERVICE", tag(tags, "clientName"));
+        assertEquals("GET", tag(tags, "method"));
+        assertEquals("200", tag(tags, "status"));
+    }
+
+    @Test
+    @DisplayName("Test 3: Uri templates - should be kept as they are")
+    void testTagsProvider_WhenUrlIsTemplate_ShouldKeepIt() {
+        // Given
+        RestTemplateExchangeTagsProvider tagsProvider = clientConfig.restTemplateExchangeTagsProvider();
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET,
+                URI.create("http://USER-SERVICE/user-service/api/credentials/username/selimhorri"));
+
+        // When
+        Iterable<Tag> tags = tagsProvider.getTags("http://USER-SERVICE/user-service/api/credentials/username/{username}",
+                request, new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+
+        // Then
+        assertEquals("/user-service/api/credentials/username/{username}", tag(tags, "uri"));
+    }
+
+    @Test
+    @DisplayName("Test 4: Auto-configuration - should back the RestTemplate with the pooled client")
+    void testAutoConfiguration_ShouldRegisterPooledRestTemplate() {
+        contextRunner
+            .withPropertyValues("app.http-client.max-total=64")
+            .run(context -> {
+                assertEquals(64, context.getBean(PoolingHttpClientConnectionManager.class).getMaxTotal());
+                assertNotNull(context.getBean(CloseableHttpClient.class));
+                assertTrue(context.getBean(RestTemplate.class).getRequestFactory()
+                        instanceof HttpComponentsClientHttpRequestFactory);
+            });
+    }
+}
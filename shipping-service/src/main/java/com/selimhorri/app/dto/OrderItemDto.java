@@ -31,6 +31,19 @@ public class OrderItemDto implements Serializable {
 	@JsonInclude(Include.NON_NULL)
 	private OrderDto orderDto;
 	
+	/**
+	 * Read-side projection, selected by JPQL constructor expressions 
+	 * without hydrating OrderItem entities
+	 */
+	public OrderItemDto(final Integer productId, final Integer orderId, final Integer orderedQuantity) {
+		this(productId, orderId, orderedQuantity, ProductDto.builder()
+					.productId(productId)
+					.build(), 
+				OrderDto.builder()
+					.orderId(orderId)
+					.build());
+	}
+	
 }
 
 
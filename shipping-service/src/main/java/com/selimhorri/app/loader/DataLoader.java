@@ -0,0 +1,84 @@
+package com.selimhorri.app.loader;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Collects keys requested through {@link #load(Object)} and resolves them on {@link #dispatch()}, 
+ * each distinct key once per loader and in batches of at most {@code maxBatchSize} keys.
+ */
+public class DataLoader<K, V> {
+	
+	private final Function<List<K>, Map<K, V>> batchLoadFunction;
+	private final int maxBatchSize;
+	private final Map<K, CompletableFuture<V>> cache = new HashMap<>();
+	private final Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+	
+	public DataLoader(final Function<List<K>, Map<K, V>> batchLoadFunction, final int maxBatchSize) {
+		if (maxBatchSize < 1)
+			throw new IllegalArgumentException("maxBatchSize must be positive");
+		this.batchLoadFunction = batchLoadFunction;
+		this.maxBatchSize = maxBatchSize;
+	}
+	
+	public synchronized CompletableFuture<V> load(final K key) {
+		return this.cache.computeIfAbsent(key, k -> {
+			final CompletableFuture<V> future = new CompletableFuture<>();
+			this.pending.put(k, future);
+			return future;
+		});
+	}
+	
+	public void dispatch() {
+		final Map<K, CompletableFuture<V>> batch;
+		synchronized (this) {
+			if (this.pending.isEmpty())
+				return;
+			batch = new LinkedHashMap<>(this.pending);
+			this.pending.clear();
+		}
+		
+		final List<K> keys = new ArrayList<>(batch.keySet());
+		for (int from = 0; from < keys.size(); from += this.maxBatchSize) {
+			final List<K> chunk = keys.subList(from, Math.min(from + this.maxBatchSize, keys.size()));
+			final Map<K, V> values;
+			try {
+				values = this.batchLoadFunction.apply(Collections.unmodifiableList(chunk));
+			}
+			catch (RuntimeException e) {
+				this.failAll(batch.values(), e);
+				synchronized (this) {
+					batch.keySet().forEach(this.cache::remove);
+				}
+				throw e;
+			}
+			chunk.forEach(key -> batch.get(key).complete(values == null ? null : values.get(key)));
+		}
+	}
+	
+	private void failAll(final Collection<CompletableFuture<V>> futures, final Throwable e) {
+		futures.stream()
+				.filter(f -> !f.isDone())
+				.forEach(f -> f.completeExceptionally(e));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
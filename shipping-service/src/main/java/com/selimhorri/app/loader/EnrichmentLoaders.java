@@ -0,0 +1,107 @@
+package com.selimhorri.app.loader;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out product and order loaders bound to the current HTTP request, 
+ * so a key is fetched at most once per request whatever the number of rows referencing it. 
+ * Outside of a request (e.g. scheduled or test code) every call gets fresh loaders.
+ */
+@Component
+@Slf4j
+public class EnrichmentLoaders {
+	
+	private static final String PRODUCT_LOADER_ATTRIBUTE = EnrichmentLoaders.class.getName() + ".PRODUCT";
+	private static final String ORDER_LOADER_ATTRIBUTE = EnrichmentLoaders.class.getName() + ".ORDER";
+	
+	private final RestTemplate restTemplate;
+	private final int maxBatchSize;
+	
+	public EnrichmentLoaders(final RestTemplate restTemplate, 
+			@Value("${app.loader.max-batch-size:100}") final int maxBatchSize) {
+		this.restTemplate = restTemplate;
+		this.maxBatchSize = maxBatchSize;
+	}
+	
+	public DataLoader<Integer, ProductDto> productLoader() {
+		return this.requestScoped(PRODUCT_LOADER_ATTRIBUTE, () -> new DataLoader<>(ids -> this.fetchAllByIds(
+				AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/ids", ids, 
+				new ParameterizedTypeReference<DtoCollectionResponse<ProductDto>>() {}, 
+				ProductDto::getProductId), this.maxBatchSize));
+	}
+	
+	public DataLoader<Integer, OrderDto> orderLoader() {
+		return this.requestScoped(ORDER_LOADER_ATTRIBUTE, () -> new DataLoader<>(ids -> this.fetchAllByIds(
+				AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/ids", ids, 
+				new ParameterizedTypeReference<DtoCollectionResponse<OrderDto>>() {}, 
+				OrderDto::getOrderId), this.maxBatchSize));
+	}
+	
+	@SuppressWarnings("unchecked")
+	private <T> T requestScoped(final String name, final Supplier<T> factory) {
+		final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes == null)
+			return factory.get();
+		
+		synchronized (attributes) {
+			T loader = (T) attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST);
+			if (loader == null) {
+				loader = factory.get();
+				attributes.setAttribute(name, loader, RequestAttributes.SCOPE_REQUEST);
+			}
+			return loader;
+		}
+	}
+	
+	private <T> Map<Integer, T> fetchAllByIds(final String url, final List<Integer> ids, 
+			final ParameterizedTypeReference<DtoCollectionResponse<T>> responseType, 
+			final Function<T, Integer> idExtractor) {
+		
+		log.info("*** EnrichmentLoaders; fetch {} ids from {} *", ids.size(), url);
+		final DtoCollectionResponse<T> response = this.restTemplate
+				.exchange(url, HttpMethod.POST, new HttpEntity<>(ids), responseType)
+				.getBody();
+		final Collection<T> dtos = (response == null || response.getCollection() == null) ? 
+				Collections.emptyList() : response.getCollection();
+		
+		return dtos.stream()
+				.filter(Objects::nonNull)
+				.collect(Collectors.toMap(idExtractor, Function.identity(), (a, b) -> a));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
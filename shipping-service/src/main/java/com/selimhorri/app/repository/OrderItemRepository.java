@@ -1,12 +1,57 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
+import com.selimhorri.app.dto.OrderItemDto;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItemId> {
 	
+	String ORDER_ITEM_DTO = "new com.selimhorri.app.dto.OrderItemDto(o.productId, o.orderId, o.orderedQuantity)";
+	
+	@Query("SELECT " + OrderItemRepository.ORDER_ITEM_DTO + " FROM OrderItem o "
+			+ "WHERE o.orderId = :orderId AND o.productId = :productId")
+	Optional<OrderItemDto> findDtoById(
+			@Param("orderId") final Integer orderId, 
+			@Param("productId") final Integer productId);
+	
+	@Query("SELECT " + OrderItemRepository.ORDER_ITEM_DTO + " FROM OrderItem o "
+			+ "WHERE (:afterOrderId IS NULL OR o.orderId > :afterOrderId "
+			+ "OR (o.orderId = :afterOrderId AND o.productId > :afterProductId)) "
+			+ "ORDER BY o.orderId, o.productId")
+	List<OrderItemDto> findDtoPageOrderByOrderIdAndProductId(
+			@Param("afterOrderId") final Integer afterOrderId, 
+			@Param("afterProductId") final Integer afterProductId, 
+			final Pageable pageable);
+	
+	@Query("SELECT " + OrderItemRepository.ORDER_ITEM_DTO + " FROM OrderItem o "
+			+ "WHERE o.orderId = :orderId "
+			+ "AND (:afterProductId IS NULL OR o.productId > :afterProductId) "
+			+ "ORDER BY o.productId")
+	List<OrderItemDto> findDtoPageByOrderIdOrderByProductId(
+			@Param("orderId") final Integer orderId, 
+			@Param("afterProductId") final Integer afterProductId, 
+			final Pageable pageable);
+	
+	@QueryHints({
+		@QueryHint(name = org.hibernate.annotations.QueryHints.FETCH_SIZE, value = "" + AppConstant.EXPORT_FETCH_SIZE),
+		@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true")
+	})
+	@Query("SELECT o FROM OrderItem o ORDER BY o.orderId, o.productId")
+	Stream<OrderItem> streamAllOrderByOrderIdAndProductId();
+	
 	
 	
 }
@@ -1,14 +1,20 @@
 package com.selimhorri.app.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 public interface OrderItemService {
 	
 	List<OrderItemDto> findAll();
 	OrderItemDto findById(final OrderItemId orderItemId);
+	CursorPageResponse<OrderItemDto> findPage(final String cursor, final int size);
+	CursorPageResponse<OrderItemDto> findPageByOrderId(final Integer orderId, final String cursor, final int size);
+	long exportAll(final OutputStream outputStream) throws IOException;
 	OrderItemDto save(final OrderItemDto orderItemDto);
 	OrderItemDto update(final OrderItemDto orderItemDto);
 	void deleteById(final OrderItemId orderItemId);
@@ -1,22 +1,34 @@
 package com.selimhorri.app.service.impl;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import javax.transaction.Transactional;
+import javax.persistence.EntityManager;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
 import com.selimhorri.app.helper.OrderItemMappingHelper;
+import com.selimhorri.app.loader.DataLoader;
+import com.selimhorri.app.loader.EnrichmentLoaders;
 import com.selimhorri.app.repository.OrderItemRepository;
 import com.selimhorri.app.service.OrderItemService;
+import com.selimhorri.app.support.export.NdjsonHelper;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,29 +41,26 @@ public class OrderItemServiceImpl implements OrderItemService {
 	
 	private final OrderItemRepository orderItemRepository;
 	private final RestTemplate restTemplate;
+	private final EnrichmentLoaders enrichmentLoaders;
+	private final EntityManager entityManager;
+	private final ObjectMapper objectMapper;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<OrderItemDto> findAll() {
 		log.info("*** OrderItemDto List, service; fetch all orderItems *");
-		return this.orderItemRepository.findAll()
+		return this.enrich(CursorHelper.unpaged(this.orderItemRepository
+						.findDtoPageOrderByOrderIdAndProductId(null, null, CursorHelper.unpagedLimit())))
 				.stream()
-					.map(OrderItemMappingHelper::map)
-					.map(o -> {
-						o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-						o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
-						return o;
-					})
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public OrderItemDto findById(final OrderItemId orderItemId) {
 		log.info("*** OrderItemDto, service; fetch orderItem by id *");
-		return this.orderItemRepository.findById(orderItemId)
-				.map(OrderItemMappingHelper::map)
+		return this.orderItemRepository.findDtoById(orderItemId.getOrderId(), orderItemId.getProductId())
 				.map(o -> {
 					o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
 							.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
@@ -62,6 +71,46 @@ public class OrderItemServiceImpl implements OrderItemService {
 				.orElseThrow(() -> new OrderItemNotFoundException(String.format("OrderItem with id: %s not found", orderItemId)));
 	}
 	
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponse<OrderItemDto> findPage(final String cursor, final int size) {
+		log.info("*** OrderItemDto Page, service; fetch orderItems page *");
+		final int pageSize = CursorHelper.pageSize(size);
+		final String[] keys = (cursor == null) ? null : CursorHelper.decode(cursor, 2);
+		return CursorHelper.page(this.orderItemRepository.findDtoPageOrderByOrderIdAndProductId(
+						(keys == null) ? null : CursorHelper.parseKey(cursor, () -> Integer.valueOf(keys[0])), 
+						(keys == null) ? null : CursorHelper.parseKey(cursor, () -> Integer.valueOf(keys[1])), 
+						CursorHelper.pageRequest(pageSize)), 
+				pageSize, 
+				this::enrich, 
+				o -> CursorHelper.encode(o.getOrderId(), o.getProductId()));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponse<OrderItemDto> findPageByOrderId(final Integer orderId, final String cursor, final int size) {
+		log.info("*** OrderItemDto Page, service; fetch orderItems page by order id *");
+		final int pageSize = CursorHelper.pageSize(size);
+		return CursorHelper.page(this.orderItemRepository
+						.findDtoPageByOrderIdOrderByProductId(orderId, CursorHelper.decodeId(cursor), CursorHelper.pageRequest(pageSize)), 
+				pageSize, 
+				this::enrich, 
+				o -> CursorHelper.encode(o.getProductId()));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public long exportAll(final OutputStream outputStream) throws IOException {
+		log.info("*** OrderItemDto Stream, service; export all orderItems *");
+		try (final Stream<OrderItem> orderItems = this.orderItemRepository.streamAllOrderByOrderIdAndProductId()) {
+			return NdjsonHelper.write(orderItems.map(OrderItemMappingHelper::map), 
+					this.objectMapper.writerFor(OrderItemDto.class), 
+					outputStream, 
+					AppConstant.EXPORT_FETCH_SIZE, 
+					this.entityManager::clear);
+		}
+	}
+	
 	@Override
 	public OrderItemDto save(final OrderItemDto orderItemDto) {
 		log.info("*** OrderItemDto, service; save orderItem *");
@@ -82,6 +131,25 @@ public class OrderItemServiceImpl implements OrderItemService {
 		this.orderItemRepository.deleteById(orderItemId);
 	}
 	
+	private List<OrderItemDto> enrich(final List<OrderItemDto> orderItemDtos) {
+		final DataLoader<Integer, ProductDto> productLoader = this.enrichmentLoaders.productLoader();
+		final DataLoader<Integer, OrderDto> orderLoader = this.enrichmentLoaders.orderLoader();
+		
+		final List<CompletableFuture<?>> enrichments = orderItemDtos.stream()
+				.<CompletableFuture<?>>map(o -> CompletableFuture.allOf(
+						o.getProductId() == null ? CompletableFuture.completedFuture(null) 
+								: productLoader.load(o.getProductId()).thenAccept(o::setProductDto), 
+						o.getOrderId() == null ? CompletableFuture.completedFuture(null) 
+								: orderLoader.load(o.getOrderId()).thenAccept(o::setOrderDto)))
+				.collect(Collectors.toUnmodifiableList());
+		
+		productLoader.dispatch();
+		orderLoader.dispatch();
+		enrichments.forEach(CompletableFuture::join);
+		
+		return orderItemDtos;
+	}
+	
 	
 	
 }
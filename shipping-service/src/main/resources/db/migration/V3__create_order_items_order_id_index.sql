@@ -0,0 +1 @@
+CREATE INDEX idx_order_items_order_id_product_id ON order_items (order_id, product_id);
@@ -0,0 +1,92 @@
+package com.selimhorri.app.integration;
+
+import static com.selimhorri.app.test.query.QueryPlan.assertUsesIndex;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.service.OrderItemService;
+import com.selimhorri.app.support.page.CursorPageResponse;
+
+/**
+ * Pruebas de la consulta de ítems por orden
+ *
+ * La clave primaria de order_items empieza por product_id, así que buscar
+ * por orden necesita su propio índice; se valida con EXPLAIN que la consulta
+ * lo usa en vez de recorrer la tabla completa.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Integration Test: Shipping-Service foreign key queries")
+class ShippingForeignKeyQueryIntegrationTest {
+
+    private static final int ORDER_ID = 902;
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        orderItemRepository.saveAll(IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> OrderItem.builder()
+                        .orderId(ORDER_ID)
+                        .productId(i)
+                        .orderedQuantity(1)
+                        .build())
+                .collect(Collectors.toUnmodifiableList()));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok().build());
+    }
+
+    @Test
+    @DisplayName("Test 1: Order items by order - pages should hold only the order's items and use the order_id index")
+    void testFindPageByOrderId_ShouldPageThroughOrderItems() {
+        // When
+        List<OrderItemDto> orderItems = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponse<OrderItemDto> page = orderItemService.findPageByOrderId(ORDER_ID, cursor, 2);
+            orderItems.addAll(page.getCollection());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertEquals(List.of(1, 2, 3, 4, 5),
+                orderItems.stream().map(OrderItemDto::getProductId).collect(Collectors.toList()));
+        assertTrue(orderItems.stream().allMatch(o -> Integer.valueOf(ORDER_ID).equals(o.getOrderId())));
+        assertUsesIndex(dataSource, "IDX_ORDER_ITEMS_ORDER_ID_PRODUCT_ID", () -> orderItemService.findPageByOrderId(ORDER_ID, null, 2));
+    }
+}
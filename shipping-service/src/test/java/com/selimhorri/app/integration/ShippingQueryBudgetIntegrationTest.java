@@ -0,0 +1,77 @@
+package com.selimhorri.app.integration;
+
+import static com.selimhorri.app.test.query.QueryBudget.assertAtMost;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.domain.id.OrderItemId;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.service.OrderItemService;
+
+/**
+ * Presupuestos de consultas JDBC del servicio de envíos
+ *
+ * Productos y órdenes se enriquecen por HTTP; en la base de datos cada
+ * lectura debe ejecutar una sola sentencia sin importar cuántos ítems haya.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Integration Test: Shipping-Service query budgets")
+class ShippingQueryBudgetIntegrationTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        orderItemRepository.saveAll(IntStream.rangeClosed(1, ROWS)
+                .mapToObj(i -> OrderItem.builder()
+                        .orderId(i)
+                        .productId(i)
+                        .orderedQuantity(1)
+                        .build())
+                .collect(Collectors.toUnmodifiableList()));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok().build());
+    }
+
+    @Test
+    @DisplayName("Test 1: Order items - find all and find by ID should run a single statement")
+    void testOrderItemReads_ShouldStayWithinBudget() {
+        List<OrderItemDto> orderItems = assertAtMost(1, () -> orderItemService.findAll());
+        assertTrue(orderItems.size() >= ROWS);
+
+        OrderItemDto orderItem = orderItems.get(0);
+        assertAtMost(1, () -> orderItemService.findById(
+                new OrderItemId(orderItem.getProductId(), orderItem.getOrderId())));
+    }
+}
@@ -3,28 +3,41 @@ package com.selimhorri.app.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
+import com.selimhorri.app.loader.EnrichmentLoaders;
 import com.selimhorri.app.repository.OrderItemRepository;
 import com.selimhorri.app.service.impl.OrderItemServiceImpl;
 
@@ -44,7 +57,9 @@ class OrderItemServiceImplTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
+    @Mock
+    private EntityManager entityManager;
+
     private OrderItemServiceImpl orderItemService;
 
     private OrderItem orderItem;
@@ -55,6 +70,9 @@ class OrderItemServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        orderItemService = new OrderItemServiceImpl(orderItemRepository, restTemplate,
+                new EnrichmentLoaders(restTemplate, 100), entityManager, new ObjectMapper().findAndRegisterModules());
+        
         // Configurar datos de prueba
         orderDto = new OrderDto();
         orderDto.setOrderId(1);
@@ -80,13 +98,8 @@ class OrderItemServiceImplTest {
     @DisplayName("Test 1: Find all order items - should return list with product and order info")
     void testFindAll_ShouldReturnOrderItemListWithDetails() {
         // Given
-        OrderItem orderItem2 = new OrderItem();
-        orderItem2.setOrderedQuantity(1);
-        
-        List<OrderItem> orderItems = Arrays.asList(orderItem, orderItem2);
-        when(orderItemRepository.findAll()).thenReturn(orderItems);
-        when(restTemplate.getForObject(anyString(), eq(ProductDto.class))).thenReturn(productDto);
-        when(restTemplate.getForObject(anyString(), eq(OrderDto.class))).thenReturn(orderDto);
+        List<OrderItemDto> orderItems = Arrays.asList(new OrderItemDto(null, null, 2), new OrderItemDto(null, null, 1));
+        when(orderItemRepository.findDtoPageOrderByOrderIdAndProductId(isNull(), isNull(), any())).thenReturn(orderItems);
 
         // When
         List<OrderItemDto> result = orderItemService.findAll();
@@ -94,7 +107,70 @@ class OrderItemServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(orderItemRepository, times(1)).findAll();
+        verify(orderItemRepository, times(1)).findDtoPageOrderByOrderIdAndProductId(isNull(), isNull(), any());
+    }
+
+    @Test
+    @DisplayName("Test 1b: Find all order items - should fetch each distinct product and order once")
+    @SuppressWarnings("unchecked")
+    void testFindAll_WithRepeatedIds_ShouldIssueOneBatchedCallPerService() {
+        // Given - 500 items que solo referencian 5 productos y 10 órdenes
+        List<OrderItemDto> orderItems = IntStream.range(0, 500)
+                .mapToObj(i -> new OrderItemDto(i % 5, i % 10, 1))
+                .collect(Collectors.toList());
+        when(orderItemRepository.findDtoPageOrderByOrderIdAndProductId(isNull(), isNull(), any())).thenReturn(orderItems);
+        when(restTemplate.exchange(contains("/product-service/"), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(IntStream.range(0, 5)
+                .mapToObj(id -> ProductDto.builder().productId(id).productTitle("product-" + id).build())
+                .collect(Collectors.toList()))));
+        when(restTemplate.exchange(contains("/order-service/"), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(IntStream.range(0, 10)
+                .mapToObj(id -> OrderDto.builder().orderId(id).orderDesc("order-" + id).build())
+                .collect(Collectors.toList()))));
+
+        // When
+        List<OrderItemDto> result = orderItemService.findAll();
+
+        // Then
+        assertFalse(result.isEmpty());
+        result.forEach(o -> {
+            assertEquals("product-" + o.getProductId(), o.getProductDto().getProductTitle());
+            assertEquals("order-" + o.getOrderId(), o.getOrderDto().getOrderDesc());
+        });
+        verify(restTemplate, times(1)).exchange(contains("/product-service/"), eq(HttpMethod.POST),
+                argThat((HttpEntity<List<Integer>> e) -> e.getBody().size() == 5),
+                any(ParameterizedTypeReference.class));
+        verify(restTemplate, times(1)).exchange(contains("/order-service/"), eq(HttpMethod.POST),
+                argThat((HttpEntity<List<Integer>> e) -> e.getBody().size() == 10),
+                any(ParameterizedTypeReference.class));
+        verify(restTemplate, never()).getForObject(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Test 1c: Find all order items - should split distinct ids into bounded batches")
+    @SuppressWarnings("unchecked")
+    void testFindAll_WithManyDistinctIds_ShouldSplitIntoBatches() {
+        // Given - 250 productos distintos con lotes de 100, todos en la misma orden
+        List<OrderItemDto> orderItems = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            orderItems.add(new OrderItemDto(i, 1, 1));
+            orderItems.add(new OrderItemDto(i, 1, 2));
+        }
+        when(orderItemRepository.findDtoPageOrderByOrderIdAndProductId(isNull(), isNull(), any())).thenReturn(orderItems);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of())));
+
+        // When
+        orderItemService.findAll();
+
+        // Then - ceil(250 / 100) = 3 llamadas a product-service y 1 a order-service
+        verify(restTemplate, times(3)).exchange(contains("/product-service/"), eq(HttpMethod.POST),
+                any(HttpEntity.class), any(ParameterizedTypeReference.class));
+        verify(restTemplate, times(1)).exchange(contains("/order-service/"), eq(HttpMethod.POST),
+                any(HttpEntity.class), any(ParameterizedTypeReference.class));
     }
 
     @Test
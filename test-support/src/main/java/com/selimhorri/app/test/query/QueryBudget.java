@@ -0,0 +1,57 @@
+package com.selimhorri.app.test.query;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Asserts how many JDBC statements a block may execute. Any Spring Boot context built
+ * with test-support on the classpath counts statements through {@link QueryCountAutoConfiguration}.
+ *
+ * <pre>
+ * List&lt;UserDto&gt; users = QueryBudget.assertAtMost(1, () -&gt; userService.findAll());
+ * </pre>
+ *
+ * A budget that grows with the number of rows is an N+1, so budgets should be
+ * constants checked against more rows than the association fan-out.
+ */
+public final class QueryBudget {
+	
+	private QueryBudget() {
+	
+	}
+	
+	public static <T> T assertAtMost(final int maxStatements, final Supplier<T> block) {
+		final Object[] result = new Object[1];
+		assertAtMost(maxStatements, "", () -> result[0] = block.get());
+		@SuppressWarnings("unchecked")
+		final T value = (T) result[0];
+		return value;
+	}
+	
+	public static void assertAtMost(final int maxStatements, final String description, final Runnable block) {
+		final List<String> statements = QueryCounter.capture(block);
+		if (statements.size() > maxStatements)
+			throw new AssertionError(String.format("%sexpected at most %d statement(s) but %d ran:%n%s",
+					description.isEmpty() ? "" : description + ": ",
+					maxStatements, statements.size(), describe(statements)));
+	}
+	
+	public static int count(final Runnable block) {
+		return QueryCounter.capture(block).size();
+	}
+	
+	private static String describe(final List<String> statements) {
+		return IntStream.range(0, statements.size())
+				.mapToObj(i -> String.format("  %d. %s", i + 1, statements.get(i)))
+				.collect(Collectors.joining(System.lineSeparator()));
+	}
+	
+	
+	
+}
+
+
+
+
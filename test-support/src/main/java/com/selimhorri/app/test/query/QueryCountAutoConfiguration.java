@@ -0,0 +1,35 @@
+package com.selimhorri.app.test.query;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wraps every DataSource bean in a {@link QueryCountingDataSource}, so any test context
+ * of a service that depends on test-support can assert {@link QueryBudget}s.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(DataSource.class)
+public class QueryCountAutoConfiguration {
+	
+	@Bean
+	public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+				return (bean instanceof DataSource && !(bean instanceof QueryCountingDataSource)) ?
+						new QueryCountingDataSource((DataSource) bean) : bean;
+			}
+		};
+	}
+	
+	
+	
+}
+
+
+
+
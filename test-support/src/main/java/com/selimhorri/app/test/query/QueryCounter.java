@@ -0,0 +1,55 @@
+package com.selimhorri.app.test.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-thread record of the SQL executed through a {@link QueryCountingDataSource}.
+ * Only the thread that opened a capture is recorded, so background work sharing the
+ * pool does not leak into a budget.
+ */
+public final class QueryCounter {
+	
+	private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+	
+	private QueryCounter() {
+	
+	}
+	
+	/**
+	 * Runs the block and returns the SQL of every statement execution it made, in order.
+	 * Captures nest: an inner capture's statements also count towards the outer one.
+	 */
+	public static List<String> capture(final Runnable block) {
+	
+		final List<String> outer = STATEMENTS.get();
+		final List<String> statements = new ArrayList<>();
+		STATEMENTS.set(statements);
+		try {
+			block.run();
+		}
+		finally {
+			if (outer == null)
+				STATEMENTS.remove();
+			else {
+				outer.addAll(statements);
+				STATEMENTS.set(outer);
+			}
+		}
+		return Collections.unmodifiableList(statements);
+	}
+	
+	static void record(final String sql) {
+		final List<String> statements = STATEMENTS.get();
+		if (statements != null)
+			statements.add(sql);
+	}
+	
+	
+	
+}
+
+
+
+
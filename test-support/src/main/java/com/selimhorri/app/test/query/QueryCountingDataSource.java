@@ -0,0 +1,84 @@
+package com.selimhorri.app.test.query;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Hands out connections whose statements report every execute* call to {@link QueryCounter}.
+ * A JDBC batch counts as one execution, as it is one round trip.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+	
+	public QueryCountingDataSource(final DataSource targetDataSource) {
+		super(targetDataSource);
+	}
+	
+	@Override
+	public Connection getConnection() throws SQLException {
+		return countingConnection(super.getConnection());
+	}
+	
+	@Override
+	public Connection getConnection(final String username, final String password) throws SQLException {
+		return countingConnection(super.getConnection(username, password));
+	}
+	
+	private static Connection countingConnection(final Connection connection) {
+		return proxy(Connection.class, connection, (method, args, result) -> {
+			if (result instanceof Statement) {
+				final String preparedSql = (method.getName().startsWith("prepare") && args[0] instanceof String) ?
+						(String) args[0] : null;
+				return countingStatement((Statement) result, preparedSql);
+			}
+			return result;
+		});
+	}
+	
+	private static Statement countingStatement(final Statement statement, final String preparedSql) {
+		final Class<? extends Statement> type = (statement instanceof CallableStatement) ? CallableStatement.class
+				: (statement instanceof PreparedStatement) ? PreparedStatement.class : Statement.class;
+		return proxy(type, statement, (method, args, result) -> {
+			if (method.getName().startsWith("execute"))
+				QueryCounter.record((args != null && args.length > 0 && args[0] instanceof String) ?
+						(String) args[0] : preparedSql);
+			return result;
+		});
+	}
+	
+	private static <T> T proxy(final Class<T> type, final Object target, final ResultHandler handler) {
+		return type.cast(Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+				new Class<?>[] { type },
+				(proxy, method, args) -> handler.handle(method, args, invoke(target, method, args))));
+	}
+	
+	private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		}
+		catch (final InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+	
+	@FunctionalInterface
+	private interface ResultHandler {
+		Object handle(final Method method, final Object[] args, final Object result);
+	}
+	
+	
+	
+}
+
+
+
+
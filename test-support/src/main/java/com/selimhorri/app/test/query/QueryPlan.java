@@ -0,0 +1,65 @@
+package com.selimhorri.app.test.query;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+/**
+ * Asserts which index the database chooses for the queries a block executes. Every SELECT
+ * captured through {@link QueryCounter} is run again as EXPLAIN with its parameters bound
+ * to null, so the plan is the one prepared for the statement itself, not for literal values.
+ *
+ * <pre>
+ * QueryPlan.assertUsesIndex(dataSource, "IDX_CARTS_USER_ID_CART_ID", () -&gt; cartService.findPageByUserId(1, null, 10));
+ * </pre>
+ *
+ * Index names are matched case-insensitively against H2's EXPLAIN output, which names the
+ * index it scans in a comment after each table.
+ */
+public final class QueryPlan {
+	
+	private static final Pattern SELECT = Pattern.compile("^\\s*(/\\*.*?\\*/\\s*)*select\\b",
+			Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+	
+	private QueryPlan() {
+	
+	}
+	
+	public static void assertUsesIndex(final DataSource dataSource, final String indexName, final Runnable block) {
+		final List<String> plans = QueryCounter.capture(block).stream()
+				.filter(sql -> sql != null && SELECT.matcher(sql).find())
+				.map(sql -> explain(dataSource, sql))
+				.collect(Collectors.toUnmodifiableList());
+		if (plans.isEmpty())
+			throw new AssertionError("expected a query using " + indexName + " but no SELECT ran");
+		if (plans.stream().noneMatch(plan -> plan.toUpperCase().contains(indexName.toUpperCase())))
+			throw new AssertionError(String.format("expected a query using %s but the plans were:%n%s",
+					indexName, String.join(System.lineSeparator(), plans)));
+	}
+	
+	public static String explain(final DataSource dataSource, final String sql) {
+		try (final Connection connection = dataSource.getConnection();
+				final PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+			for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++)
+				statement.setObject(i, null);
+			try (final ResultSet plan = statement.executeQuery()) {
+				final StringBuilder lines = new StringBuilder();
+				while (plan.next())
+					lines.append(plan.getString(1)).append(System.lineSeparator());
+				return lines.toString();
+			}
+		}
+		catch (final SQLException e) {
+			throw new IllegalStateException("Could not explain: " + sql, e);
+		}
+	}
+	
+	
+	
+}
@@ -0,0 +1,70 @@
+package com.selimhorri.app.config.cache;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+@Configuration
+public class HibernateCacheConfig {
+	
+	public static final String CREDENTIAL_REGION = "credential";
+	public static final String USER_REGION = "user";
+	
+	@Bean(destroyMethod = "close")
+	public CacheManager hibernateCacheManager(
+			@Value("${app.cache.hibernate.maximum-size:10000}") final long maximumSize, 
+			@Value("${app.cache.hibernate.expire-after-write:1h}") final Duration expireAfterWrite) {
+		
+		// one manager per application context, so contexts kept alive side by side never share regions
+		final CachingProvider cachingProvider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+		final CacheManager cacheManager = cachingProvider.getCacheManager(
+				URI.create("hibernate:" + UUID.randomUUID()), cachingProvider.getDefaultClassLoader());
+		
+		Stream.of(CREDENTIAL_REGION, USER_REGION, 
+					RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)
+				.forEach(region -> cacheManager.createCache(region, regionConfiguration(
+						OptionalLong.of(maximumSize), OptionalLong.of(expireAfterWrite.toNanos()))));
+		
+		// cached query results are validated against these timestamps, so they must outlive them
+		cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 
+				regionConfiguration(OptionalLong.empty(), OptionalLong.empty()));
+		
+		return cacheManager;
+	}
+	
+	@Bean
+	public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(final CacheManager hibernateCacheManager) {
+		return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+	}
+	
+	private static CaffeineConfiguration<Object, Object> regionConfiguration(
+			final OptionalLong maximumSize, final OptionalLong expireAfterWriteNanos) {
+		final CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+		configuration.setMaximumSize(maximumSize);
+		configuration.setExpireAfterWrite(expireAfterWriteNanos);
+		configuration.setStatisticsEnabled(true);
+		return configuration;
+	}
+	
+	
+	
+}
+
+
+
@@ -0,0 +1,83 @@
+package com.selimhorri.app.config.cache;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Exposes per region second-level cache statistics on /actuator/hibernatecache 
+ * and evicts a single region (or all of them) on DELETE
+ */
+@Component
+@Endpoint(id = "hibernatecache")
+@RequiredArgsConstructor
+public class HibernateCacheEndpoint {
+	
+	private final EntityManagerFactory entityManagerFactory;
+	
+	@ReadOperation
+	public Map<String, Map<String, Object>> regions() {
+		final Statistics statistics = this.statistics();
+		return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+				.sorted()
+				.collect(Collectors.toMap(Function.identity(), 
+						region -> describe(statistics.getCacheRegionStatistics(region)), 
+						(first, second) -> first, 
+						LinkedHashMap::new));
+	}
+	
+	@ReadOperation
+	public Map<String, Object> region(@Selector final String region) {
+		final CacheRegionStatistics regionStatistics = this.statistics().getCacheRegionStatistics(region);
+		return regionStatistics == null ? null : describe(regionStatistics);
+	}
+	
+	@DeleteOperation
+	public void evictAll() {
+		this.cache().evictAllRegions();
+	}
+	
+	@DeleteOperation
+	public void evict(@Selector final String region) {
+		this.cache().evictRegion(region);
+	}
+	
+	private Statistics statistics() {
+		return this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+	
+	private Cache cache() {
+		return this.entityManagerFactory.unwrap(SessionFactory.class).getCache();
+	}
+	
+	private static Map<String, Object> describe(final CacheRegionStatistics regionStatistics) {
+		final Map<String, Object> description = new LinkedHashMap<>();
+		description.put("hitCount", regionStatistics.getHitCount());
+		description.put("missCount", regionStatistics.getMissCount());
+		description.put("putCount", regionStatistics.getPutCount());
+		description.put("elementCountInMemory", regionStatistics.getElementCountInMemory());
+		return description;
+	}
+	
+	
+	
+}
+
+
+
@@ -4,12 +4,18 @@ import java.io.Serializable;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+
+import com.selimhorri.app.constant.AppConstant;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,6 +25,7 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "address")
+@NamedEntityGraph(name = "Address.user", attributeNodes = @NamedAttributeNode("user"))
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true, exclude = {"user"})
@@ -29,7 +36,9 @@ public final class Address extends AbstractMappedEntity implements Serializable
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "address")
+	@TableGenerator(name = "address", table = AppConstant.ID_GENERATOR_TABLE, 
+			pkColumnValue = "address", allocationSize = AppConstant.ID_ALLOCATION_SIZE)
 	@Column(name = "address_id", unique = true, nullable = false, updatable = false)
 	private Integer addressId;
 	
@@ -41,7 +50,7 @@ public final class Address extends AbstractMappedEntity implements Serializable
 	
 	private String city;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "user_id")
 	private User user;
 	
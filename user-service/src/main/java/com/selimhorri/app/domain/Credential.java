@@ -3,6 +3,7 @@ package com.selimhorri.app.domain;
 import java.io.Serializable;
 import java.util.Set;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -13,11 +14,19 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.selimhorri.app.config.cache.HibernateCacheConfig;
+import com.selimhorri.app.constant.AppConstant;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -26,18 +35,23 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.CREDENTIAL_REGION)
 @Table(name = "credentials")
+@NamedEntityGraph(name = "Credential.user", attributeNodes = @NamedAttributeNode("user"))
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true, exclude = {"user", "verificationTokens"})
 @Data
 @Builder
-public final class Credential extends AbstractMappedEntity implements Serializable {
+public class Credential extends AbstractMappedEntity implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "credentials")
+	@TableGenerator(name = "credentials", table = AppConstant.ID_GENERATOR_TABLE, 
+			pkColumnValue = "credentials", allocationSize = AppConstant.ID_ALLOCATION_SIZE)
 	@Column(name = "credential_id", unique = true, nullable = false, updatable = false)
 	private Integer credentialId;
 	
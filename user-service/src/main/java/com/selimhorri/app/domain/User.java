@@ -3,6 +3,7 @@ package com.selimhorri.app.domain;
 import java.io.Serializable;
 import java.util.Set;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -13,9 +14,17 @@ import javax.persistence.Id;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 import javax.validation.constraints.Email;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.LazyToOne;
+import org.hibernate.annotations.LazyToOneOption;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.selimhorri.app.config.cache.HibernateCacheConfig;
+import com.selimhorri.app.constant.AppConstant;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -24,18 +33,22 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.USER_REGION)
 @Table(name = "users")
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true, exclude = {"addresses", "credential"})
 @Data
 @Builder
-public final class User extends AbstractMappedEntity implements Serializable {
+public class User extends AbstractMappedEntity implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "users")
+	@TableGenerator(name = "users", table = AppConstant.ID_GENERATOR_TABLE, 
+			pkColumnValue = "users", allocationSize = AppConstant.ID_ALLOCATION_SIZE)
 	@Column(name = "user_id", unique = true, nullable = false, updatable = false)
 	private Integer userId;
 	
@@ -58,6 +71,7 @@ public final class User extends AbstractMappedEntity implements Serializable {
 	private Set<Address> addresses;
 	
 	@OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "user")
+	@LazyToOne(LazyToOneOption.NO_PROXY)
 	private Credential credential;
 	
 }
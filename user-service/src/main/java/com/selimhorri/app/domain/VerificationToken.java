@@ -11,7 +11,11 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 
 import org.springframework.format.annotation.DateTimeFormat;
 
@@ -27,6 +31,9 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "verification_tokens")
+@NamedEntityGraph(name = "VerificationToken.credential", 
+		attributeNodes = @NamedAttributeNode(value = "credential", subgraph = "credential.user"), 
+		subgraphs = @NamedSubgraph(name = "credential.user", attributeNodes = @NamedAttributeNode("user")))
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true, exclude = {"credential"})
@@ -37,7 +44,9 @@ public final class VerificationToken extends AbstractMappedEntity implements Ser
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "verification_tokens")
+	@TableGenerator(name = "verification_tokens", table = AppConstant.ID_GENERATOR_TABLE, 
+			pkColumnValue = "verification_tokens", allocationSize = AppConstant.ID_ALLOCATION_SIZE)
 	@Column(name = "verification_token_id", unique = true, nullable = false, updatable = false)
 	private Integer verificationTokenId;
 	
@@ -49,7 +58,7 @@ public final class VerificationToken extends AbstractMappedEntity implements Ser
 	@Column(name = "expire_date")
 	private LocalDate expireDate;
 	
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "credential_id")
 	private Credential credential;
 	
@@ -31,6 +31,23 @@ public class AddressDto implements Serializable {
 	@JsonInclude(value = Include.NON_NULL)
 	private UserDto userDto;
 	
+	/**
+	 * Read-side projection of an address and its user, selected by JPQL constructor 
+	 * expressions without hydrating Address or User entities
+	 */
+	public AddressDto(final Integer addressId, final String fullAddress, final String postalCode, final String city, 
+			final Integer userId, final String firstName, final String lastName, 
+			final String imageUrl, final String email, final String phone) {
+		this(addressId, fullAddress, postalCode, city, UserDto.builder()
+				.userId(userId)
+				.firstName(firstName)
+				.lastName(lastName)
+				.imageUrl(imageUrl)
+				.email(email)
+				.phone(phone)
+				.build());
+	}
+	
 }
 
 
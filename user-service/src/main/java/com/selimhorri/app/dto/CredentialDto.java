@@ -44,6 +44,26 @@ public class CredentialDto implements Serializable {
 	@JsonInclude(value = Include.NON_NULL)
 	private Set<VerificationTokenDto> verificationTokenDtos;
 	
+	/**
+	 * Read-side projection of a credential and its user, selected by JPQL constructor 
+	 * expressions without hydrating Credential or User entities
+	 */
+	public CredentialDto(final Integer credentialId, final String username, final String password, 
+			final RoleBasedAuthority roleBasedAuthority, final Boolean isEnabled, final Boolean isAccountNonExpired, 
+			final Boolean isAccountNonLocked, final Boolean isCredentialsNonExpired, 
+			final Integer userId, final String firstName, final String lastName, 
+			final String imageUrl, final String email, final String phone) {
+		this(credentialId, username, password, roleBasedAuthority, isEnabled, isAccountNonExpired, 
+				isAccountNonLocked, isCredentialsNonExpired, UserDto.builder()
+					.userId(userId)
+					.firstName(firstName)
+					.lastName(lastName)
+					.imageUrl(imageUrl)
+					.email(email)
+					.phone(phone)
+					.build(), null);
+	}
+	
 }
 
 
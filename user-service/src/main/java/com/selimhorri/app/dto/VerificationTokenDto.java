@@ -11,6 +11,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonFormat.Shape;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.RoleBasedAuthority;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -37,6 +38,26 @@ public class VerificationTokenDto implements Serializable {
 	@JsonInclude(value = Include.NON_NULL)
 	private CredentialDto credentialDto;
 	
+	/**
+	 * Read-side projection of a verification token and its credential, selected by JPQL 
+	 * constructor expressions without hydrating VerificationToken or Credential entities
+	 */
+	public VerificationTokenDto(final Integer verificationTokenId, final String token, final LocalDate expireDate, 
+			final Integer credentialId, final String username, final String password, 
+			final RoleBasedAuthority roleBasedAuthority, final Boolean isEnabled, final Boolean isAccountNonExpired, 
+			final Boolean isAccountNonLocked, final Boolean isCredentialsNonExpired) {
+		this(verificationTokenId, token, expireDate, CredentialDto.builder()
+				.credentialId(credentialId)
+				.username(username)
+				.password(password)
+				.roleBasedAuthority(roleBasedAuthority)
+				.isEnabled(isEnabled)
+				.isAccountNonExpired(isAccountNonExpired)
+				.isAccountNonLocked(isAccountNonLocked)
+				.isCredentialsNonExpired(isCredentialsNonExpired)
+				.build());
+	}
+	
 }
 
 
@@ -1,11 +1,37 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Address;
+import com.selimhorri.app.dto.AddressDto;
 
 public interface AddressRepository extends JpaRepository<Address, Integer> {
 	
+	String ADDRESS_DTO = "new com.selimhorri.app.dto.AddressDto(a.addressId, a.fullAddress, a.postalCode, a.city, " 
+			+ CredentialRepository.USER_COLUMNS + ")";
+	
+	@Override
+	@EntityGraph("Address.user")
+	Optional<Address> findById(final Integer addressId);
+	
+	@Query("SELECT " + AddressRepository.ADDRESS_DTO + " FROM Address a LEFT JOIN a.user u "
+			+ "WHERE a.addressId = :addressId")
+	Optional<AddressDto> findDtoById(@Param("addressId") final Integer addressId);
+	
+	@Query("SELECT " + AddressRepository.ADDRESS_DTO + " FROM Address a LEFT JOIN a.user u "
+			+ "WHERE (:afterAddressId IS NULL OR a.addressId > :afterAddressId) "
+			+ "ORDER BY a.addressId")
+	List<AddressDto> findDtoPageOrderByAddressId(
+			@Param("afterAddressId") final Integer afterAddressId, 
+			final Pageable pageable);
+	
 	
 	
 }
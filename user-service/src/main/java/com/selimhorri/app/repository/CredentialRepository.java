@@ -1,13 +1,45 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.dto.CredentialDto;
 
 public interface CredentialRepository extends JpaRepository<Credential, Integer> {
 	
+	String CREDENTIAL_COLUMNS = "c.credentialId, c.username, c.password, c.roleBasedAuthority, "
+			+ "c.isEnabled, c.isAccountNonExpired, c.isAccountNonLocked, c.isCredentialsNonExpired";
+	String USER_COLUMNS = "u.userId, u.firstName, u.lastName, u.imageUrl, u.email, u.phone";
+	String CREDENTIAL_DTO = "new com.selimhorri.app.dto.CredentialDto(" 
+			+ CredentialRepository.CREDENTIAL_COLUMNS + ", " + CredentialRepository.USER_COLUMNS + ")";
+	
+	@Override
+	@EntityGraph("Credential.user")
+	Optional<Credential> findById(final Integer credentialId);
+	
+	@EntityGraph("Credential.user")
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
 	Optional<Credential> findByUsername(final String username);
 	
+	@Query("SELECT " + CredentialRepository.CREDENTIAL_DTO + " FROM Credential c LEFT JOIN c.user u "
+			+ "WHERE c.credentialId = :credentialId")
+	Optional<CredentialDto> findDtoById(@Param("credentialId") final Integer credentialId);
+	
+	@Query("SELECT " + CredentialRepository.CREDENTIAL_DTO + " FROM Credential c LEFT JOIN c.user u "
+			+ "WHERE (:afterCredentialId IS NULL OR c.credentialId > :afterCredentialId) "
+			+ "ORDER BY c.credentialId")
+	List<CredentialDto> findDtoPageOrderByCredentialId(
+			@Param("afterCredentialId") final Integer afterCredentialId, 
+			final Pageable pageable);
+	
 }
@@ -1,13 +1,45 @@
 package com.selimhorri.app.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.User;
+import com.selimhorri.app.dto.UserDto;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
 	
+	/**
+	 * Selected from User with a left join, so users without a credential are listed 
+	 * with no credential instead of being dropped by the join
+	 */
+	String USER_DTO = "new com.selimhorri.app.dto.UserDto(" 
+			+ CredentialRepository.USER_COLUMNS + ", " + CredentialRepository.CREDENTIAL_COLUMNS + ")";
+	
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
 	Optional<User> findByCredentialUsername(final String username);
 	
+	@Query("SELECT " + UserRepository.USER_DTO + " FROM User u LEFT JOIN u.credential c "
+			+ "WHERE u.userId = :userId")
+	Optional<UserDto> findDtoById(@Param("userId") final Integer userId);
+	
+	@Query("SELECT " + UserRepository.USER_DTO + " FROM User u LEFT JOIN u.credential c "
+			+ "WHERE u.userId IN :userIds")
+	List<UserDto> findAllDtoByUserIdIn(@Param("userIds") final Collection<Integer> userIds);
+	
+	@Query("SELECT " + UserRepository.USER_DTO + " FROM User u LEFT JOIN u.credential c "
+			+ "WHERE (:afterUserId IS NULL OR u.userId > :afterUserId) "
+			+ "ORDER BY u.userId")
+	List<UserDto> findDtoPageOrderByUserId(
+			@Param("afterUserId") final Integer afterUserId, 
+			final Pageable pageable);
+	
 }
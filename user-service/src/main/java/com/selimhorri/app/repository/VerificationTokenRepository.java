@@ -1,11 +1,37 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.VerificationToken;
+import com.selimhorri.app.dto.VerificationTokenDto;
 
 public interface VerificationTokenRepository extends JpaRepository<VerificationToken, Integer> {
 	
+	String VERIFICATION_TOKEN_DTO = "new com.selimhorri.app.dto.VerificationTokenDto(v.verificationTokenId, v.token, v.expireDate, " 
+			+ CredentialRepository.CREDENTIAL_COLUMNS + ")";
+	
+	@Override
+	@EntityGraph("VerificationToken.credential")
+	Optional<VerificationToken> findById(final Integer verificationTokenId);
+	
+	@Query("SELECT " + VerificationTokenRepository.VERIFICATION_TOKEN_DTO + " FROM VerificationToken v LEFT JOIN v.credential c "
+			+ "WHERE v.verificationTokenId = :verificationTokenId")
+	Optional<VerificationTokenDto> findDtoById(@Param("verificationTokenId") final Integer verificationTokenId);
+	
+	@Query("SELECT " + VerificationTokenRepository.VERIFICATION_TOKEN_DTO + " FROM VerificationToken v LEFT JOIN v.credential c "
+			+ "WHERE (:afterVerificationTokenId IS NULL OR v.verificationTokenId > :afterVerificationTokenId) "
+			+ "ORDER BY v.verificationTokenId")
+	List<VerificationTokenDto> findDtoPageOrderByVerificationTokenId(
+			@Param("afterVerificationTokenId") final Integer afterVerificationTokenId, 
+			final Pageable pageable);
+	
 	
 	
 }
@@ -1,5 +1,7 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,11 +14,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.AddressDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.AddressService;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +40,14 @@ public class AddressResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.addressService.findAll()));
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<CursorPageResponse<AddressDto>> findPage(
+			@RequestParam(name = "cursor", required = false) final String cursor, 
+			@RequestParam(name = "size", defaultValue = "" + CursorHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** AddressDto Page, resource; fetch addresses page *");
+		return ResponseEntity.ok(this.addressService.findPage(cursor, size));
+	}
+	
 	@GetMapping("/{addressId}")
 	public ResponseEntity<AddressDto> findById(
 			@PathVariable("addressId") 
@@ -53,6 +66,15 @@ public class AddressResource {
 		return ResponseEntity.ok(this.addressService.save(addressDto));
 	}
 	
+	@PostMapping("/bulk")
+	public ResponseEntity<DtoCollectionResponse<AddressDto>> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final List<AddressDto> addressDtos) {
+		log.info("*** AddressDto List, resource; save all addresses *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.addressService.saveAll(addressDtos)));
+	}
+	
 	@PutMapping
 	public ResponseEntity<AddressDto> update(
 			@RequestBody 
@@ -1,5 +1,7 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,11 +14,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.CredentialService;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +40,14 @@ public class CredentialResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.credentialService.findAll()));
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<CursorPageResponse<CredentialDto>> findPage(
+			@RequestParam(name = "cursor", required = false) final String cursor, 
+			@RequestParam(name = "size", defaultValue = "" + CursorHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** CredentialDto Page, resource; fetch credentials page *");
+		return ResponseEntity.ok(this.credentialService.findPage(cursor, size));
+	}
+	
 	@GetMapping("/{credentialId}")
 	public ResponseEntity<CredentialDto> findById(
 			@PathVariable("credentialId") 
@@ -53,6 +66,15 @@ public class CredentialResource {
 		return ResponseEntity.ok(this.credentialService.save(credentialDto));
 	}
 	
+	@PostMapping("/bulk")
+	public ResponseEntity<DtoCollectionResponse<CredentialDto>> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final List<CredentialDto> credentialDtos) {
+		log.info("*** CredentialDto List, resource; save all credentials *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.credentialService.saveAll(credentialDtos)));
+	}
+	
 	@PutMapping
 	public ResponseEntity<CredentialDto> update(
 			@RequestBody 
@@ -1,5 +1,8 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+import java.util.Set;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,11 +15,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.UserService;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +41,14 @@ public class UserResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.userService.findAll()));
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<CursorPageResponse<UserDto>> findPage(
+			@RequestParam(name = "cursor", required = false) final String cursor, 
+			@RequestParam(name = "size", defaultValue = "" + CursorHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** UserDto Page, resource; fetch users page *");
+		return ResponseEntity.ok(this.userService.findPage(cursor, size));
+	}
+	
 	@GetMapping("/{userId}")
 	public ResponseEntity<UserDto> findById(
 			@PathVariable("userId") 
@@ -44,6 +58,14 @@ public class UserResource {
 		return ResponseEntity.ok(this.userService.findById(Integer.parseInt(userId.strip())));
 	}
 	
+	@PostMapping("/ids")
+	public ResponseEntity<DtoCollectionResponse<UserDto>> findAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not NULL") final Set<Integer> userIds) {
+		log.info("*** UserDto List, resource; fetch users by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.userService.findAllByIds(userIds)));
+	}
+	
 	@PostMapping
 	public ResponseEntity<UserDto> save(
 			@RequestBody 
@@ -53,6 +75,15 @@ public class UserResource {
 		return ResponseEntity.ok(this.userService.save(userDto));
 	}
 	
+	@PostMapping("/bulk")
+	public ResponseEntity<DtoCollectionResponse<UserDto>> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final List<UserDto> userDtos) {
+		log.info("*** UserDto List, resource; save all users *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.userService.saveAll(userDtos)));
+	}
+	
 	@PutMapping
 	public ResponseEntity<UserDto> update(
 			@RequestBody 
@@ -1,5 +1,7 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,11 +14,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.VerificationTokenDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.VerificationTokenService;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +40,14 @@ public class VerificationTokenResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.verificationTokenService.findAll()));
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<CursorPageResponse<VerificationTokenDto>> findPage(
+			@RequestParam(name = "cursor", required = false) final String cursor, 
+			@RequestParam(name = "size", defaultValue = "" + CursorHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** VerificationTokenDto Page, resource; fetch verificationTokens page *");
+		return ResponseEntity.ok(this.verificationTokenService.findPage(cursor, size));
+	}
+	
 	@GetMapping("/{verificationTokenId}")
 	public ResponseEntity<VerificationTokenDto> findById(
 			@PathVariable("verificationTokenId") 
@@ -53,6 +66,15 @@ public class VerificationTokenResource {
 		return ResponseEntity.ok(this.verificationTokenService.save(verificationTokenDto));
 	}
 	
+	@PostMapping("/bulk")
+	public ResponseEntity<DtoCollectionResponse<VerificationTokenDto>> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final List<VerificationTokenDto> verificationTokenDtos) {
+		log.info("*** VerificationTokenDto List, resource; save all verificationTokens *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.verificationTokenService.saveAll(verificationTokenDtos)));
+	}
+	
 	@PutMapping
 	public ResponseEntity<VerificationTokenDto> update(
 			@RequestBody 
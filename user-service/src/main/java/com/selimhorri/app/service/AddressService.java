@@ -1,14 +1,18 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.AddressDto;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 public interface AddressService {
 	
 	List<AddressDto> findAll();
 	AddressDto findById(final Integer addressId);
+	CursorPageResponse<AddressDto> findPage(final String cursor, final int size);
 	AddressDto save(final AddressDto addressDto);
+	List<AddressDto> saveAll(final Collection<AddressDto> addressDtos);
 	AddressDto update(final AddressDto addressDto);
 	AddressDto update(final Integer addressId, final AddressDto addressDto);
 	void deleteById(final Integer addressId);
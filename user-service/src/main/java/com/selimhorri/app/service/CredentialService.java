@@ -1,14 +1,18 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.CredentialDto;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 public interface CredentialService {
 	
 	List<CredentialDto> findAll();
 	CredentialDto findById(final Integer credentialId);
+	CursorPageResponse<CredentialDto> findPage(final String cursor, final int size);
 	CredentialDto save(final CredentialDto credentialDto);
+	List<CredentialDto> saveAll(final Collection<CredentialDto> credentialDtos);
 	CredentialDto update(final CredentialDto credentialDto);
 	CredentialDto update(final Integer credentialId, final CredentialDto credentialDto);
 	void deleteById(final Integer credentialId);
@@ -1,14 +1,19 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 public interface UserService {
 	
 	List<UserDto> findAll();
 	UserDto findById(final Integer userId);
+	CursorPageResponse<UserDto> findPage(final String cursor, final int size);
+	List<UserDto> findAllByIds(final Collection<Integer> userIds);
 	UserDto save(final UserDto userDto);
+	List<UserDto> saveAll(final Collection<UserDto> userDtos);
 	UserDto update(final UserDto userDto);
 	UserDto update(final Integer userId, final UserDto userDto);
 	void deleteById(final Integer userId);
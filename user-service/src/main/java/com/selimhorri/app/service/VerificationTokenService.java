@@ -1,14 +1,18 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.VerificationTokenDto;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 public interface VerificationTokenService {
 	
 	List<VerificationTokenDto> findAll();
 	VerificationTokenDto findById(final Integer verificationTokenId);
+	CursorPageResponse<VerificationTokenDto> findPage(final String cursor, final int size);
 	VerificationTokenDto save(final VerificationTokenDto verificationTokenDto);
+	List<VerificationTokenDto> saveAll(final Collection<VerificationTokenDto> verificationTokenDtos);
 	VerificationTokenDto update(final VerificationTokenDto verificationTokenDto);
 	VerificationTokenDto update(final Integer verificationTokenId, final VerificationTokenDto verificationTokenDto);
 	void deleteById(final Integer verificationTokenId);
@@ -1,17 +1,19 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.selimhorri.app.dto.AddressDto;
 import com.selimhorri.app.exception.wrapper.AddressNotFoundException;
 import com.selimhorri.app.helper.AddressMappingHelper;
 import com.selimhorri.app.repository.AddressRepository;
 import com.selimhorri.app.service.AddressService;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,29 +27,52 @@ public class AddressServiceImpl implements AddressService {
 	private final AddressRepository addressRepository;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<AddressDto> findAll() {
 		log.info("*** AddressDto List, service; fetch all addresss *");
-		return this.addressRepository.findAll()
+		return CursorHelper.unpaged(this.addressRepository.findDtoPageOrderByAddressId(null, CursorHelper.unpagedLimit()))
 				.stream()
-					.map(AddressMappingHelper::map)
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public AddressDto findById(final Integer addressId) {
 		log.info("*** AddressDto, service; fetch address by id *");
-		return this.addressRepository.findById(addressId)
-				.map(AddressMappingHelper::map)
+		return this.addressRepository.findDtoById(addressId)
 				.orElseThrow(() -> new AddressNotFoundException(String.format("#### Address with id: %d not found! ####", addressId)));
 	}
 	
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponse<AddressDto> findPage(final String cursor, final int size) {
+		log.info("*** AddressDto Page, service; fetch addresses page *");
+		final int pageSize = CursorHelper.pageSize(size);
+		return CursorHelper.page(this.addressRepository
+						.findDtoPageOrderByAddressId(CursorHelper.decodeId(cursor), CursorHelper.pageRequest(pageSize)), 
+				pageSize, 
+				List::copyOf, 
+				a -> CursorHelper.encode(a.getAddressId()));
+	}
+	
 	@Override
 	public AddressDto save(final AddressDto addressDto) {
 		log.info("*** AddressDto, service; save address *");
 		return AddressMappingHelper.map(this.addressRepository.save(AddressMappingHelper.map(addressDto)));
 	}
 	
+	@Override
+	public List<AddressDto> saveAll(final Collection<AddressDto> addressDtos) {
+		log.info("*** AddressDto List, service; save all addresses *");
+		return this.addressRepository.saveAll(addressDtos.stream()
+						.map(AddressMappingHelper::map)
+						.collect(Collectors.toUnmodifiableList()))
+				.stream()
+					.map(AddressMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public AddressDto update(final AddressDto addressDto) {
 		log.info("*** AddressDto, service; update address *");
@@ -1,11 +1,11 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
@@ -13,6 +13,8 @@ import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.helper.CredentialMappingHelper;
 import com.selimhorri.app.repository.CredentialRepository;
 import com.selimhorri.app.service.CredentialService;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,29 +28,52 @@ public class CredentialServiceImpl implements CredentialService {
 	private final CredentialRepository credentialRepository;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<CredentialDto> findAll() {
 		log.info("*** CredentialDto List, service; fetch all credentials *");
-		return this.credentialRepository.findAll()
+		return CursorHelper.unpaged(this.credentialRepository.findDtoPageOrderByCredentialId(null, CursorHelper.unpagedLimit()))
 				.stream()
-					.map(CredentialMappingHelper::map)
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public CredentialDto findById(final Integer credentialId) {
 		log.info("*** CredentialDto, service; fetch credential by ids *");
-		return this.credentialRepository.findById(credentialId)
-				.map(CredentialMappingHelper::map)
+		return this.credentialRepository.findDtoById(credentialId)
 				.orElseThrow(() -> new CredentialNotFoundException(String.format("#### Credential with id: %d not found! ####", credentialId)));
 	}
 	
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponse<CredentialDto> findPage(final String cursor, final int size) {
+		log.info("*** CredentialDto Page, service; fetch credentials page *");
+		final int pageSize = CursorHelper.pageSize(size);
+		return CursorHelper.page(this.credentialRepository
+						.findDtoPageOrderByCredentialId(CursorHelper.decodeId(cursor), CursorHelper.pageRequest(pageSize)), 
+				pageSize, 
+				List::copyOf, 
+				c -> CursorHelper.encode(c.getCredentialId()));
+	}
+	
 	@Override
 	public CredentialDto save(final CredentialDto credentialDto) {
 		log.info("*** CredentialDto, service; save credential *");
 		return CredentialMappingHelper.map(this.credentialRepository.save(CredentialMappingHelper.map(credentialDto)));
 	}
 	
+	@Override
+	public List<CredentialDto> saveAll(final Collection<CredentialDto> credentialDtos) {
+		log.info("*** CredentialDto List, service; save all credentials *");
+		return this.credentialRepository.saveAll(credentialDtos.stream()
+						.map(CredentialMappingHelper::map)
+						.collect(Collectors.toUnmodifiableList()))
+				.stream()
+					.map(CredentialMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public CredentialDto update(final CredentialDto credentialDto) {
 		log.info("*** CredentialDto, service; update credential *");
@@ -69,6 +94,7 @@ public class CredentialServiceImpl implements CredentialService {
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public CredentialDto findByUsername(final String username) {
 		return CredentialMappingHelper.map(this.credentialRepository.findByUsername(username)
 				.orElseThrow(() -> new UserObjectNotFoundException(String.format("#### Credential with username: %s not found! ####", username))));
@@ -1,17 +1,19 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.helper.UserMappingHelper;
 import com.selimhorri.app.repository.UserRepository;
 import com.selimhorri.app.service.UserService;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,29 +27,62 @@ public class UserServiceImpl implements UserService {
 	private final UserRepository userRepository;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<UserDto> findAll() {
 		log.info("*** UserDto List, service; fetch all users *");
-		return this.userRepository.findAll()
+		return CursorHelper.unpaged(this.userRepository.findDtoPageOrderByUserId(null, CursorHelper.unpagedLimit()))
 				.stream()
-					.map(UserMappingHelper::map)
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public UserDto findById(final Integer userId) {
 		log.info("*** UserDto, service; fetch user by id *");
-		return this.userRepository.findById(userId)
-				.map(UserMappingHelper::map)
+		return this.userRepository.findDtoById(userId)
 				.orElseThrow(() -> new UserObjectNotFoundException(String.format("User with id: %d not found", userId)));
 	}
 	
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponse<UserDto> findPage(final String cursor, final int size) {
+		log.info("*** UserDto Page, service; fetch users page *");
+		final int pageSize = CursorHelper.pageSize(size);
+		return CursorHelper.page(this.userRepository
+						.findDtoPageOrderByUserId(CursorHelper.decodeId(cursor), CursorHelper.pageRequest(pageSize)), 
+				pageSize, 
+				List::copyOf, 
+				u -> CursorHelper.encode(u.getUserId()));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<UserDto> findAllByIds(final Collection<Integer> userIds) {
+		log.info("*** UserDto List, service; fetch users by ids *");
+		return this.userRepository.findAllDtoByUserIdIn(userIds)
+				.stream()
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public UserDto save(final UserDto userDto) {
 		log.info("*** UserDto, service; save user *");
 		return UserMappingHelper.map(this.userRepository.save(UserMappingHelper.map(userDto)));
 	}
 	
+	@Override
+	public List<UserDto> saveAll(final Collection<UserDto> userDtos) {
+		log.info("*** UserDto List, service; save all users *");
+		return this.userRepository.saveAll(userDtos.stream()
+						.map(UserMappingHelper::map)
+						.collect(Collectors.toUnmodifiableList()))
+				.stream()
+					.map(UserMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public UserDto update(final UserDto userDto) {
 		log.info("*** UserDto, service; update user *");
@@ -68,6 +103,7 @@ public class UserServiceImpl implements UserService {
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public UserDto findByUsername(final String username) {
 		log.info("*** UserDto, service; fetch user with username *");
 		return UserMappingHelper.map(this.userRepository.findByCredentialUsername(username)
@@ -1,17 +1,19 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.selimhorri.app.dto.VerificationTokenDto;
 import com.selimhorri.app.exception.wrapper.VerificationTokenNotFoundException;
 import com.selimhorri.app.helper.VerificationTokenMappingHelper;
 import com.selimhorri.app.repository.VerificationTokenRepository;
 import com.selimhorri.app.service.VerificationTokenService;
+import com.selimhorri.app.support.page.CursorHelper;
+import com.selimhorri.app.support.page.CursorPageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,24 +27,37 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
 	private final VerificationTokenRepository verificationTokenRepository;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<VerificationTokenDto> findAll() {
 		log.info("*** VerificationTokenDto List, service; fetch all verificationTokens *");
-		return this.verificationTokenRepository.findAll()
+		return CursorHelper.unpaged(this.verificationTokenRepository
+						.findDtoPageOrderByVerificationTokenId(null, CursorHelper.unpagedLimit()))
 				.stream()
-					.map(VerificationTokenMappingHelper::map)
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public VerificationTokenDto findById(final Integer verificationTokenId) {
 		log.info("*** VerificationTokenDto, service; fetch verificationToken by ids *");
-		return this.verificationTokenRepository.findById(verificationTokenId)
-				.map(VerificationTokenMappingHelper::map)
+		return this.verificationTokenRepository.findDtoById(verificationTokenId)
 				.orElseThrow(() -> new VerificationTokenNotFoundException(String
 						.format("#### VerificationToken with id: %d not found! ####", verificationTokenId)));
 	}
 	
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPageResponse<VerificationTokenDto> findPage(final String cursor, final int size) {
+		log.info("*** VerificationTokenDto Page, service; fetch verificationTokens page *");
+		final int pageSize = CursorHelper.pageSize(size);
+		return CursorHelper.page(this.verificationTokenRepository
+						.findDtoPageOrderByVerificationTokenId(CursorHelper.decodeId(cursor), CursorHelper.pageRequest(pageSize)), 
+				pageSize, 
+				List::copyOf, 
+				v -> CursorHelper.encode(v.getVerificationTokenId()));
+	}
+	
 	@Override
 	public VerificationTokenDto save(final VerificationTokenDto verificationTokenDto) {
 		log.info("*** VerificationTokenDto, service; save verificationToken *");
@@ -50,6 +65,17 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
 				.save(VerificationTokenMappingHelper.map(verificationTokenDto)));
 	}
 	
+	@Override
+	public List<VerificationTokenDto> saveAll(final Collection<VerificationTokenDto> verificationTokenDtos) {
+		log.info("*** VerificationTokenDto List, service; save all verificationTokens *");
+		return this.verificationTokenRepository.saveAll(verificationTokenDtos.stream()
+						.map(VerificationTokenMappingHelper::map)
+						.collect(Collectors.toUnmodifiableList()))
+				.stream()
+					.map(VerificationTokenMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public VerificationTokenDto update(final VerificationTokenDto verificationTokenDto) {
 		log.info("*** VerificationTokenDto, service; update verificationToken *");
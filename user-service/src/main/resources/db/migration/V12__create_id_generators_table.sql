@@ -0,0 +1,18 @@
+-- next_val holds the last id handed out (hibernate.id.generator.stored_last_used)
+CREATE TABLE IF NOT EXISTS id_generators (
+	sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+	next_val BIGINT NOT NULL
+);
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'users', COALESCE(MAX(user_id), 0) FROM users;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'address', COALESCE(MAX(address_id), 0) FROM address;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'credentials', COALESCE(MAX(credential_id), 0) FROM credentials;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'verification_tokens', COALESCE(MAX(verification_token_id), 0) FROM verification_tokens;
+
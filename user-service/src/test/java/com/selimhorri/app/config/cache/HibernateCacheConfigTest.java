@@ -0,0 +1,86 @@
+package com.selimhorri.app.config.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.dto.CredentialDto;
+import com.selimhorri.app.service.CredentialService;
+
+/**
+ * Pruebas de la caché de segundo nivel de Hibernate
+ * 
+ * Verifican que los inicios de sesión repetidos leen la credencial
+ * y su usuario sin ejecutar sentencias JDBC.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Hibernate Second-Level Cache Tests")
+class HibernateCacheConfigTest {
+
+    @Autowired
+    private CredentialService credentialService;
+
+    @Autowired
+    private HibernateCacheEndpoint hibernateCacheEndpoint;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        hibernateCacheEndpoint.evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Test 1: Repeated find by username - should be served without JDBC")
+    void testFindByUsername_WhenRepeated_ShouldSkipJdbc() {
+        // Given
+        CredentialDto credential = credentialService.findByUsername("selimhorri");
+        long statementsAfterFirstRead = statistics.getPrepareStatementCount();
+
+        // When
+        CredentialDto cachedCredential = credentialService.findByUsername("selimhorri");
+
+        // Then
+        assertTrue(statementsAfterFirstRead > 0);
+        assertEquals(statementsAfterFirstRead, statistics.getPrepareStatementCount());
+        assertEquals(credential.getCredentialId(), cachedCredential.getCredentialId());
+        assertEquals(credential.getUserDto().getUserId(), cachedCredential.getUserDto().getUserId());
+        assertTrue(statistics.getQueryCacheHitCount() > 0);
+    }
+
+    @Test
+    @DisplayName("Test 2: Evict region - should read the credential from the database again")
+    void testEvictRegion_ShouldReloadFromDatabase() {
+        // Given
+        credentialService.findByUsername("selimhorri");
+        long statementsAfterFirstRead = statistics.getPrepareStatementCount();
+
+        // When
+        hibernateCacheEndpoint.evict(HibernateCacheConfig.CREDENTIAL_REGION);
+        credentialService.findByUsername("selimhorri");
+
+        // Then
+        assertTrue(statistics.getPrepareStatementCount() > statementsAfterFirstRead);
+        assertTrue(hibernateCacheEndpoint.regions().containsKey(HibernateCacheConfig.CREDENTIAL_REGION));
+    }
+}
@@ -0,0 +1,133 @@
+package com.selimhorri.app.integration;
+
+import static com.selimhorri.app.test.query.QueryBudget.assertAtMost;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.config.cache.HibernateCacheEndpoint;
+import com.selimhorri.app.domain.User;
+import com.selimhorri.app.dto.AddressDto;
+import com.selimhorri.app.dto.CredentialDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.VerificationTokenDto;
+import com.selimhorri.app.repository.UserRepository;
+import com.selimhorri.app.service.AddressService;
+import com.selimhorri.app.service.CredentialService;
+import com.selimhorri.app.service.UserService;
+import com.selimhorri.app.service.VerificationTokenService;
+
+/**
+ * Presupuestos de consultas JDBC de los servicios de usuarios
+ *
+ * Cada lectura se mide con la caché de segundo nivel vacía, de modo que un
+ * mapeo que recorra una asociación perezosa por fila (N+1) exceda el
+ * presupuesto y falle en la construcción.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Integration Test: User-Service query budgets")
+class UserQueryBudgetIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CredentialService credentialService;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private VerificationTokenService verificationTokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HibernateCacheEndpoint hibernateCacheEndpoint;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        hibernateCacheEndpoint.evictAll();
+    }
+
+    @Test
+    @DisplayName("Test 1: Users - find all and find by ID should load credentials in the same statement")
+    void testUserReads_ShouldStayWithinBudget() {
+        List<UserDto> users = assertAtMost(1, () -> userService.findAll());
+        assertTrue(users.size() > 1);
+        assertTrue(users.stream().allMatch(u -> u.getCredentialDto().getUsername() != null));
+
+        hibernateCacheEndpoint.evictAll();
+        assertAtMost(1, () -> userService.findById(users.get(0).getUserId()));
+    }
+
+    @Test
+    @DisplayName("Test 2: Users - a user without a credential should still be listed and found by ID")
+    @Transactional
+    void testUserReads_WithoutCredential_ShouldKeepTheUser() {
+        User user = userRepository.saveAndFlush(User.builder()
+                .firstName("No")
+                .lastName("Credential")
+                .email("no.credential@example.com")
+                .build());
+        hibernateCacheEndpoint.evictAll();
+
+        List<UserDto> users = assertAtMost(1, () -> userService.findAll());
+        UserDto listed = users.stream()
+                .filter(u -> u.getUserId().equals(user.getUserId()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("User without credential should be listed"));
+        assertNull(listed.getCredentialDto());
+
+        hibernateCacheEndpoint.evictAll();
+        UserDto found = assertAtMost(1, () -> userService.findById(user.getUserId()));
+        assertEquals("Credential", found.getLastName());
+        assertNull(found.getCredentialDto());
+        assertEquals(1, userService.findAllByIds(List.of(user.getUserId())).size());
+    }
+
+    @Test
+    @DisplayName("Test 3: Credentials - find all and find by ID should load users in the same statement")
+    void testCredentialReads_ShouldStayWithinBudget() {
+        List<CredentialDto> credentials = assertAtMost(1, () -> credentialService.findAll());
+        assertTrue(credentials.size() > 1);
+
+        hibernateCacheEndpoint.evictAll();
+        assertAtMost(1, () -> credentialService.findById(credentials.get(0).getCredentialId()));
+    }
+
+    @Test
+    @DisplayName("Test 4: Addresses - find all and find by ID should load users in the same statement")
+    void testAddressReads_ShouldStayWithinBudget() {
+        List<AddressDto> addresses = assertAtMost(1, () -> addressService.findAll());
+        assertTrue(addresses.size() > 1);
+
+        hibernateCacheEndpoint.evictAll();
+        assertAtMost(1, () -> addressService.findById(addresses.get(0).getAddressId()));
+    }
+
+    @Test
+    @DisplayName("Test 5: Verification tokens - find all and find by ID should load credentials in the same statement")
+    void testVerificationTokenReads_ShouldStayWithinBudget() {
+        List<VerificationTokenDto> tokens = assertAtMost(1, () -> verificationTokenService.findAll());
+        assertTrue(tokens.size() > 1);
+
+        hibernateCacheEndpoint.evictAll();
+        assertAtMost(1, () -> verificationTokenService.findById(tokens.get(0).getVerificationTokenId()));
+    }
+}
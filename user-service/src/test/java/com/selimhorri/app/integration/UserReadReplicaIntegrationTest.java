@@ -0,0 +1,206 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.domain.RoleBasedAuthority;
+import com.selimhorri.app.dto.CredentialDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
+import com.selimhorri.app.service.UserService;
+
+/**
+ * Pruebas del enrutamiento primaria/réplica en el servicio de usuarios
+ *
+ * Igual que en órdenes, dos bases H2 sin replicación entre ellas delatan a
+ * qué base fue cada lectura: las proyecciones de solo lectura van a la
+ * réplica salvo mientras la última escritura de la instancia sea más reciente
+ * que el retraso máximo tolerado.
+ */
+@SpringBootTest(properties = {
+    "spring.cloud.config.import-check.enabled=false",
+    "spring.cloud.config.enabled=false",
+    "spring.datasource.url=" + UserReadReplicaIntegrationTest.PRIMARY_URL,
+    "app.datasource.replica.url=" + UserReadReplicaIntegrationTest.REPLICA_URL,
+    "app.datasource.replica.max-lag=" + UserReadReplicaIntegrationTest.MAX_LAG_MILLIS + "ms"
+})
+@DisplayName("Integration Test: User read replica routing")
+class UserReadReplicaIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:user_routing_primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:user_routing_replica;DB_CLOSE_DELAY=-1";
+    static final long MAX_LAG_MILLIS = 1000;
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @BeforeAll
+    static void migrateReplica() {
+        final DriverManagerDataSource replicaDataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(replicaDataSource).load().migrate();
+        replica = new JdbcTemplate(replicaDataSource);
+    }
+
+    @AfterEach
+    void endRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static ServletRequestAttributes startRequest() {
+        ServletRequestAttributes request = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(request);
+        return request;
+    }
+
+    private UserDto newUser(String username) {
+        return userService.save(UserDto.builder()
+                .firstName("Read")
+                .lastName("Your Writes")
+                .email(username + "@example.com")
+                .credentialDto(CredentialDto.builder()
+                        .username(username)
+                        .password("password123")
+                        .roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+                        .isEnabled(true)
+                        .isAccountNonExpired(true)
+                        .isAccountNonLocked(true)
+                        .isCredentialsNonExpired(true)
+                        .build())
+                .build());
+    }
+
+    @Test
+    @DisplayName("Test 1: Read-only find by ID should be served by the replica")
+    void testReadOnlyRead_ShouldUseReplica() {
+        // Given
+        replica.update("UPDATE users SET first_name = 'replica copy' WHERE user_id = 1");
+
+        // When
+        UserDto user = userService.findById(1);
+
+        // Then
+        assertEquals("replica copy", user.getFirstName());
+    }
+
+    @Test
+    @DisplayName("Test 2: Reads after a write should stay on the primary in the same request until the replica lag has passed")
+    void testReadAfterWrite_ShouldUsePrimaryWithinReplicaLag() throws InterruptedException {
+        // Given
+        ServletRequestAttributes writingRequest = startRequest();
+        Integer replicaUsers = replica.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+
+        // When
+        UserDto saved = newUser("readyourwrites");
+
+        // Then
+        assertEquals(replicaUsers, replica.queryForObject("SELECT COUNT(*) FROM users", Integer.class));
+        assertEquals("Your Writes", userService.findById(saved.getUserId()).getLastName());
+        assertTrue(userService.findAll().stream().anyMatch(u -> saved.getUserId().equals(u.getUserId())));
+
+        // When - another request reads the same user
+        startRequest();
+
+        // Then
+        assertThrows(UserObjectNotFoundException.class, () -> userService.findById(saved.getUserId()));
+
+        // When - the write is older than the tolerated replica lag
+        RequestContextHolder.setRequestAttributes(writingRequest);
+        Thread.sleep(MAX_LAG_MILLIS + 100);
+
+        // Then
+        assertThrows(UserObjectNotFoundException.class, () -> userService.findById(saved.getUserId()));
+    }
+
+    @Test
+    @DisplayName("Test 3: A read in another request should use the replica while a write is in flight")
+    void testReadInOtherRequest_WhileWriteInFlight_ShouldUseReplica() throws Exception {
+        // Given
+        replica.update("UPDATE users SET first_name = 'replica during write' WHERE user_id = 1");
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch read = new CountDownLatch(1);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        Future<UserDto> write = writer.submit(() -> {
+            startRequest();
+            try {
+                return new TransactionTemplate(transactionManager).execute(status -> {
+                    UserDto saved = newUser("inflightwrite");
+                    written.countDown();
+                    try {
+                        read.await();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return saved;
+                });
+            }
+            finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+
+        try {
+            // When
+            written.await();
+            startRequest();
+            UserDto duringWrite = userService.findById(1);
+            read.countDown();
+            UserDto saved = write.get();
+
+            // Then
+            assertEquals("replica during write", duringWrite.getFirstName());
+            assertEquals("replica during write", userService.findById(1).getFirstName());
+            assertThrows(UserObjectNotFoundException.class, () -> userService.findById(saved.getUserId()));
+        }
+        finally {
+            read.countDown();
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Test 4: A read-write transaction without DML should not pin the request to the primary")
+    void testReadWriteTransactionWithoutDml_ShouldNotPinRequestToPrimary() {
+        // Given
+        startRequest();
+        replica.update("UPDATE users SET first_name = 'replica after no-op' WHERE user_id = 1");
+
+        // When
+        String readInWriteTransaction = new TransactionTemplate(transactionManager)
+                .execute(status -> userService.findById(1).getFirstName());
+        UserDto afterCommit = userService.findById(1);
+
+        // Then
+        assertNotEquals("replica after no-op", readInWriteTransaction);
+        assertEquals("replica after no-op", afterCommit.getFirstName());
+    }
+}
@@ -84,36 +84,30 @@ class UserServiceImplTest {
     @DisplayName("Test 1: Find all users - should return list of users")
     void testFindAll_ShouldReturnUserList() {
         // Given
-        Credential credential2 = new Credential();
-        credential2.setCredentialId(2);
-        credential2.setUsername("janesmith");
-        credential2.setPassword("password456");
-        credential2.setRoleBasedAuthority(RoleBasedAuthority.ROLE_USER);
+        UserDto userDto2 = new UserDto(2, "Jane", "Smith", null, "jane.smith@example.com", null,
+                2, "janesmith", "password456", RoleBasedAuthority.ROLE_USER, true, true, true, true);
+        UserDto userDto3 = new UserDto(3, "Max", "Payne", null, "max.payne@example.com", null,
+                null, null, null, null, null, null, null, null);
         
-        User user2 = new User();
-        user2.setUserId(2);
-        user2.setFirstName("Jane");
-        user2.setLastName("Smith");
-        user2.setEmail("jane.smith@example.com");
-        user2.setCredential(credential2);
-        
-        List<User> users = Arrays.asList(user, user2);
-        when(userRepository.findAll()).thenReturn(users);
+        List<UserDto> users = Arrays.asList(userDto, userDto2, userDto3);
+        when(userRepository.findDtoPageOrderByUserId(isNull(), any())).thenReturn(users);
 
         // When
         List<UserDto> result = userService.findAll();
 
         // Then
         assertNotNull(result);
-        assertEquals(2, result.size());
-        verify(userRepository, times(1)).findAll();
+        assertEquals(3, result.size());
+        assertEquals("janesmith", result.get(1).getCredentialDto().getUsername());
+        assertNull(result.get(2).getCredentialDto(), "A user without a credential should be listed without one");
+        verify(userRepository, times(1)).findDtoPageOrderByUserId(isNull(), any());
     }
 
     @Test
     @DisplayName("Test 2: Find user by ID - should return user when found")
     void testFindById_WhenUserExists_ShouldReturnUser() {
         // Given
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.findDtoById(anyInt())).thenReturn(Optional.of(userDto));
 
         // When
         UserDto result = userService.findById(1);
@@ -123,20 +117,20 @@ class UserServiceImplTest {
         assertEquals(user.getUserId(), result.getUserId());
         assertEquals(user.getFirstName(), result.getFirstName());
         assertEquals(user.getLastName(), result.getLastName());
-        verify(userRepository, times(1)).findById(1);
+        verify(userRepository, times(1)).findDtoById(1);
     }
 
     @Test
     @DisplayName("Test 3: Find user by ID - should throw exception when not found")
     void testFindById_WhenUserDoesNotExist_ShouldThrowException() {
         // Given
-        when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(userRepository.findDtoById(anyInt())).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(UserObjectNotFoundException.class, () -> {
             userService.findById(999);
         });
-        verify(userRepository, times(1)).findById(999);
+        verify(userRepository, times(1)).findDtoById(999);
     }
 
     @Test